@@ -18,6 +18,7 @@ import java.util.*;
 import java.util.concurrent.Executor;
 import java.util.stream.Collectors;
 
+import io.WizardsChessMaster.config.ConfigLoader;
 import io.WizardsChessMaster.model.BoardPosition;
 import io.WizardsChessMaster.model.DeckModel;
 import io.WizardsChessMaster.model.GameModel;
@@ -25,6 +26,7 @@ import io.WizardsChessMaster.model.GameStatus;
 import io.WizardsChessMaster.model.MatchHistoryEntry;
 import io.WizardsChessMaster.model.Team;
 import io.WizardsChessMaster.model.UserModel;
+import io.WizardsChessMaster.model.board.BoardGeometry;
 import io.WizardsChessMaster.service.FirebaseService;
 import io.WizardsChessMaster.model.spells.SpellConfig;
 import io.WizardsChessMaster.model.spells.SpellFactory;
@@ -119,7 +121,7 @@ public class AndroidFirebaseService implements FirebaseService {
     @Override public void stopListeningForMyRankedGame(Object listenerRegistration) { Log.d(TAG, "Stopping listener for RANKED game."); stopListeningForMyGame(listenerRegistration); }
 
     // --- Matchmaking (Host & Join Custom Game) ---
-    @Override public Object hostGame(String hostUserId, String hostDisplayName, int pointLimit, String timeLimit, String hostDeckName, HostedGameListener listener) { if (hostUserId == null || listener == null) { Log.e(TAG, "hostGame failed: Missing hostUserId or listener."); if(listener != null) mainThreadExecutor.execute(() -> listener.onError("Missing hostUserId or listener.")); return null; } Log.i(TAG, "Attempting to host game for user: " + hostUserId); DocumentReference gameRef = db.collection(GAMES_COLLECTION).document(); String joinCode = generateJoinCode(); Map<String, Object> gameData = new HashMap<>(); gameData.put("player1Id", hostUserId); gameData.put("playerIds", Arrays.asList(hostUserId)); gameData.put("player1DisplayName", hostDisplayName); gameData.put("player1DeckName", hostDeckName); gameData.put("pointLimit", pointLimit); gameData.put("timeLimit", timeLimit); gameData.put("status", GAME_STATUS_PENDING_CODE_JOIN); gameData.put("joinCode", joinCode); gameData.put("lastUpdateTime", FieldValue.serverTimestamp()); gameData.put("player2Id", null); gameData.put("player2DisplayName", null); gameData.put("player2DeckName", null); gameData.put("player1Color", null); gameData.put("player2Color", null); gameData.put("currentTurnPlayerId", null); gameData.put("boardState", new HashMap<>()); gameData.put("player1TimeRemainingMillis", 0L); gameData.put("player2TimeRemainingMillis", 0L); gameData.put("player1LastSeen", FieldValue.serverTimestamp()); gameData.put("player2LastSeen", null); gameData.put("drawOfferedByPlayerId", null); gameData.put("winnerId", null); gameData.put("loserId", null); gameData.put("winReason", null); gameData.put("eloChangePlayer1", 0); gameData.put("eloChangePlayer2", 0); gameData.put("fiftyMoveRuleCounter", 0); gameData.put("positionHistory", new ArrayList<String>()); gameData.put("enPassantTargetSquareString", null); gameData.put("player1Spells", new ArrayList<String>()); gameData.put("player2Spells", new ArrayList<String>()); DocumentReference codeRef = db.collection(JOIN_CODES_COLLECTION).document(joinCode); db.runTransaction((Transaction.Function<Void>) transaction -> { DocumentSnapshot existingCode = transaction.get(codeRef); if (existingCode.exists()) { Log.e(TAG, "Join code collision: " + joinCode); throw new FirebaseFirestoreException("Join code collision.", FirebaseFirestoreException.Code.ALREADY_EXISTS); } transaction.set(gameRef, gameData); Map<String, Object> codeData = new HashMap<>(); codeData.put("gameId", gameRef.getId()); codeData.put("hostId", hostUserId); codeData.put("createdAt", FieldValue.serverTimestamp()); transaction.set(codeRef, codeData); Log.d(TAG, "Transaction: Creating game " + gameRef.getId() + " and join code " + joinCode); return null; }).addOnSuccessListener(aVoid -> { Log.i(TAG, "Hosted game created successfully. GameID: " + gameRef.getId() + ", Code: " + joinCode); ListenerRegistration reg = gameRef.addSnapshotListener(mainThreadExecutor, (snapshot, error) -> { if (error != null) { Log.e(TAG, "Error listening to hosted game " + gameRef.getId(), error); stopHostedGameListener(gameRef.getId()); listener.onError("Listener error: " + error.getMessage()); return; } if (snapshot != null && snapshot.exists()) { GameModel gm = null; try { gm = snapshot.toObject(GameModel.class); if (gm != null) gm.setGameId(snapshot.getId()); } catch(Exception e) { Log.e(TAG, "Parse fail hosted game "+gameRef.getId(), e); } if (gm != null) { if (GAME_STATUS_PENDING_CODE_JOIN.equals(gm.getStatus())) { Log.d(TAG, "Listener update: Game " + gameRef.getId() + " still waiting for player."); } else if (GameStatus.ACTIVE.getFirestoreValue().equals(gm.getStatus()) && gm.getPlayer2Id() != null) { Log.i(TAG, "Player joined hosted game: " + gameRef.getId()); stopHostedGameListener(gameRef.getId()); listener.onPlayerJoined(gm); } else if (GameStatus.FINISHED.getFirestoreValue().equals(gm.getStatus()) || GameStatus.ERROR.getFirestoreValue().equals(gm.getStatus())) { Log.w(TAG, "Hosted game " + gameRef.getId() + " ended/cancelled before join. Status: " + gm.getStatus()); stopHostedGameListener(gameRef.getId()); listener.onHostingCancelled(); } } else { Log.e(TAG,"Hosted game snapshot parsing failed: "+gameRef.getId()); stopHostedGameListener(gameRef.getId()); listener.onError("Failed to parse game data update."); } } else { Log.w(TAG, "Hosted game document " + gameRef.getId() + " deleted."); stopHostedGameListener(gameRef.getId()); listener.onHostingCancelled(); } }); activeHostedGameListeners.put(gameRef.getId(), reg); listener.onWaitingForPlayer(gameRef.getId(), joinCode); }).addOnFailureListener(e -> { Log.e(TAG, "Failed to create hosted game.", e); listener.onError("Failed to create hosted game: " + e.getMessage()); }); return gameRef.getId(); }
+    @Override public Object hostGame(String hostUserId, String hostDisplayName, int pointLimit, String timeLimit, String hostDeckName, HostedGameListener listener) { if (hostUserId == null || listener == null) { Log.e(TAG, "hostGame failed: Missing hostUserId or listener."); if(listener != null) mainThreadExecutor.execute(() -> listener.onError("Missing hostUserId or listener.")); return null; } Log.i(TAG, "Attempting to host game for user: " + hostUserId); DocumentReference gameRef = db.collection(GAMES_COLLECTION).document(); String joinCode = generateJoinCode(); Map<String, Object> gameData = new HashMap<>(); gameData.put("player1Id", hostUserId); gameData.put("playerIds", Arrays.asList(hostUserId)); gameData.put("player1DisplayName", hostDisplayName); gameData.put("player1DeckName", hostDeckName); gameData.put("pointLimit", pointLimit); gameData.put("timeLimit", timeLimit); gameData.put("boardWidth", ConfigLoader.getSettings().board.width); gameData.put("boardHeight", ConfigLoader.getSettings().board.height); gameData.put("status", GAME_STATUS_PENDING_CODE_JOIN); gameData.put("joinCode", joinCode); gameData.put("lastUpdateTime", FieldValue.serverTimestamp()); gameData.put("player2Id", null); gameData.put("player2DisplayName", null); gameData.put("player2DeckName", null); gameData.put("player1Color", null); gameData.put("player2Color", null); gameData.put("currentTurnPlayerId", null); gameData.put("boardState", new HashMap<>()); gameData.put("player1TimeRemainingMillis", 0L); gameData.put("player2TimeRemainingMillis", 0L); gameData.put("player1LastSeen", FieldValue.serverTimestamp()); gameData.put("player2LastSeen", null); gameData.put("drawOfferedByPlayerId", null); gameData.put("winnerId", null); gameData.put("loserId", null); gameData.put("winReason", null); gameData.put("eloChangePlayer1", 0); gameData.put("eloChangePlayer2", 0); gameData.put("fiftyMoveRuleCounter", 0); gameData.put("positionKeys", new ArrayList<Long>()); gameData.put("enPassantTargetSquareString", null); gameData.put("player1Spells", new ArrayList<String>()); gameData.put("player2Spells", new ArrayList<String>()); DocumentReference codeRef = db.collection(JOIN_CODES_COLLECTION).document(joinCode); db.runTransaction((Transaction.Function<Void>) transaction -> { DocumentSnapshot existingCode = transaction.get(codeRef); if (existingCode.exists()) { Log.e(TAG, "Join code collision: " + joinCode); throw new FirebaseFirestoreException("Join code collision.", FirebaseFirestoreException.Code.ALREADY_EXISTS); } transaction.set(gameRef, gameData); Map<String, Object> codeData = new HashMap<>(); codeData.put("gameId", gameRef.getId()); codeData.put("hostId", hostUserId); codeData.put("createdAt", FieldValue.serverTimestamp()); transaction.set(codeRef, codeData); Log.d(TAG, "Transaction: Creating game " + gameRef.getId() + " and join code " + joinCode); return null; }).addOnSuccessListener(aVoid -> { Log.i(TAG, "Hosted game created successfully. GameID: " + gameRef.getId() + ", Code: " + joinCode); ListenerRegistration reg = gameRef.addSnapshotListener(mainThreadExecutor, (snapshot, error) -> { if (error != null) { Log.e(TAG, "Error listening to hosted game " + gameRef.getId(), error); stopHostedGameListener(gameRef.getId()); listener.onError("Listener error: " + error.getMessage()); return; } if (snapshot != null && snapshot.exists()) { GameModel gm = null; try { gm = snapshot.toObject(GameModel.class); if (gm != null) gm.setGameId(snapshot.getId()); } catch(Exception e) { Log.e(TAG, "Parse fail hosted game "+gameRef.getId(), e); } if (gm != null) { if (GAME_STATUS_PENDING_CODE_JOIN.equals(gm.getStatus())) { Log.d(TAG, "Listener update: Game " + gameRef.getId() + " still waiting for player."); } else if (GameStatus.ACTIVE.getFirestoreValue().equals(gm.getStatus()) && gm.getPlayer2Id() != null) { Log.i(TAG, "Player joined hosted game: " + gameRef.getId()); stopHostedGameListener(gameRef.getId()); listener.onPlayerJoined(gm); } else if (GameStatus.FINISHED.getFirestoreValue().equals(gm.getStatus()) || GameStatus.ERROR.getFirestoreValue().equals(gm.getStatus())) { Log.w(TAG, "Hosted game " + gameRef.getId() + " ended/cancelled before join. Status: " + gm.getStatus()); stopHostedGameListener(gameRef.getId()); listener.onHostingCancelled(); } } else { Log.e(TAG,"Hosted game snapshot parsing failed: "+gameRef.getId()); stopHostedGameListener(gameRef.getId()); listener.onError("Failed to parse game data update."); } } else { Log.w(TAG, "Hosted game document " + gameRef.getId() + " deleted."); stopHostedGameListener(gameRef.getId()); listener.onHostingCancelled(); } }); activeHostedGameListeners.put(gameRef.getId(), reg); listener.onWaitingForPlayer(gameRef.getId(), joinCode); }).addOnFailureListener(e -> { Log.e(TAG, "Failed to create hosted game.", e); listener.onError("Failed to create hosted game: " + e.getMessage()); }); return gameRef.getId(); }
     @Override public void cancelHostedGame(String gameId, @Nullable String hostUserId, AuthListener listener) { if (gameId == null) { if (listener != null) mainThreadExecutor.execute(() -> listener.onFailure("Game ID missing.")); return; } Log.i(TAG, "Attempting to cancel hosted game: " + gameId); DocumentReference gameRef = db.collection(GAMES_COLLECTION).document(gameId); stopHostedGameListener(gameId); db.runTransaction((Transaction.Function<Void>) transaction -> { DocumentSnapshot gameSnap = transaction.get(gameRef); if (!gameSnap.exists()) { Log.w(TAG, "Attempted to cancel non-existent game: " + gameId); return null; } String status = gameSnap.getString("status"); String storedHostId = gameSnap.getString("player1Id"); String joinCode = gameSnap.getString("joinCode"); if (hostUserId != null && !hostUserId.equals(storedHostId)) { Log.w(TAG, "Permission denied cancelling game " + gameId + ". User " + hostUserId + " is not host " + storedHostId); throw new FirebaseFirestoreException("User is not the host.", FirebaseFirestoreException.Code.PERMISSION_DENIED); } if (!GAME_STATUS_PENDING_CODE_JOIN.equals(status)) { Log.w(TAG, "Cannot cancel game " + gameId + " because status is " + status); throw new FirebaseFirestoreException("Game is not waiting for join.", FirebaseFirestoreException.Code.FAILED_PRECONDITION); } transaction.delete(gameRef); Log.d(TAG, "TX: Deleting game document " + gameId); if (joinCode != null && !joinCode.isEmpty()) { DocumentReference codeRef = db.collection(JOIN_CODES_COLLECTION).document(joinCode); DocumentSnapshot codeSnap = transaction.get(codeRef); if (codeSnap.exists()) { transaction.delete(codeRef); Log.d(TAG, "TX: Deleting join code document " + joinCode); } else { Log.w(TAG, "TX: Join code document " + joinCode + " not found during game cancel."); } } return null; }).addOnSuccessListener(aVoid -> { Log.i(TAG, "Successfully cancelled hosted game: " + gameId); if (listener != null) mainThreadExecutor.execute(listener::onSuccess); }).addOnFailureListener(e -> { Log.e(TAG, "Failed to cancel hosted game: " + gameId, e); if (listener != null) mainThreadExecutor.execute(() -> listener.onFailure("Cancel failed: " + e.getMessage())); }); }
     @Override public void stopHostingGameListener(Object listenerRegistration) { if (listenerRegistration instanceof String) { String gameId = (String) listenerRegistration; stopHostedGameListener(gameId); } else if (listenerRegistration != null) { Log.w(TAG, "stopHostingGameListener called with unexpected type: " + listenerRegistration.getClass().getName()); } }
     private void stopHostedGameListener(String gameId) { if (gameId != null && activeHostedGameListeners.containsKey(gameId)) { ListenerRegistration reg = activeHostedGameListeners.remove(gameId); if (reg != null) { reg.remove(); Log.i(TAG, "Stopped and removed hosted game listener for game: " + gameId); } } }
@@ -139,9 +141,9 @@ public class AndroidFirebaseService implements FirebaseService {
     @Override public void declineDraw(String gameId, String decliningPlayerId, AuthListener listener) { if (gameId == null || decliningPlayerId == null) { if (listener != null) mainThreadExecutor.execute(() -> listener.onFailure("ID missing.")); return; } Log.i(TAG, "Player " + decliningPlayerId + " declining draw for game: " + gameId); DocumentReference gameRef = db.collection(GAMES_COLLECTION).document(gameId); db.runTransaction((Transaction.Function<Void>) tx -> { DocumentSnapshot snap = tx.get(gameRef); if (!snap.exists()) throw new FirebaseFirestoreException("Game not found.", FirebaseFirestoreException.Code.NOT_FOUND); GameModel g = snap.toObject(GameModel.class); if (g==null) throw new FirebaseFirestoreException("Parse fail.", FirebaseFirestoreException.Code.DATA_LOSS); if (g.getStatusEnum() != GameStatus.ACTIVE) throw new FirebaseFirestoreException("Game not active.", FirebaseFirestoreException.Code.FAILED_PRECONDITION); if (!g.hasPendingDrawOffer()) throw new FirebaseFirestoreException("No pending draw offer.", FirebaseFirestoreException.Code.FAILED_PRECONDITION); if (decliningPlayerId.equals(g.getDrawOfferedByPlayerId())) throw new FirebaseFirestoreException("Cannot decline own draw offer.", FirebaseFirestoreException.Code.FAILED_PRECONDITION); Map<String, Object> updates = new HashMap<>(); updates.put("drawOfferedByPlayerId", null); updates.put("lastUpdateTime", FieldValue.serverTimestamp()); tx.update(gameRef, updates); Log.d(TAG, "TX: Declining draw by " + decliningPlayerId); return null; }).addOnSuccessListener(aVoid -> { Log.i(TAG, "Draw decline successful for game: " + gameId); if (listener != null) mainThreadExecutor.execute(listener::onSuccess); }).addOnFailureListener(e -> { Log.e(TAG, "Draw decline failed for game: " + gameId, e); if (listener != null) mainThreadExecutor.execute(() -> listener.onFailure(e.getMessage())); }); }
     @Override public void resignGame(String gameId, String resigningPlayerId, GameEndListener listener) { if (gameId == null || resigningPlayerId == null) { if (listener != null) mainThreadExecutor.execute(() -> listener.onGameEndFailure("ID missing.")); return; } DocumentReference gameRef = db.collection(GAMES_COLLECTION).document(gameId); Log.i(TAG, "Player " + resigningPlayerId + " resigning game: " + gameId); db.runTransaction((Transaction.Function<Integer>) tx -> { DocumentSnapshot snap = tx.get(gameRef); if (!snap.exists()) throw new FirebaseFirestoreException("Game not found.", FirebaseFirestoreException.Code.NOT_FOUND); GameModel g = snap.toObject(GameModel.class); if (g==null) throw new FirebaseFirestoreException("Parse fail.", FirebaseFirestoreException.Code.DATA_LOSS); if (g.getStatusEnum() == GameStatus.FINISHED) { Log.w(TAG,"Attempted resignation for already finished game: "+gameId); throw new FirebaseFirestoreException("Game already finished.", FirebaseFirestoreException.Code.ABORTED); } String winnerId, loserId = resigningPlayerId; if (resigningPlayerId.equals(g.getPlayer1Id())) { winnerId = g.getPlayer2Id(); } else if (resigningPlayerId.equals(g.getPlayer2Id())) { winnerId = g.getPlayer1Id(); } else { throw new FirebaseFirestoreException("Resigning player not found in game.", FirebaseFirestoreException.Code.FAILED_PRECONDITION); } if (winnerId == null) throw new FirebaseFirestoreException("Opponent ID missing.", FirebaseFirestoreException.Code.FAILED_PRECONDITION); DocumentReference winRef = db.collection(USERS_COLLECTION).document(winnerId); DocumentReference loseRef = db.collection(USERS_COLLECTION).document(loserId); DocumentSnapshot winSnap = tx.get(winRef); DocumentSnapshot loseSnap = tx.get(loseRef); if (!winSnap.exists() || !loseSnap.exists()) throw new FirebaseFirestoreException("Player profile missing for ELO calculation.", FirebaseFirestoreException.Code.NOT_FOUND); UserModel w = winSnap.toObject(UserModel.class); UserModel l = loseSnap.toObject(UserModel.class); if (w == null || l == null) throw new FirebaseFirestoreException("Player profile parse fail.", FirebaseFirestoreException.Code.DATA_LOSS); w.setUserId(winnerId); l.setUserId(loserId); double wEx = 1.0 / (1.0 + Math.pow(10.0, (l.getEloRating() - w.getEloRating()) / 400.0)); double lEx = 1.0 - wEx; int eloW_ch = (int) Math.round(K_FACTOR * (1.0 - wEx)); int eloL_ch = (int) Math.round(K_FACTOR * (0.0 - lEx)); int newW_elo = Math.max(100, w.getEloRating() + eloW_ch); int newL_elo = Math.max(100, l.getEloRating() + eloL_ch); eloW_ch = newW_elo - w.getEloRating(); eloL_ch = newL_elo - l.getEloRating(); Map<String, Object> gameUpdates = new HashMap<>(); gameUpdates.put("status", GameStatus.FINISHED.getFirestoreValue()); gameUpdates.put("winnerId", winnerId); gameUpdates.put("loserId", loserId); gameUpdates.put("winReason", WIN_REASON_RESIGNATION); gameUpdates.put("drawOfferedByPlayerId", null); if (winnerId.equals(g.getPlayer1Id())) { gameUpdates.put("eloChangePlayer1", eloW_ch); gameUpdates.put("eloChangePlayer2", eloL_ch); } else { gameUpdates.put("eloChangePlayer1", eloL_ch); gameUpdates.put("eloChangePlayer2", eloW_ch); } gameUpdates.put("lastUpdateTime", FieldValue.serverTimestamp()); Log.d(TAG, "TX_resignGame: gameUpdates=" + gameUpdates); tx.update(gameRef, gameUpdates); Map<String, Object> winnerUpdates = new HashMap<>(); winnerUpdates.put("eloRating", newW_elo); winnerUpdates.put("gamesPlayed", FieldValue.increment(1)); winnerUpdates.put("gamesWon", FieldValue.increment(1)); tx.update(winRef, winnerUpdates); Map<String, Object> loserUpdates = new HashMap<>(); loserUpdates.put("eloRating", newL_elo); loserUpdates.put("gamesPlayed", FieldValue.increment(1)); tx.update(loseRef, loserUpdates); Log.d(TAG, "TX: Updating ELO. Winner ("+winnerId+"): "+w.getEloRating()+" -> "+newW_elo+" ("+eloW_ch+"). Loser ("+loserId+"): "+l.getEloRating()+" -> "+newL_elo+" ("+eloL_ch+")"); return eloL_ch; }).addOnSuccessListener(resigningPlayerEloChange -> { Log.i(TAG, "Resignation transaction successful for game: " + gameId + ", Resigner ELO change: " + resigningPlayerEloChange); if (listener != null) mainThreadExecutor.execute(() -> listener.onGameEndSuccess(resigningPlayerEloChange)); }).addOnFailureListener(e -> { Log.e(TAG, "Resignation transaction failed for game: " + gameId, e); if (listener != null) { String msg = e.getMessage(); if (e instanceof FirebaseFirestoreException && ((FirebaseFirestoreException)e).getCode()==FirebaseFirestoreException.Code.ABORTED) { msg="Game already finished."; } final String finalMsg = msg; mainThreadExecutor.execute(() -> listener.onGameEndFailure("Resignation failed: " + finalMsg)); } }); }
     @Override public void updateLastSeen(String gameId, String playerId, AuthListener listener) { if (gameId == null || playerId == null) { if (listener != null) mainThreadExecutor.execute(() -> listener.onFailure("Missing IDs for updateLastSeen")); return; } DocumentReference gameRef = db.collection(GAMES_COLLECTION).document(gameId); gameRef.get().addOnSuccessListener(doc -> { if (!doc.exists()) { if (listener != null) mainThreadExecutor.execute(() -> listener.onFailure("Game not found for lastSeen update.")); return; } String p1Id = doc.getString("player1Id"); String p2Id = doc.getString("player2Id"); String fieldToUpdate = null; if (playerId.equals(p1Id)) { fieldToUpdate = "player1LastSeen"; } else if (playerId.equals(p2Id)) { fieldToUpdate = "player2LastSeen"; } if (fieldToUpdate != null) { gameRef.update(fieldToUpdate, FieldValue.serverTimestamp()) .addOnSuccessListener(aVoid -> { if (listener != null) mainThreadExecutor.execute(listener::onSuccess); }) .addOnFailureListener(e -> { if (listener != null) mainThreadExecutor.execute(() -> listener.onFailure(e.getMessage())); }); } else { Log.w(TAG, "Player ID " + playerId + " not found in game " + gameId + " for lastSeen update."); if (listener != null) mainThreadExecutor.execute(() -> listener.onFailure("Player not found in game.")); } }).addOnFailureListener(e -> { if (listener != null) mainThreadExecutor.execute(() -> listener.onFailure(e.getMessage())); }); }
-    @Override public void initializePlayerBoardStateTransactionally(String gameId, String playerId, String playerColor, DeckModel playerDeckModel, AuthListener listener) { if (gameId == null || playerId == null || playerColor == null || playerDeckModel == null) { if (listener != null) mainThreadExecutor.execute(() -> listener.onFailure("Missing parameters for board initialization.")); return; } Log.i(TAG, "Initializing board state TX for player " + playerId + " (" + playerColor + ") in game " + gameId); DocumentReference gameRef = db.collection(GAMES_COLLECTION).document(gameId); db.runTransaction((Transaction.Function<Void>) tx -> { DocumentSnapshot snap = tx.get(gameRef); if (!snap.exists()) throw new FirebaseFirestoreException("Game not found.", FirebaseFirestoreException.Code.NOT_FOUND); GameModel game = snap.toObject(GameModel.class); if (game == null) throw new FirebaseFirestoreException("Failed to parse game.", FirebaseFirestoreException.Code.DATA_LOSS); if (game.getStatusEnum() != GameStatus.ACTIVE) { Log.w(TAG,"initializePlayerBoardState skipped, game status is: "+ game.getStatusEnum()); return null; } Map<String, Object> updates = new HashMap<>(); String playerFieldPrefix = playerId.equals(game.getPlayer1Id()) ? "player1" : "player2"; String playerSpellsField = playerFieldPrefix + "Spells"; Map<String, Object> existingBoard = game.getBoardState(); boolean playerPiecesExist = false; if (existingBoard != null) { String expectedPrefix = playerColor.toUpperCase() + "_"; for(Object val : existingBoard.values()) { if (val instanceof String && ((String)val).startsWith(expectedPrefix)) { playerPiecesExist = true; break; } } } if (!playerPiecesExist) { Map<String, Object> currentBoard = (existingBoard != null) ? new HashMap<>(existingBoard) : new HashMap<>(); Map<String, String> piecesToAdd = generatePlayerInitialPieces(playerColor, playerDeckModel); int piecesAddedCount = 0; for (Map.Entry<String, String> entry : piecesToAdd.entrySet()) { if (!currentBoard.containsKey(entry.getKey()) || currentBoard.get(entry.getKey()) == null) { currentBoard.put(entry.getKey(), entry.getValue()); piecesAddedCount++; } } if (piecesAddedCount > 0) { updates.put("boardState", currentBoard); Log.d(TAG, "TX: Added " + piecesAddedCount + " pieces for " + playerColor); } else { Log.d(TAG, "TX: No pieces needed to be added for " + playerColor + " (squares might be occupied or already set)."); } } else { Log.d(TAG, "TX: Pieces for " + playerColor + " already exist on board."); } Object currentSpellsObj = snap.get(playerSpellsField); List<String> currentSpellsInGame = null; if (currentSpellsObj instanceof List) { try { @SuppressWarnings("unchecked") List<String> castedList = (List<String>) currentSpellsObj; currentSpellsInGame = castedList; } catch (ClassCastException cce) { Log.w(TAG, "Could not cast spell list to List<String> for field: " + playerSpellsField, cce); } } if (currentSpellsInGame == null || currentSpellsInGame.isEmpty()) { List<String> spellNamesFromDeck = playerDeckModel.getSpellConfiguration().values().stream() .filter(Objects::nonNull) .collect(Collectors.toList()); if (!spellNamesFromDeck.isEmpty()) { updates.put(playerSpellsField, spellNamesFromDeck); Log.d(TAG, "TX: Initializing spells for " + playerId + " (" + playerSpellsField + ") with: " + spellNamesFromDeck); } else { updates.put(playerSpellsField, new ArrayList<String>()); Log.d(TAG, "TX: Initializing empty spell list for " + playerId + " (" + playerSpellsField + ") as deck has no spells."); } } else { Log.d(TAG, "TX: Spells for " + playerId + " (" + playerSpellsField + ") already initialized."); } if (!updates.isEmpty()) { updates.put("lastUpdateTime", FieldValue.serverTimestamp()); tx.update(gameRef, updates); Log.d(TAG,"TX_initializePlayerState: Updating fields: " + updates.keySet()); } else { Log.d(TAG,"TX_initializePlayerState: No updates needed for player " + playerId); } return null; }).addOnSuccessListener(aVoid -> { Log.i(TAG, "Board/Spell initialization TX successful for player " + playerId); if (listener != null) mainThreadExecutor.execute(listener::onSuccess); }).addOnFailureListener(e -> { Log.e(TAG, "Board/Spell initialization TX failed for player " + playerId, e); if (listener != null) mainThreadExecutor.execute(() -> listener.onFailure(e.getMessage())); }); }
-    @Override public void performMove(String gameId, String originalSquare, String targetSquare, String pieceValue, String nextTurnPlayerId, boolean isCapture, boolean isPawnMove, boolean isRangedAttack, long player1TimeRemaining, long player2TimeRemaining, AuthListener listener) { if (gameId == null || originalSquare == null || targetSquare == null || pieceValue == null || nextTurnPlayerId == null) { if(listener != null) mainThreadExecutor.execute(() -> listener.onFailure("Invalid move arguments")); Log.e(TAG, "performMove called with null arguments"); return; } DocumentReference gameRef = db.collection(GAMES_COLLECTION).document(gameId); Log.i(TAG, "Performing move: " + pieceValue + " " + originalSquare + "->" + targetSquare + " Capture: " + isCapture + " Pawn: " + isPawnMove + " Ranged: " + isRangedAttack + " P1T: "+player1TimeRemaining+" P2T: "+player2TimeRemaining); db.runTransaction((Transaction.Function<Void>) transaction -> { DocumentSnapshot gameSnapshot = transaction.get(gameRef); if (!gameSnapshot.exists()) throw new FirebaseFirestoreException("Game not found.", FirebaseFirestoreException.Code.NOT_FOUND); GameModel game = gameSnapshot.toObject(GameModel.class); if (game == null) throw new FirebaseFirestoreException("Failed to parse game data.", FirebaseFirestoreException.Code.DATA_LOSS); String movingPlayerId = game.getCurrentTurnPlayerId(); String movingPlayerColor = game.getPlayerColorById(movingPlayerId); String pieceColor = getPieceColorFromValue(pieceValue); if (game.getStatusEnum() != GameStatus.ACTIVE) { throw new FirebaseFirestoreException("Game is not active.", FirebaseFirestoreException.Code.FAILED_PRECONDITION); } if (movingPlayerColor == null || pieceColor == null || !movingPlayerColor.equalsIgnoreCase(pieceColor)) { Log.w(TAG, "Move validation failed: Attempted move " + pieceValue + " but current turn is " + movingPlayerColor + " (Player ID: " + movingPlayerId + ")"); throw new FirebaseFirestoreException("Not your turn or invalid piece color.", FirebaseFirestoreException.Code.FAILED_PRECONDITION); } Map<String, Object> currentBoardState = game.getBoardState(); if (currentBoardState == null) { throw new FirebaseFirestoreException("Board state is missing.", FirebaseFirestoreException.Code.DATA_LOSS); } Map<String, Object> newBoardState = new HashMap<>(currentBoardState); Object valueOnBoardObj = newBoardState.get(originalSquare); if (!(valueOnBoardObj instanceof String)) { Log.w(TAG, "Validation failed: No piece found at " + originalSquare); throw new FirebaseFirestoreException("Piece not found at original square (empty or invalid type).", FirebaseFirestoreException.Code.FAILED_PRECONDITION); } String valueOnBoard = (String) valueOnBoardObj; String baseValueOnBoard = valueOnBoard.endsWith(MOVED_SUFFIX) ? valueOnBoard.substring(0, valueOnBoard.length() - MOVED_SUFFIX.length()) : valueOnBoard; if (!Objects.equals(pieceValue, baseValueOnBoard)) { Log.w(TAG, "Standard move validation failed: Piece " + pieceValue + " not found at " + originalSquare + ". Found: " + valueOnBoard); throw new FirebaseFirestoreException("Piece not found at original square.", FirebaseFirestoreException.Code.FAILED_PRECONDITION); } if (isRangedAttack) { Log.d(TAG, "TX: Processing RANGED attack."); if (!newBoardState.containsKey(targetSquare)) { Log.w(TAG, "Ranged attack validation failed: Target square " + targetSquare + " is empty."); throw new FirebaseFirestoreException("Ranged attack target square is empty.", FirebaseFirestoreException.Code.FAILED_PRECONDITION); } newBoardState.remove(targetSquare); Log.d(TAG, "TX: Ranged attack removed piece at " + targetSquare + ". Attacker at " + originalSquare + " remains."); } else { Log.d(TAG, "TX: Processing STANDARD move."); newBoardState.remove(originalSquare); String finalPieceValueOnTarget = pieceValue; String pieceType = getPieceTypeFromValue(pieceValue); if (pieceType != null && (pieceType.equals("PAWN") || pieceType.equals("ROOK") || pieceType.equals("KING"))) { finalPieceValueOnTarget += MOVED_SUFFIX; Log.d(TAG, "TX: Appending " + MOVED_SUFFIX + " to " + pieceValue + " for target square " + targetSquare); } newBoardState.put(targetSquare, finalPieceValueOnTarget); Log.d(TAG, "TX: Standard move removed piece from " + originalSquare + ", placed " + finalPieceValueOnTarget + " at " + targetSquare); } int currentFiftyMoveCounter = game.getFiftyMoveRuleCounter(); List<String> currentPositionHistory = game.getPositionHistory(); int nextFiftyMoveCounter; List<String> nextPositionHistory = new ArrayList<>(currentPositionHistory != null ? currentPositionHistory : new ArrayList<>()); BoardPosition nextEnPassantTarget = null; if (!isRangedAttack && isPawnMove) { BoardPosition startPos = GameModel.algebraicToBoardPosition(originalSquare); BoardPosition endPos = GameModel.algebraicToBoardPosition(targetSquare); if (startPos != null && endPos != null && Math.abs(endPos.getY() - startPos.getY()) == 2) { int direction = (Team.WHITE.name().equalsIgnoreCase(pieceColor)) ? 1 : -1; nextEnPassantTarget = startPos.add(0, direction); Log.d(TAG, "Pawn moved two squares, setting EP target for next turn: " + GameModel.boardPositionToAlgebraic(nextEnPassantTarget)); } } if (isCapture || isPawnMove || isRangedAttack) { nextFiftyMoveCounter = 0; nextPositionHistory.clear(); Log.d(TAG, "Resetting draw counters/history due to capture/pawn move/ranged attack."); } else { nextFiftyMoveCounter = currentFiftyMoveCounter + 1; String nextPlayerColor = game.getPlayerColorById(nextTurnPlayerId); Map<String, String> newBoardStateStrMap = convertObjectMapToStringMap(newBoardState); String epTargetString = (nextEnPassantTarget != null) ? GameModel.boardPositionToAlgebraic(nextEnPassantTarget) : "-"; String newStateString = GameModel.generateBoardStateString(newBoardStateStrMap, nextPlayerColor != null ? nextPlayerColor : "?", "-", epTargetString); if (newStateString != null) { nextPositionHistory.add(newStateString); while (nextPositionHistory.size() > POSITION_HISTORY_LIMIT) { nextPositionHistory.remove(0); } } } Map<String, Object> updates = new HashMap<>(); updates.put("boardState", newBoardState); updates.put("currentTurnPlayerId", nextTurnPlayerId); updates.put("fiftyMoveRuleCounter", nextFiftyMoveCounter); updates.put("positionHistory", nextPositionHistory); updates.put("enPassantTargetSquareString", nextEnPassantTarget != null ? GameModel.boardPositionToAlgebraic(nextEnPassantTarget) : null); FieldValue serverTimestamp = FieldValue.serverTimestamp(); updates.put("lastUpdateTime", serverTimestamp); String lastSeenField = movingPlayerId.equals(game.getPlayer1Id()) ? "player1LastSeen" : "player2LastSeen"; updates.put(lastSeenField, serverTimestamp); updates.put("player1TimeRemainingMillis", player1TimeRemaining); updates.put("player2TimeRemainingMillis", player2TimeRemaining); updates.put("drawOfferedByPlayerId", null); Log.d(TAG, "TX_performMove: updates=" + updates.keySet()); transaction.update(gameRef, updates); return null; }).addOnSuccessListener(aVoid -> { Log.i(TAG, "performMove transaction successful for game: " + gameId); if (listener != null) mainThreadExecutor.execute(listener::onSuccess); }).addOnFailureListener(e -> { Log.e(TAG, "performMove transaction failed for game: " + gameId, e); if (listener != null) mainThreadExecutor.execute(() -> listener.onFailure("Move failed: " + e.getMessage())); }); }
-    @Override public void performSpellCast(String gameId, String castingPlayerId, String spellName, @Nullable Map<String, String> targetInfo, long player1TimeRemaining, long player2TimeRemaining, AuthListener listener) { if (gameId == null || castingPlayerId == null || spellName == null) { if(listener != null) mainThreadExecutor.execute(() -> listener.onFailure("Invalid spell arguments")); Log.e(TAG, "performSpellCast called with null arguments"); return; } DocumentReference gameRef = db.collection(GAMES_COLLECTION).document(gameId); Log.i(TAG, "Spell cast network sync: Player " + castingPlayerId + " casting " + spellName + " targets: " + targetInfo + " P1T: "+player1TimeRemaining+" P2T: "+player2TimeRemaining); db.runTransaction((Transaction.Function<Void>) transaction -> { DocumentSnapshot gameSnapshot = transaction.get(gameRef); if (!gameSnapshot.exists()) throw new FirebaseFirestoreException("Game not found.", FirebaseFirestoreException.Code.NOT_FOUND); GameModel game = gameSnapshot.toObject(GameModel.class); if (game == null) throw new FirebaseFirestoreException("Failed to parse game data.", FirebaseFirestoreException.Code.DATA_LOSS); if (game.getStatusEnum() != GameStatus.ACTIVE) { throw new FirebaseFirestoreException("Game is not active.", FirebaseFirestoreException.Code.FAILED_PRECONDITION); } if (!castingPlayerId.equals(game.getCurrentTurnPlayerId())) { throw new FirebaseFirestoreException("Not your turn.", FirebaseFirestoreException.Code.FAILED_PRECONDITION); } String playerSpellsField = castingPlayerId.equals(game.getPlayer1Id()) ? "player1Spells" : "player2Spells"; Object spellsObj = gameSnapshot.get(playerSpellsField); List<String> playerSpells; if (spellsObj instanceof List) { try { @SuppressWarnings("unchecked") List<String> castedList = (List<String>) spellsObj; playerSpells = new ArrayList<>(castedList); } catch (ClassCastException cce) { Log.e(TAG, "Internal error reading spell list for " + playerSpellsField, cce); throw new FirebaseFirestoreException("Internal error: Cannot read spell list.", FirebaseFirestoreException.Code.INTERNAL); } } else { Log.w(TAG, "Player spell list field '"+playerSpellsField+"' missing or not a List. Assuming empty."); playerSpells = new ArrayList<>(); } final String upperSpellName = spellName.toUpperCase(); boolean removed = playerSpells.removeIf(s -> s.equalsIgnoreCase(upperSpellName)); if (!removed) { Log.w(TAG, "Player " + castingPlayerId + " attempted to cast unavailable spell: " + spellName + " (Available: " + playerSpells + ")"); throw new FirebaseFirestoreException("Player does not have spell: " + spellName, FirebaseFirestoreException.Code.FAILED_PRECONDITION); } SpellConfig spellConfig = SpellFactory.getConfig(spellName); if (spellConfig == null) { throw new FirebaseFirestoreException("Unknown spell type: " + spellName, FirebaseFirestoreException.Code.INVALID_ARGUMENT); } String opponentId = game.getOpponentId(castingPlayerId); if (opponentId == null) throw new FirebaseFirestoreException("Cannot find opponent ID.", FirebaseFirestoreException.Code.INTERNAL); String nextTurnId = spellConfig.endsTurn ? opponentId : castingPlayerId; Map<String, Object> updates = new HashMap<>(); updates.put(playerSpellsField, playerSpells); updates.put("currentTurnPlayerId", nextTurnId); FieldValue serverTimestamp = FieldValue.serverTimestamp(); updates.put("lastUpdateTime", serverTimestamp); String lastSeenField = castingPlayerId.equals(game.getPlayer1Id()) ? "player1LastSeen" : "player2LastSeen"; updates.put(lastSeenField, serverTimestamp); updates.put("player1TimeRemainingMillis", player1TimeRemaining); updates.put("player2TimeRemainingMillis", player2TimeRemaining); updates.put("drawOfferedByPlayerId", null); Map<String, Object> currentBoard = game.getBoardState(); Map<String, Object> newBoard = new HashMap<>(currentBoard != null ? currentBoard : new HashMap<>()); boolean boardChanged = false; if (spellConfig.effectComponents != null) { for (SpellConfig.SpellEffectComponentConfig componentConfig : spellConfig.effectComponents) { if ("DESTROY_TARGET".equals(componentConfig.type)) { if (targetInfo != null && targetInfo.containsKey("targetSquare")) { String targetSquare = targetInfo.get("targetSquare"); if (newBoard.containsKey(targetSquare)) { newBoard.remove(targetSquare); boardChanged = true; Log.d(TAG, "TX: Spell effect DESTROY_TARGET removed piece at " + targetSquare); updates.put("fiftyMoveRuleCounter", 0); updates.put("positionHistory", new ArrayList<String>()); } else { Log.w(TAG, "TX: Spell effect DESTROY_TARGET target square " + targetSquare + " already empty or invalid."); } } else if (componentConfig.params != null && Boolean.parseBoolean(componentConfig.params.getOrDefault("allow_empty", "false"))) { Log.d(TAG, "TX: Spell effect DESTROY_TARGET allowed empty target, no board change."); } else { Log.e(TAG, "TX: Spell effect DESTROY_TARGET requires a valid target square, but none provided or found. Check spell config and client logic."); } } } } if (boardChanged) { updates.put("boardState", newBoard); } Log.d(TAG, "TX_performSpellCast: updates=" + updates.keySet()); transaction.update(gameRef, updates); return null; }).addOnSuccessListener(aVoid -> { Log.i(TAG, "performSpellCast transaction successful for game: " + gameId); if (listener != null) mainThreadExecutor.execute(listener::onSuccess); }).addOnFailureListener(e -> { Log.e(TAG, "performSpellCast transaction failed for game: " + gameId, e); if (listener != null) mainThreadExecutor.execute(() -> listener.onFailure("Spell cast failed: " + e.getMessage())); }); }
+    @Override public void initializePlayerBoardStateTransactionally(String gameId, String playerId, String playerColor, DeckModel playerDeckModel, AuthListener listener) { if (gameId == null || playerId == null || playerColor == null || playerDeckModel == null) { if (listener != null) mainThreadExecutor.execute(() -> listener.onFailure("Missing parameters for board initialization.")); return; } Log.i(TAG, "Initializing board state TX for player " + playerId + " (" + playerColor + ") in game " + gameId); DocumentReference gameRef = db.collection(GAMES_COLLECTION).document(gameId); db.runTransaction((Transaction.Function<Void>) tx -> { DocumentSnapshot snap = tx.get(gameRef); if (!snap.exists()) throw new FirebaseFirestoreException("Game not found.", FirebaseFirestoreException.Code.NOT_FOUND); GameModel game = snap.toObject(GameModel.class); if (game == null) throw new FirebaseFirestoreException("Failed to parse game.", FirebaseFirestoreException.Code.DATA_LOSS); if (game.getStatusEnum() != GameStatus.ACTIVE) { Log.w(TAG,"initializePlayerBoardState skipped, game status is: "+ game.getStatusEnum()); return null; } Map<String, Object> updates = new HashMap<>(); String playerFieldPrefix = playerId.equals(game.getPlayer1Id()) ? "player1" : "player2"; String playerSpellsField = playerFieldPrefix + "Spells"; Map<String, Object> existingBoard = game.getBoardState(); boolean playerPiecesExist = false; if (existingBoard != null) { String expectedPrefix = playerColor.toUpperCase() + "_"; for(Object val : existingBoard.values()) { if (val instanceof String && ((String)val).startsWith(expectedPrefix)) { playerPiecesExist = true; break; } } } if (!playerPiecesExist) { Map<String, Object> currentBoard = (existingBoard != null) ? new HashMap<>(existingBoard) : new HashMap<>(); Map<String, String> piecesToAdd = generatePlayerInitialPieces(playerColor, playerDeckModel, game.getPosition().getGeometry()); int piecesAddedCount = 0; for (Map.Entry<String, String> entry : piecesToAdd.entrySet()) { if (!currentBoard.containsKey(entry.getKey()) || currentBoard.get(entry.getKey()) == null) { currentBoard.put(entry.getKey(), entry.getValue()); piecesAddedCount++; } } if (piecesAddedCount > 0) { updates.put("boardState", currentBoard); Log.d(TAG, "TX: Added " + piecesAddedCount + " pieces for " + playerColor); } else { Log.d(TAG, "TX: No pieces needed to be added for " + playerColor + " (squares might be occupied or already set)."); } } else { Log.d(TAG, "TX: Pieces for " + playerColor + " already exist on board."); } Object currentSpellsObj = snap.get(playerSpellsField); List<String> currentSpellsInGame = null; if (currentSpellsObj instanceof List) { try { @SuppressWarnings("unchecked") List<String> castedList = (List<String>) currentSpellsObj; currentSpellsInGame = castedList; } catch (ClassCastException cce) { Log.w(TAG, "Could not cast spell list to List<String> for field: " + playerSpellsField, cce); } } if (currentSpellsInGame == null || currentSpellsInGame.isEmpty()) { List<String> spellNamesFromDeck = playerDeckModel.getSpellConfiguration().values().stream() .filter(Objects::nonNull) .collect(Collectors.toList()); if (!spellNamesFromDeck.isEmpty()) { updates.put(playerSpellsField, spellNamesFromDeck); Log.d(TAG, "TX: Initializing spells for " + playerId + " (" + playerSpellsField + ") with: " + spellNamesFromDeck); } else { updates.put(playerSpellsField, new ArrayList<String>()); Log.d(TAG, "TX: Initializing empty spell list for " + playerId + " (" + playerSpellsField + ") as deck has no spells."); } } else { Log.d(TAG, "TX: Spells for " + playerId + " (" + playerSpellsField + ") already initialized."); } if (!updates.isEmpty()) { updates.put("lastUpdateTime", FieldValue.serverTimestamp()); tx.update(gameRef, updates); Log.d(TAG,"TX_initializePlayerState: Updating fields: " + updates.keySet()); } else { Log.d(TAG,"TX_initializePlayerState: No updates needed for player " + playerId); } return null; }).addOnSuccessListener(aVoid -> { Log.i(TAG, "Board/Spell initialization TX successful for player " + playerId); if (listener != null) mainThreadExecutor.execute(listener::onSuccess); }).addOnFailureListener(e -> { Log.e(TAG, "Board/Spell initialization TX failed for player " + playerId, e); if (listener != null) mainThreadExecutor.execute(() -> listener.onFailure(e.getMessage())); }); }
+    @Override public void performMove(String gameId, String originalSquare, String targetSquare, String pieceValue, String nextTurnPlayerId, boolean isCapture, boolean isPawnMove, boolean isRangedAttack, long player1TimeRemaining, long player2TimeRemaining, AuthListener listener) { if (gameId == null || originalSquare == null || targetSquare == null || pieceValue == null || nextTurnPlayerId == null) { if(listener != null) mainThreadExecutor.execute(() -> listener.onFailure("Invalid move arguments")); Log.e(TAG, "performMove called with null arguments"); return; } DocumentReference gameRef = db.collection(GAMES_COLLECTION).document(gameId); Log.i(TAG, "Performing move: " + pieceValue + " " + originalSquare + "->" + targetSquare + " Capture: " + isCapture + " Pawn: " + isPawnMove + " Ranged: " + isRangedAttack + " P1T: "+player1TimeRemaining+" P2T: "+player2TimeRemaining); db.runTransaction((Transaction.Function<Void>) transaction -> { DocumentSnapshot gameSnapshot = transaction.get(gameRef); if (!gameSnapshot.exists()) throw new FirebaseFirestoreException("Game not found.", FirebaseFirestoreException.Code.NOT_FOUND); GameModel game = gameSnapshot.toObject(GameModel.class); if (game == null) throw new FirebaseFirestoreException("Failed to parse game data.", FirebaseFirestoreException.Code.DATA_LOSS); String movingPlayerId = game.getCurrentTurnPlayerId(); String movingPlayerColor = game.getPlayerColorById(movingPlayerId); String pieceColor = getPieceColorFromValue(pieceValue); if (game.getStatusEnum() != GameStatus.ACTIVE) { throw new FirebaseFirestoreException("Game is not active.", FirebaseFirestoreException.Code.FAILED_PRECONDITION); } if (movingPlayerColor == null || pieceColor == null || !movingPlayerColor.equalsIgnoreCase(pieceColor)) { Log.w(TAG, "Move validation failed: Attempted move " + pieceValue + " but current turn is " + movingPlayerColor + " (Player ID: " + movingPlayerId + ")"); throw new FirebaseFirestoreException("Not your turn or invalid piece color.", FirebaseFirestoreException.Code.FAILED_PRECONDITION); } Map<String, Object> currentBoardState = game.getBoardState(); if (currentBoardState == null) { throw new FirebaseFirestoreException("Board state is missing.", FirebaseFirestoreException.Code.DATA_LOSS); } Map<String, Object> newBoardState = new HashMap<>(currentBoardState); Object valueOnBoardObj = newBoardState.get(originalSquare); if (!(valueOnBoardObj instanceof String)) { Log.w(TAG, "Validation failed: No piece found at " + originalSquare); throw new FirebaseFirestoreException("Piece not found at original square (empty or invalid type).", FirebaseFirestoreException.Code.FAILED_PRECONDITION); } String valueOnBoard = (String) valueOnBoardObj; String baseValueOnBoard = valueOnBoard.endsWith(MOVED_SUFFIX) ? valueOnBoard.substring(0, valueOnBoard.length() - MOVED_SUFFIX.length()) : valueOnBoard; if (!Objects.equals(pieceValue, baseValueOnBoard)) { Log.w(TAG, "Standard move validation failed: Piece " + pieceValue + " not found at " + originalSquare + ". Found: " + valueOnBoard); throw new FirebaseFirestoreException("Piece not found at original square.", FirebaseFirestoreException.Code.FAILED_PRECONDITION); } if (isRangedAttack) { Log.d(TAG, "TX: Processing RANGED attack."); if (!newBoardState.containsKey(targetSquare)) { Log.w(TAG, "Ranged attack validation failed: Target square " + targetSquare + " is empty."); throw new FirebaseFirestoreException("Ranged attack target square is empty.", FirebaseFirestoreException.Code.FAILED_PRECONDITION); } newBoardState.remove(targetSquare); Log.d(TAG, "TX: Ranged attack removed piece at " + targetSquare + ". Attacker at " + originalSquare + " remains."); } else { Log.d(TAG, "TX: Processing STANDARD move."); newBoardState.remove(originalSquare); String finalPieceValueOnTarget = pieceValue; String pieceType = getPieceTypeFromValue(pieceValue); if (pieceType != null && (pieceType.equals("PAWN") || pieceType.equals("ROOK") || pieceType.equals("KING"))) { finalPieceValueOnTarget += MOVED_SUFFIX; Log.d(TAG, "TX: Appending " + MOVED_SUFFIX + " to " + pieceValue + " for target square " + targetSquare); } newBoardState.put(targetSquare, finalPieceValueOnTarget); Log.d(TAG, "TX: Standard move removed piece from " + originalSquare + ", placed " + finalPieceValueOnTarget + " at " + targetSquare); } int currentFiftyMoveCounter = game.getFiftyMoveRuleCounter(); List<Long> currentPositionHistory = game.getRepetitionHistory(); int nextFiftyMoveCounter; List<Long> nextPositionHistory = new ArrayList<>(currentPositionHistory != null ? currentPositionHistory : new ArrayList<>()); BoardPosition nextEnPassantTarget = null; if (!isRangedAttack && isPawnMove) { BoardPosition startPos = GameModel.algebraicToBoardPosition(originalSquare); BoardPosition endPos = GameModel.algebraicToBoardPosition(targetSquare); if (startPos != null && endPos != null && Math.abs(endPos.getY() - startPos.getY()) == 2) { int direction = (Team.WHITE.name().equalsIgnoreCase(pieceColor)) ? 1 : -1; nextEnPassantTarget = startPos.add(0, direction); Log.d(TAG, "Pawn moved two squares, setting EP target for next turn: " + GameModel.boardPositionToAlgebraic(nextEnPassantTarget)); } } if (isCapture || isPawnMove || isRangedAttack) { nextFiftyMoveCounter = 0; nextPositionHistory.clear(); Log.d(TAG, "Resetting draw counters/history due to capture/pawn move/ranged attack."); } else { nextFiftyMoveCounter = currentFiftyMoveCounter + 1; game.setBoardState(newBoardState); game.setCurrentTurnPlayerId(nextTurnPlayerId); game.setEnPassantTargetSquareString(GameModel.boardPositionToAlgebraic(nextEnPassantTarget)); nextPositionHistory.add(game.getPositionKey()); while (nextPositionHistory.size() > POSITION_HISTORY_LIMIT) { nextPositionHistory.remove(0); } } Map<String, Object> updates = new HashMap<>(); updates.put("boardState", newBoardState); updates.put("currentTurnPlayerId", nextTurnPlayerId); updates.put("fiftyMoveRuleCounter", nextFiftyMoveCounter); updates.put("positionKeys", nextPositionHistory); updates.put("positionHistory", FieldValue.delete()); updates.put("enPassantTargetSquareString", nextEnPassantTarget != null ? GameModel.boardPositionToAlgebraic(nextEnPassantTarget) : null); FieldValue serverTimestamp = FieldValue.serverTimestamp(); updates.put("lastUpdateTime", serverTimestamp); String lastSeenField = movingPlayerId.equals(game.getPlayer1Id()) ? "player1LastSeen" : "player2LastSeen"; updates.put(lastSeenField, serverTimestamp); updates.put("player1TimeRemainingMillis", player1TimeRemaining); updates.put("player2TimeRemainingMillis", player2TimeRemaining); updates.put("drawOfferedByPlayerId", null); Log.d(TAG, "TX_performMove: updates=" + updates.keySet()); transaction.update(gameRef, updates); return null; }).addOnSuccessListener(aVoid -> { Log.i(TAG, "performMove transaction successful for game: " + gameId); if (listener != null) mainThreadExecutor.execute(listener::onSuccess); }).addOnFailureListener(e -> { Log.e(TAG, "performMove transaction failed for game: " + gameId, e); if (listener != null) mainThreadExecutor.execute(() -> listener.onFailure("Move failed: " + e.getMessage())); }); }
+    @Override public void performSpellCast(String gameId, String castingPlayerId, String spellName, @Nullable Map<String, String> targetInfo, long player1TimeRemaining, long player2TimeRemaining, AuthListener listener) { if (gameId == null || castingPlayerId == null || spellName == null) { if(listener != null) mainThreadExecutor.execute(() -> listener.onFailure("Invalid spell arguments")); Log.e(TAG, "performSpellCast called with null arguments"); return; } DocumentReference gameRef = db.collection(GAMES_COLLECTION).document(gameId); Log.i(TAG, "Spell cast network sync: Player " + castingPlayerId + " casting " + spellName + " targets: " + targetInfo + " P1T: "+player1TimeRemaining+" P2T: "+player2TimeRemaining); db.runTransaction((Transaction.Function<Void>) transaction -> { DocumentSnapshot gameSnapshot = transaction.get(gameRef); if (!gameSnapshot.exists()) throw new FirebaseFirestoreException("Game not found.", FirebaseFirestoreException.Code.NOT_FOUND); GameModel game = gameSnapshot.toObject(GameModel.class); if (game == null) throw new FirebaseFirestoreException("Failed to parse game data.", FirebaseFirestoreException.Code.DATA_LOSS); if (game.getStatusEnum() != GameStatus.ACTIVE) { throw new FirebaseFirestoreException("Game is not active.", FirebaseFirestoreException.Code.FAILED_PRECONDITION); } if (!castingPlayerId.equals(game.getCurrentTurnPlayerId())) { throw new FirebaseFirestoreException("Not your turn.", FirebaseFirestoreException.Code.FAILED_PRECONDITION); } String playerSpellsField = castingPlayerId.equals(game.getPlayer1Id()) ? "player1Spells" : "player2Spells"; Object spellsObj = gameSnapshot.get(playerSpellsField); List<String> playerSpells; if (spellsObj instanceof List) { try { @SuppressWarnings("unchecked") List<String> castedList = (List<String>) spellsObj; playerSpells = new ArrayList<>(castedList); } catch (ClassCastException cce) { Log.e(TAG, "Internal error reading spell list for " + playerSpellsField, cce); throw new FirebaseFirestoreException("Internal error: Cannot read spell list.", FirebaseFirestoreException.Code.INTERNAL); } } else { Log.w(TAG, "Player spell list field '"+playerSpellsField+"' missing or not a List. Assuming empty."); playerSpells = new ArrayList<>(); } final String upperSpellName = spellName.toUpperCase(); boolean removed = playerSpells.removeIf(s -> s.equalsIgnoreCase(upperSpellName)); if (!removed) { Log.w(TAG, "Player " + castingPlayerId + " attempted to cast unavailable spell: " + spellName + " (Available: " + playerSpells + ")"); throw new FirebaseFirestoreException("Player does not have spell: " + spellName, FirebaseFirestoreException.Code.FAILED_PRECONDITION); } SpellConfig spellConfig = SpellFactory.getConfig(spellName); if (spellConfig == null) { throw new FirebaseFirestoreException("Unknown spell type: " + spellName, FirebaseFirestoreException.Code.INVALID_ARGUMENT); } String opponentId = game.getOpponentId(castingPlayerId); if (opponentId == null) throw new FirebaseFirestoreException("Cannot find opponent ID.", FirebaseFirestoreException.Code.INTERNAL); String nextTurnId = spellConfig.endsTurn ? opponentId : castingPlayerId; Map<String, Object> updates = new HashMap<>(); updates.put(playerSpellsField, playerSpells); updates.put("currentTurnPlayerId", nextTurnId); FieldValue serverTimestamp = FieldValue.serverTimestamp(); updates.put("lastUpdateTime", serverTimestamp); String lastSeenField = castingPlayerId.equals(game.getPlayer1Id()) ? "player1LastSeen" : "player2LastSeen"; updates.put(lastSeenField, serverTimestamp); updates.put("player1TimeRemainingMillis", player1TimeRemaining); updates.put("player2TimeRemainingMillis", player2TimeRemaining); updates.put("drawOfferedByPlayerId", null); Map<String, Object> currentBoard = game.getBoardState(); Map<String, Object> newBoard = new HashMap<>(currentBoard != null ? currentBoard : new HashMap<>()); boolean boardChanged = false; if (spellConfig.effectComponents != null) { for (SpellConfig.SpellEffectComponentConfig componentConfig : spellConfig.effectComponents) { if ("DESTROY_TARGET".equals(componentConfig.type)) { if (targetInfo != null && targetInfo.containsKey("targetSquare")) { String targetSquare = targetInfo.get("targetSquare"); if (newBoard.containsKey(targetSquare)) { newBoard.remove(targetSquare); boardChanged = true; Log.d(TAG, "TX: Spell effect DESTROY_TARGET removed piece at " + targetSquare); updates.put("fiftyMoveRuleCounter", 0); updates.put("positionKeys", new ArrayList<Long>()); updates.put("positionHistory", FieldValue.delete()); } else { Log.w(TAG, "TX: Spell effect DESTROY_TARGET target square " + targetSquare + " already empty or invalid."); } } else if (componentConfig.params != null && Boolean.parseBoolean(componentConfig.params.getOrDefault("allow_empty", "false"))) { Log.d(TAG, "TX: Spell effect DESTROY_TARGET allowed empty target, no board change."); } else { Log.e(TAG, "TX: Spell effect DESTROY_TARGET requires a valid target square, but none provided or found. Check spell config and client logic."); } } } } if (boardChanged) { updates.put("boardState", newBoard); } Log.d(TAG, "TX_performSpellCast: updates=" + updates.keySet()); transaction.update(gameRef, updates); return null; }).addOnSuccessListener(aVoid -> { Log.i(TAG, "performSpellCast transaction successful for game: " + gameId); if (listener != null) mainThreadExecutor.execute(listener::onSuccess); }).addOnFailureListener(e -> { Log.e(TAG, "performSpellCast transaction failed for game: " + gameId, e); if (listener != null) mainThreadExecutor.execute(() -> listener.onFailure("Spell cast failed: " + e.getMessage())); }); }
     @Override public void recordGameResult(String gameId, @Nullable String winnerId, @Nullable String loserId, String winReason, AuthListener listener) { if (gameId == null || winReason == null) { if(listener != null) mainThreadExecutor.execute(() -> listener.onFailure("Invalid arguments for recordGameResult")); Log.e(TAG, "recordGameResult called with null gameId or winReason"); return; } boolean isDraw = (winnerId == null && loserId == null) || WIN_REASON_STALEMATE.equals(winReason) || WIN_REASON_DRAW_AGREEMENT.equals(winReason) || DRAW_REASON_REPETITION.equals(winReason) || DRAW_REASON_50_MOVE.equals(winReason) || DRAW_REASON_MATERIAL.equals(winReason); if (!isDraw && (winnerId == null || loserId == null || Objects.equals(winnerId, loserId))) { if(listener != null) mainThreadExecutor.execute(() -> listener.onFailure("Invalid winner/loser IDs for non-draw result.")); Log.e(TAG, "recordGameResult invalid winner/loser IDs. W:" + winnerId + ", L:" + loserId + ", Draw:" + isDraw + ", Reason: " + winReason); return; } DocumentReference gameRef = db.collection(GAMES_COLLECTION).document(gameId); Log.i(TAG, "Recording result '" + winReason + "' for game " + gameId + ". W: " + winnerId + ", L: " + loserId + ", Draw: " + isDraw); db.runTransaction((Transaction.Function<Void>) transaction -> { DocumentSnapshot gameSnapshot = transaction.get(gameRef); if (!gameSnapshot.exists()) throw new FirebaseFirestoreException("Game not found.", FirebaseFirestoreException.Code.NOT_FOUND); GameModel game = gameSnapshot.toObject(GameModel.class); if (game == null) throw new FirebaseFirestoreException("Game parse fail.", FirebaseFirestoreException.Code.DATA_LOSS); if (game.getStatusEnum() == GameStatus.FINISHED) { Log.w(TAG, "Attempted to record result for already finished game: " + gameId); throw new FirebaseFirestoreException("Game is already finished.", FirebaseFirestoreException.Code.ABORTED); } String p1Id = game.getPlayer1Id(); String p2Id = game.getPlayer2Id(); if (p1Id == null || p2Id == null) throw new FirebaseFirestoreException("Game missing player IDs.", FirebaseFirestoreException.Code.DATA_LOSS); if (!isDraw) { if (!((winnerId.equals(p1Id) && loserId.equals(p2Id)) || (winnerId.equals(p2Id) && loserId.equals(p1Id)))) { throw new FirebaseFirestoreException("Winner/Loser IDs do not match game players.", FirebaseFirestoreException.Code.INVALID_ARGUMENT); } } DocumentReference p1Ref = db.collection(USERS_COLLECTION).document(p1Id); DocumentReference p2Ref = db.collection(USERS_COLLECTION).document(p2Id); DocumentSnapshot p1Snap = transaction.get(p1Ref); DocumentSnapshot p2Snap = transaction.get(p2Ref); if (!p1Snap.exists() || !p2Snap.exists()) throw new FirebaseFirestoreException("Player profile missing.", FirebaseFirestoreException.Code.NOT_FOUND); UserModel p1 = p1Snap.toObject(UserModel.class); UserModel p2 = p2Snap.toObject(UserModel.class); if (p1 == null || p2 == null) throw new FirebaseFirestoreException("Profile parse fail.", FirebaseFirestoreException.Code.DATA_LOSS); p1.setUserId(p1Id); p2.setUserId(p2Id); int eloChangeP1 = 0; int eloChangeP2 = 0; int newEloP1 = p1.getEloRating(); int newEloP2 = p2.getEloRating(); if (!isDraw) { UserModel winner = winnerId.equals(p1Id) ? p1 : p2; UserModel loser = loserId.equals(p1Id) ? p1 : p2; double wEx = 1.0 / (1.0 + Math.pow(10.0, (loser.getEloRating() - winner.getEloRating()) / 400.0)); double lEx = 1.0 - wEx; int eloW_ch = (int) Math.round(K_FACTOR * (1.0 - wEx)); int eloL_ch = (int) Math.round(K_FACTOR * (0.0 - lEx)); int newW_elo = Math.max(100, winner.getEloRating() + eloW_ch); int newL_elo = Math.max(100, loser.getEloRating() + eloL_ch); eloW_ch = newW_elo - winner.getEloRating(); eloL_ch = newL_elo - loser.getEloRating(); if (winnerId.equals(p1Id)) { eloChangeP1 = eloW_ch; newEloP1 = newW_elo; eloChangeP2 = eloL_ch; newEloP2 = newL_elo; } else { eloChangeP1 = eloL_ch; newEloP1 = newL_elo; eloChangeP2 = eloW_ch; newEloP2 = newW_elo; } } Map<String, Object> gameUpdates = new HashMap<>(); gameUpdates.put("status", GameStatus.FINISHED.getFirestoreValue()); gameUpdates.put("winnerId", isDraw ? null : winnerId); gameUpdates.put("loserId", isDraw ? null : loserId); gameUpdates.put("winReason", winReason); gameUpdates.put("drawOfferedByPlayerId", null); gameUpdates.put("eloChangePlayer1", eloChangeP1); gameUpdates.put("eloChangePlayer2", eloChangeP2); gameUpdates.put("lastUpdateTime", FieldValue.serverTimestamp()); Log.d(TAG, "TX_recordResult: gameUpdates=" + gameUpdates); transaction.update(gameRef, gameUpdates); Map<String, Object> p1Updates = new HashMap<>(); p1Updates.put("eloRating", newEloP1); p1Updates.put("gamesPlayed", FieldValue.increment(1)); if (!isDraw && p1Id.equals(winnerId)) { p1Updates.put("gamesWon", FieldValue.increment(1)); } Log.d(TAG, "TX_recordResult: p1Updates=" + p1Updates); transaction.update(p1Ref, p1Updates); Map<String, Object> p2Updates = new HashMap<>(); p2Updates.put("eloRating", newEloP2); p2Updates.put("gamesPlayed", FieldValue.increment(1)); if (!isDraw && p2Id.equals(winnerId)) { p2Updates.put("gamesWon", FieldValue.increment(1)); } Log.d(TAG, "TX_recordResult: p2Updates=" + p2Updates); transaction.update(p2Ref, p2Updates); return null; }).addOnSuccessListener(aVoid -> { Log.i(TAG, "recordGameResult transaction successful for game: " + gameId); if (listener != null) mainThreadExecutor.execute(listener::onSuccess); }).addOnFailureListener(e -> { Log.e(TAG, "recordGameResult transaction failed for game: " + gameId, e); if (listener != null) { String msg = e.getMessage(); if (e instanceof FirebaseFirestoreException && ((FirebaseFirestoreException)e).getCode()==FirebaseFirestoreException.Code.ABORTED) { msg="Game already finished or precondition failed."; } final String finalMsg = msg; mainThreadExecutor.execute(() -> listener.onFailure("Result recording failed: " + finalMsg)); } }); }
 
 
@@ -227,7 +229,7 @@ public class AndroidFirebaseService implements FirebaseService {
 
 
     // --- Private Helpers ---
-    private Map<String, String> generatePlayerInitialPieces(String playerColor, DeckModel deckModel) { Map<String, String> pieces = new HashMap<>(); if (deckModel == null || playerColor == null) return pieces; String[] files = {"a", "b", "c", "d", "e", "f", "g", "h"}; boolean isWhite = "white".equalsIgnoreCase(playerColor); String prefix = isWhite ? "WHITE_" : "BLACK_"; String backRank = isWhite ? "1" : "8"; String frontRank = isWhite ? "2" : "7"; for (int i = 0; i < DeckModel.PIECE_GRID_SIZE; i++) { String typeName = deckModel.getPieceTypeNameAt(i); if (typeName != null && !typeName.isEmpty()) { int fileIdx = i % 8; String file = files[fileIdx]; String rank = (i < 8) ? backRank : frontRank; String square = file + rank; pieces.put(square, prefix + typeName.toUpperCase()); } } Log.d(TAG, "Generated initial pieces for " + playerColor + ": " + pieces); return pieces; }
+    private Map<String, String> generatePlayerInitialPieces(String playerColor, DeckModel deckModel, BoardGeometry geometry) { Map<String, String> pieces = new HashMap<>(); if (deckModel == null || playerColor == null) return pieces; boolean isWhite = "white".equalsIgnoreCase(playerColor); Team team = isWhite ? Team.WHITE : Team.BLACK; String prefix = isWhite ? "WHITE_" : "BLACK_"; for (int i = 0; i < DeckModel.PIECE_GRID_SIZE; i++) { String typeName = deckModel.getPieceTypeNameAt(i); if (typeName != null && !typeName.isEmpty()) { int file = geometry.getHomeFile(i % BoardGeometry.HOME_FILES); int rank = (i < BoardGeometry.HOME_FILES) ? geometry.getBackRank(team) : geometry.getPawnRank(team); String square = geometry.position(geometry.index(file, rank)).toAlgebraic(); pieces.put(square, prefix + typeName.toUpperCase()); } } Log.d(TAG, "Generated initial pieces for " + playerColor + " on " + geometry + ": " + pieces); return pieces; }
     private String getPieceColorFromValue(String pieceValue) { if (pieceValue == null || !pieceValue.contains("_")) return null; String baseValue = pieceValue.replace(MOVED_SUFFIX, ""); return baseValue.substring(0, baseValue.indexOf('_')).toUpperCase(); }
     private String getPieceTypeFromValue(String pieceValue) { if (pieceValue == null || !pieceValue.contains("_")) return null; String baseValue = pieceValue.replace(MOVED_SUFFIX, ""); return baseValue.substring(baseValue.indexOf('_') + 1).toUpperCase(); }
     private Map<String, String> convertObjectMapToStringMap(Map<String, Object> objMap) { if (objMap == null) return new HashMap<>(); Map<String, String> strMap = new HashMap<>(); for (Map.Entry<String, Object> entry : objMap.entrySet()) { if (entry.getValue() instanceof String) { strMap.put(entry.getKey(), (String) entry.getValue()); } else if (entry.getValue() != null) { Log.w(TAG, "convertObjectMapToStringMap: Unexpected type " + entry.getValue().getClass().getName() + " for key " + entry.getKey()); } } return strMap; }
@@ -237,6 +239,6 @@ public class AndroidFirebaseService implements FirebaseService {
     private void stopListeningForMyGame(Object listenerRegistration) { if (listenerRegistration instanceof ListenerRegistration) { if (listenerRegistration == activeRankedGameSearchListener) { ((ListenerRegistration) activeRankedGameSearchListener).remove(); activeRankedGameSearchListener = null; listeningForRankedUserId = null; Log.i(TAG,"Stopped and cleared active ranked game search listener."); } else { ((ListenerRegistration) listenerRegistration).remove(); Log.d(TAG,"Stopped provided (potentially old) ranked game search listener instance."); } } else if (listenerRegistration != null) { Log.w(TAG, "stopListeningForMyGame called with invalid object type: " + listenerRegistration.getClass().getName()); } }
     private void addPlayerToQueue(String userId, String displayName, int elo, int pointLimit, String timeLimit, String deckName, AuthListener listener) { Map<String, Object> entry = new HashMap<>(); entry.put("userId", userId); entry.put("displayName", displayName); entry.put("elo", elo); entry.put("pointLimit", pointLimit); entry.put("timeLimit", timeLimit); entry.put("deckName", deckName); entry.put("timestamp", FieldValue.serverTimestamp()); db.collection(MATCHMAKING_COLLECTION).document(userId) .set(entry, SetOptions.merge()) .addOnSuccessListener(aVoid -> { Log.i(TAG, "Player " + userId + " added/updated in RANKED queue."); if (listener != null) mainThreadExecutor.execute(listener::onSuccess); }) .addOnFailureListener(e -> { Log.e(TAG, "Failed add player " + userId + " to RANKED queue.", e); if (listener != null) mainThreadExecutor.execute(() -> listener.onFailure("Failed to enter queue: " + e.getMessage())); }); }
     private void cancelMatchmaking(String userId, AuthListener listener) { if (userId == null) { if (listener != null) mainThreadExecutor.execute(() -> listener.onFailure("User ID missing.")); return; } if (userId.equals(listeningForRankedUserId) && activeRankedGameSearchListener != null) { Log.d(TAG, "Cancelling ranked matchmaking includes stopping active listener for user: " + userId); stopListeningForMyGame(activeRankedGameSearchListener); } db.collection(MATCHMAKING_COLLECTION).document(userId).delete() .addOnSuccessListener(aVoid -> { Log.i(TAG,"Removed " + userId + " from ranked matchmaking queue (or wasn't there)."); if (listener != null) mainThreadExecutor.execute(listener::onSuccess); }) .addOnFailureListener(e -> { Log.w(TAG,"Failed remove " + userId + " from ranked queue (might not have been there): " + e.getMessage()); if (listener != null) mainThreadExecutor.execute(listener::onSuccess); }); }
-    private void createGameAtomically(String p1Id, String p1Name, String p1DeckName, int p1Elo, String p2Id, String p2Name, String p2DeckName, int p2Elo, int pLimit, String tLimit, @Nullable AuthListener cb) { DocumentReference gameRef = db.collection(GAMES_COLLECTION).document(); DocumentReference p2QueueRef = db.collection(MATCHMAKING_COLLECTION).document(p2Id); db.runTransaction((Transaction.Function<Void>) transaction -> { DocumentSnapshot opponentQueueSnapshot = transaction.get(p2QueueRef); if (!opponentQueueSnapshot.exists()) { Log.w(TAG, "Opponent " + p2Id + " not found in ranked queue. Aborting game creation."); throw new FirebaseFirestoreException("Opponent left queue.", FirebaseFirestoreException.Code.ABORTED); } Map<String, Object> gameData = new HashMap<>(); gameData.put("player1Id", p1Id); gameData.put("player2Id", p2Id); gameData.put("playerIds", Arrays.asList(p1Id, p2Id)); gameData.put("player1DisplayName", p1Name); gameData.put("player2DisplayName", p2Name); gameData.put("player1DeckName", p1DeckName); gameData.put("player2DeckName", p2DeckName); gameData.put("pointLimit", pLimit); gameData.put("timeLimit", tLimit); String p1Color = new Random().nextBoolean() ? "white" : "black"; String p2Color = p1Color.equals("white") ? "black" : "white"; gameData.put("player1Color", p1Color); gameData.put("player2Color", p2Color); gameData.put("status", GameStatus.ACTIVE.getFirestoreValue()); gameData.put("currentTurnPlayerId", p1Color.equals("white") ? p1Id : p2Id); gameData.put("boardState", new HashMap<>()); long initialTime = calculateInitialTimeMillis(tLimit); gameData.put("player1TimeRemainingMillis", initialTime); gameData.put("player2TimeRemainingMillis", initialTime); FieldValue serverTimestamp = FieldValue.serverTimestamp(); gameData.put("lastUpdateTime", serverTimestamp); gameData.put("player1LastSeen", serverTimestamp); gameData.put("player2LastSeen", serverTimestamp); gameData.put("drawOfferedByPlayerId", null); gameData.put("winnerId", null); gameData.put("loserId", null); gameData.put("winReason", null); gameData.put("eloChangePlayer1", 0); gameData.put("eloChangePlayer2", 0); gameData.put("fiftyMoveRuleCounter", 0); gameData.put("positionHistory", new ArrayList<String>()); gameData.put("enPassantTargetSquareString", null); gameData.put("player1Spells", new ArrayList<String>()); gameData.put("player2Spells", new ArrayList<String>()); transaction.set(gameRef, gameData); transaction.delete(p2QueueRef); Log.d(TAG, "Transaction: Creating RANKED game " + gameRef.getId() + ", deleting " + p2Id + " from queue."); return null; }) .addOnSuccessListener(aVoid -> { Log.i(TAG, "Ranked game creation transaction successful! Game ID: " + gameRef.getId()); if (cb != null) mainThreadExecutor.execute(cb::onSuccess); }) .addOnFailureListener(e -> { Log.e(TAG, "Ranked game creation transaction failed.", e); if (cb != null) mainThreadExecutor.execute(() -> cb.onFailure("Failed to create match: " + e.getMessage())); }); }
+    private void createGameAtomically(String p1Id, String p1Name, String p1DeckName, int p1Elo, String p2Id, String p2Name, String p2DeckName, int p2Elo, int pLimit, String tLimit, @Nullable AuthListener cb) { DocumentReference gameRef = db.collection(GAMES_COLLECTION).document(); DocumentReference p2QueueRef = db.collection(MATCHMAKING_COLLECTION).document(p2Id); db.runTransaction((Transaction.Function<Void>) transaction -> { DocumentSnapshot opponentQueueSnapshot = transaction.get(p2QueueRef); if (!opponentQueueSnapshot.exists()) { Log.w(TAG, "Opponent " + p2Id + " not found in ranked queue. Aborting game creation."); throw new FirebaseFirestoreException("Opponent left queue.", FirebaseFirestoreException.Code.ABORTED); } Map<String, Object> gameData = new HashMap<>(); gameData.put("player1Id", p1Id); gameData.put("player2Id", p2Id); gameData.put("playerIds", Arrays.asList(p1Id, p2Id)); gameData.put("player1DisplayName", p1Name); gameData.put("player2DisplayName", p2Name); gameData.put("player1DeckName", p1DeckName); gameData.put("player2DeckName", p2DeckName); gameData.put("pointLimit", pLimit); gameData.put("timeLimit", tLimit); gameData.put("boardWidth", ConfigLoader.getSettings().board.width); gameData.put("boardHeight", ConfigLoader.getSettings().board.height); String p1Color = new Random().nextBoolean() ? "white" : "black"; String p2Color = p1Color.equals("white") ? "black" : "white"; gameData.put("player1Color", p1Color); gameData.put("player2Color", p2Color); gameData.put("status", GameStatus.ACTIVE.getFirestoreValue()); gameData.put("currentTurnPlayerId", p1Color.equals("white") ? p1Id : p2Id); gameData.put("boardState", new HashMap<>()); long initialTime = calculateInitialTimeMillis(tLimit); gameData.put("player1TimeRemainingMillis", initialTime); gameData.put("player2TimeRemainingMillis", initialTime); FieldValue serverTimestamp = FieldValue.serverTimestamp(); gameData.put("lastUpdateTime", serverTimestamp); gameData.put("player1LastSeen", serverTimestamp); gameData.put("player2LastSeen", serverTimestamp); gameData.put("drawOfferedByPlayerId", null); gameData.put("winnerId", null); gameData.put("loserId", null); gameData.put("winReason", null); gameData.put("eloChangePlayer1", 0); gameData.put("eloChangePlayer2", 0); gameData.put("fiftyMoveRuleCounter", 0); gameData.put("positionKeys", new ArrayList<Long>()); gameData.put("enPassantTargetSquareString", null); gameData.put("player1Spells", new ArrayList<String>()); gameData.put("player2Spells", new ArrayList<String>()); transaction.set(gameRef, gameData); transaction.delete(p2QueueRef); Log.d(TAG, "Transaction: Creating RANKED game " + gameRef.getId() + ", deleting " + p2Id + " from queue."); return null; }) .addOnSuccessListener(aVoid -> { Log.i(TAG, "Ranked game creation transaction successful! Game ID: " + gameRef.getId()); if (cb != null) mainThreadExecutor.execute(cb::onSuccess); }) .addOnFailureListener(e -> { Log.e(TAG, "Ranked game creation transaction failed.", e); if (cb != null) mainThreadExecutor.execute(() -> cb.onFailure("Failed to create match: " + e.getMessage())); }); }
 
 }
\ No newline at end of file
@@ -0,0 +1,74 @@
+package io.WizardsChessMaster.benchmarks;
+
+import com.badlogic.gdx.Application;
+import com.badlogic.gdx.ApplicationAdapter;
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.backends.headless.HeadlessApplication;
+import com.badlogic.gdx.backends.headless.HeadlessApplicationConfiguration;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import io.WizardsChessMaster.config.GdxConfigSource;
+import io.WizardsChessMaster.config.GdxRulesLogger;
+import io.WizardsChessMaster.model.GameModel;
+import io.WizardsChessMaster.model.Team;
+import io.WizardsChessMaster.model.perft.Perft;
+import io.WizardsChessMaster.model.rules.FileConfigSource;
+import io.WizardsChessMaster.model.rules.RulesLog;
+
+/**
+ * Shared setup for the benchmarks: a headless libGDX application (so Gdx.app and Gdx.files work
+ * as they do in the game) and GameModels built from the perft positions.
+ * Benchmarks must run with the assets directory as working directory (gradlew :benchmarks:jmh does this).
+ */
+final class BenchmarkSupport {
+
+    static final String WHITE_PLAYER = "white-player";
+    static final String BLACK_PLAYER = "black-player";
+
+    private static boolean initialized;
+
+    private BenchmarkSupport() {}
+
+    /** Starts the headless application and installs the rules adapters, once per JVM. */
+    static synchronized void init() {
+        if (initialized) return;
+        HeadlessApplicationConfiguration config = new HeadlessApplicationConfiguration();
+        config.updatesPerSecond = -1;
+        new HeadlessApplication(new ApplicationAdapter() {}, config);
+        Gdx.app.setLogLevel(Application.LOG_ERROR);
+        RulesLog.setLogger(new GdxRulesLogger());
+        FileConfigSource.setDefault(new GdxConfigSource());
+        initialized = true;
+    }
+
+    /**
+     * Builds a two-player GameModel for a perft preset or board list (see Perft), including its
+     * board size, going through setBoardState the same way a Firestore snapshot does.
+     */
+    static GameModel game(String position, Team toMove) {
+        init();
+        String spec = Perft.PRESETS.containsKey(position) ? Perft.PRESETS.get(position) : position;
+        String[] parts = spec.trim().split("\\s+");
+        Map<String, Object> boardState = new HashMap<>();
+        for (String entry : parts[0].split(",")) {
+            String[] squareAndPiece = entry.split("=", 2);
+            boardState.put(squareAndPiece[0], squareAndPiece[1]);
+        }
+        GameModel game = new GameModel();
+        game.setGameId("benchmark");
+        game.setPlayer1Id(WHITE_PLAYER);
+        game.setPlayer2Id(BLACK_PLAYER);
+        game.setPlayer1Color("white");
+        game.setPlayer2Color("black");
+        if (parts.length > 3) {
+            String[] widthAndHeight = parts[3].toLowerCase().split("x", 2);
+            game.setBoardWidth(Integer.parseInt(widthAndHeight[0]));
+            game.setBoardHeight(Integer.parseInt(widthAndHeight[1]));
+        }
+        game.setBoardState(boardState);
+        game.setCurrentTurnPlayerId(toMove == Team.WHITE ? WHITE_PLAYER : BLACK_PLAYER);
+        return game;
+    }
+}
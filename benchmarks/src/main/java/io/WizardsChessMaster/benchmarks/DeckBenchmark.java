@@ -0,0 +1,61 @@
+package io.WizardsChessMaster.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import io.WizardsChessMaster.model.DeckModel;
+
+/**
+ * Deck point totals, both cached and right after an edit (what the deck builder does on every drop).
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class DeckBenchmark {
+
+    private static final String[] PIECES = {
+            "TURRET", "ARCHER", "WIZARD", "DRAGON", "KING", "BISHOP", "KNIGHT", "ROOK",
+            "PAWN", "PAWN", "PAWN", "PAWN", "PAWN", "PAWN", "PAWN", "PAWN"};
+    private static final String[] SPELLS = {"FIREBALL", "PAWN_STORM", "FIREBALL", null, null};
+
+    private DeckModel deck;
+    private Map<String, String> spellConfiguration;
+
+    @Setup
+    public void setUp() {
+        BenchmarkSupport.init();
+        deck = new DeckModel("benchmark", 100);
+        Map<String, String> pieceConfiguration = new HashMap<>();
+        for (int i = 0; i < PIECES.length; i++) pieceConfiguration.put(String.valueOf(i), PIECES[i]);
+        spellConfiguration = new HashMap<>();
+        for (int i = 0; i < SPELLS.length; i++) spellConfiguration.put(String.valueOf(i), SPELLS[i]);
+        deck.setPieceConfiguration(pieceConfiguration);
+        deck.setSpellConfiguration(spellConfiguration);
+    }
+
+    @Benchmark
+    public int getCurrentPointsCached() {
+        return deck.getCurrentPoints();
+    }
+
+    @Benchmark
+    public int getCurrentPointsAfterEdit() {
+        deck.setSpellConfiguration(spellConfiguration);
+        return deck.getCurrentPoints();
+    }
+}
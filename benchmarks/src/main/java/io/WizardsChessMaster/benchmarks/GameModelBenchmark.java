@@ -0,0 +1,81 @@
+package io.WizardsChessMaster.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import io.WizardsChessMaster.model.GameModel;
+import io.WizardsChessMaster.model.Team;
+
+/**
+ * Whole-position operations on GameModel that run on every move: copying, check and
+ * mate detection, and the boardState conversions used for every Firestore update.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class GameModelBenchmark {
+
+    @Param({"standard", "deck", "tactics"})
+    public String position;
+
+    private GameModel game;
+    private Map<String, Object> boardState;
+
+    @Setup
+    public void setUp() {
+        game = BenchmarkSupport.game(position, Team.WHITE);
+        boardState = game.getBoardState();
+    }
+
+    @Benchmark
+    public GameModel copy() {
+        return game.copy();
+    }
+
+    @Benchmark
+    public boolean isKingInCheck() {
+        return game.isKingInCheck(Team.WHITE);
+    }
+
+    @Benchmark
+    public boolean anyLegalMove() {
+        return game.anyLegalMove(Team.WHITE);
+    }
+
+    @Benchmark
+    public boolean isCheckmate() {
+        return game.isCheckmate(Team.WHITE);
+    }
+
+    @Benchmark
+    public long getPositionKey() {
+        return game.getPositionKey();
+    }
+
+    @Benchmark
+    public Map<String, Object> getBoardState() {
+        return game.getBoardState();
+    }
+
+    /** What applying a Firestore snapshot and writing it back costs. */
+    @Benchmark
+    public Map<String, Object> boardStateRoundTrip() {
+        game.setBoardState(boardState);
+        return game.getBoardState();
+    }
+}
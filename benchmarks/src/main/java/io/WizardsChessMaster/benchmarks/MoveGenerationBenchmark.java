@@ -0,0 +1,71 @@
+package io.WizardsChessMaster.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+import io.WizardsChessMaster.model.MoveBuffer;
+import io.WizardsChessMaster.model.Position;
+import io.WizardsChessMaster.model.Team;
+import io.WizardsChessMaster.model.board.SquareMask;
+import io.WizardsChessMaster.model.pieces.Piece;
+
+/**
+ * All legal moves of the side to move, through the MoveBuffer API and through the per-piece Set API.
+ * generateLegalMoves must report gc.alloc.rate.norm of 0 B/op: the engine allocates nothing in
+ * steady state once the buffer has grown (LegalMoveGeneratorAllocationTest fails the build otherwise).
+ * reanalyse touches the board first, so the legal move analysis is recomputed on every call as it
+ * is during play.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class MoveGenerationBenchmark {
+
+    @Param({"standard", "deck", "tactics", "pins", "large"})
+    public String position;
+
+    private Position game;
+    private final MoveBuffer buffer = new MoveBuffer();
+    private int touchedSquare;
+
+    @Setup
+    public void setUp() {
+        game = BenchmarkSupport.game(position, Team.WHITE).getPosition();
+        SquareMask blackPieces = game.getTeamOccupancy(Team.BLACK).copy().andNot(game.getRoyalSquares(Team.BLACK));
+        touchedSquare = blackPieces.nextSquare(0);
+    }
+
+    @Benchmark
+    public int generateLegalMoves() {
+        return game.generateLegalMoves(Team.WHITE, buffer);
+    }
+
+    @Benchmark
+    public int generateLegalMovesReanalyse() {
+        game.getBoard().put(touchedSquare, game.getBoard().remove(touchedSquare));
+        return game.generateLegalMoves(Team.WHITE, buffer);
+    }
+
+    @Benchmark
+    public int getValidMovesPerPiece() {
+        int count = 0;
+        for (Piece piece : game.getPiecesForTeam(Team.WHITE)) {
+            count += piece.getValidMoves(game).size();
+        }
+        return count;
+    }
+}
@@ -0,0 +1,74 @@
+package io.WizardsChessMaster.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import io.WizardsChessMaster.model.BoardPosition;
+import io.WizardsChessMaster.model.GameModel;
+import io.WizardsChessMaster.model.Position;
+import io.WizardsChessMaster.model.SquareSet;
+import io.WizardsChessMaster.model.Team;
+import io.WizardsChessMaster.model.pieces.Piece;
+
+/**
+ * Move generation for a single piece of each type, standing on d4 of a middlegame position
+ * with pieces of both sides around it (what the board screen asks for on every selection).
+ * The piece caches its sets per position version, so only getValidMoveSetUncached measures generation.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class PieceMovesBenchmark {
+
+    private static final String BOARD = "e1=WHITE_KING,h1=WHITE_ROOK,a1=WHITE_ROOK,e5=WHITE_PAWN,c3=WHITE_ARCHER,f3=WHITE_KNIGHT,b2=WHITE_PAWN,"
+            + "e8=BLACK_KING,a8=BLACK_ROOK,h8=BLACK_ROOK,b5=BLACK_PAWN_MOVED,f5=BLACK_PAWN_MOVED,c6=BLACK_TURRET,e6=BLACK_ARCHER,g6=BLACK_KNIGHT";
+
+    @Param({"PAWN", "KNIGHT", "BISHOP", "ROOK", "QUEEN", "KING", "DRAGON", "WIZARD", "ARCHER", "TURRET"})
+    public String pieceType;
+
+    private Position position;
+    private Piece piece;
+
+    @Setup
+    public void setUp() {
+        boolean king = "KING".equals(pieceType);
+        // The board's own king is swapped out when benchmarking the king, so there is only one
+        String board = (king ? BOARD.replace("e1=WHITE_KING,", "") : BOARD) + ",d4=WHITE_" + pieceType + " w";
+        GameModel game = BenchmarkSupport.game(board, Team.WHITE);
+        position = game.getPosition();
+        piece = position.getPieceAt(BoardPosition.of(3, 3));
+    }
+
+    @Benchmark
+    public Set<BoardPosition> getValidMoves() {
+        return piece.getValidMoves(position);
+    }
+
+    /** Repeated query on an unchanged position: answered from the piece's cached set. */
+    @Benchmark
+    public SquareSet getValidMoveSet() {
+        return piece.getValidMoveSet(position);
+    }
+
+    /** Query after a change to the position (the version bump of setSideToMove), so the set is recomputed. */
+    @Benchmark
+    public SquareSet getValidMoveSetUncached() {
+        position.setSideToMove(Team.WHITE);
+        return piece.getValidMoveSet(position);
+    }
+}
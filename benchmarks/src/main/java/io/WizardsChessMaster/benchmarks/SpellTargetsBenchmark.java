@@ -0,0 +1,51 @@
+package io.WizardsChessMaster.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import io.WizardsChessMaster.model.BoardPosition;
+import io.WizardsChessMaster.model.Position;
+import io.WizardsChessMaster.model.Team;
+import io.WizardsChessMaster.model.spells.Spell;
+import io.WizardsChessMaster.model.spells.SpellFactory;
+
+/**
+ * Spell target highlighting, computed whenever a player selects a spell.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class SpellTargetsBenchmark {
+
+    @Param({"FIREBALL", "PAWN_STORM"})
+    public String spellType;
+
+    private Position position;
+    private Spell spell;
+
+    @Setup
+    public void setUp() {
+        position = BenchmarkSupport.game("tactics", Team.WHITE).getPosition();
+        spell = SpellFactory.createSpell(spellType);
+    }
+
+    @Benchmark
+    public Set<BoardPosition> getValidTargets() {
+        return spell.getValidTargets(Team.WHITE, position);
+    }
+}
@@ -7,6 +7,10 @@ import com.badlogic.gdx.graphics.g2d.BitmapFont;
 import com.badlogic.gdx.scenes.scene2d.ui.Skin;
 import com.badlogic.gdx.utils.ObjectMap;
 
+import io.WizardsChessMaster.config.GdxConfigSource;
+import io.WizardsChessMaster.config.GdxRulesLogger;
+import io.WizardsChessMaster.model.rules.FileConfigSource;
+import io.WizardsChessMaster.model.rules.RulesLog;
 import io.WizardsChessMaster.service.FirebaseService;
 import io.WizardsChessMaster.model.DeckModel;
 import io.WizardsChessMaster.model.GameModel;
@@ -41,6 +45,11 @@ public class Main extends Game {
     public void create() {
         Gdx.app.log("Main", "Application Create");
 
+        // The rules module has no libGDX dependency; hand it our logger and asset files
+        // before anything touches PieceFactory or SpellFactory.
+        RulesLog.setLogger(new GdxRulesLogger());
+        FileConfigSource.setDefault(new GdxConfigSource());
+
         // Load shared resources like Skin here
         try {
             sharedSkin = new Skin(Gdx.files.internal("ui/uiskin.json"));
@@ -5,6 +5,8 @@ import com.badlogic.gdx.files.FileHandle;
 import com.badlogic.gdx.utils.Json;
 import com.badlogic.gdx.utils.SerializationException;
 
+import io.WizardsChessMaster.model.board.BoardGeometry;
+
 import java.util.ArrayList;
 import java.util.List;
 
@@ -69,6 +71,10 @@ public class ConfigLoader {
                     Gdx.app.log(TAG, "DeckBuilding settings missing in JSON, using defaults.");
                     loadedSettings.deckBuilding = new GameSettings.DeckBuildingSettings();
                 }
+                if (loadedSettings.board == null) {
+                    Gdx.app.log(TAG, "Board settings missing in JSON, using defaults.");
+                    loadedSettings.board = new GameSettings.BoardSettings();
+                }
                 // Ensure lists are not null and have defaults if empty
                 if (loadedSettings.matchmaking.pointLimits == null || loadedSettings.matchmaking.pointLimits.isEmpty()) {
                     Gdx.app.log(TAG, "Matchmaking pointLimits missing or empty, using default [40].");
@@ -82,6 +88,12 @@ public class ConfigLoader {
                     Gdx.app.log(TAG, "DeckBuilding pointLimits missing or empty, using default [40].");
                     loadedSettings.deckBuilding.pointLimits = new ArrayList<>(List.of(40));
                 }
+                // Decks fill the eight home files; masks cover at most 16x16
+                if (!isValidBoardSide(loadedSettings.board.width) || !isValidBoardSide(loadedSettings.board.height)) {
+                    Gdx.app.log(TAG, "Board size " + loadedSettings.board.width + "x" + loadedSettings.board.height + " missing or outside "
+                            + BoardGeometry.HOME_FILES + ".." + BoardGeometry.MAX_SIZE + ", using default 8x8.");
+                    loadedSettings.board = new GameSettings.BoardSettings();
+                }
             }
 
         } catch (SerializationException e) {
@@ -94,6 +106,10 @@ public class ConfigLoader {
         }
     }
 
+    private static boolean isValidBoardSide(Integer side) {
+        return side != null && side >= BoardGeometry.HOME_FILES && side <= BoardGeometry.MAX_SIZE;
+    }
+
     /**
      * Forces a reload of the configuration file.
      */
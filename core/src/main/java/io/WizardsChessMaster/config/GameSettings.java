@@ -23,9 +23,16 @@ public class GameSettings {
         public Integer defaultPointLimit = 40;
     }
 
+    // Inner class for Board settings (size of newly hosted games)
+    public static class BoardSettings {
+        public Integer width = 8;
+        public Integer height = 8;
+    }
+
     // Top-level fields matching JSON structure
     public MatchmakingSettings matchmaking = new MatchmakingSettings(); // Initialize to prevent null
     public DeckBuildingSettings deckBuilding = new DeckBuildingSettings(); // Initialize to prevent null
+    public BoardSettings board = new BoardSettings(); // Initialize to prevent null
 
     // No-arg constructor required for JSON parsing
     public GameSettings() {}
@@ -0,0 +1,32 @@
+package io.WizardsChessMaster.config;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.files.FileHandle;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import io.WizardsChessMaster.model.rules.ConfigSource;
+
+/**
+ * Reads the rules module's piece and spell configurations from the game's internal assets.
+ */
+public class GdxConfigSource implements ConfigSource {
+
+    @Override
+    public Map<String, String> readAll(String directory, String extension) {
+        Map<String, String> contents = new LinkedHashMap<>();
+        FileHandle dirHandle = Gdx.files.internal(directory);
+        if (!dirHandle.exists() || !dirHandle.isDirectory()) {
+            return contents;
+        }
+        FileHandle[] files = dirHandle.list(extension);
+        Arrays.sort(files, Comparator.comparing(FileHandle::name));
+        for (FileHandle file : files) {
+            contents.put(file.name(), file.readString("UTF-8"));
+        }
+        return contents;
+    }
+}
@@ -0,0 +1,26 @@
+package io.WizardsChessMaster.config;
+
+import com.badlogic.gdx.Gdx;
+
+import io.WizardsChessMaster.model.rules.RulesLogger;
+
+/**
+ * Forwards the rules module's logging to Gdx.app, so it follows the application's log level.
+ */
+public class GdxRulesLogger implements RulesLogger {
+
+    @Override
+    public void log(String tag, String message, Throwable exception) {
+        if (exception != null) Gdx.app.log(tag, message, exception); else Gdx.app.log(tag, message);
+    }
+
+    @Override
+    public void debug(String tag, String message, Throwable exception) {
+        if (exception != null) Gdx.app.debug(tag, message, exception); else Gdx.app.debug(tag, message);
+    }
+
+    @Override
+    public void error(String tag, String message, Throwable exception) {
+        if (exception != null) Gdx.app.error(tag, message, exception); else Gdx.app.error(tag, message);
+    }
+}
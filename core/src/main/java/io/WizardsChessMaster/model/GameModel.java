@@ -2,17 +2,21 @@ package io.WizardsChessMaster.model;
 
 import com.badlogic.gdx.Gdx;
 
+import io.WizardsChessMaster.model.board.BitBoard;
+import io.WizardsChessMaster.model.board.BoardGeometry;
 import io.WizardsChessMaster.model.pieces.Piece;
 import io.WizardsChessMaster.model.pieces.PieceFactory;
-import io.WizardsChessMaster.model.pieces.PieceType;
 
 import java.util.*;
-import java.util.stream.Collectors;
 
 /**
- * Represents the state of a single game session, managing Piece objects internally.
- * Includes game logic methods previously found in MoveValidator and a static
- * helper to generate board state strings for repetition checks from map data.
+ * Represents the state of a single game session as stored in Firestore.
+ * The rules state (pieces in a BitBoard, side to move, en passant square, fifty-move counter and
+ * turn effects) lives in a Position, which this class delegates its board methods to; the rest is
+ * player, clock and document data that simulation never needs to copy.
+ * Includes game logic methods previously found in MoveValidator and repetition detection
+ * over the stored Zobrist keys of earlier positions (positionKeys, plus the board-state strings
+ * of documents written before keys were stored, see positionHistory).
  * Uses GameStatus enum for game state.
  * Includes player spell lists and persistent effect tracking.
  */
@@ -20,8 +24,6 @@ public class GameModel {
     private static final String TAG = "GameModel";
 
     // --- Constants ---
-    private static final int BOARD_WIDTH = 8;
-    private static final int BOARD_HEIGHT = 8;
     private static final int POSITION_HISTORY_LIMIT = 60;
     private static final String MOVED_SUFFIX = "_MOVED";
 
@@ -49,7 +51,8 @@ public class GameModel {
     private String statusString;
 
     private String currentTurnPlayerId;
-    private transient Map<BoardPosition, Piece> internalBoard;
+    /** Rules state; the board, en passant square, fifty-move counter and turn effects are persisted through it. */
+    private transient Position position = new Position();
     private long player1TimeRemainingMillis;
     private long player2TimeRemainingMillis;
     private Date lastUpdateTime;
@@ -60,15 +63,27 @@ public class GameModel {
     private String drawOfferedByPlayerId;
 
     // --- Draw Rule State ---
-    private int fiftyMoveRuleCounter;
+    /** Zobrist keys (Position.getZobristKey) of the positions since the last irreversible move. */
+    private List<Long> positionKeys;
+    /**
+     * Legacy: the same history as board-state strings ("a1=WHITE_ROOK;...;|Turn=w|Castle=-|EP=-"),
+     * as documents stored it before positionKeys. Only read; the next move converts it into positionKeys.
+     */
     private List<String> positionHistory;
-    private BoardPosition enPassantTargetSquare;
+    /** Keys of the positionHistory entries, converted on first use (the board size must be known by then). */
+    private transient List<Long> legacyPositionKeys;
+    /** Occurrences per key in getRepetitionHistory, built on first use after the history is set. */
+    private transient RepetitionTable repetitions;
 
     // --- Spell State ---
     private List<String> player1Spells;
     private List<String> player2Spells;
 
-    private Map<String, List<String>> activeEffects;
+    /** boardState entries outside the current board size; Firestore may set the board state before the size (see resizeBoard). */
+    private transient Map<String, Object> offBoardState = new HashMap<>();
+
+    /** Turn effects of players whose color is not known yet (see resolvePlayerState). */
+    private transient Map<String, List<String>> pendingEffects = new HashMap<>();
 
     // --- Game Outcome ---
     private String winnerId;
@@ -79,24 +94,22 @@ public class GameModel {
 
     // Firestore requires a public no-argument constructor
     public GameModel() {
+        this.positionKeys = new ArrayList<>();
         this.positionHistory = new ArrayList<>();
         this.player1Spells = new ArrayList<>();
         this.player2Spells = new ArrayList<>();
-        this.internalBoard = new HashMap<>();
         this.playerIds = new ArrayList<>();
-        this.enPassantTargetSquare = null;
         this.statusString = GameStatus.PENDING_JOIN.getFirestoreValue();
         this.status = GameStatus.PENDING_JOIN;
-        this.activeEffects = new HashMap<>();
     }
 
     // --- Getters and Setters ---
     public String getGameId() { return gameId; }
     public void setGameId(String gameId) { this.gameId = gameId; }
     public String getPlayer1Id() { return player1Id; }
-    public void setPlayer1Id(String player1Id) { this.player1Id = player1Id; updatePlayerIds(); }
+    public void setPlayer1Id(String player1Id) { this.player1Id = player1Id; updatePlayerIds(); resolvePlayerState(); }
     public String getPlayer2Id() { return player2Id; }
-    public void setPlayer2Id(String player2Id) { this.player2Id = player2Id; updatePlayerIds(); }
+    public void setPlayer2Id(String player2Id) { this.player2Id = player2Id; updatePlayerIds(); resolvePlayerState(); }
     public List<String> getPlayerIds() { return playerIds == null ? new ArrayList<>() : playerIds; }
     public void setPlayerIds(List<String> playerIds) { this.playerIds = playerIds; }
     private void updatePlayerIds() { if (player1Id != null && player2Id != null) { this.playerIds = new ArrayList<>(Arrays.asList(player1Id, player2Id)); } else if (player1Id != null) { this.playerIds = new ArrayList<>(Collections.singletonList(player1Id)); } else { this.playerIds = new ArrayList<>(); } }
@@ -109,9 +122,9 @@ public class GameModel {
     public String getPlayer2DeckName() { return player2DeckName; }
     public void setPlayer2DeckName(String player2DeckName) { this.player2DeckName = player2DeckName; }
     public String getPlayer1Color() { return player1Color; }
-    public void setPlayer1Color(String player1Color) { this.player1Color = player1Color; }
+    public void setPlayer1Color(String player1Color) { this.player1Color = player1Color; resolvePlayerState(); }
     public String getPlayer2Color() { return player2Color; }
-    public void setPlayer2Color(String player2Color) { this.player2Color = player2Color; }
+    public void setPlayer2Color(String player2Color) { this.player2Color = player2Color; resolvePlayerState(); }
     public int getPointLimit() { return pointLimit; }
     public void setPointLimit(int pointLimit) { this.pointLimit = pointLimit; }
     public String getTimeLimit() { return timeLimit; }
@@ -123,9 +136,9 @@ public class GameModel {
     public String getStatus() { return (this.status != null) ? this.status.getFirestoreValue() : this.statusString; }
     public void setStatus(String statusString) { this.statusString = statusString; this.status = GameStatus.fromFirestoreValue(statusString); if (this.status == null) { Gdx.app.error(TAG, "setStatus(String): Unknown status string received from Firestore: '" + statusString + "'. Setting status enum to ERROR."); this.status = GameStatus.ERROR; this.statusString = GameStatus.ERROR.getFirestoreValue(); } }
     public String getCurrentTurnPlayerId() { return currentTurnPlayerId; }
-    public void setCurrentTurnPlayerId(String currentTurnPlayerId) { this.currentTurnPlayerId = currentTurnPlayerId; }
-    public Map<String, Object> getBoardState() { Map<String, Object> firebaseBoardState = new HashMap<>(); if (this.internalBoard != null) { for (Map.Entry<BoardPosition, Piece> entry : this.internalBoard.entrySet()) { BoardPosition pos = entry.getKey(); Piece piece = entry.getValue(); if (pos != null && piece != null && piece.getTeam() != null && piece.getTypeName() != null) { String algebraic = boardPositionToAlgebraic(pos); String basePieceValue = piece.getTeam().name().toUpperCase() + "_" + piece.getTypeName().toUpperCase(); String finalPieceValue = basePieceValue; String typeName = piece.getTypeName(); if ("PAWN".equals(typeName) || "ROOK".equals(typeName) || "KING".equals(typeName)) { Object hasMovedObj = piece.getStateVariable("hasMoved"); if (Boolean.TRUE.equals(hasMovedObj)) { finalPieceValue += MOVED_SUFFIX; } } if (algebraic != null) { firebaseBoardState.put(algebraic, finalPieceValue); } } else if (piece != null) { Gdx.app.error(TAG, "Skipping piece in getBoardState due to null data: " + piece); } } } return firebaseBoardState; }
-    public void setBoardState(Map<String, Object> firebaseBoardState) { this.internalBoard = new HashMap<>(); if (firebaseBoardState != null) { for (Map.Entry<String, Object> entry : firebaseBoardState.entrySet()) { String algebraicSquare = entry.getKey(); Object pieceValueObj = entry.getValue(); if (algebraicSquare != null && pieceValueObj instanceof String) { String rawPieceValue = (String) pieceValueObj; BoardPosition pos = algebraicToBoardPosition(algebraicSquare); String pieceValue = rawPieceValue; boolean hasMoved = false; if (rawPieceValue.endsWith(MOVED_SUFFIX)) { pieceValue = rawPieceValue.substring(0, rawPieceValue.length() - MOVED_SUFFIX.length()); hasMoved = true; } if (pos != null && pieceValue.contains("_")) { String[] parts = pieceValue.split("_", 2); if (parts.length == 2) { try { Team team = Team.valueOf(parts[0].toUpperCase()); String typeName = parts[1].toUpperCase(); Piece piece = PieceFactory.createPiece(typeName, team, pos); if (piece != null) { if (hasMoved) { piece.setStateVariable("hasMoved", true); } this.internalBoard.put(pos, piece); } else { Gdx.app.error(TAG, "PieceFactory returned null for: '" + pieceValue + "' at " + algebraicSquare); } } catch (IllegalArgumentException e) { Gdx.app.error(TAG, "Error parsing/creating piece: '" + pieceValue + "' (from '" + rawPieceValue + "') at " + algebraicSquare, e); } catch (Exception e) { Gdx.app.error(TAG, "Unexpected error creating piece: '" + pieceValue + "' (from '" + rawPieceValue + "') at " + algebraicSquare, e); } } else { Gdx.app.error(TAG, "Invalid piece format: '" + pieceValue + "' (from '" + rawPieceValue + "') at " + algebraicSquare); } } else if (pos == null) { Gdx.app.error(TAG, "Invalid square notation: '" + algebraicSquare + "'"); } } else if (pieceValueObj != null) { Gdx.app.error(TAG, "Unexpected type in boardState map for key '" + algebraicSquare + "': " + pieceValueObj.getClass().getName()); } } Gdx.app.debug(TAG, "Internal board recreated from boardState. Size: " + this.internalBoard.size()); } else { Gdx.app.debug(TAG, "Received null boardState."); } }
+    public void setCurrentTurnPlayerId(String currentTurnPlayerId) { this.currentTurnPlayerId = currentTurnPlayerId; resolvePlayerState(); }
+    public Map<String, Object> getBoardState() { Map<String, Object> firebaseBoardState = new HashMap<>(); for (Piece piece : position.getAllPieces()) { BoardPosition pos = piece.getPosition(); if (pos != null && piece.getTeam() != null && piece.getTypeName() != null) { String algebraic = boardPositionToAlgebraic(pos); String basePieceValue = piece.getTeam().name().toUpperCase() + "_" + piece.getTypeName().toUpperCase(); String finalPieceValue = basePieceValue; if (piece.isPawnLike() || piece.canCastle() || piece.isCastlingPartner()) { Object hasMovedObj = piece.getStateVariable("hasMoved"); if (Boolean.TRUE.equals(hasMovedObj)) { finalPieceValue += MOVED_SUFFIX; } } if (algebraic != null) { firebaseBoardState.put(algebraic, finalPieceValue); } } else if (piece != null) { Gdx.app.error(TAG, "Skipping piece in getBoardState due to null data: " + piece); } } return firebaseBoardState; }
+    public void setBoardState(Map<String, Object> firebaseBoardState) { BitBoard board = position.getBoard(); board.clear(); offBoardState.clear(); if (firebaseBoardState != null) { for (Map.Entry<String, Object> entry : firebaseBoardState.entrySet()) { String algebraicSquare = entry.getKey(); Object pieceValueObj = entry.getValue(); if (algebraicSquare != null && pieceValueObj instanceof String) { String rawPieceValue = (String) pieceValueObj; BoardPosition pos = algebraicToBoardPosition(algebraicSquare); if (pos != null && !position.isWithinBounds(pos)) { offBoardState.put(algebraicSquare, rawPieceValue); Gdx.app.debug(TAG, "Square " + algebraicSquare + " is off the " + getBoardWidth() + "x" + getBoardHeight() + " board, keeping it until the board size is set."); continue; } String pieceValue = rawPieceValue; boolean hasMoved = false; if (rawPieceValue.endsWith(MOVED_SUFFIX)) { pieceValue = rawPieceValue.substring(0, rawPieceValue.length() - MOVED_SUFFIX.length()); hasMoved = true; } if (pos != null && pieceValue.contains("_")) { String[] parts = pieceValue.split("_", 2); if (parts.length == 2) { try { Team team = Team.valueOf(parts[0].toUpperCase()); String typeName = parts[1].toUpperCase(); Piece piece = PieceFactory.createPiece(typeName, team, pos, position.getGeometry()); if (piece != null) { if (hasMoved) { piece.setStateVariable("hasMoved", true); } board.put(position.squareIndex(pos), piece); } else { Gdx.app.error(TAG, "PieceFactory returned null for: '" + pieceValue + "' at " + algebraicSquare); } } catch (IllegalArgumentException e) { Gdx.app.error(TAG, "Error parsing/creating piece: '" + pieceValue + "' (from '" + rawPieceValue + "') at " + algebraicSquare, e); } catch (Exception e) { Gdx.app.error(TAG, "Unexpected error creating piece: '" + pieceValue + "' (from '" + rawPieceValue + "') at " + algebraicSquare, e); } } else { Gdx.app.error(TAG, "Invalid piece format: '" + pieceValue + "' (from '" + rawPieceValue + "') at " + algebraicSquare); } } else if (pos == null) { Gdx.app.error(TAG, "Invalid square notation: '" + algebraicSquare + "'"); } } else if (pieceValueObj != null) { Gdx.app.error(TAG, "Unexpected type in boardState map for key '" + algebraicSquare + "': " + pieceValueObj.getClass().getName()); } } Gdx.app.debug(TAG, "Internal board recreated from boardState. Size: " + board.size()); } else { Gdx.app.debug(TAG, "Received null boardState."); } }
     public long getPlayer1TimeRemainingMillis() { return player1TimeRemainingMillis; }
     public void setPlayer1TimeRemainingMillis(long player1TimeRemainingMillis) { this.player1TimeRemainingMillis = player1TimeRemainingMillis; }
     public long getPlayer2TimeRemainingMillis() { return player2TimeRemainingMillis; }
@@ -138,12 +151,22 @@ public class GameModel {
     public void setPlayer2LastSeen(Date player2LastSeen) { this.player2LastSeen = player2LastSeen; }
     public String getDrawOfferedByPlayerId() { return drawOfferedByPlayerId; }
     public void setDrawOfferedByPlayerId(String drawOfferedByPlayerId) { this.drawOfferedByPlayerId = drawOfferedByPlayerId; }
-    public int getFiftyMoveRuleCounter() { return fiftyMoveRuleCounter; }
-    public void setFiftyMoveRuleCounter(int fiftyMoveRuleCounter) { this.fiftyMoveRuleCounter = fiftyMoveRuleCounter; }
+    public int getFiftyMoveRuleCounter() { return position.getFiftyMoveRuleCounter(); }
+    public void setFiftyMoveRuleCounter(int fiftyMoveRuleCounter) { position.setFiftyMoveRuleCounter(fiftyMoveRuleCounter); }
+    public List<Long> getPositionKeys() { return positionKeys == null ? new ArrayList<>() : positionKeys; }
+    public void setPositionKeys(List<Long> positionKeys) {
+        this.positionKeys = positionKeys;
+        this.repetitions = null;
+    }
+    /** Legacy board-state string history (see the field); empty for documents written with positionKeys. */
     public List<String> getPositionHistory() { return positionHistory == null ? new ArrayList<>() : positionHistory; }
-    public void setPositionHistory(List<String> positionHistory) { this.positionHistory = positionHistory; }
-    public String getEnPassantTargetSquareString() { return GameModel.boardPositionToAlgebraic(this.enPassantTargetSquare); }
-    public void setEnPassantTargetSquareString(String algebraicSquare) { this.enPassantTargetSquare = GameModel.algebraicToBoardPosition(algebraicSquare); }
+    public void setPositionHistory(List<String> positionHistory) {
+        this.positionHistory = positionHistory;
+        this.legacyPositionKeys = null;
+        this.repetitions = null;
+    }
+    public String getEnPassantTargetSquareString() { return GameModel.boardPositionToAlgebraic(position.getEnPassantTargetSquare()); }
+    public void setEnPassantTargetSquareString(String algebraicSquare) { position.setEnPassantTargetSquare(GameModel.algebraicToBoardPosition(algebraicSquare)); }
     public List<String> getPlayer1Spells() { return player1Spells == null ? new ArrayList<>() : new ArrayList<>(player1Spells); }
     public void setPlayer1Spells(List<String> player1Spells) { this.player1Spells = player1Spells == null ? new ArrayList<>() : player1Spells; }
     public List<String> getPlayer2Spells() { return player2Spells == null ? new ArrayList<>() : new ArrayList<>(player2Spells); }
@@ -159,61 +182,69 @@ public class GameModel {
     public int getEloChangePlayer2() { return eloChangePlayer2; }
     public void setEloChangePlayer2(int eloChangePlayer2) { this.eloChangePlayer2 = eloChangePlayer2; }
 
+    /** Turn effects keyed by player id, as stored in the game document (a copy; use addTurnEffect/clearTurnEffects to change them). */
     public Map<String, List<String>> getActiveEffects() {
-        return activeEffects == null ? new HashMap<>() : activeEffects;
+        Map<String, List<String>> effects = new HashMap<>();
+        for (Map.Entry<String, List<String>> entry : pendingEffects.entrySet()) {
+            effects.put(entry.getKey(), entry.getValue() != null ? new ArrayList<>(entry.getValue()) : new ArrayList<>());
+        }
+        for (Map.Entry<Team, List<String>> entry : position.getTurnEffects().entrySet()) {
+            String playerId = getPlayerIdForTeam(entry.getKey());
+            if (playerId != null) effects.put(playerId, new ArrayList<>(entry.getValue()));
+        }
+        return effects;
     }
     public void setActiveEffects(Map<String, List<String>> activeEffects) {
-        this.activeEffects = activeEffects == null ? new HashMap<>() : activeEffects;
+        position.setTurnEffects(null);
+        pendingEffects = activeEffects == null ? new HashMap<>() : new HashMap<>(activeEffects);
+        resolvePlayerState();
     }
 
     // --- Model Helper Methods ---
-    public int getBoardWidth() { return BOARD_WIDTH; }
-    public int getBoardHeight() { return BOARD_HEIGHT; }
-    public boolean isWithinBounds(BoardPosition position) { if (position == null) return false; return position.getX() >= 0 && position.getX() < BOARD_WIDTH && position.getY() >= 0 && position.getY() < BOARD_HEIGHT; }
-    public BoardPosition getEnPassantTargetSquareObject() { return this.enPassantTargetSquare; }
-    public void setEnPassantTargetSquareObject(BoardPosition pos) { this.enPassantTargetSquare = pos; }
-    public Piece getPieceAt(BoardPosition position) { if (internalBoard == null) { Gdx.app.error(TAG, "getPieceAt called but internalBoard is null!"); return null; } if (position == null) return null; return internalBoard.get(position); }
-    public Collection<Piece> getAllPieces() { return internalBoard != null ? Collections.unmodifiableCollection(internalBoard.values()) : Collections.emptyList(); }
-    public List<Piece> getPiecesForTeam(Team team) { if (internalBoard == null || team == null) return Collections.emptyList(); return internalBoard.values().stream() .filter(p -> p != null && p.getTeam() == team) .collect(Collectors.toList()); }
-    public BoardPosition findKingPosition(Team team) { if (internalBoard == null || team == null) return null; String kingTypeName = PieceType.KING.name(); for (Piece piece : internalBoard.values()) { if (piece != null && kingTypeName.equals(piece.getTypeName()) && piece.getTeam() == team) { return piece.getPosition(); } } return null; }
-    public boolean isSquareAttacked(BoardPosition square, Team attackerTeam) { if (internalBoard == null || square == null || attackerTeam == null) return false; for (Piece piece : getPiecesForTeam(attackerTeam)) { if (piece == null) continue; try { if (piece.getAttackedSquares(this).contains(square)) { return true; } } catch (Exception e) { Gdx.app.error(TAG, "Error checking attacks for " + piece + " at " + piece.getPosition(), e); } } return false; }
-    public boolean isKingInCheck(Team team) { BoardPosition kingPos = findKingPosition(team); if (kingPos == null) { return false; } return isSquareAttacked(kingPos, team.opposite()); }
-    public void clearTemporaryPieceFlags() { if (internalBoard == null) return; for (Piece piece : internalBoard.values()) { if (piece == null) continue; if ("PAWN".equals(piece.getTypeName())) { try { piece.setStateVariable("justMovedTwoSquares", false); } catch (Exception e) { Gdx.app.error(TAG, "Error clearing flags for piece " + piece + " at " + piece.getPosition(), e); } } } }
-
-    public void addTurnEffect(String playerId, String effectName) {
-        if (playerId == null || effectName == null || effectName.trim().isEmpty()) {
-            Gdx.app.error(TAG, "Attempted to add null/empty turn effect for player: " + playerId);
-            return;
-        }
-        if (activeEffects == null) {
-            activeEffects = new HashMap<>();
-        }
-        // Ensure list exists and add effect if not already present
-        List<String> playerEffects = activeEffects.computeIfAbsent(playerId, k -> new ArrayList<>());
-        if (!playerEffects.contains(effectName)) {
-            playerEffects.add(effectName);
-            Gdx.app.debug(TAG, "Added turn effect '" + effectName + "' for player " + playerId);
-        }
-    }
+    /** The rules state (board, side to move, en passant square, fifty-move counter, turn effects) that move components and spells work on. */
+    public Position getPosition() { return position; }
+    public int getBoardWidth() { return position.getBoardWidth(); }
+    public int getBoardHeight() { return position.getBoardHeight(); }
+    public void setBoardWidth(int boardWidth) { resizeBoard(boardWidth, getBoardHeight()); }
+    public void setBoardHeight(int boardHeight) { resizeBoard(getBoardWidth(), boardHeight); }
+    /** Moves the rules state onto a board of another size; pieces are re-created for it and any now off the board are kept aside (see offBoardState). */
+    private void resizeBoard(int width, int height) { if (width == getBoardWidth() && height == getBoardHeight()) return; BoardGeometry geometry; try { geometry = BoardGeometry.of(width, height); } catch (IllegalArgumentException e) { Gdx.app.error(TAG, "Ignoring invalid board size " + width + "x" + height, e); return; } Map<String, Object> boardState = new HashMap<>(offBoardState); boardState.putAll(getBoardState()); Position resized = new Position(geometry); resized.setSideToMove(position.getSideToMove()); resized.setEnPassantTargetSquare(position.getEnPassantTargetSquare()); resized.setFiftyMoveRuleCounter(position.getFiftyMoveRuleCounter()); resized.setTurnEffects(position.getTurnEffects()); position = resized; setBoardState(boardState); }
+    public boolean isWithinBounds(BoardPosition pos) { return position.isWithinBounds(pos); }
+    public BoardPosition getEnPassantTargetSquareObject() { return position.getEnPassantTargetSquare(); }
+    public void setEnPassantTargetSquareObject(BoardPosition pos) { position.setEnPassantTargetSquare(pos); }
+    /** Square index (y * width + x) of a position, or -1 if it is null or off the board. */
+    public int squareIndex(BoardPosition pos) { return position.squareIndex(pos); }
+    public Piece getPieceAt(BoardPosition pos) { return position.getPieceAt(pos); }
+    public Collection<Piece> getAllPieces() { return position.getAllPieces(); }
+    /** Read-only live view of the team's pieces, kept up to date by the board; copy it before changing the board while iterating. */
+    public List<Piece> getPiecesForTeam(Team team) { return position.getPiecesForTeam(team); }
+    public BoardPosition findKingPosition(Team team) { return position.findKingPosition(team); }
+    public boolean isSquareAttacked(BoardPosition square, Team attackerTeam) { return position.isSquareAttacked(square, attackerTeam); }
+    public boolean isKingInCheck(Team team) { return position.isKingInCheck(team); }
+    public void clearTemporaryPieceFlags() { position.clearTemporaryPieceFlags(); }
 
-    public boolean hasTurnEffect(String playerId, String effectName) {
-        if (playerId == null || effectName == null || activeEffects == null) {
-            return false;
-        }
-        List<String> effects = activeEffects.get(playerId);
-        return effects != null && effects.contains(effectName);
-    }
+    public void addTurnEffect(String playerId, String effectName) { Team team = getPlayerTeamById(playerId); if (team == null) { Gdx.app.error(TAG, "Attempted to add turn effect '" + effectName + "' for unknown player: " + playerId); return; } position.addTurnEffect(team, effectName); }
+    public boolean hasTurnEffect(String playerId, String effectName) { return position.hasTurnEffect(getPlayerTeamById(playerId), effectName); }
+    public void clearTurnEffects(String playerId) { Team team = getPlayerTeamById(playerId); if (team == null) return; List<String> removedEffects = position.clearTurnEffects(team); if (!removedEffects.isEmpty()) { Gdx.app.debug(TAG, "Cleared turn effects for player " + playerId + ": " + removedEffects); } }
 
-    public void clearTurnEffects(String playerId) {
-        if (playerId != null && activeEffects != null) {
-            // Replace with an empty list instead of removing the key,
-            List<String> removedEffects = activeEffects.put(playerId, new ArrayList<>());
-            if (removedEffects != null && !removedEffects.isEmpty()) {
-                Gdx.app.debug(TAG, "Cleared turn effects for player " + playerId + ": " + removedEffects);
-            } else {
-                // Ensure the key exists with an empty list if it wasn't there before
-                activeEffects.computeIfAbsent(playerId, k -> new ArrayList<>());
+    /**
+     * Applies the document's player-keyed state (current turn, turn effects) to the Position's teams.
+     * Firestore may set these before the player ids and colors, so every related setter calls this again;
+     * effects of players without a color yet are kept until they can be mapped.
+     */
+    private void resolvePlayerState() {
+        position.setSideToMove(getPlayerTeamById(currentTurnPlayerId));
+        if (pendingEffects.isEmpty()) return;
+        Iterator<Map.Entry<String, List<String>>> iterator = pendingEffects.entrySet().iterator();
+        while (iterator.hasNext()) {
+            Map.Entry<String, List<String>> entry = iterator.next();
+            Team team = getPlayerTeamById(entry.getKey());
+            if (team == null) continue;
+            position.clearTurnEffects(team);
+            if (entry.getValue() != null) {
+                for (String effectName : entry.getValue()) position.addTurnEffect(team, effectName);
             }
+            iterator.remove();
         }
     }
 
@@ -241,57 +272,105 @@ public class GameModel {
         copy.player1LastSeen = this.player1LastSeen != null ? (Date) this.player1LastSeen.clone() : null;
         copy.player2LastSeen = this.player2LastSeen != null ? (Date) this.player2LastSeen.clone() : null;
         copy.drawOfferedByPlayerId = this.drawOfferedByPlayerId;
-        copy.fiftyMoveRuleCounter = this.fiftyMoveRuleCounter;
-        copy.enPassantTargetSquare = this.enPassantTargetSquare;
         copy.winnerId = this.winnerId;
         copy.loserId = this.loserId;
         copy.winReason = this.winReason;
         copy.eloChangePlayer1 = this.eloChangePlayer1;
         copy.eloChangePlayer2 = this.eloChangePlayer2;
         copy.playerIds = this.playerIds != null ? new ArrayList<>(this.playerIds) : new ArrayList<>();
+        copy.positionKeys = this.positionKeys != null ? new ArrayList<>(this.positionKeys) : new ArrayList<>();
         copy.positionHistory = this.positionHistory != null ? new ArrayList<>(this.positionHistory) : new ArrayList<>();
+        copy.legacyPositionKeys = this.legacyPositionKeys != null ? new ArrayList<>(this.legacyPositionKeys) : null;
         copy.player1Spells = this.player1Spells != null ? new ArrayList<>(this.player1Spells) : new ArrayList<>();
         copy.player2Spells = this.player2Spells != null ? new ArrayList<>(this.player2Spells) : new ArrayList<>();
-        copy.internalBoard = new HashMap<>();
-        if (this.internalBoard != null) {
-            for (Map.Entry<BoardPosition, Piece> entry : this.internalBoard.entrySet()) {
-                if (entry.getValue() != null) {
-                    try { copy.internalBoard.put(entry.getKey(), entry.getValue().copy()); }
-                    catch (Exception e) { Gdx.app.error(TAG, "Error copying piece " + entry.getValue() + " during GameModel copy", e); }
-                } else { copy.internalBoard.put(entry.getKey(), null); }
-            }
-        }
-        copy.activeEffects = new HashMap<>();
-        if (this.activeEffects != null) {
-            for (Map.Entry<String, List<String>> entry : this.activeEffects.entrySet()) {
-                if (entry.getValue() != null) {
-                    copy.activeEffects.put(entry.getKey(), new ArrayList<>(entry.getValue()));
-                } else {
-                    copy.activeEffects.put(entry.getKey(), new ArrayList<>());
-                }
-            }
+        copy.position = this.position.copy();
+        copy.offBoardState = new HashMap<>(this.offBoardState);
+        copy.pendingEffects = new HashMap<>();
+        for (Map.Entry<String, List<String>> entry : this.pendingEffects.entrySet()) {
+            copy.pendingEffects.put(entry.getKey(), entry.getValue() != null ? new ArrayList<>(entry.getValue()) : new ArrayList<>());
         }
         return copy;
     }
 
     // --- Piece Manipulation Methods ---
-    public Piece movePiece(Piece pieceToMove, BoardPosition targetPosition) { if (pieceToMove == null || targetPosition == null || internalBoard == null || !isWithinBounds(targetPosition)) { Gdx.app.error(TAG, "Invalid movePiece arguments: Piece=" + pieceToMove + ", Target=" + targetPosition); return null; } BoardPosition originalPosition = pieceToMove.getPosition(); if (originalPosition == null || !Objects.equals(internalBoard.get(originalPosition), pieceToMove)) { Piece actualPiece = internalBoard.get(originalPosition); Gdx.app.error(TAG, "Move attempt failed: Piece " + pieceToMove.getTypeName() + " ("+pieceToMove+") not found at its own position " + originalPosition + " in internalBoard. Found: " + actualPiece); return null; } Piece capturedPiece = internalBoard.remove(targetPosition); if (capturedPiece != null) { try { pieceToMove.onCapture(capturedPiece); } catch (Exception e) { Gdx.app.error(TAG, "Error during onCapture callback for " + pieceToMove, e); } } internalBoard.remove(originalPosition); internalBoard.put(targetPosition, pieceToMove); try { pieceToMove.onMove(targetPosition); } catch (Exception e) { Gdx.app.error(TAG, "Error during onMove callback for " + pieceToMove + " to " + targetPosition, e); } return capturedPiece; }
-    public Piece removePieceAt(BoardPosition position) { if (position == null || internalBoard == null || !isWithinBounds(position)) return null; return internalBoard.remove(position); }
-    public boolean removePiece(Piece pieceToRemove) { if (pieceToRemove == null || pieceToRemove.getPosition() == null || internalBoard == null) return false; if (internalBoard.get(pieceToRemove.getPosition()) == pieceToRemove) { return removePieceAt(pieceToRemove.getPosition()) != null; } Gdx.app.error(TAG, "Attempted to remove piece by reference, but it was not found at its position: " + pieceToRemove); return false; }
-    public void placePiece(Piece piece) { if (piece == null || piece.getPosition() == null || internalBoard == null || !isWithinBounds(piece.getPosition())) { Gdx.app.error(TAG, "Cannot place invalid piece: " + piece); return; } internalBoard.put(piece.getPosition(), piece); }
-
+    public Piece movePiece(Piece pieceToMove, BoardPosition targetPosition) { return position.movePiece(pieceToMove, targetPosition); }
+    public Piece removePieceAt(BoardPosition pos) { return position.removePieceAt(pos); }
+    public boolean removePiece(Piece pieceToRemove) { return position.removePiece(pieceToRemove); }
+    public void placePiece(Piece piece) { position.placePiece(piece); }
+    /** Snapshot of the rules state; see Position.snapshot. */
+    public BoardSnapshot snapshot() { return position.snapshot(); }
+    /** Returns to a snapshot (see Position.restore) and makes the player of its side to move the current turn player. */
+    public void restore(BoardSnapshot snapshot) { if (snapshot == null) return; position.restore(snapshot); String playerId = getPlayerIdForTeam(snapshot.getSideToMove()); if (playerId != null) { currentTurnPlayerId = playerId; } }
 
     // --- Game Logic Methods ---
-    public boolean hasLegalMoves(Team team) { if (team == null || internalBoard == null) return false; for (Piece piece : getPiecesForTeam(team)) { if (piece != null) { Set<BoardPosition> moves = piece.getValidMoves(this); if (moves != null && !moves.isEmpty()) { return true; } } } return false; }
-    public boolean isCheckmate(Team team) { if (team == null) return false; return isKingInCheck(team) && !hasLegalMoves(team); }
-    public boolean isStalemate(Team team) { if (team == null) return false; if (findKingPosition(team) == null) return false; return !isKingInCheck(team) && !hasLegalMoves(team); }
-    public boolean isInsufficientMaterial() { if (internalBoard == null || internalBoard.isEmpty()) { return false; } List<PieceType> whitePieceTypes = new ArrayList<>(); List<PieceType> blackPieceTypes = new ArrayList<>(); List<BoardPosition> whiteBishopPositions = new ArrayList<>(); List<BoardPosition> blackBishopPositions = new ArrayList<>(); for (Piece piece : internalBoard.values()) { if (piece == null || piece.getTypeName() == null) continue; String typeName = piece.getTypeName(); PieceType type = null; try { type = PieceType.valueOf(typeName); } catch (IllegalArgumentException e) { Gdx.app.debug(TAG, "Insufficient material check: Found custom/unknown piece '" + typeName + "', assuming sufficient material."); return false; } if (type == PieceType.PAWN || type == PieceType.ROOK || type == PieceType.QUEEN) { Gdx.app.debug(TAG, "Insufficient material check: Found " + type + ", assuming sufficient material."); return false; } if (piece.getTeam() == Team.WHITE) { whitePieceTypes.add(type); if (type == PieceType.BISHOP) whiteBishopPositions.add(piece.getPosition()); } else { blackPieceTypes.add(type); if (type == PieceType.BISHOP) blackBishopPositions.add(piece.getPosition()); } } int whiteCount = whitePieceTypes.size(); int blackCount = blackPieceTypes.size(); if (whiteCount == 1 && blackCount == 1) { if (whitePieceTypes.get(0) == PieceType.KING && blackPieceTypes.get(0) == PieceType.KING) { Gdx.app.debug(TAG, "Insufficient material: K vs K detected."); return true; } } if ((whiteCount == 1 && blackCount == 2) || (whiteCount == 2 && blackCount == 1)) { List<PieceType> twoPieces = (whiteCount == 2) ? whitePieceTypes : blackPieceTypes; boolean hasKing = twoPieces.contains(PieceType.KING); boolean hasMinor = twoPieces.contains(PieceType.KNIGHT) || twoPieces.contains(PieceType.BISHOP); if (hasKing && hasMinor) { Gdx.app.debug(TAG, "Insufficient material: K vs K + Minor Piece detected."); return true; } } if (whiteCount == 2 && blackCount == 2) { boolean whiteKB = whitePieceTypes.contains(PieceType.KING) && whitePieceTypes.contains(PieceType.BISHOP); boolean blackKB = blackPieceTypes.contains(PieceType.KING) && blackPieceTypes.contains(PieceType.BISHOP); if (whiteKB && blackKB) { if (whiteBishopPositions.size() == 1 && blackBishopPositions.size() == 1) { BoardPosition whitePos = whiteBishopPositions.get(0); BoardPosition blackPos = blackBishopPositions.get(0); if (whitePos != null && blackPos != null) { boolean whiteIsDark = (whitePos.getX() + whitePos.getY()) % 2 != 0; boolean blackIsDark = (blackPos.getX() + blackPos.getY()) % 2 != 0; if (whiteIsDark == blackIsDark) { Gdx.app.debug(TAG, "Insufficient material: K+B vs K+B (Same color bishops) detected."); return true; } } } } } return false; }
-    public String getBoardStateString() { if (internalBoard == null || currentTurnPlayerId == null) return null; Team currentTeam = getPlayerTeamById(currentTurnPlayerId); if (currentTeam == null) return null; TreeMap<String, String> sortedBoard = new TreeMap<>(); Map<String, Object> stateWithMoved = getBoardState(); for(Map.Entry<String, Object> entry : stateWithMoved.entrySet()) { if (entry.getValue() instanceof String) { sortedBoard.put(entry.getKey(), (String) entry.getValue()); } } StringBuilder sb = new StringBuilder(); for (Map.Entry<String, String> entry : sortedBoard.entrySet()) { sb.append(entry.getKey()).append("=").append(entry.getValue()).append(";"); } sb.append("|Turn=").append(currentTeam == Team.WHITE ? "w" : "b"); sb.append("|Castle=").append("-"); sb.append("|EP=").append(getEnPassantTargetSquareString() != null ? getEnPassantTargetSquareString() : "-"); return sb.toString(); }
+    public boolean anyLegalMove(Team team) { return position.anyLegalMove(team); }
+    public boolean hasLegalMoves(Team team) { return position.hasLegalMoves(team); }
+    public boolean isCheckmate(Team team) { return position.isCheckmate(team); }
+    public boolean isStalemate(Team team) { return position.isStalemate(team); }
+    public boolean isInsufficientMaterial() { return position.isInsufficientMaterial(); }
+    /** Mutation counter of the current position (see Position.getVersion); equal values mean nothing on the board changed in between. */
+    public long getPositionVersion() { return position.getVersion(); }
+    /** Zobrist key of the current position (see Position.getZobristKey), as stored in positionKeys. */
+    public long getPositionKey() { return position.getZobristKey(); }
+    /** How often the current position occurs in getRepetitionHistory; the history lists must not be modified in place (use the setters). */
+    public int getRepetitionCount() { if (repetitions == null) repetitions = RepetitionTable.of(getRepetitionHistory()); return repetitions.count(getPositionKey()); }
+
+    /**
+     * Keys of the positions since the last irreversible move, oldest first: the converted legacy
+     * positionHistory entries of an old document, then positionKeys. A new list; the move transaction
+     * appends to it and stores it as positionKeys.
+     */
+    public List<Long> getRepetitionHistory() {
+        List<Long> history = new ArrayList<>(getLegacyPositionKeys());
+        history.addAll(getPositionKeys());
+        return history;
+    }
+
+    private List<Long> getLegacyPositionKeys() {
+        if (legacyPositionKeys == null) {
+            legacyPositionKeys = new ArrayList<>();
+            for (String entry : getPositionHistory()) {
+                Long key = legacyPositionKey(entry);
+                if (key != null) {
+                    legacyPositionKeys.add(key);
+                } else {
+                    Gdx.app.error(TAG, "Skipping unreadable legacy positionHistory entry: '" + entry + "'");
+                }
+            }
+        }
+        return legacyPositionKeys;
+    }
+
+    /**
+     * Zobrist key of a legacy board-state string on this game's board size: the pieces are set up
+     * in a scratch model the way setBoardState reads a document, with the side to move and en passant
+     * square of the string ("Castle" was always "-"; castling rights follow from the _MOVED suffixes).
+     * @return The key, or null if the string is not in the legacy format.
+     */
+    private Long legacyPositionKey(String entry) {
+        if (entry == null) return null;
+        String[] sections = entry.split("\\|");
+        if (sections.length != 4 || !sections[1].startsWith("Turn=") || !sections[3].startsWith("EP=")) return null;
+        Map<String, Object> boardState = new HashMap<>();
+        for (String square : sections[0].split(";")) {
+            if (square.isEmpty()) continue;
+            int separator = square.indexOf('=');
+            if (separator <= 0) return null;
+            boardState.put(square.substring(0, separator), square.substring(separator + 1));
+        }
+        GameModel scratch = new GameModel();
+        scratch.resizeBoard(getBoardWidth(), getBoardHeight());
+        scratch.setBoardState(boardState);
+        scratch.position.setSideToMove("w".equals(sections[1].substring("Turn=".length())) ? Team.WHITE : Team.BLACK);
+        String enPassant = sections[3].substring("EP=".length());
+        scratch.position.setEnPassantTargetSquare("-".equals(enPassant) ? null : algebraicToBoardPosition(enPassant));
+        return scratch.getPositionKey();
+    }
 
     // --- Static Helper Methods ---
-    public static BoardPosition algebraicToBoardPosition(String square) { if (square == null || square.length() != 2) return null; int file = square.charAt(0) - 'a'; int rank = square.charAt(1) - '1'; if (file < 0 || file >= BOARD_WIDTH || rank < 0 || rank >= BOARD_HEIGHT) return null; return new BoardPosition(file, rank); }
-    public static String boardPositionToAlgebraic(BoardPosition pos) { if (pos == null) return null; int file = pos.getX(); int rank = pos.getY(); if (file < 0 || file >= BOARD_WIDTH || rank < 0 || rank >= BOARD_HEIGHT) return null; return "" + (char)('a' + file) + (char)('1' + rank); }
-    public static String generateBoardStateString(Map<String, String> boardState, String turnColor, String castlingRights, String epTargetSquare) { if (boardState == null || turnColor == null) return null; TreeMap<String, String> sortedBoard = new TreeMap<>(boardState); StringBuilder sb = new StringBuilder(); for (Map.Entry<String, String> entry : sortedBoard.entrySet()) { if (entry.getValue() != null) { sb.append(entry.getKey()).append("=").append(entry.getValue()).append(";"); } } sb.append("|Turn=").append(turnColor.toLowerCase().startsWith("w") ? "w" : "b"); sb.append("|Castle=").append(castlingRights != null ? castlingRights : "-"); sb.append("|EP=").append(epTargetSquare != null ? epTargetSquare : "-"); return sb.toString(); }
+    /** Parses a square name such as "e4" or "j10" (boards up to 16x16); use isWithinBounds to check it against this game's board. */
+    public static BoardPosition algebraicToBoardPosition(String square) { return BoardPosition.fromAlgebraic(square); }
+    public static String boardPositionToAlgebraic(BoardPosition pos) { return pos != null ? pos.toAlgebraic() : null; }
 
 
     // --- Convenience Methods ---
@@ -300,6 +379,7 @@ public class GameModel {
     public String getOpponentDisplayName(String myId) { if (myId == null) return null; if (myId.equals(player1Id)) return player2DisplayName; if (myId.equals(player2Id)) return player1DisplayName; return null; }
     public int getEloChangeForPlayer(String playerId) { if (playerId == null) return 0; if (playerId.equals(player1Id)) return eloChangePlayer1; if (playerId.equals(player2Id)) return eloChangePlayer2; return 0; }
     public String getPlayerColorById(String playerId) { if (playerId == null) return null; if (playerId.equals(player1Id)) return player1Color; if (playerId.equals(player2Id)) return player2Color; return null; }
+    public String getPlayerIdForTeam(Team team) { if (team == null) return null; String color = team == Team.WHITE ? "white" : "black"; if (color.equalsIgnoreCase(player1Color)) return player1Id; if (color.equalsIgnoreCase(player2Color)) return player2Id; return null; }
     public Team getPlayerTeamById(String playerId) { String color = getPlayerColorById(playerId); if ("white".equalsIgnoreCase(color)) return Team.WHITE; if ("black".equalsIgnoreCase(color)) return Team.BLACK; return null; }
     public List<String> getSpellsForPlayer(String playerId) { if (playerId == null) return new ArrayList<>(); if (playerId.equals(player1Id)) return getPlayer1Spells(); if (playerId.equals(player2Id)) return getPlayer2Spells(); return new ArrayList<>(); }
     public boolean hasPendingDrawOffer() { return drawOfferedByPlayerId != null && getStatusEnum().isActive(); }
@@ -7,6 +7,8 @@ import io.WizardsChessMaster.model.BoardPosition;
 import io.WizardsChessMaster.model.DeckModel;
 import io.WizardsChessMaster.model.GameModel;
 import io.WizardsChessMaster.model.GameStatus;
+import io.WizardsChessMaster.model.PositionAnalysis;
+import io.WizardsChessMaster.model.SquareSet;
 import io.WizardsChessMaster.model.Team;
 import io.WizardsChessMaster.model.UserModel;
 import io.WizardsChessMaster.model.pieces.Piece;
@@ -18,13 +20,13 @@ import io.WizardsChessMaster.view.interfaces.IGameplayView;
 
 import java.util.*;
 import java.util.concurrent.TimeUnit;
-import java.util.stream.Collectors;
 
 public class GameplayPresenter implements FirebaseService.GameEventListener, FirebaseService.GameEndListener, FirebaseService.DeckLoadListener {
 
     private static final String TAG = "GameplayCtrl";
     private static final long ABANDONMENT_TIMEOUT_MILLIS = 60 * 1000; // 1 minute
     private static final float HEARTBEAT_INTERVAL_SECONDS = 3f; // Send heartbeat every 3s
+    private static final int ANALYSIS_CACHE_SIZE = 16; // Recent positions (both teams) kept analysed
 
     private final Main game;
     private final FirebaseService firebaseService;
@@ -51,6 +53,8 @@ public class GameplayPresenter implements FirebaseService.GameEventListener, Fir
     private boolean drawOfferedByMe = false;
     private boolean drawOfferedByOpponent = false;
     private boolean localBoardInitialized = false;
+    // Check, legal moves and terminal status per position, shared by the endgame checks and the view
+    private final PositionAnalysis.Cache analysisCache = new PositionAnalysis.Cache(ANALYSIS_CACHE_SIZE);
 
     // Spell State
     private List<Spell> availableSpells = new ArrayList<>();
@@ -287,6 +291,7 @@ public class GameplayPresenter implements FirebaseService.GameEventListener, Fir
         updateViewForDrawStatus();
         updateAvailableSpells(this.currentGameModel.getSpellsForPlayer(currentPlayerId));
         if (view != null) view.displaySpells(availableSpells);
+        view.setBoardDimensions(this.currentGameModel.getBoardWidth(), this.currentGameModel.getBoardHeight());
         view.displayBoard(castBoardState(this.currentGameModel.getBoardState()));
 
         // --- Turn Logic ---
@@ -316,9 +321,9 @@ public class GameplayPresenter implements FirebaseService.GameEventListener, Fir
         Team currentTurnTeam = gameModel.getPlayerTeamById(playerWhoseTurnItIs);
 
         if (currentTurnTeam != null) {
-            boolean inCheck = gameModel.isKingInCheck(currentTurnTeam);
-            boolean hasLegalPieceMoves = gameModel.hasLegalMoves(currentTurnTeam);
-            if (!hasLegalPieceMoves) {
+            PositionAnalysis analysis = analyze(gameModel, currentTurnTeam);
+            boolean inCheck = analysis.isInCheck();
+            if (!analysis.hasLegalMove()) {
                 String reason; String winner = null, loser = null;
                 if (inCheck) { reason = FirebaseService.WIN_REASON_CHECKMATE; loser = playerWhoseTurnItIs; winner = gameModel.getOpponentId(loser); Gdx.app.log(TAG, "CHECKMATE detected against " + currentTurnTeam); }
                 else { reason = FirebaseService.WIN_REASON_STALEMATE; Gdx.app.log(TAG, "STALEMATE detected for " + currentTurnTeam); }
@@ -326,13 +331,16 @@ public class GameplayPresenter implements FirebaseService.GameEventListener, Fir
                 callRecordGameResult(winner, loser, reason); return;
             }
             if (gameModel.getFiftyMoveRuleCounter() >= 100) { Gdx.app.log(TAG, "DRAW by 50-move rule."); callRecordGameResult(null, null, FirebaseService.DRAW_REASON_50_MOVE); return; }
-            String currentStateString = gameModel.getBoardStateString(); if (currentStateString != null) { List<String> history = gameModel.getPositionHistory(); int reps = 0; if (history != null) { for(String s : history) if(currentStateString.equals(s)) reps++; } if (reps >= 2) { Gdx.app.log(TAG, "DRAW by threefold repetition detected"); callRecordGameResult(null, null, FirebaseService.DRAW_REASON_REPETITION); return; } }
-            if (gameModel.isInsufficientMaterial()) { Gdx.app.log(TAG, "DRAW by insufficient material."); callRecordGameResult(null, null, FirebaseService.DRAW_REASON_MATERIAL); return; }
+            if (gameModel.getRepetitionCount() >= 2) { Gdx.app.log(TAG, "DRAW by threefold repetition detected"); callRecordGameResult(null, null, FirebaseService.DRAW_REASON_REPETITION); return; }
+            if (analysis.isInsufficientMaterial()) { Gdx.app.log(TAG, "DRAW by insufficient material."); callRecordGameResult(null, null, FirebaseService.DRAW_REASON_MATERIAL); return; }
             if (view != null && !drawOfferedByMe && !drawOfferedByOpponent && !isTargetingSpell) { String status; if (isPlayersTurn()) { status = inCheck ? "Your turn (Check!)" : "Your turn"; } else { String oppName = opponentDisplayName != null ? opponentDisplayName : "Opponent"; status = inCheck ? oppName + "'s turn (Check!)" : oppName + "'s turn"; } view.setStatusText(status, false); }
             else if (isTargetingSpell && view != null && selectedSpell != null) { view.setStatusText("Select target for " + selectedSpell.getDisplayName() + "...", false); }
         } else { Gdx.app.error(TAG, "Cannot determine team for current player: " + playerWhoseTurnItIs); if(view != null) view.setStatusText("Error: Unknown turn", true); }
     }
 
+    /** Check, legal moves and material of the team in the model's current position, cached by position key. */
+    private PositionAnalysis analyze(GameModel gameModel, Team team) { return analysisCache.get(gameModel.getPosition(), team); }
+
     private void handleTimeoutCheck(GameModel gameModel) {
         if (gameModel == null || gameEnded) return;
         if (gameModel.getStatusEnum() == GameStatus.ACTIVE) {
@@ -392,8 +400,8 @@ public class GameplayPresenter implements FirebaseService.GameEventListener, Fir
     @Override public void onSuccess(List<DeckModel> decks) { Gdx.app.log(TAG, "Decks loaded."); this.playerDecks = decks; if (currentGameModel != null) { String myDeckName = currentPlayerId.equals(currentGameModel.getPlayer1Id()) ? currentGameModel.getPlayer1DeckName() : currentGameModel.getPlayer2DeckName(); this.playerDeckModel = findDeckByName(myDeckName); updateDeckInfoLabel(myDeckName); if (playerDeckModel == null) { Gdx.app.error(TAG,"Could not find player deck model: " + myDeckName); handleGameError("Cannot find your deck: " + myDeckName); return; } if (!gameEnded) attemptInitialBoardSetup(); } else { Gdx.app.log(TAG,"Decks loaded, but currentGameModel is null."); } }
     @Override public void onFailure(String msg) { Gdx.app.error(TAG, "Deck load fail: " + msg); if (view != null) view.setPlayerDeckText("Deck Error"); handleGameError("Failed to load deck: " + msg); }
     private void attemptInitialBoardSetup() { if (gameEnded || currentGameModel == null || playerDeckModel == null || localBoardInitialized) return; Map<String, Object> currentBoardState = currentGameModel.getBoardState(); List<String> currentSpells = currentGameModel.getSpellsForPlayer(currentPlayerId); boolean playerPiecesExist = false; if (currentBoardState != null) { String expectedPrefix = playerColorString.toUpperCase() + "_"; for (Object val : currentBoardState.values()) { if (val instanceof String && ((String) val).startsWith(expectedPrefix)) { playerPiecesExist = true; break; } } } if (!playerPiecesExist || currentSpells == null || currentSpells.isEmpty()) { Gdx.app.log(TAG, "Attempting initial board/spell setup TX for player " + currentPlayerId); localBoardInitialized = true; firebaseService.initializePlayerBoardStateTransactionally( gameId, currentPlayerId, playerColorString, playerDeckModel, new FirebaseService.AuthListener() { @Override public void onSuccess() {} @Override public void onFailure(String msg) { Gdx.app.error(TAG, "Board/Spell initialization TX NACK: " + msg); handleGameError("Board setup failed: " + msg); } }); } else { Gdx.app.log(TAG, "Board/spells already initialized for " + currentPlayerId); localBoardInitialized = true; } }
-    public void handleBoardClick(String square) { if (gameEnded || currentGameModel == null || view == null || !isPlayersTurn()) { clearSelection(); return; } BoardPosition clickedPos = GameModel.algebraicToBoardPosition(square); if (clickedPos == null) { return; } if (isTargetingSpell && selectedSpell != null) { Set<BoardPosition> validTargets = selectedSpell.getValidTargets(currentPlayerId, currentGameModel); List<String> validTargetStrings = validTargets.stream().map(GameModel::boardPositionToAlgebraic).filter(Objects::nonNull).collect(Collectors.toList()); if (validTargetStrings.contains(square)) { castSpellAndApplyLocally(selectedSpell, clickedPos); clearSelection(); } else { clearSelection(); } return; } Piece clickedPiece = currentGameModel.getPieceAt(clickedPos); if (selectedPieceSquare == null) { handleSquareSelection(square, clickedPos, clickedPiece); } else { if (selectedPieceSquare.equals(square)) { clearSelection(); } else if (validMovesForSelectedPiece.contains(square)) { handleMoveAttempt(square, clickedPos); } else if (clickedPiece != null && clickedPiece.getTeam() == playerTeam) { handleSquareSelection(square, clickedPos, clickedPiece); } else { clearSelection(); } } }
-    public void handleSpellClick(Spell spell) { if (gameEnded || currentGameModel == null || view == null || !isPlayersTurn() || isTargetingSpell) return; if (spell == null) return; boolean hasSpell = availableSpells.stream().anyMatch(s -> s.getTypeName().equals(spell.getTypeName())); if (!hasSpell) { if(view != null) view.setStatusText("Spell not available!", true); return; } if (currentGameModel.isKingInCheck(playerTeam)) { if(view != null) view.setStatusText("Cannot cast spells while in check!", true); clearSelection(); return; } clearSelection(); selectedSpell = spell; Gdx.app.log(TAG, "Spell selected: " + spell.getDisplayName()); boolean requiresTarget = spell.requiresTarget(); if (requiresTarget) { isTargetingSpell = true; if (view != null) { view.setStatusText("Select target for " + spell.getDisplayName() + "...", false); Set<BoardPosition> potentialTargets = spell.getValidTargets(currentPlayerId, currentGameModel); List<String> targetStrings = potentialTargets.stream().map(GameModel::boardPositionToAlgebraic).filter(Objects::nonNull).collect(Collectors.toList()); view.highlightSpellTargets(targetStrings); } } else { castSpellAndApplyLocally(spell, null); clearSelection(); } }
+    public void handleBoardClick(String square) { if (gameEnded || currentGameModel == null || view == null || !isPlayersTurn()) { clearSelection(); return; } BoardPosition clickedPos = GameModel.algebraicToBoardPosition(square); if (clickedPos == null) { return; } if (isTargetingSpell && selectedSpell != null) { SquareSet validTargets = selectedSpell.getValidTargetSet(playerTeam, currentGameModel.getPosition()); if (validTargets.contains(clickedPos)) { castSpellAndApplyLocally(selectedSpell, clickedPos); clearSelection(); } else { clearSelection(); } return; } Piece clickedPiece = currentGameModel.getPieceAt(clickedPos); if (selectedPieceSquare == null) { handleSquareSelection(square, clickedPos, clickedPiece); } else { if (selectedPieceSquare.equals(square)) { clearSelection(); } else if (validMovesForSelectedPiece.contains(square)) { handleMoveAttempt(square, clickedPos); } else if (clickedPiece != null && clickedPiece.getTeam() == playerTeam) { handleSquareSelection(square, clickedPos, clickedPiece); } else { clearSelection(); } } }
+    public void handleSpellClick(Spell spell) { if (gameEnded || currentGameModel == null || view == null || !isPlayersTurn() || isTargetingSpell) return; if (spell == null) return; boolean hasSpell = availableSpells.stream().anyMatch(s -> s.getTypeName().equals(spell.getTypeName())); if (!hasSpell) { if(view != null) view.setStatusText("Spell not available!", true); return; } if (analyze(currentGameModel, playerTeam).isInCheck()) { if(view != null) view.setStatusText("Cannot cast spells while in check!", true); clearSelection(); return; } clearSelection(); selectedSpell = spell; Gdx.app.log(TAG, "Spell selected: " + spell.getDisplayName()); boolean requiresTarget = spell.requiresTarget(); if (requiresTarget) { isTargetingSpell = true; if (view != null) { view.setStatusText("Select target for " + spell.getDisplayName() + "...", false); List<String> targetStrings = spell.getValidTargetSet(playerTeam, currentGameModel.getPosition()).toAlgebraic(); view.highlightSpellTargets(targetStrings); } } else { castSpellAndApplyLocally(spell, null); clearSelection(); } }
 
     // Modified castSpellAndApplyLocally
     private void castSpellAndApplyLocally(Spell spell, BoardPosition targetPos) {
@@ -402,7 +410,7 @@ public class GameplayPresenter implements FirebaseService.GameEventListener, Fir
         long timeTakenMillis = (turnStartTimeMillis > 0) ? (timeNow - turnStartTimeMillis) : 0L;
 
         // --- Apply Effect Logically ---
-        boolean effectAppliedLocally = spell.applyEffect(currentPlayerId, targetPos, currentGameModel);
+        boolean effectAppliedLocally = spell.applyEffect(playerTeam, targetPos, currentGameModel.getPosition());
         Gdx.app.log(TAG, "Local spell applyEffect result: " + effectAppliedLocally + " for " + spell.getTypeName());
 
 
@@ -442,7 +450,7 @@ public class GameplayPresenter implements FirebaseService.GameEventListener, Fir
         justCastNonEndingSpell = false;
         lastCastedSpellName = null;
         if (!gameEnded && isPlayersTurn()) startHeartbeatTimer(); } }); }
-    private void handleSquareSelection(String square, BoardPosition clickedPos, Piece clickedPiece) { clearSelection(); if (clickedPiece != null && clickedPiece.getTeam() == playerTeam && currentGameModel != null) { selectedPieceSquare = square; Set<BoardPosition> validMovePositions = clickedPiece.getValidMoves(currentGameModel); validMovesForSelectedPiece = validMovePositions.stream().map(GameModel::boardPositionToAlgebraic).filter(Objects::nonNull).collect(Collectors.toList()); if (view != null) { view.highlightValidMoves(validMovesForSelectedPiece); String name = clickedPiece.getDisplayName(); view.setStatusText("Selected " + name + (validMovesForSelectedPiece.isEmpty() ? ". No moves." : ". Choose move."), false); } } else { if (view != null && isPlayersTurn()) { view.setStatusText("Your turn", false); } } }
+    private void handleSquareSelection(String square, BoardPosition clickedPos, Piece clickedPiece) { clearSelection(); if (clickedPiece != null && clickedPiece.getTeam() == playerTeam && currentGameModel != null) { selectedPieceSquare = square; validMovesForSelectedPiece = analyze(currentGameModel, playerTeam).getLegalTargetsAlgebraic(clickedPos); if (view != null) { view.highlightValidMoves(validMovesForSelectedPiece); String name = clickedPiece.getDisplayName(); view.setStatusText("Selected " + name + (validMovesForSelectedPiece.isEmpty() ? ". No moves." : ". Choose move."), false); } } else { if (view != null && isPlayersTurn()) { view.setStatusText("Your turn", false); } } }
     private void handleMoveAttempt(String targetSquare, BoardPosition targetPos) {
         // --- Pre-conditions check ---
         if (selectedPieceSquare == null || currentGameModel == null || gameEnded || !isPlayersTurn()) {
@@ -471,7 +479,7 @@ public class GameplayPresenter implements FirebaseService.GameEventListener, Fir
         Piece targetPiece = currentGameModel.getPieceAt(targetPos);
         final boolean isCapture = (targetPiece != null);
         final String pieceTypeName = movingPiece.getTypeName();
-        final boolean isPawnMove = "PAWN".equals(pieceTypeName);
+        final boolean isPawnMove = movingPiece.isPawnLike();
         // Pass the BASE piece value (without _MOVED) to performMove
         final String pieceValueString = movingPiece.getTeam().name().toUpperCase() + "_" + pieceTypeName.toUpperCase();
         final String movingPieceName = movingPiece.getDisplayName();
@@ -543,7 +551,7 @@ public class GameplayPresenter implements FirebaseService.GameEventListener, Fir
         // Clear selection immediately after sending the move attempt
         clearSelection();
     }
-    private void clearSelection() { selectedPieceSquare = null; validMovesForSelectedPiece.clear(); selectedSpell = null; isTargetingSpell = false; if (view != null) { view.clearHighlights(); if (!drawOfferedByMe && !drawOfferedByOpponent && isPlayersTurn() && !gameEnded && currentGameModel != null) { boolean inCheck = currentGameModel.isKingInCheck(playerTeam); view.setStatusText(inCheck ? "Your turn (Check!)" : "Your turn", false); } } }
+    private void clearSelection() { selectedPieceSquare = null; validMovesForSelectedPiece.clear(); selectedSpell = null; isTargetingSpell = false; if (view != null) { view.clearHighlights(); if (!drawOfferedByMe && !drawOfferedByOpponent && isPlayersTurn() && !gameEnded && currentGameModel != null) { boolean inCheck = analyze(currentGameModel, playerTeam).isInCheck(); view.setStatusText(inCheck ? "Your turn (Check!)" : "Your turn", false); } } }
     private boolean isPlayersTurn() { return currentGameModel != null && !gameEnded && currentGameModel.getStatusEnum() == GameStatus.ACTIVE && currentPlayerId.equals(currentGameModel.getCurrentTurnPlayerId()); }
 
     public void handleResignButtonClicked() {
@@ -790,6 +798,7 @@ public class GameplayPresenter implements FirebaseService.GameEventListener, Fir
         if (currentGameModel != null) {
             GameStatus currentStatus = currentGameModel.getStatusEnum();
             updateUIDisplayInfo(currentGameModel);
+            view.setBoardDimensions(currentGameModel.getBoardWidth(), currentGameModel.getBoardHeight());
             view.displayBoard(castBoardState(currentGameModel.getBoardState()));
             updateAvailableSpells(currentGameModel.getSpellsForPlayer(currentPlayerId));
             view.displaySpells(availableSpells);
@@ -804,15 +813,14 @@ public class GameplayPresenter implements FirebaseService.GameEventListener, Fir
                 view.highlightValidMoves(validMovesForSelectedPiece);
                 view.setStatusText("Selected " + name + (validMovesForSelectedPiece.isEmpty() ? ". No moves." : ". Choose move."), false);
             } else if (isTargetingSpell && selectedSpell != null) {
-                Set<BoardPosition> targets = selectedSpell.getValidTargets(currentPlayerId, currentGameModel);
-                List<String> targetStrings = targets.stream().map(GameModel::boardPositionToAlgebraic).filter(Objects::nonNull).collect(Collectors.toList());
+                List<String> targetStrings = selectedSpell.getValidTargetSet(playerTeam, currentGameModel.getPosition()).toAlgebraic();
                 view.highlightSpellTargets(targetStrings);
                 view.setStatusText("Select target for " + selectedSpell.getDisplayName() + "...", false);
             } else if (currentStatus == GameStatus.ACTIVE) {
                 boolean inCheck = false;
                 Team currentTeam = currentGameModel.getPlayerTeamById(currentGameModel.getCurrentTurnPlayerId());
                 if(currentTeam != null) {
-                    inCheck = currentGameModel.isKingInCheck(currentTeam);
+                    inCheck = analyze(currentGameModel, currentTeam).isInCheck();
                 } else {
                     Gdx.app.error(TAG, "refreshView: Could not determine team for current player ID: " + currentGameModel.getCurrentTurnPlayerId());
                 }
@@ -7,6 +7,7 @@ import com.badlogic.gdx.graphics.Color;
 import com.badlogic.gdx.graphics.GL20;
 import com.badlogic.gdx.graphics.Pixmap;
 import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
 import com.badlogic.gdx.math.Vector2;
 import com.badlogic.gdx.scenes.scene2d.Actor;
 import com.badlogic.gdx.scenes.scene2d.Group;
@@ -17,6 +18,7 @@ import com.badlogic.gdx.scenes.scene2d.Touchable;
 import com.badlogic.gdx.scenes.scene2d.ui.*;
 import com.badlogic.gdx.scenes.scene2d.utils.ChangeListener;
 import com.badlogic.gdx.scenes.scene2d.utils.ClickListener;
+import com.badlogic.gdx.scenes.scene2d.utils.TextureRegionDrawable;
 import com.badlogic.gdx.utils.Align;
 import com.badlogic.gdx.utils.Disposable;
 import com.badlogic.gdx.utils.ObjectMap;
@@ -31,6 +33,7 @@ import java.util.Locale;
 import java.util.Map;
 
 import io.WizardsChessMaster.Main;
+import io.WizardsChessMaster.model.BoardPosition;
 import io.WizardsChessMaster.model.GameModel;
 import io.WizardsChessMaster.model.UserModel;
 import io.WizardsChessMaster.model.pieces.PieceConfig;
@@ -51,6 +54,8 @@ public class GameplayScreen extends ScreenAdapter implements Disposable, IGamepl
 
     private String playerColor = "white";
     private static final String MOVED_SUFFIX = "_MOVED";
+    private static final Color BOARD_LIGHT_COLOR = new Color(0.93f, 0.85f, 0.71f, 1f);
+    private static final Color BOARD_DARK_COLOR = new Color(0.71f, 0.53f, 0.39f, 1f);
 
     // UI Elements
     private Label playerInfoLabel, opponentInfoLabel, playerDeckLabel, statusLabel;
@@ -79,8 +84,13 @@ public class GameplayScreen extends ScreenAdapter implements Disposable, IGamepl
     private Texture connectedIconTexture;
     private Texture disconnectedIconTexture;
 
+    // Board dimensions in squares (see setBoardDimensions)
+    private int boardWidth = 8;
+    private int boardHeight = 8;
+
     // Layout cache
-    private float boardSize = 0;
+    private float boardPixelWidth = 0;
+    private float boardPixelHeight = 0;
     private float squareSize = 0;
     private float boardStageX = 0;
     private float boardStageY = 0;
@@ -144,7 +154,19 @@ public class GameplayScreen extends ScreenAdapter implements Disposable, IGamepl
     public void setPlayerColor(String color) {
         if (color != null && (color.equalsIgnoreCase("white") || color.equalsIgnoreCase("black"))) { this.playerColor = color.toLowerCase(); } else { this.playerColor = "white"; }
         Gdx.app.log("GameplayScreen", "Player color set to: " + this.playerColor);
-        if (boardSize > 0) {
+        if (boardWidth != 8 || boardHeight != 8) updateBoardTexture();
+        if (boardPixelWidth > 0) {
+            calculateBoardLayout();
+        }
+    }
+
+    @Override
+    public void setBoardDimensions(int width, int height) {
+        if (width <= 0 || height <= 0 || (width == boardWidth && height == boardHeight)) return;
+        this.boardWidth = width; this.boardHeight = height;
+        Gdx.app.log("GameplayScreen", "Board dimensions set to: " + width + "x" + height);
+        updateBoardTexture();
+        if (boardPixelWidth > 0) {
             calculateBoardLayout();
         }
     }
@@ -153,7 +175,7 @@ public class GameplayScreen extends ScreenAdapter implements Disposable, IGamepl
     private void loadAssets() {
         pieceTextures = new HashMap<>();
         try {
-            boardTexture = new Texture(Gdx.files.internal("board.png"));
+            boardTexture = createBoardTexture();
             String[] colors = {"white", "black"};
             Collection<String> pieceTypeNames = PieceFactory.getAvailablePieceTypes();
             for (String typeName : pieceTypeNames) {
@@ -191,6 +213,28 @@ public class GameplayScreen extends ScreenAdapter implements Disposable, IGamepl
         } catch (Exception e) { Gdx.app.error("GameplayScreen", "Error loading spell textures: " + e.getMessage()); }
     }
 
+    /** board.png for the standard board; other sizes get a generated checkerboard (one pixel per square, a1 dark, from this player's side). */
+    private Texture createBoardTexture() {
+        if (boardWidth == 8 && boardHeight == 8) return new Texture(Gdx.files.internal("board.png"));
+        Pixmap pixmap = new Pixmap(boardWidth, boardHeight, Pixmap.Format.RGBA8888);
+        for (int px = 0; px < boardWidth; px++) {
+            for (int py = 0; py < boardHeight; py++) {
+                int row = boardHeight - 1 - py; int rank = playerColor.equals("black") ? (boardHeight - 1 - row) : row;
+                pixmap.setColor((px + rank) % 2 == 0 ? BOARD_DARK_COLOR : BOARD_LIGHT_COLOR); pixmap.drawPixel(px, py);
+            }
+        }
+        Texture texture = new Texture(pixmap); pixmap.dispose();
+        texture.setFilter(Texture.TextureFilter.Nearest, Texture.TextureFilter.Nearest);
+        return texture;
+    }
+
+    private void updateBoardTexture() {
+        Texture previous = boardTexture;
+        try { boardTexture = createBoardTexture(); } catch (Exception e) { Gdx.app.error("GameplayScreen", "Error creating board texture for " + boardWidth + "x" + boardHeight, e); return; }
+        if (boardImage != null) boardImage.setDrawable(new TextureRegionDrawable(new TextureRegion(boardTexture)));
+        if (previous != null) previous.dispose();
+    }
+
     private Texture createPlaceholderTexture(Color color) {
         Pixmap pixmap = new Pixmap(16, 16, Pixmap.Format.RGBA8888);
         pixmap.setColor(color); pixmap.fillCircle(8, 8, 7);
@@ -255,7 +299,7 @@ public class GameplayScreen extends ScreenAdapter implements Disposable, IGamepl
                 Actor current = target;
                 while (current != null) { if (current instanceof Dialog) { isDialogClick = true; break; } current = current.getParent(); }
                 boolean isHandledByOtherUI = target != stage.getRoot() && !(target instanceof Group) && target.getParent() != pieceGroup && target.getParent() != highlightGroup && target != boardImage && !isDialogClick; if (isHandledByOtherUI) { return false; }
-                if (boardSize > 0 && x >= boardStageX && x < (boardStageX + boardSize) && y >= boardStageY && y < (boardStageY + boardSize)) { String clickedSquare = coordinatesToAlgebraic(x, y); if (clickedSquare != null && controller != null) { controller.handleBoardClick(clickedSquare); return true; } }
+                if (boardPixelWidth > 0 && x >= boardStageX && x < (boardStageX + boardPixelWidth) && y >= boardStageY && y < (boardStageY + boardPixelHeight)) { String clickedSquare = coordinatesToAlgebraic(x, y); if (clickedSquare != null && controller != null) { controller.handleBoardClick(clickedSquare); return true; } }
                 return false;
             }
         });
@@ -265,18 +309,18 @@ public class GameplayScreen extends ScreenAdapter implements Disposable, IGamepl
     public void calculateBoardLayout() {
         float stageWidth = stage.getWidth(); float stageHeight = stage.getHeight(); if (stageWidth <= 0 || stageHeight <= 0) return;
         float availableHeight = stageHeight * 0.70f; float availableWidth = stageWidth * 0.95f;
-        boardSize = Math.min(availableWidth, availableHeight); if (boardSize <= 0) return;
-        squareSize = boardSize / 8f;
-        boardStageX = (stageWidth - boardSize) / 2f;
+        squareSize = Math.min(availableWidth / boardWidth, availableHeight / boardHeight); if (squareSize <= 0) return;
+        boardPixelWidth = squareSize * boardWidth; boardPixelHeight = squareSize * boardHeight;
+        boardStageX = (stageWidth - boardPixelWidth) / 2f;
         float topBarHeightEst = 60; float bottomBarHeightEst = 170;
-        boardStageY = bottomBarHeightEst + (stageHeight - topBarHeightEst - bottomBarHeightEst - boardSize) / 2f;
-        if (boardGroup != null) boardGroup.setBounds(boardStageX, boardStageY, boardSize, boardSize);
-        if (boardImage != null) boardImage.setSize(boardSize, boardSize);
-        if (pieceGroup != null) pieceGroup.setSize(boardSize, boardSize);
-        if (highlightGroup != null) highlightGroup.setSize(boardSize, boardSize);
+        boardStageY = bottomBarHeightEst + (stageHeight - topBarHeightEst - bottomBarHeightEst - boardPixelHeight) / 2f;
+        if (boardGroup != null) boardGroup.setBounds(boardStageX, boardStageY, boardPixelWidth, boardPixelHeight);
+        if (boardImage != null) boardImage.setSize(boardPixelWidth, boardPixelHeight);
+        if (pieceGroup != null) pieceGroup.setSize(boardPixelWidth, boardPixelHeight);
+        if (highlightGroup != null) highlightGroup.setSize(boardPixelWidth, boardPixelHeight);
         Actor spellPane = spellBarGroup.getParent();
         if (spellPane instanceof ScrollPane) { Actor parent = spellPane.getParent(); if(parent instanceof Table) { Cell<?> cell = ((Table)parent).getCell(spellPane); if (cell != null) { cell.height(squareSize + 10); ((Table)parent).invalidateHierarchy(); } } }
-        Gdx.app.log("GameplayScreen", "Layout: Size=" + boardSize + ", SquareSize=" + squareSize + ", StagePos=(" + boardStageX + "," + boardStageY + ")");
+        Gdx.app.log("GameplayScreen", "Layout: Size=" + boardPixelWidth + "x" + boardPixelHeight + ", SquareSize=" + squareSize + ", StagePos=(" + boardStageX + "," + boardStageY + ")");
         repositionActors();
     }
 
@@ -287,21 +331,21 @@ public class GameplayScreen extends ScreenAdapter implements Disposable, IGamepl
     }
 
     private String coordinatesToAlgebraic(float stageX, float stageY) {
-        if (boardSize <= 0 || squareSize <= 0) return null;
+        if (boardPixelWidth <= 0 || squareSize <= 0) return null;
         float boardRelativeX = stageX - boardStageX; float boardRelativeY = stageY - boardStageY;
-        if (boardRelativeX < 0 || boardRelativeX >= boardSize || boardRelativeY < 0 || boardRelativeY >= boardSize) return null;
+        if (boardRelativeX < 0 || boardRelativeX >= boardPixelWidth || boardRelativeY < 0 || boardRelativeY >= boardPixelHeight) return null;
         int fileIndex = (int) (boardRelativeX / squareSize); int rankIndexTemp = (int) (boardRelativeY / squareSize);
-        int rankIndex = playerColor.equals("black") ? (7 - rankIndexTemp) : rankIndexTemp;
-        if (fileIndex < 0 || fileIndex > 7 || rankIndex < 0 || rankIndex > 7) return null;
-        char fileChar = (char) ('a' + fileIndex); char rankChar = (char) ('1' + rankIndex); return "" + fileChar + rankChar;
+        int rankIndex = playerColor.equals("black") ? (boardHeight - 1 - rankIndexTemp) : rankIndexTemp;
+        if (fileIndex < 0 || fileIndex >= boardWidth || rankIndex < 0 || rankIndex >= boardHeight) return null;
+        return BoardPosition.of(fileIndex, rankIndex).toAlgebraic();
     }
 
     private Vector2 algebraicToCoordinates(String square) {
-        if (square == null || square.length() != 2 || squareSize <= 0) return null;
-        char fileChar = square.charAt(0); char rankChar = square.charAt(1);
-        if (fileChar < 'a' || fileChar > 'h' || rankChar < '1' || rankChar > '8') return null;
-        int fileIndex = fileChar - 'a'; int rankIndex = rankChar - '1';
-        float x = fileIndex * squareSize; float y = playerColor.equals("black") ? ((7 - rankIndex) * squareSize) : (rankIndex * squareSize);
+        if (squareSize <= 0) return null;
+        BoardPosition position = BoardPosition.fromAlgebraic(square);
+        if (position == null || position.getX() >= boardWidth || position.getY() >= boardHeight) return null;
+        int fileIndex = position.getX(); int rankIndex = position.getY();
+        float x = fileIndex * squareSize; float y = playerColor.equals("black") ? ((boardHeight - 1 - rankIndex) * squareSize) : (rankIndex * squareSize);
         return new Vector2(x, y);
     }
 
@@ -319,7 +363,7 @@ public class GameplayScreen extends ScreenAdapter implements Disposable, IGamepl
     // --- IGameplayView Implementation ---
     @Override
     public void displayBoard(Map<String, String> boardState) {
-        if (pieceGroup == null || pieceActors == null) return; if (boardSize <= 0) { calculateBoardLayout(); if (boardSize <= 0) return; }
+        if (pieceGroup == null || pieceActors == null) return; if (boardPixelWidth <= 0) { calculateBoardLayout(); if (boardPixelWidth <= 0) return; }
         pieceGroup.clearChildren(); pieceActors.clear(); if (boardState == null) return;
         for (Map.Entry<String, String> entry : boardState.entrySet()) {
             String square = entry.getKey(); String pieceValue = entry.getValue(); if (pieceValue == null || pieceValue.isEmpty()) continue;
@@ -41,6 +41,8 @@ public interface IGameplayView {
 
     void setPlayerColor(String color);
 
+    void setBoardDimensions(int width, int height);
+
     void setPlayer1Timer(String time);
 
     void setPlayer2Timer(String time);
@@ -0,0 +1,204 @@
+package io.WizardsChessMaster.model;
+
+import com.badlogic.gdx.Application;
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.utils.JsonReader;
+import com.badlogic.gdx.utils.JsonValue;
+
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Proxy;
+import java.lang.reflect.Type;
+import java.lang.reflect.WildcardType;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * Loads a game document recorded before positionKeys existed, whose positionHistory still holds
+ * board-state strings. The document is read the way Firestore's toObject does it: through the
+ * public setters, with list and map elements converted strictly to the declared types.
+ */
+public class GameModelLegacyDocumentTest {
+
+    /** 1.Nf3 Nf6 2.Ng1 Ng8 3.Nf3 Nf6 4.Ng1 Ng8, White to move in the starting position. */
+    private static final String LEGACY_DOCUMENT = "/legacy_game_document.json";
+
+    @BeforeClass
+    public static void stubApplication() {
+        Gdx.app = (Application) Proxy.newProxyInstance(Application.class.getClassLoader(), new Class[]{Application.class},
+                (proxy, method, args) -> method.getReturnType() == int.class ? 0 : null);
+    }
+
+    @Test
+    public void legacyHistoryKeepsRepetitions() throws Exception {
+        GameModel game = load(LEGACY_DOCUMENT);
+
+        assertEquals(8, game.getPositionHistory().size());
+        assertTrue(game.getPositionKeys().isEmpty());
+        assertEquals(8, game.getRepetitionHistory().size());
+        assertEquals(2, game.getRepetitionCount());
+    }
+
+    @Test
+    public void legacyEntriesConvertToLiveKeys() throws Exception {
+        GameModel game = load(LEGACY_DOCUMENT);
+        List<Long> history = game.getRepetitionHistory();
+
+        // Entries 4 and 8 are the starting position with White to move, like the live board
+        assertEquals(game.getPositionKey(), (long) history.get(3));
+        assertEquals(game.getPositionKey(), (long) history.get(7));
+        // The other positions repeat once each, four moves apart, and differ from each other
+        for (int i = 0; i < 4; i++) assertEquals(history.get(i), history.get(i + 4));
+        assertEquals(4, new java.util.HashSet<>(history).size());
+    }
+
+    @Test
+    public void nextMoveStoresTheConvertedHistoryAsKeys() throws Exception {
+        GameModel legacy = load(LEGACY_DOCUMENT);
+        // What the move transaction writes: positionKeys = converted history, positionHistory deleted
+        Map<String, Object> document = readDocument(LEGACY_DOCUMENT);
+        document.remove("positionHistory");
+        document.put("positionKeys", new ArrayList<Object>(legacy.getRepetitionHistory()));
+        GameModel migrated = toObject(document);
+
+        assertTrue(migrated.getPositionHistory().isEmpty());
+        assertEquals(legacy.getRepetitionHistory(), migrated.getRepetitionHistory());
+        assertEquals(2, migrated.getRepetitionCount());
+    }
+
+    @Test
+    public void persistedPropertiesMirrorTheirGetters() {
+        for (Method setter : GameModel.class.getMethods()) {
+            if (!isSetter(setter)) continue;
+            Type type = setter.getGenericParameterTypes()[0];
+            assertFalse(setter.getName() + " takes a wildcard type", containsWildcard(type));
+            Method getter = getter(setter.getName().substring(3));
+            if (getter != null) {
+                assertEquals(setter.getName() + " does not mirror its getter", getter.getGenericReturnType(), type);
+            }
+        }
+    }
+
+    // --- Document loading ---
+
+    private static GameModel load(String resource) throws IOException, ReflectiveOperationException {
+        return toObject(readDocument(resource));
+    }
+
+    private static Map<String, Object> readDocument(String resource) throws IOException {
+        try (InputStream in = GameModelLegacyDocumentTest.class.getResourceAsStream(resource)) {
+            if (in == null) throw new IOException("Missing test resource " + resource);
+            @SuppressWarnings("unchecked")
+            Map<String, Object> document = (Map<String, Object>) toJava(new JsonReader().parse(new InputStreamReader(in, StandardCharsets.UTF_8)));
+            return document;
+        }
+    }
+
+    /** JSON as Firestore hands it to the mapper: maps, lists, strings, booleans and Long numbers. */
+    private static Object toJava(JsonValue value) {
+        if (value.isObject()) {
+            Map<String, Object> map = new LinkedHashMap<>();
+            for (JsonValue child = value.child; child != null; child = child.next) map.put(child.name, toJava(child));
+            return map;
+        }
+        if (value.isArray()) {
+            List<Object> list = new ArrayList<>();
+            for (JsonValue child = value.child; child != null; child = child.next) list.add(toJava(child));
+            return list;
+        }
+        if (value.isNull()) return null;
+        if (value.isString()) return value.asString();
+        if (value.isBoolean()) return value.asBoolean();
+        return value.asLong();
+    }
+
+    /** Sets every document field through its setter, like DocumentSnapshot.toObject; fields without a setter are ignored. */
+    private static GameModel toObject(Map<String, Object> document) throws ReflectiveOperationException {
+        GameModel game = new GameModel();
+        for (Map.Entry<String, Object> field : document.entrySet()) {
+            String name = field.getKey();
+            Method setter = setter(Character.toUpperCase(name.charAt(0)) + name.substring(1));
+            if (setter == null) continue;
+            setter.invoke(game, convert(field.getValue(), setter.getGenericParameterTypes()[0], name));
+        }
+        return game;
+    }
+
+    private static Object convert(Object value, Type type, String path) {
+        if (containsWildcard(type)) fail(path + ": wildcard types are not supported by the mapper");
+        if (value == null) return null;
+        if (type instanceof ParameterizedType) {
+            ParameterizedType parameterized = (ParameterizedType) type;
+            Type raw = parameterized.getRawType();
+            if (raw == List.class && value instanceof List) {
+                List<Object> list = new ArrayList<>();
+                for (Object element : (List<?>) value) list.add(convert(element, parameterized.getActualTypeArguments()[0], path + "[]"));
+                return list;
+            }
+            if (raw == Map.class && value instanceof Map) {
+                Map<String, Object> map = new LinkedHashMap<>();
+                for (Map.Entry<?, ?> entry : ((Map<?, ?>) value).entrySet()) {
+                    map.put((String) entry.getKey(), convert(entry.getValue(), parameterized.getActualTypeArguments()[1], path + "." + entry.getKey()));
+                }
+                return map;
+            }
+        } else if (type == Object.class) {
+            return value;
+        } else if (type == String.class) {
+            if (value instanceof String) return value;
+        } else if (type == Long.class || type == long.class) {
+            if (value instanceof Long) return value;
+        } else if (type == Integer.class || type == int.class) {
+            if (value instanceof Long) return Math.toIntExact((Long) value);
+        } else if (type == Boolean.class || type == boolean.class) {
+            if (value instanceof Boolean) return value;
+        }
+        fail(path + ": failed to convert a value of type " + value.getClass().getName() + " to " + type.getTypeName());
+        return null;
+    }
+
+    private static boolean containsWildcard(Type type) {
+        if (type instanceof WildcardType) return true;
+        if (!(type instanceof ParameterizedType)) return false;
+        for (Type argument : ((ParameterizedType) type).getActualTypeArguments()) {
+            if (containsWildcard(argument)) return true;
+        }
+        return false;
+    }
+
+    private static boolean isSetter(Method method) {
+        return method.getName().startsWith("set") && method.getName().length() > 3 && method.getParameterCount() == 1
+                && !Modifier.isStatic(method.getModifiers()) && method.getDeclaringClass() == GameModel.class;
+    }
+
+    private static Method setter(String property) {
+        for (Method method : GameModel.class.getMethods()) {
+            if (isSetter(method) && method.getName().equals("set" + property)) return method;
+        }
+        return null;
+    }
+
+    private static Method getter(String property) {
+        try {
+            Method getter = GameModel.class.getMethod("get" + property);
+            return Modifier.isStatic(getter.getModifiers()) ? null : getter;
+        } catch (NoSuchMethodException e) {
+            return null;
+        }
+    }
+}
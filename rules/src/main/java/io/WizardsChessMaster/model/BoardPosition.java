@@ -0,0 +1,105 @@
+package io.WizardsChessMaster.model;
+
+/**
+ * Represents a position on the chessboard using (x, y) coordinates.
+ * Assumes (0,0) is a corner (e.g., bottom-left).
+ * Use of to obtain the shared instance for a coordinate of the largest supported board
+ * (16x16, files a-p, ranks 1-16); anything outside it maps to the OFF_BOARD sentinel.
+ * Positions don't know the board they are on: whether one is on a given board, and its square
+ * index there, come from the BoardGeometry (or Position.isWithinBounds / squareIndex).
+ */
+public class BoardPosition {
+
+    /** Shared position for anything off the board (prototypes, steps past the edge). */
+    public static final BoardPosition OFF_BOARD = new BoardPosition(-1, -1);
+
+    /** Side of the coordinate cache; equals BoardGeometry.MAX_SIZE. */
+    private static final int MAX_SIZE = 16;
+    private static final BoardPosition[] SQUARES = new BoardPosition[MAX_SIZE * MAX_SIZE];
+    private static final String[] ALGEBRAIC_NAMES = new String[MAX_SIZE * MAX_SIZE];
+
+    static {
+        for (int i = 0; i < SQUARES.length; i++) {
+            int x = i % MAX_SIZE;
+            int y = i / MAX_SIZE;
+            SQUARES[i] = new BoardPosition(x, y);
+            ALGEBRAIC_NAMES[i] = "" + (char) ('a' + x) + (y + 1);
+        }
+    }
+
+    private final int x;
+    private final int y;
+
+    public BoardPosition(int x, int y) {
+        this.x = x;
+        this.y = y;
+    }
+
+    /** Returns the cached instance for (x, y), or OFF_BOARD if it is outside the largest board. */
+    public static BoardPosition of(int x, int y) {
+        return isCached(x, y) ? SQUARES[y * MAX_SIZE + x] : OFF_BOARD;
+    }
+
+    private static boolean isCached(int x, int y) {
+        return x >= 0 && x < MAX_SIZE && y >= 0 && y < MAX_SIZE;
+    }
+
+    public int getX() {
+        return x;
+    }
+
+    public int getY() {
+        return y;
+    }
+
+    /** Algebraic name of the square (e.g. "e4", "j10"), or null if this position is off the largest board. */
+    public String toAlgebraic() {
+        return isCached(x, y) ? ALGEBRAIC_NAMES[y * MAX_SIZE + x] : null;
+    }
+
+    /**
+     * Parses an algebraic square name: a file letter a-p and a rank number 1-16 (e.g. "e4", "p16").
+     * Returns null if it is malformed or off the largest board; whether it is on a particular
+     * board is up to the caller.
+     */
+    public static BoardPosition fromAlgebraic(String square) {
+        if (square == null || square.length() < 2 || square.length() > 3) return null;
+        int x = square.charAt(0) - 'a';
+        int y = 0;
+        for (int i = 1; i < square.length(); i++) {
+            char c = square.charAt(i);
+            if (c < '0' || c > '9') return null;
+            y = y * 10 + (c - '0');
+        }
+        if (square.charAt(1) == '0') return null;
+        return isCached(x, y - 1) ? SQUARES[(y - 1) * MAX_SIZE + x] : null;
+    }
+
+    /**
+     * Returns the position dx, dy away from this one.
+     * @param dx Change in x.
+     * @param dy Change in y.
+     * @return The cached BoardPosition, or OFF_BOARD if the result is off the largest board.
+     */
+    public BoardPosition add(int dx, int dy) {
+        return of(this.x + dx, this.y + dy);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        BoardPosition that = (BoardPosition) o;
+        return x == that.x && y == that.y;
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * x + y;
+    }
+
+    @Override
+    public String toString() {
+        return "(" + x + ", " + y + ")";
+    }
+}
@@ -0,0 +1,79 @@
+package io.WizardsChessMaster.model;
+
+import io.WizardsChessMaster.model.board.BitBoard;
+import io.WizardsChessMaster.model.board.BoardGeometry;
+import io.WizardsChessMaster.model.board.SquareMask;
+import io.WizardsChessMaster.model.pieces.Piece;
+
+/**
+ * Immutable record of a position, created by Position.snapshot and applied with Position.restore.
+ * The board is held as one array per rank of private piece copies. A snapshot taken after a move
+ * shares every rank (and every piece copy) the move didn't touch with the previous snapshot, so a
+ * whole game's history costs a few hundred bytes per ply instead of a full copy per ply.
+ * Covers the pieces with their state, the side to move, the en passant square and the fifty-move
+ * counter; turn effects are not part of a snapshot.
+ */
+public final class BoardSnapshot {
+
+    final BoardGeometry geometry;
+    /** Per rank, the piece copy on each file or null. Never modified after construction. */
+    final Piece[][] ranks;
+    final Team sideToMove;
+    final BoardPosition enPassantTargetSquare;
+    final int fiftyMoveRuleCounter;
+    private final int pieceCount;
+
+    private BoardSnapshot(BoardGeometry geometry, Piece[][] ranks, int pieceCount, Team sideToMove, BoardPosition enPassantTargetSquare, int fiftyMoveRuleCounter) {
+        this.geometry = geometry;
+        this.ranks = ranks;
+        this.pieceCount = pieceCount;
+        this.sideToMove = sideToMove;
+        this.enPassantTargetSquare = enPassantTargetSquare;
+        this.fiftyMoveRuleCounter = fiftyMoveRuleCounter;
+    }
+
+    /**
+     * Builds a snapshot of the board, reusing the ranks of a previous snapshot that contain none of the changed squares.
+     * @param previous Snapshot of the same board size to share ranks with, or null to copy the whole board.
+     * @param changedSquares Squares that may differ from previous (ignored when previous is null).
+     */
+    static BoardSnapshot of(BitBoard board, BoardSnapshot previous, SquareMask changedSquares, Team sideToMove, BoardPosition enPassantTargetSquare, int fiftyMoveRuleCounter) {
+        BoardGeometry geometry = board.getGeometry();
+        if (previous != null && previous.geometry != geometry) previous = null;
+        int width = geometry.getWidth();
+        Piece[][] ranks = new Piece[geometry.getHeight()][];
+        for (int y = 0; y < ranks.length; y++) {
+            int rankStart = geometry.index(0, y);
+            int firstChanged = changedSquares.nextSquare(rankStart);
+            if (previous != null && (firstChanged < 0 || firstChanged >= rankStart + width)) {
+                ranks[y] = previous.ranks[y];
+                continue;
+            }
+            Piece[] rank = new Piece[width];
+            for (int x = 0; x < width; x++) {
+                int square = rankStart + x;
+                if (previous != null && !changedSquares.contains(square)) {
+                    rank[x] = previous.ranks[y][x];
+                } else {
+                    Piece piece = board.get(square);
+                    rank[x] = piece != null ? piece.copy() : null;
+                }
+            }
+            ranks[y] = rank;
+        }
+        return new BoardSnapshot(geometry, ranks, board.size(), sideToMove, enPassantTargetSquare, fiftyMoveRuleCounter);
+    }
+
+    /** A copy of the piece on the square in this snapshot, or null if it was empty. */
+    public Piece getPieceAt(BoardPosition position) {
+        if (!geometry.contains(position)) return null;
+        Piece piece = ranks[position.getY()][position.getX()];
+        return piece != null ? piece.copy() : null;
+    }
+
+    public BoardGeometry getGeometry() { return geometry; }
+    public int getPieceCount() { return pieceCount; }
+    public Team getSideToMove() { return sideToMove; }
+    public BoardPosition getEnPassantTargetSquare() { return enPassantTargetSquare; }
+    public int getFiftyMoveRuleCounter() { return fiftyMoveRuleCounter; }
+}
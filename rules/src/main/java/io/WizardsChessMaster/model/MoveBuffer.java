@@ -0,0 +1,79 @@
+package io.WizardsChessMaster.model;
+
+import io.WizardsChessMaster.model.board.SquareMask;
+
+import java.util.Arrays;
+
+/**
+ * Reusable, caller-owned list of moves for allocation-free move generation
+ * (see LegalMoveGenerator.generateMoves). Each move is one int:
+ * bits 0-7 from square, bits 8-15 to square, bits 16-23 MoveType ordinal.
+ * Squares are Position.squareIndex values, which fit in eight bits up to 16x16.
+ * clear() keeps the array, so once a buffer has grown to fit a position, refilling it allocates nothing.
+ * Not thread-safe; use one buffer per thread (and per search ply).
+ */
+public final class MoveBuffer {
+
+    private static final MoveType[] TYPES = MoveType.values();
+    private static final int SQUARE_MASK = 0xFF;
+
+    private int[] moves;
+    private int size;
+
+    public MoveBuffer() {
+        this(64);
+    }
+
+    public MoveBuffer(int initialCapacity) {
+        this.moves = new int[Math.max(1, initialCapacity)];
+    }
+
+    public static int encode(int from, int to, MoveType type) {
+        return (from & SQUARE_MASK) | (to & SQUARE_MASK) << 8 | type.ordinal() << 16;
+    }
+
+    public static int fromSquare(int move) { return move & SQUARE_MASK; }
+    public static int toSquare(int move) { return (move >>> 8) & SQUARE_MASK; }
+    public static MoveType moveType(int move) { return TYPES[(move >>> 16) & 0xFF]; }
+
+    public void clear() { size = 0; }
+    public int size() { return size; }
+    public boolean isEmpty() { return size == 0; }
+
+    /** The encoded move at index i. */
+    public int get(int i) { return moves[i]; }
+    public int from(int i) { return fromSquare(moves[i]); }
+    public int to(int i) { return toSquare(moves[i]); }
+    public MoveType type(int i) { return moveType(moves[i]); }
+
+    public void add(int from, int to, MoveType type) {
+        if (size == moves.length) {
+            moves = Arrays.copyOf(moves, size * 2);
+        }
+        moves[size++] = encode(from, to, type);
+    }
+
+    /** Adds one move per square of targets, all from the same square. */
+    public void addAll(int from, SquareMask targets, MoveType type) {
+        int n = targets.wordCount();
+        if (n == 1) {
+            for (long bits = targets.word(0); bits != 0; bits &= bits - 1) {
+                add(from, Long.numberOfTrailingZeros(bits), type);
+            }
+            return;
+        }
+        for (int w = 0; w < n; w++) {
+            for (long bits = targets.word(w); bits != 0; bits &= bits - 1) {
+                add(from, (w << 6) + Long.numberOfTrailingZeros(bits), type);
+            }
+        }
+    }
+
+    /** Whether the buffer holds a move from one square to another (of any type). */
+    public boolean contains(int from, int to) {
+        for (int i = 0; i < size; i++) {
+            if (fromSquare(moves[i]) == from && toSquare(moves[i]) == to) return true;
+        }
+        return false;
+    }
+}
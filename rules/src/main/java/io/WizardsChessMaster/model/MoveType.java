@@ -0,0 +1,15 @@
+package io.WizardsChessMaster.model;
+
+/**
+ * Kinds of board changes Position.makeMove can apply (and undo).
+ */
+public enum MoveType {
+    /** Piece moves to the target square, capturing whatever enemy piece stands there. */
+    NORMAL,
+    /** Pawn moves diagonally onto the en passant square; the victim beside it is removed. */
+    EN_PASSANT,
+    /** Piece stays in place and the piece on the target square is removed (e.g. Archer shot). */
+    RANGED,
+    /** King moves two files and the corner rook on that side jumps to the square it passed. */
+    CASTLING
+}
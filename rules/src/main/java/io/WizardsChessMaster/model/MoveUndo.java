@@ -0,0 +1,63 @@
+package io.WizardsChessMaster.model;
+
+import io.WizardsChessMaster.model.pieces.Piece;
+
+/**
+ * Everything Position.unmakeMove needs to restore the position that existed
+ * before the matching makeMove call. Instances are created by makeMove; Position also keeps
+ * one that it refills for every simulated move.
+ */
+public final class MoveUndo {
+
+    static final String HAS_MOVED = "hasMoved";
+    static final String JUST_MOVED_TWO_SQUARES = "justMovedTwoSquares";
+
+    MoveType type;
+    Piece piece;
+    BoardPosition from;
+    BoardPosition to;
+    Object pieceHasMoved;
+    Object pieceJustMovedTwoSquares;
+    BoardPosition previousEnPassantSquare;
+
+    /** Piece removed from the board (normal capture, en passant victim or ranged target). */
+    Piece removedPiece;
+    BoardPosition removedFrom;
+
+    /** Rook relocated by castling. */
+    Piece castlingRook;
+    BoardPosition rookFrom;
+    BoardPosition rookTo;
+    Object rookHasMoved;
+
+    MoveUndo() {}
+
+    MoveUndo(MoveType type, Piece piece, BoardPosition from, BoardPosition to, BoardPosition previousEnPassantSquare) {
+        reset(type, piece, from, to, previousEnPassantSquare);
+    }
+
+    /** Fills the record for a new move, clearing everything a previous move left in it. */
+    MoveUndo reset(MoveType type, Piece piece, BoardPosition from, BoardPosition to, BoardPosition previousEnPassantSquare) {
+        this.type = type;
+        this.piece = piece;
+        this.from = from;
+        this.to = to;
+        this.pieceHasMoved = piece.getStateVariable(HAS_MOVED);
+        this.pieceJustMovedTwoSquares = piece.getStateVariable(JUST_MOVED_TWO_SQUARES);
+        this.previousEnPassantSquare = previousEnPassantSquare;
+        this.removedPiece = null;
+        this.removedFrom = null;
+        this.castlingRook = null;
+        this.rookFrom = null;
+        this.rookTo = null;
+        this.rookHasMoved = null;
+        return this;
+    }
+
+    public MoveType getType() { return type; }
+    public Piece getPiece() { return piece; }
+    public BoardPosition getFrom() { return from; }
+    public BoardPosition getTo() { return to; }
+    /** The piece taken off the board by this move, or null. */
+    public Piece getRemovedPiece() { return removedPiece; }
+}
@@ -0,0 +1,413 @@
+package io.WizardsChessMaster.model;
+
+import io.WizardsChessMaster.model.rules.RulesLog;
+
+import io.WizardsChessMaster.model.board.AttackMap;
+import io.WizardsChessMaster.model.board.BitBoard;
+import io.WizardsChessMaster.model.board.BoardGeometry;
+import io.WizardsChessMaster.model.board.MaterialSignature;
+import io.WizardsChessMaster.model.board.SquareMask;
+import io.WizardsChessMaster.model.board.Zobrist;
+import io.WizardsChessMaster.model.pieces.Piece;
+import io.WizardsChessMaster.model.pieces.move.LegalMoveGenerator;
+
+import java.util.*;
+
+/**
+ * The rules state of a game: the board, the side to move, the en passant square, the fifty-move
+ * counter and each team's turn effects. Move components, spells, legal move generation and
+ * simulation work on a Position and never see player profiles or document data.
+ * The game model in core owns one and delegates its board methods to it.
+ * The board size is fixed per position (see BoardGeometry); the default constructor gives 8x8.
+ */
+public class Position {
+    private static final String TAG = "Position";
+
+    // --- Rules State ---
+    private final BoardGeometry geometry;
+    private final BitBoard board;
+    private Team sideToMove;
+    private BoardPosition enPassantTargetSquare;
+    private int fiftyMoveRuleCounter;
+    /** Effects lasting until the team's turn effects are cleared (e.g. PAWN_STORM). */
+    private final Map<Team, List<String>> turnEffects = new EnumMap<>(Team.class);
+    /** Changes to the rules state outside the board (side to move, en passant, turn effects); see getVersion. */
+    private long stateVersion;
+
+    // --- Derived Data ---
+    private final AttackMap.AttackSource attackSource = this::computeAttackMask;
+    private final LegalMoveGenerator[] legalMoveGenerators = new LegalMoveGenerator[Team.values().length];
+    /** Undo record refilled by moveLeavesKingInCheck, so simulating a move allocates nothing. */
+    private final MoveUndo simulationUndo = new MoveUndo();
+    /** Most recent snapshot taken or restored; later snapshots share its unchanged ranks. */
+    private BoardSnapshot lastSnapshot;
+    /** Receives the changed squares when taking a snapshot. */
+    private final SquareMask changedSquares;
+
+    public Position() {
+        this(BoardGeometry.STANDARD);
+    }
+
+    public Position(BoardGeometry geometry) {
+        this.geometry = geometry;
+        this.board = new BitBoard(geometry);
+        this.changedSquares = new SquareMask(geometry);
+    }
+
+    /** Independent copy of the same size: pieces are copied, snapshots and cached analysis are not shared. */
+    public Position copy() {
+        Position copy = new Position(geometry);
+        for (Piece piece : board.pieces()) {
+            try { copy.board.put(squareIndex(piece.getPosition()), piece.copy()); }
+            catch (Exception e) { RulesLog.error(TAG, "Error copying piece " + piece + " during Position copy", e); }
+        }
+        copy.sideToMove = this.sideToMove;
+        copy.enPassantTargetSquare = this.enPassantTargetSquare;
+        copy.fiftyMoveRuleCounter = this.fiftyMoveRuleCounter;
+        for (Map.Entry<Team, List<String>> entry : this.turnEffects.entrySet()) {
+            copy.turnEffects.put(entry.getKey(), new ArrayList<>(entry.getValue()));
+        }
+        return copy;
+    }
+
+    // --- Getters and Setters ---
+    /** The underlying board; changes made to it directly bypass piece callbacks. */
+    public BitBoard getBoard() { return board; }
+    /** The team to move, or null if it is not known (e.g. players not assigned yet). */
+    public Team getSideToMove() { return sideToMove; }
+    public void setSideToMove(Team sideToMove) { this.sideToMove = sideToMove; stateVersion++; }
+    public BoardPosition getEnPassantTargetSquare() { return enPassantTargetSquare; }
+    public void setEnPassantTargetSquare(BoardPosition enPassantTargetSquare) { this.enPassantTargetSquare = enPassantTargetSquare; stateVersion++; }
+    public int getFiftyMoveRuleCounter() { return fiftyMoveRuleCounter; }
+    public void setFiftyMoveRuleCounter(int fiftyMoveRuleCounter) { this.fiftyMoveRuleCounter = fiftyMoveRuleCounter; }
+
+    /**
+     * Mutation counter of the position: grows on every put or remove on the board, every
+     * clearTemporaryPieceFlags that cleared something, and every change to the side to move, the
+     * en passant square or the turn effects, and never repeats. Results derived from the position
+     * can be tagged with it and reused while it is unchanged (see ConfigurablePiece.getValidMoveSet).
+     * The fifty-move counter affects no move and is not counted; as with snapshot, piece state
+     * changed without going through the board is not detected.
+     */
+    public long getVersion() { return board.getVersion() + stateVersion; }
+
+    // --- Turn Effects ---
+    public void addTurnEffect(Team team, String effectName) {
+        if (team == null || effectName == null || effectName.trim().isEmpty()) {
+            RulesLog.error(TAG, "Attempted to add null/empty turn effect for team: " + team);
+            return;
+        }
+        List<String> teamEffects = turnEffects.computeIfAbsent(team, k -> new ArrayList<>());
+        if (!teamEffects.contains(effectName)) {
+            teamEffects.add(effectName);
+            stateVersion++;
+            RulesLog.debug(TAG, "Added turn effect '" + effectName + "' for " + team);
+        }
+    }
+
+    public boolean hasTurnEffect(Team team, String effectName) {
+        if (team == null || effectName == null) return false;
+        List<String> effects = turnEffects.get(team);
+        return effects != null && effects.contains(effectName);
+    }
+
+    /**
+     * Clears a team's turn effects, keeping an empty entry for it.
+     * @return The effects that were active (empty if none).
+     */
+    public List<String> clearTurnEffects(Team team) {
+        if (team == null) return Collections.emptyList();
+        List<String> removed = turnEffects.put(team, new ArrayList<>());
+        stateVersion++;
+        return removed != null ? removed : Collections.emptyList();
+    }
+
+    /** Read-only view of the turn effects per team. */
+    public Map<Team, List<String>> getTurnEffects() { return Collections.unmodifiableMap(turnEffects); }
+
+    /** Replaces every team's turn effects. */
+    public void setTurnEffects(Map<Team, List<String>> effects) {
+        turnEffects.clear();
+        stateVersion++;
+        if (effects == null) return;
+        for (Map.Entry<Team, List<String>> entry : effects.entrySet()) {
+            if (entry.getKey() != null) turnEffects.put(entry.getKey(), entry.getValue() != null ? new ArrayList<>(entry.getValue()) : new ArrayList<>());
+        }
+    }
+
+    // --- Board Helper Methods ---
+    public BoardGeometry getGeometry() { return geometry; }
+    public int getBoardWidth() { return geometry.getWidth(); }
+    public int getBoardHeight() { return geometry.getHeight(); }
+    public boolean isWithinBounds(BoardPosition position) { return geometry.contains(position); }
+    /** Square index (y * width + x) of a position, or -1 if it is null or off the board. */
+    public int squareIndex(BoardPosition position) { return geometry.index(position); }
+    /**
+     * 64-bit Zobrist key of the position: the pieces (kept by the board), the side to move, the en
+     * passant file and the castling rights. Equal positions have equal keys on every client, so keys
+     * can be stored for repetition detection. Costs a few table-free hashes; nothing is rebuilt.
+     */
+    public long getZobristKey() {
+        long key = board.getZobristKey();
+        if (sideToMove == Team.BLACK) key ^= Zobrist.BLACK_TO_MOVE;
+        if (enPassantTargetSquare != null) key ^= Zobrist.enPassant(enPassantTargetSquare.getX());
+        return key ^ castlingKey(Team.WHITE) ^ castlingKey(Team.BLACK);
+    }
+
+    /**
+     * Keys of the team's castling rights: an unmoved castling piece on its back rank with an unmoved
+     * partner on the outermost home file of either side, where makeMove looks for the rook.
+     */
+    private long castlingKey(Team team) {
+        int backRank = geometry.getBackRank(team);
+        boolean low = false;
+        boolean high = false;
+        SquareMask royals = board.getRoyalOccupancy(team);
+        for (int square = royals.nextSquare(0); square >= 0; square = royals.nextSquare(square + 1)) {
+            Piece king = board.get(square);
+            if (geometry.rankOf(square) != backRank || !king.canCastle() || hasMoved(king)) continue;
+            low |= isCastlingPartner(team, geometry.index(geometry.getHomeFile(0), backRank));
+            high |= isCastlingPartner(team, geometry.index(geometry.getHomeFile(BoardGeometry.HOME_FILES - 1), backRank));
+        }
+        return (low ? Zobrist.castling(team, false) : 0L) ^ (high ? Zobrist.castling(team, true) : 0L);
+    }
+
+    private boolean isCastlingPartner(Team team, int square) {
+        Piece piece = square >= 0 ? board.get(square) : null;
+        return piece != null && piece.getTeam() == team && piece.isCastlingPartner() && !hasMoved(piece);
+    }
+
+    private static boolean hasMoved(Piece piece) { return Boolean.TRUE.equals(piece.getStateVariable(MoveUndo.HAS_MOVED)); }
+
+    /** Bitboard of all occupied squares (bit = squareIndex). Live; do not modify. */
+    public SquareMask getOccupancy() { return board.getOccupancy(); }
+    /** Bitboard of the squares occupied by the given team. Live; do not modify. */
+    public SquareMask getTeamOccupancy(Team team) { return board.getTeamOccupancy(team); }
+    public Piece getPieceAt(BoardPosition position) { int square = squareIndex(position); return square >= 0 ? board.get(square) : null; }
+    public Collection<Piece> getAllPieces() { return board.pieces(); }
+    /** Read-only live view of the team's pieces, kept up to date by the board; copy it before changing the board while iterating. */
+    public List<Piece> getPiecesForTeam(Team team) { return team != null ? board.teamPieces(team) : Collections.emptyList(); }
+    /** Bitboard of the team's royal (king) squares, tracked incrementally by the board. Live; do not modify. */
+    public SquareMask getRoyalSquares(Team team) { return board.getRoyalOccupancy(team); }
+    public BoardPosition findKingPosition(Team team) { if (team == null) return null; int king = getRoyalSquares(team).nextSquare(0); return king >= 0 ? board.get(king).getPosition() : null; }
+    public boolean isSquareAttacked(BoardPosition square, Team attackerTeam) { if (square == null || attackerTeam == null) return false; int index = squareIndex(square); if (index < 0) return false; return board.getTeamAttacks(attackerTeam, attackSource).contains(index); }
+    /** Bitboard of every square attacked by the team (kept up to date incrementally by the board). Live; do not modify. */
+    public SquareMask getTeamAttacks(Team team) { return board.getTeamAttacks(team, attackSource); }
+    /** Bitboard of the squares whose pieces (either team) attack the given square. Live; do not modify. */
+    public SquareMask getAttackers(int square) { return board.getAttackers(square, attackSource); }
+    private void computeAttackMask(Piece piece, SquareMask result) { try { piece.addAttacks(this, result.clear()); } catch (Exception e) { RulesLog.error(TAG, "Error checking attacks for " + piece + " at " + piece.getPosition(), e); result.clear(); } }
+    public boolean isKingInCheck(Team team) { BoardPosition kingPos = findKingPosition(team); if (kingPos == null) { return false; } return isSquareAttacked(kingPos, team.opposite()); }
+    public void clearTemporaryPieceFlags() { for (Piece piece : board.pieces()) { if (piece == null) continue; try { if (piece.clearTemporaryState()) { board.markChanged(squareIndex(piece.getPosition())); stateVersion++; } } catch (Exception e) { RulesLog.error(TAG, "Error clearing flags for piece " + piece + " at " + piece.getPosition(), e); } } }
+
+    // --- Piece Manipulation Methods ---
+    public Piece movePiece(Piece pieceToMove, BoardPosition targetPosition) { if (pieceToMove == null || targetPosition == null || !isWithinBounds(targetPosition)) { RulesLog.error(TAG, "Invalid movePiece arguments: Piece=" + pieceToMove + ", Target=" + targetPosition); return null; } BoardPosition originalPosition = pieceToMove.getPosition(); int fromSquare = squareIndex(originalPosition); if (fromSquare < 0 || !Objects.equals(board.get(fromSquare), pieceToMove)) { Piece actualPiece = fromSquare >= 0 ? board.get(fromSquare) : null; RulesLog.error(TAG, "Move attempt failed: Piece " + pieceToMove.getTypeName() + " ("+pieceToMove+") not found at its own position " + originalPosition + " in board. Found: " + actualPiece); return null; } int toSquare = squareIndex(targetPosition); Piece capturedPiece = board.remove(toSquare); if (capturedPiece != null) { try { pieceToMove.onCapture(capturedPiece); } catch (Exception e) { RulesLog.error(TAG, "Error during onCapture callback for " + pieceToMove, e); } } Piece movedPiece = board.remove(fromSquare); board.put(toSquare, movedPiece); try { pieceToMove.onMove(targetPosition); } catch (Exception e) { RulesLog.error(TAG, "Error during onMove callback for " + pieceToMove + " to " + targetPosition, e); } return capturedPiece; }
+    public Piece removePieceAt(BoardPosition position) { if (position == null || !isWithinBounds(position)) return null; return board.remove(squareIndex(position)); }
+    public boolean removePiece(Piece pieceToRemove) { if (pieceToRemove == null || pieceToRemove.getPosition() == null ) return false; if (getPieceAt(pieceToRemove.getPosition()) == pieceToRemove) { return removePieceAt(pieceToRemove.getPosition()) != null; } RulesLog.error(TAG, "Attempted to remove piece by reference, but it was not found at its position: " + pieceToRemove); return false; }
+    public void placePiece(Piece piece) { if (piece == null || piece.getPosition() == null || !isWithinBounds(piece.getPosition())) { RulesLog.error(TAG, "Cannot place invalid piece: " + piece); return; } board.put(squareIndex(piece.getPosition()), piece); }
+
+    /**
+     * Applies a move in place and returns the record needed to take it back with unmakeMove.
+     * Unlike movePiece this fires no capture callback and also handles the en passant victim,
+     * ranged removals, the castling rook and the en passant target square.
+     * The side to move is not changed. Returns null (and leaves the position untouched)
+     * if there is no piece at the given position or the move cannot be applied.
+     */
+    public MoveUndo makeMove(BoardPosition from, BoardPosition to, MoveType type) {
+        return applyMove(from, to, type, null);
+    }
+
+    /**
+     * Whether playing the move would leave the mover's king in check. The move is played and taken
+     * back using a reused undo record, so this allocates nothing. A move that cannot be applied
+     * counts as leaving the king in check.
+     */
+    public boolean moveLeavesKingInCheck(BoardPosition from, BoardPosition to, MoveType type) {
+        Piece piece = getPieceAt(from);
+        if (piece == null) return true;
+        MoveUndo undo = applyMove(from, to, type, simulationUndo);
+        if (undo == null) {
+            RulesLog.error(TAG, "Could not apply " + type + " move for " + piece.getTypeName() + " from " + from + " to " + to);
+            return true;
+        }
+        try {
+            return isKingInCheck(piece.getTeam());
+        } finally {
+            unmakeMove(undo);
+        }
+    }
+
+    /** makeMove, filling reuse (if not null) instead of allocating a new undo record. */
+    private MoveUndo applyMove(BoardPosition from, BoardPosition to, MoveType type, MoveUndo reuse) {
+        if (type == null) return null;
+        int fromSquare = squareIndex(from);
+        int toSquare = squareIndex(to);
+        if (fromSquare < 0 || toSquare < 0) return null;
+        Piece piece = board.get(fromSquare);
+        if (piece == null) return null;
+
+        MoveUndo undo = reuse != null ? reuse.reset(type, piece, from, to, enPassantTargetSquare) : new MoveUndo(type, piece, from, to, enPassantTargetSquare);
+        switch (type) {
+            case RANGED:
+                // The attacker stays put; only the target disappears
+                if (board.get(toSquare) == null) return null;
+                undo.removedPiece = board.remove(toSquare);
+                undo.removedFrom = to;
+                enPassantTargetSquare = null;
+                return undo;
+            case EN_PASSANT:
+                int victimSquare = geometry.index(to.getX(), from.getY());
+                if (victimSquare >= 0 && board.get(victimSquare) != null) {
+                    undo.removedFrom = board.get(victimSquare).getPosition();
+                    undo.removedPiece = board.remove(victimSquare);
+                }
+                break;
+            case CASTLING:
+                // The rook starts on the outermost home file and lands next to the king's starting square
+                int direction = Integer.signum(to.getX() - from.getX());
+                int rookSquare = geometry.index(geometry.getHomeFile(direction > 0 ? BoardGeometry.HOME_FILES - 1 : 0), from.getY());
+                Piece rook = rookSquare >= 0 ? board.get(rookSquare) : null;
+                if (rook == null || rook.getTeam() != piece.getTeam()) return null;
+                undo.castlingRook = rook;
+                undo.rookFrom = rook.getPosition();
+                undo.rookTo = from.add(direction, 0);
+                undo.rookHasMoved = rook.getStateVariable(MoveUndo.HAS_MOVED);
+                break;
+            default:
+                break;
+        }
+
+        Piece captured = board.remove(toSquare);
+        if (captured != null) {
+            undo.removedPiece = captured;
+            undo.removedFrom = to;
+        }
+        board.put(toSquare, board.remove(fromSquare));
+        piece.onMove(to);
+        if (undo.castlingRook != null) {
+            board.remove(squareIndex(undo.rookFrom));
+            board.put(squareIndex(undo.rookTo), undo.castlingRook);
+            undo.castlingRook.onMove(undo.rookTo);
+        }
+        enPassantTargetSquare = (piece.isPawnLike() && Math.abs(to.getY() - from.getY()) == 2) ? BoardPosition.of(from.getX(), (from.getY() + to.getY()) / 2) : null;
+        return undo;
+    }
+
+    /** Reverts a move applied by makeMove. Moves must be unmade in reverse order. */
+    public void unmakeMove(MoveUndo undo) {
+        if (undo == null) return;
+        if (undo.castlingRook != null) {
+            board.remove(squareIndex(undo.rookTo));
+            board.put(squareIndex(undo.rookFrom), undo.castlingRook);
+            undo.castlingRook.setPosition(undo.rookFrom);
+            undo.castlingRook.setStateVariable(MoveUndo.HAS_MOVED, undo.rookHasMoved);
+        }
+        if (undo.type != MoveType.RANGED) {
+            board.remove(squareIndex(undo.to));
+            board.put(squareIndex(undo.from), undo.piece);
+            undo.piece.setPosition(undo.from);
+            undo.piece.setStateVariable(MoveUndo.HAS_MOVED, undo.pieceHasMoved);
+            undo.piece.setStateVariable(MoveUndo.JUST_MOVED_TWO_SQUARES, undo.pieceJustMovedTwoSquares);
+        }
+        if (undo.removedPiece != null) {
+            board.put(squareIndex(undo.removedFrom), undo.removedPiece);
+        }
+        enPassantTargetSquare = undo.previousEnPassantSquare;
+    }
+
+    /**
+     * Captures the current position as an immutable snapshot (see BoardSnapshot).
+     * Only the squares changed since the previous snapshot or restore are copied; the rest is shared with it.
+     * Piece state changed without going through the board (other than clearTemporaryPieceFlags) is not detected.
+     */
+    public BoardSnapshot snapshot() {
+        board.takeChangedSquares(changedSquares);
+        lastSnapshot = BoardSnapshot.of(board, lastSnapshot, changedSquares, sideToMove, enPassantTargetSquare, fiftyMoveRuleCounter);
+        return lastSnapshot;
+    }
+
+    /**
+     * Returns to a snapshot's position, touching only the squares that differ from the current board.
+     * Pieces placed on the board are fresh copies, so the snapshot stays unchanged.
+     * Snapshots of a different board size are rejected.
+     */
+    public void restore(BoardSnapshot snapshot) {
+        if (snapshot == null) return;
+        if (snapshot.geometry != geometry) {
+            RulesLog.error(TAG, "Cannot restore a " + snapshot.geometry + " snapshot into a " + geometry + " position.");
+            return;
+        }
+        BoardSnapshot current = snapshot();
+        for (int y = 0; y < geometry.getHeight(); y++) {
+            if (current.ranks[y] == snapshot.ranks[y]) continue;
+            for (int x = 0; x < geometry.getWidth(); x++) {
+                Piece target = snapshot.ranks[y][x];
+                if (current.ranks[y][x] == target) continue;
+                int square = geometry.index(x, y);
+                board.remove(square);
+                if (target != null) board.put(square, target.copy());
+            }
+        }
+        board.takeChangedSquares(changedSquares);
+        lastSnapshot = snapshot;
+        sideToMove = snapshot.sideToMove;
+        enPassantTargetSquare = snapshot.enPassantTargetSquare;
+        fiftyMoveRuleCounter = snapshot.fiftyMoveRuleCounter;
+        stateVersion++;
+    }
+
+    // --- Game Logic Methods ---
+    /** Whether the team has at least one legal move; stops at the first one found (see LegalMoveGenerator.anyLegalMove). */
+    public boolean anyLegalMove(Team team) { if (team == null) return false; return getLegalMoveGenerator(team).anyLegalMove(); }
+    public boolean hasLegalMoves(Team team) { return anyLegalMove(team); }
+
+    /**
+     * King-safety analysis for the team in the current position, reused until the board changes.
+     * The same instance is re-analysed in place for later positions, so do not hold on to it
+     * across changes to the board (generate moves into a MoveBuffer instead).
+     * @param team The team whose moves are being generated.
+     * @return The (possibly cached) generator; never null for a non-null team.
+     */
+    public LegalMoveGenerator getLegalMoveGenerator(Team team) {
+        long version = board.getVersion();
+        LegalMoveGenerator generator = legalMoveGenerators[team.ordinal()];
+        if (generator == null) {
+            generator = LegalMoveGenerator.analyze(this, team, version);
+            legalMoveGenerators[team.ordinal()] = generator;
+        } else if (generator.getBoardVersion() != version) {
+            generator.update(version);
+        }
+        return generator;
+    }
+
+    /**
+     * Writes every legal move of the team into the buffer, which is cleared first.
+     * Allocates nothing once the buffer has grown to fit (see LegalMoveGenerator.generateMoves).
+     * @return The number of moves written.
+     */
+    public int generateLegalMoves(Team team, MoveBuffer buffer) {
+        if (team == null) { buffer.clear(); return 0; }
+        return getLegalMoveGenerator(team).generateMoves(buffer);
+    }
+    public boolean isCheckmate(Team team) { if (team == null) return false; return isKingInCheck(team) && !anyLegalMove(team); }
+    public boolean isStalemate(Team team) { if (team == null) return false; if (findKingPosition(team) == null) return false; return !isKingInCheck(team) && !anyLegalMove(team); }
+    /**
+     * Whether neither team can ever checkmate, answered in constant time from the teams' MaterialSignatures:
+     * bare kings, a king and one piece that cannot mate (MateAbility.NONE, e.g. a Knight) against a bare king,
+     * or nothing but colour-bound pieces that cannot mate (e.g. Bishops) all on squares of one colour.
+     * Each team must have exactly one royal piece and no pawn-like piece; anything else counts as sufficient material.
+     */
+    public boolean isInsufficientMaterial() {
+        MaterialSignature white = board.getMaterial(Team.WHITE);
+        MaterialSignature black = board.getMaterial(Team.BLACK);
+        if (white.getRoyalCount() != 1 || black.getRoyalCount() != 1) { return false; }
+        // MaterialAnalysis cannot classify forward-only pawn-like movers, so any of them counts as sufficient material
+        if (white.getPawnLikeCount() + black.getPawnLikeCount() > 0) { return false; }
+        int others = white.getNonRoyalCount() + black.getNonRoyalCount();
+        if (others == 0) { RulesLog.debug(TAG, "Insufficient material: K vs K detected."); return true; }
+        if (others == 1 && white.getMatelessCount() + black.getMatelessCount() == 1) { RulesLog.debug(TAG, "Insufficient material: K vs K + piece that cannot mate detected."); return true; }
+        for (int colour = 0; colour < 2; colour++) {
+            if (white.getColourBoundCount(colour) + black.getColourBoundCount(colour) == others) { RulesLog.debug(TAG, "Insufficient material: only colour-bound pieces on one square colour (e.g. same-colour bishops) detected."); return true; }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,171 @@
+package io.WizardsChessMaster.model;
+
+import io.WizardsChessMaster.model.board.BitBoard;
+import io.WizardsChessMaster.model.board.BoardGeometry;
+import io.WizardsChessMaster.model.board.SquareMask;
+import io.WizardsChessMaster.model.pieces.Piece;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Everything the game screen asks about one team in one position, computed once: whether its king
+ * is in check, every legal move (looked up per piece), whether the game is over and why, and
+ * whether the material on the board is a dead draw. Immutable, so it can be kept in a Cache and
+ * shared by every consumer of the same position instead of each re-running move generation.
+ *
+ * Draws that depend on the game's history (fifty-move rule, repetition) are not part of a position
+ * and stay with the game model.
+ */
+public final class PositionAnalysis {
+
+    /** What the position means for the game, checked in this order. */
+    public enum Result {
+        /** The team has a legal move and the material is sufficient. */
+        ONGOING,
+        /** The team is in check and has no legal move. */
+        CHECKMATE,
+        /** The team is not in check and has no legal move. */
+        STALEMATE,
+        /** Neither team can ever checkmate (see Position.isInsufficientMaterial). */
+        INSUFFICIENT_MATERIAL
+    }
+
+    private final long key;
+    private final Team team;
+    private final BoardGeometry geometry;
+    private final boolean inCheck;
+    private final boolean insufficientMaterial;
+    /** Legal moves in MoveBuffer encoding, in generation order (grouped by from square). */
+    private final int[] moves;
+
+    private PositionAnalysis(long key, Team team, BoardGeometry geometry, boolean inCheck, boolean insufficientMaterial, int[] moves) {
+        this.key = key;
+        this.team = team;
+        this.geometry = geometry;
+        this.inCheck = inCheck;
+        this.insufficientMaterial = insufficientMaterial;
+        this.moves = moves;
+    }
+
+    /** Analyses the team in the position as it stands now, without looking at any cache. */
+    public static PositionAnalysis of(Position position, Team team) {
+        MoveBuffer buffer = new MoveBuffer();
+        int count = position.generateLegalMoves(team, buffer);
+        int[] moves = new int[count];
+        for (int i = 0; i < count; i++) moves[i] = buffer.get(i);
+        return new PositionAnalysis(keyOf(position, team), team, position.getGeometry(),
+                team != null && position.isKingInCheck(team), position.isInsufficientMaterial(), moves);
+    }
+
+    /**
+     * Cache key of the team's analysis: the position's Zobrist key (pieces, side to move, en passant,
+     * castling rights) mixed with the team, the board size, every piece's state (Piece.getStateKey,
+     * e.g. a pawn's moved flag) and the turn effects, which all change the legal moves without
+     * changing the Zobrist key. Built only from ordinals, squares and String hashes, so equal
+     * positions get equal keys in every run.
+     */
+    public static long keyOf(Position position, Team team) {
+        long key = position.getZobristKey();
+        key ^= mix((team != null ? team.ordinal() + 1 : 0) * 0x9E3779B97F4A7C15L);
+        key ^= mix((position.getGeometry().getId() + 1L) * 0xC2B2AE3D27D4EB4FL);
+
+        BitBoard board = position.getBoard();
+        SquareMask occupancy = position.getOccupancy();
+        for (int square = occupancy.nextSquare(0); square >= 0; square = occupancy.nextSquare(square + 1)) {
+            Piece piece = board.get(square);
+            if (piece != null) key ^= mix(piece.getStateKey() * 0x165667B19E3779F9L + square);
+        }
+
+        // Summed, so the order effects were added in doesn't matter
+        long effects = 0L;
+        for (Map.Entry<Team, List<String>> entry : position.getTurnEffects().entrySet()) {
+            long teamSalt = (entry.getKey().ordinal() + 1L) << 32;
+            for (String effect : entry.getValue()) {
+                effects += mix(teamSalt ^ (effect != null ? effect.hashCode() & 0xFFFFFFFFL : 0L));
+            }
+        }
+        return key ^ mix(effects ^ 0x27D4EB2F165667C5L);
+    }
+
+    /** SplitMix64 finalizer: spreads every input bit over the whole key. */
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    public long getKey() { return key; }
+    public Team getTeam() { return team; }
+    public boolean isInCheck() { return inCheck; }
+    public boolean hasLegalMove() { return moves.length > 0; }
+    public int getLegalMoveCount() { return moves.length; }
+    public boolean isInsufficientMaterial() { return insufficientMaterial; }
+    public boolean isCheckmate() { return inCheck && moves.length == 0; }
+    public boolean isStalemate() { return !inCheck && moves.length == 0; }
+
+    public Result getResult() {
+        if (moves.length == 0) return inCheck ? Result.CHECKMATE : Result.STALEMATE;
+        return insufficientMaterial ? Result.INSUFFICIENT_MATERIAL : Result.ONGOING;
+    }
+
+    /** Encoded legal move i (see MoveBuffer), 0 <= i < getLegalMoveCount(). */
+    public int getLegalMove(int i) { return moves[i]; }
+
+    /** Squares the team's piece on the given square can legally move to; empty if there is none. */
+    public SquareSet getLegalTargets(BoardPosition from) {
+        int square = geometry.index(from);
+        if (square < 0) return SquareSet.EMPTY;
+        SquareMask targets = null;
+        for (int move : moves) {
+            if (MoveBuffer.fromSquare(move) != square) continue;
+            if (targets == null) targets = new SquareMask(geometry);
+            targets.add(MoveBuffer.toSquare(move));
+        }
+        return targets != null ? SquareSet.of(targets) : SquareSet.EMPTY;
+    }
+
+    /** Algebraic form of getLegalTargets. */
+    public List<String> getLegalTargetsAlgebraic(BoardPosition from) { return getLegalTargets(from).toAlgebraic(); }
+
+    /**
+     * Small least-recently-used cache of analyses keyed by keyOf, so a position that comes back
+     * (the same document snapshot delivered again, or a view refresh between moves) is analysed once.
+     * Entries are looked up by key only, so everything the legal moves depend on is part of it. Thread-safe.
+     */
+    public static final class Cache {
+        private final Map<Long, PositionAnalysis> entries;
+
+        public Cache(final int capacity) {
+            this.entries = new LinkedHashMap<Long, PositionAnalysis>(capacity * 2, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<Long, PositionAnalysis> eldest) {
+                    return size() > capacity;
+                }
+            };
+        }
+
+        /** The cached analysis of the team in the position, computing and caching it on a miss. */
+        public PositionAnalysis get(Position position, Team team) {
+            long key = keyOf(position, team);
+            synchronized (entries) {
+                PositionAnalysis cached = entries.get(key);
+                if (cached != null) return cached;
+            }
+            PositionAnalysis analysis = of(position, team);
+            synchronized (entries) {
+                entries.put(key, analysis);
+            }
+            return analysis;
+        }
+
+        public int size() {
+            synchronized (entries) { return entries.size(); }
+        }
+
+        public void clear() {
+            synchronized (entries) { entries.clear(); }
+        }
+    }
+}
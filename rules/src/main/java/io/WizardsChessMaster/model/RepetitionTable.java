@@ -0,0 +1,91 @@
+package io.WizardsChessMaster.model;
+
+import java.util.Arrays;
+
+/**
+ * Counts how often each position key (see Position.getZobristKey) has occurred, for repetition
+ * detection. Open addressing over parallel long/int arrays with linear probing, so adding and
+ * looking up a key allocates nothing once the table has grown to fit. Key 0 is counted separately,
+ * since it marks an empty slot.
+ * Not thread-safe.
+ */
+public final class RepetitionTable {
+
+    private long[] keys;
+    private int[] counts;
+    private int mask;
+    private int used;
+    private int zeroCount;
+
+    public RepetitionTable() {
+        this(64);
+    }
+
+    public RepetitionTable(int expectedKeys) {
+        int capacity = Integer.highestOneBit(Math.max(4, expectedKeys * 2 - 1)) << 1;
+        this.keys = new long[capacity];
+        this.counts = new int[capacity];
+        this.mask = capacity - 1;
+    }
+
+    /** Table counting every key in the list once per occurrence; null entries are skipped. */
+    public static RepetitionTable of(Iterable<Long> keys) {
+        RepetitionTable table = new RepetitionTable();
+        if (keys != null) {
+            for (Long key : keys) {
+                if (key != null) table.add(key);
+            }
+        }
+        return table;
+    }
+
+    /** Number of times the key has been added. */
+    public int count(long key) {
+        if (key == 0L) return zeroCount;
+        for (int i = slot(key); ; i = (i + 1) & mask) {
+            if (keys[i] == key) return counts[i];
+            if (keys[i] == 0L) return 0;
+        }
+    }
+
+    /** Adds one occurrence of the key and returns its new count. */
+    public int add(long key) {
+        if (key == 0L) return ++zeroCount;
+        int i = slot(key);
+        while (keys[i] != 0L) {
+            if (keys[i] == key) return ++counts[i];
+            i = (i + 1) & mask;
+        }
+        keys[i] = key;
+        counts[i] = 1;
+        if (++used * 2 > keys.length) grow();
+        return 1;
+    }
+
+    public void clear() {
+        Arrays.fill(keys, 0L);
+        Arrays.fill(counts, 0);
+        used = 0;
+        zeroCount = 0;
+    }
+
+    private int slot(long key) {
+        // Zobrist keys are already uniformly distributed; fold the high bits in for other keys
+        return (int) (key ^ (key >>> 32)) & mask;
+    }
+
+    private void grow() {
+        long[] oldKeys = keys;
+        int[] oldCounts = counts;
+        keys = new long[oldKeys.length * 2];
+        counts = new int[oldKeys.length * 2];
+        mask = keys.length - 1;
+        for (int j = 0; j < oldKeys.length; j++) {
+            if (oldKeys[j] == 0L) continue;
+            int i = slot(oldKeys[j]);
+            while (keys[i] != 0L) i = (i + 1) & mask;
+            keys[i] = oldKeys[j];
+            counts[i] = oldCounts[j];
+        }
+    }
+}
@@ -0,0 +1,168 @@
+package io.WizardsChessMaster.model;
+
+import io.WizardsChessMaster.model.board.BoardGeometry;
+import io.WizardsChessMaster.model.board.SquareMask;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+ * Immutable set of board squares: a snapshot of a SquareMask (bit = square index of its BoardGeometry).
+ * Used for move, attack and spell-target results so hot paths avoid boxed collections.
+ * Iterates in square order (a1, b1, ...) yielding cached BoardPosition instances.
+ * EMPTY belongs to no board; it combines with sets of any size.
+ */
+public final class SquareSet implements Iterable<BoardPosition> {
+
+    public static final SquareSet EMPTY = new SquareSet(null, new long[0]);
+
+    private final BoardGeometry geometry;
+    private final long[] words;
+
+    private SquareSet(BoardGeometry geometry, long[] words) {
+        this.geometry = geometry;
+        this.words = words;
+    }
+
+    /** Copies a mask's current contents. */
+    public static SquareSet of(SquareMask mask) {
+        if (mask == null || mask.isEmpty()) return EMPTY;
+        long[] words = new long[mask.wordCount()];
+        for (int i = 0; i < words.length; i++) words[i] = mask.word(i);
+        return new SquareSet(mask.getGeometry(), words);
+    }
+
+    /** Builds a set from positions; off-board and null positions are ignored. */
+    public static SquareSet of(BoardGeometry geometry, Collection<BoardPosition> positions) {
+        if (positions == null || positions.isEmpty()) return EMPTY;
+        SquareMask mask = new SquareMask(geometry);
+        for (BoardPosition position : positions) {
+            int square = geometry.index(position);
+            if (square >= 0) mask.add(square);
+        }
+        return of(mask);
+    }
+
+    /** The board the squares belong to, or null for EMPTY. */
+    public BoardGeometry getGeometry() { return geometry; }
+
+    public int size() {
+        int size = 0;
+        for (long word : words) size += Long.bitCount(word);
+        return size;
+    }
+
+    public boolean isEmpty() { return this == EMPTY; }
+
+    public boolean contains(int square) {
+        return square >= 0 && (square >>> 6) < words.length && (words[square >>> 6] & (1L << square)) != 0;
+    }
+
+    public boolean contains(BoardPosition position) {
+        return geometry != null && contains(geometry.index(position));
+    }
+
+    /** Adds the squares to a mask of the same board. */
+    public void addTo(SquareMask mask) {
+        for (int square = nextSquare(0); square >= 0; square = nextSquare(square + 1)) mask.add(square);
+    }
+
+    public SquareSet union(SquareSet other) {
+        if (other == null || other.isEmpty()) return this;
+        if (isEmpty()) return other;
+        SquareMask mask = toMask();
+        other.addTo(mask);
+        return of(mask);
+    }
+
+    public SquareSet intersect(SquareSet other) {
+        if (other == null || other.isEmpty() || isEmpty()) return EMPTY;
+        SquareMask mask = new SquareMask(geometry);
+        for (int square = nextSquare(0); square >= 0; square = nextSquare(square + 1)) {
+            if (other.contains(square)) mask.add(square);
+        }
+        return of(mask);
+    }
+
+    public SquareSet minus(SquareSet other) {
+        if (other == null || other.isEmpty() || isEmpty()) return this;
+        SquareMask mask = toMask();
+        for (int square = other.nextSquare(0); square >= 0; square = other.nextSquare(square + 1)) {
+            if (mask.contains(square)) mask.remove(square);
+        }
+        return of(mask);
+    }
+
+    private SquareMask toMask() {
+        SquareMask mask = new SquareMask(geometry);
+        addTo(mask);
+        return mask;
+    }
+
+    private int nextSquare(int from) {
+        int i = from >>> 6;
+        if (i >= words.length) return -1;
+        long word = words[i] & (-1L << from);
+        while (true) {
+            if (word != 0) return (i << 6) + Long.numberOfTrailingZeros(word);
+            if (++i == words.length) return -1;
+            word = words[i];
+        }
+    }
+
+    /** Mutable HashSet copy, for callers that still expect Set&lt;BoardPosition&gt;. */
+    public Set<BoardPosition> toSet() {
+        Set<BoardPosition> set = new HashSet<>(Math.max(16, size() * 2));
+        for (BoardPosition position : this) set.add(position);
+        return set;
+    }
+
+    /** Algebraic names ("e4") of the squares, in square order. */
+    public List<String> toAlgebraic() {
+        List<String> names = new ArrayList<>(size());
+        for (BoardPosition position : this) names.add(position.toAlgebraic());
+        return names;
+    }
+
+    @Override
+    public Iterator<BoardPosition> iterator() {
+        return new Iterator<BoardPosition>() {
+            private int square = nextSquare(0);
+
+            @Override
+            public boolean hasNext() { return square >= 0; }
+
+            @Override
+            public BoardPosition next() {
+                if (square < 0) throw new NoSuchElementException();
+                BoardPosition position = geometry.position(square);
+                square = nextSquare(square + 1);
+                return position;
+            }
+        };
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof SquareSet)) return false;
+        SquareSet that = (SquareSet) o;
+        return geometry == that.geometry && Arrays.equals(words, that.words);
+    }
+
+    @Override
+    public int hashCode() {
+        return Arrays.hashCode(words);
+    }
+
+    @Override
+    public String toString() {
+        return "SquareSet" + toAlgebraic();
+    }
+}
@@ -0,0 +1,156 @@
+package io.WizardsChessMaster.model.board;
+
+import io.WizardsChessMaster.model.Team;
+import io.WizardsChessMaster.model.pieces.Piece;
+
+/**
+ * Cached attack sets for a BitBoard: one mask per occupied square plus a union per team.
+ * When a square changes, only the piece on it and the pieces whose cached attacks reach it
+ * (sliders whose ray passes through or stops on it) are marked for recomputation.
+ * Recomputation is deferred until the next query, so a make/test/unmake sequence only
+ * recomputes the handful of pieces the move actually touched.
+ * Assumes a piece's attacks depend only on its square, its team and board occupancy.
+ */
+public final class AttackMap {
+
+    /** Computes the attack mask of a piece on the current board. */
+    public interface AttackSource {
+        /** Writes the squares the piece attacks into result, replacing its contents. */
+        void attacksFrom(Piece piece, SquareMask result);
+    }
+
+    private static final Team[] TEAMS = Team.values();
+
+    private final int squareCount;
+    private final int wordCount;
+    /** Cached attacks per square, back to back: square s owns words s * wordCount to s * wordCount + wordCount - 1. */
+    private final long[] attacksFrom;
+    /** Reverse index, laid out the same way: for each square, the squares whose cached attacks include it. */
+    private final long[] attackedBy;
+    private final SquareMask[] teamAttacks;
+    private final SquareMask dirtySquares;
+    private final SquareMask current;
+    private final SquareMask attackers;
+    private boolean teamsDirty = true;
+
+    AttackMap(BoardGeometry geometry) {
+        this.squareCount = geometry.getSquareCount();
+        this.wordCount = geometry.getWordCount();
+        this.attacksFrom = new long[squareCount * wordCount];
+        this.attackedBy = new long[squareCount * wordCount];
+        this.teamAttacks = new SquareMask[TEAMS.length];
+        for (int t = 0; t < TEAMS.length; t++) teamAttacks[t] = new SquareMask(geometry);
+        this.dirtySquares = new SquareMask(geometry).setAll();
+        this.current = new SquareMask(geometry);
+        this.attackers = new SquareMask(geometry);
+    }
+
+    /**
+     * Records that the occupant of a square changed. Must be called after the board was updated.
+     * @param square The square index that changed.
+     */
+    void squareChanged(int square) {
+        if (wordCount == 1) {
+            dirtySquares.bits |= attackedBy[square] | (1L << square);
+            teamsDirty = true;
+            return;
+        }
+        long[] dirty = dirtySquares.words;
+        int offset = square * wordCount;
+        for (int w = 0; w < wordCount; w++) dirty[w] |= attackedBy[offset + w];
+        dirtySquares.add(square);
+        teamsDirty = true;
+    }
+
+    void invalidateAll() {
+        dirtySquares.setAll();
+        teamsDirty = true;
+    }
+
+    /** Union of the squares attacked by the given team's pieces. Live; do not modify. */
+    public SquareMask getTeamAttacks(Team team, BitBoard board, AttackSource source) {
+        if (teamsDirty) refresh(board, source);
+        return teamAttacks[team.ordinal()];
+    }
+
+    /** Squares whose pieces (either team) attack the given square. Reused by the next call; do not modify. */
+    public SquareMask getAttackers(int square, BitBoard board, AttackSource source) {
+        if (teamsDirty) refresh(board, source);
+        if (wordCount == 1) {
+            attackers.bits = attackedBy[square];
+        } else {
+            System.arraycopy(attackedBy, square * wordCount, attackers.words, 0, wordCount);
+        }
+        return attackers;
+    }
+
+    private void refresh(BitBoard board, AttackSource source) {
+        for (int square = dirtySquares.nextSquare(0); square >= 0 && square < squareCount; square = dirtySquares.nextSquare(square + 1)) {
+            Piece piece = board.get(square);
+            if (piece != null) {
+                source.attacksFrom(piece, current);
+            } else {
+                current.clear();
+            }
+            if (wordCount == 1) {
+                updateReverseIndex(square, current.bits);
+                continue;
+            }
+            long[] now = current.words;
+            int offset = square * wordCount;
+            int word = square >>> 6;
+            long bit = 1L << square;
+            for (int w = 0; w < wordCount; w++) {
+                long previous = attacksFrom[offset + w];
+                if (previous == now[w]) continue;
+                for (long lost = previous & ~now[w]; lost != 0; lost &= lost - 1) {
+                    attackedBy[((w << 6) + Long.numberOfTrailingZeros(lost)) * wordCount + word] &= ~bit;
+                }
+                for (long gained = now[w] & ~previous; gained != 0; gained &= gained - 1) {
+                    attackedBy[((w << 6) + Long.numberOfTrailingZeros(gained)) * wordCount + word] |= bit;
+                }
+                attacksFrom[offset + w] = now[w];
+            }
+        }
+        dirtySquares.clear();
+        rebuildTeamAttacks(board);
+        teamsDirty = false;
+    }
+
+    /** Single-word boards: records that the piece on square now attacks exactly now. */
+    private void updateReverseIndex(int square, long now) {
+        long previous = attacksFrom[square];
+        if (previous == now) return;
+        long bit = 1L << square;
+        for (long lost = previous & ~now; lost != 0; lost &= lost - 1) {
+            attackedBy[Long.numberOfTrailingZeros(lost)] &= ~bit;
+        }
+        for (long gained = now & ~previous; gained != 0; gained &= gained - 1) {
+            attackedBy[Long.numberOfTrailingZeros(gained)] |= bit;
+        }
+        attacksFrom[square] = now;
+    }
+
+    private void rebuildTeamAttacks(BitBoard board) {
+        if (wordCount == 1) {
+            for (Team team : TEAMS) {
+                long union = 0L;
+                for (long bits = board.getTeamOccupancy(team).bits; bits != 0; bits &= bits - 1) {
+                    union |= attacksFrom[Long.numberOfTrailingZeros(bits)];
+                }
+                teamAttacks[team.ordinal()].bits = union;
+            }
+            return;
+        }
+        for (Team team : TEAMS) {
+            long[] union = teamAttacks[team.ordinal()].clear().words;
+            long[] pieces = board.getTeamOccupancy(team).words;
+            for (int w = 0; w < pieces.length; w++) {
+                for (long bits = pieces[w]; bits != 0; bits &= bits - 1) {
+                    int offset = ((w << 6) + Long.numberOfTrailingZeros(bits)) * wordCount;
+                    for (int i = 0; i < wordCount; i++) union[i] |= attacksFrom[offset + i];
+                }
+            }
+        }
+    }
+}
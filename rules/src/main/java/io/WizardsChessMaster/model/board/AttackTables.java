@@ -0,0 +1,33 @@
+package io.WizardsChessMaster.model.board;
+
+import io.WizardsChessMaster.model.Team;
+
+/**
+ * The leap patterns of the built-in leaper move components.
+ * Each is a LeaperAttacks, which builds its per-square masks for a board size on first use.
+ */
+public final class AttackTables {
+
+    public static final int[][] KNIGHT_OFFSETS = {
+            {-2, -1}, {-2, 1}, {-1, -2}, {-1, 2},
+            {1, -2}, {1, 2}, {2, -1}, {2, 1}
+    };
+    public static final int[][] KING_OFFSETS = {
+            {0, 1}, {0, -1}, {1, 0}, {-1, 0},
+            {1, 1}, {1, -1}, {-1, 1}, {-1, -1}
+    };
+
+    public static final LeaperAttacks KNIGHT = LeaperAttacks.forOffsets(KNIGHT_OFFSETS);
+    public static final LeaperAttacks KING = LeaperAttacks.forOffsets(KING_OFFSETS);
+    /** Pawn capture patterns indexed by Team.ordinal(). */
+    public static final LeaperAttacks[] PAWN_CAPTURES = new LeaperAttacks[Team.values().length];
+
+    static {
+        for (Team team : Team.values()) {
+            int direction = (team == Team.WHITE) ? 1 : -1;
+            PAWN_CAPTURES[team.ordinal()] = LeaperAttacks.forOffsets(new int[][]{{-1, direction}, {1, direction}});
+        }
+    }
+
+    private AttackTables() {}
+}
@@ -0,0 +1,286 @@
+package io.WizardsChessMaster.model.board;
+
+import io.WizardsChessMaster.model.Team;
+import io.WizardsChessMaster.model.pieces.Piece;
+import io.WizardsChessMaster.model.pieces.PieceFactory;
+
+import java.util.AbstractCollection;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.RandomAccess;
+
+/**
+ * Dense board representation used by Position.
+ * Keeps a mailbox of Piece references plus SquareMask occupancy bitboards
+ * per team and per piece-type id (as assigned by PieceFactory).
+ * Squares are numbered by the board's BoardGeometry (y * width + x).
+ * Every put/remove also updates the board's AttackMap, the per-team piece lists, the royal squares,
+ * the Zobrist key of the pieces and each team's MaterialSignature.
+ * The masks returned by the getters are live and must not be modified by callers.
+ */
+public class BitBoard {
+
+    private final BoardGeometry geometry;
+    private final Piece[] mailbox;
+    private final SquareMask[] teamOccupancy;
+    private SquareMask[] typeOccupancy;
+    private final SquareMask occupancy;
+    private final SquareMask[] royalOccupancy;
+    private final SquareMask empty;
+    private int pieceCount;
+    private long version;
+    /** XOR of Zobrist.piece for every piece on the board. */
+    private long zobristKey;
+    /** Squares put or removed since the last takeChangedSquares call. */
+    private final SquareMask changedSquares;
+    private final AttackMap attackMap;
+    /** Per-team piece lists in no particular order; removal swaps the last entry into the freed slot. */
+    private final Piece[][] teamPieces;
+    private final int[][] teamSquares;
+    private final int[] teamCounts;
+    /** For each occupied square, the index of its piece in its team's list. */
+    private final int[] listSlot;
+    private final MaterialSignature[] material;
+    private final List<List<Piece>> teamViews;
+
+    public BitBoard(BoardGeometry geometry) {
+        int teamCount = Team.values().length;
+        int squareCount = geometry.getSquareCount();
+        this.geometry = geometry;
+        this.mailbox = new Piece[squareCount];
+        this.occupancy = new SquareMask(geometry);
+        this.teamOccupancy = newMasks(geometry, teamCount);
+        this.royalOccupancy = newMasks(geometry, teamCount);
+        this.typeOccupancy = newMasks(geometry, Math.max(1, PieceFactory.getTypeCount()));
+        this.empty = new SquareMask(geometry);
+        this.changedSquares = new SquareMask(geometry).setAll();
+        this.attackMap = new AttackMap(geometry);
+        this.teamPieces = new Piece[teamCount][squareCount];
+        this.teamSquares = new int[teamCount][squareCount];
+        this.teamCounts = new int[teamCount];
+        this.listSlot = new int[squareCount];
+        this.material = new MaterialSignature[teamCount];
+        for (int t = 0; t < teamCount; t++) material[t] = new MaterialSignature(PieceFactory.getTypeCount());
+        List<List<Piece>> views = new ArrayList<>(teamCount);
+        for (int t = 0; t < teamCount; t++) views.add(new TeamPieceList(t));
+        this.teamViews = Collections.unmodifiableList(views);
+    }
+
+    private static SquareMask[] newMasks(BoardGeometry geometry, int count) {
+        SquareMask[] masks = new SquareMask[count];
+        for (int i = 0; i < count; i++) masks[i] = new SquareMask(geometry);
+        return masks;
+    }
+
+    // --- Queries ---
+
+    public BoardGeometry getGeometry() { return geometry; }
+    public Piece get(int square) { return mailbox[square]; }
+    public boolean isOccupied(int square) { return mailbox[square] != null; }
+    public SquareMask getOccupancy() { return occupancy; }
+    public SquareMask getTeamOccupancy(Team team) { return teamOccupancy[team.ordinal()]; }
+    /** Occupancy of one team's royal pieces (Piece.isRoyal). */
+    public SquareMask getRoyalOccupancy(Team team) { return royalOccupancy[team.ordinal()]; }
+    public int size() { return pieceCount; }
+    public boolean isEmpty() { return pieceCount == 0; }
+    /** Incremented on every change to the board, so derived data can tell when it is stale. */
+    public long getVersion() { return version; }
+    /**
+     * Zobrist key of the pieces on the board (type, team and square), updated on every put and remove.
+     * Position adds the side to move, en passant and castling rights (see Position.getZobristKey).
+     */
+    public long getZobristKey() { return zobristKey; }
+    /** The team's material counts, updated on every put and remove. Live; read-only. */
+    public MaterialSignature getMaterial(Team team) { return material[team.ordinal()]; }
+
+    /** Occupancy of all pieces with the given type id (both teams). Unknown ids yield an empty board. */
+    public SquareMask getTypeOccupancy(int typeId) {
+        return (typeId >= 0 && typeId < typeOccupancy.length) ? typeOccupancy[typeId] : empty;
+    }
+
+    /** Squares attacked by a team, maintained incrementally as pieces are put and removed. */
+    public SquareMask getTeamAttacks(Team team, AttackMap.AttackSource source) {
+        return attackMap.getTeamAttacks(team, this, source);
+    }
+
+    /** Squares whose pieces attack the given square (either team). */
+    public SquareMask getAttackers(int square, AttackMap.AttackSource source) {
+        return attackMap.getAttackers(square, this, source);
+    }
+
+    /** Forces every cached attack set to be recomputed (e.g. after effects that change movement rules). */
+    public void invalidateAttacks() {
+        version++;
+        attackMap.invalidateAll();
+    }
+
+    /**
+     * Copies the squares changed since the previous call (all squares on the first call) into result
+     * and resets the set. Used by Position.snapshot to copy only what moved.
+     */
+    public void takeChangedSquares(SquareMask result) {
+        result.set(changedSquares);
+        changedSquares.clear();
+    }
+
+    /** Records a change to the piece on a square that didn't go through put/remove (e.g. its state). */
+    public void markChanged(int square) {
+        changedSquares.add(square);
+    }
+
+    // --- Mutation ---
+
+    /**
+     * Places a piece on a square, replacing (and returning) whatever was there.
+     */
+    public Piece put(int square, Piece piece) {
+        Piece previous = remove(square);
+        if (piece == null) return previous;
+        mailbox[square] = piece;
+        occupancy.add(square);
+        int team = piece.getTeam().ordinal();
+        teamOccupancy[team].add(square);
+        int slot = teamCounts[team]++;
+        teamPieces[team][slot] = piece;
+        teamSquares[team][slot] = square;
+        listSlot[square] = slot;
+        if (piece.isRoyal()) royalOccupancy[team].add(square);
+        int typeId = piece.getTypeId();
+        if (typeId >= 0) {
+            if (typeId >= typeOccupancy.length) {
+                int oldLength = typeOccupancy.length;
+                typeOccupancy = Arrays.copyOf(typeOccupancy, typeId + 1);
+                for (int i = oldLength; i < typeOccupancy.length; i++) typeOccupancy[i] = new SquareMask(geometry);
+            }
+            typeOccupancy[typeId].add(square);
+        }
+        zobristKey ^= Zobrist.piece(piece.getZobristTypeKey(), piece.getTeam(), geometry.fileOf(square), geometry.rankOf(square));
+        material[team].add(piece, typeId, squareColour(square));
+        pieceCount++;
+        version++;
+        changedSquares.add(square);
+        attackMap.squareChanged(square);
+        return previous;
+    }
+
+    /** Removes and returns the piece on a square, or null if it was empty. */
+    public Piece remove(int square) {
+        Piece piece = mailbox[square];
+        if (piece == null) return null;
+        mailbox[square] = null;
+        occupancy.remove(square);
+        int team = piece.getTeam().ordinal();
+        royalOccupancy[team].remove(square);
+        teamOccupancy[team].remove(square);
+        int slot = listSlot[square];
+        int last = --teamCounts[team];
+        if (slot != last) {
+            teamPieces[team][slot] = teamPieces[team][last];
+            teamSquares[team][slot] = teamSquares[team][last];
+            listSlot[teamSquares[team][slot]] = slot;
+        }
+        teamPieces[team][last] = null;
+        int typeId = piece.getTypeId();
+        if (typeId >= 0 && typeId < typeOccupancy.length) typeOccupancy[typeId].remove(square);
+        zobristKey ^= Zobrist.piece(piece.getZobristTypeKey(), piece.getTeam(), geometry.fileOf(square), geometry.rankOf(square));
+        material[team].remove(piece, typeId, squareColour(square));
+        pieceCount--;
+        version++;
+        changedSquares.add(square);
+        attackMap.squareChanged(square);
+        return piece;
+    }
+
+    public void clear() {
+        Arrays.fill(mailbox, null);
+        for (SquareMask mask : teamOccupancy) mask.clear();
+        for (SquareMask mask : royalOccupancy) mask.clear();
+        for (SquareMask mask : typeOccupancy) mask.clear();
+        for (Piece[] list : teamPieces) Arrays.fill(list, null);
+        Arrays.fill(teamCounts, 0);
+        for (MaterialSignature signature : material) signature.clear();
+        occupancy.clear();
+        pieceCount = 0;
+        zobristKey = 0L;
+        version++;
+        changedSquares.setAll();
+        attackMap.invalidateAll();
+    }
+
+    private int squareColour(int square) {
+        return (geometry.fileOf(square) + geometry.rankOf(square)) & 1;
+    }
+
+    /** Read-only view of all pieces, iterated in square order. */
+    public Collection<Piece> pieces() {
+        return new AbstractCollection<Piece>() {
+            @Override public Iterator<Piece> iterator() { return new PieceIterator(occupancy); }
+            @Override public int size() { return pieceCount; }
+        };
+    }
+
+    /** Read-only view of one team's pieces, iterated in square order. */
+    public Collection<Piece> pieces(Team team) {
+        return new AbstractCollection<Piece>() {
+            @Override public Iterator<Piece> iterator() { return new PieceIterator(teamOccupancy[team.ordinal()]); }
+            @Override public int size() { return teamCounts[team.ordinal()]; }
+        };
+    }
+
+    /**
+     * Read-only live list of one team's pieces, maintained incrementally (no allocation per call).
+     * The order is arbitrary and changes as pieces are removed; copy it, or iterate
+     * getTeamOccupancy, when changing the board during iteration.
+     */
+    public List<Piece> teamPieces(Team team) {
+        return teamViews.get(team.ordinal());
+    }
+
+    private final class TeamPieceList extends AbstractList<Piece> implements RandomAccess {
+        private final int team;
+
+        TeamPieceList(int team) { this.team = team; }
+
+        @Override
+        public Piece get(int index) {
+            if (index < 0 || index >= teamCounts[team]) throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + teamCounts[team]);
+            return teamPieces[team][index];
+        }
+
+        @Override public int size() { return teamCounts[team]; }
+    }
+
+    private final class PieceIterator implements Iterator<Piece> {
+        /** Copied, so the board can change during iteration. */
+        private final SquareMask squares;
+        private int square;
+
+        PieceIterator(SquareMask squares) {
+            this.squares = squares.copy();
+            this.square = this.squares.nextSquare(0);
+        }
+
+        @Override
+        public boolean hasNext() {
+            // Skip squares emptied since the iterator was created
+            while (square >= 0 && mailbox[square] == null) {
+                square = squares.nextSquare(square + 1);
+            }
+            return square >= 0;
+        }
+
+        @Override
+        public Piece next() {
+            if (!hasNext()) throw new NoSuchElementException();
+            Piece piece = mailbox[square];
+            square = squares.nextSquare(square + 1);
+            return piece;
+        }
+    }
+}
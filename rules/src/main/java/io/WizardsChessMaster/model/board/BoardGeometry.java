@@ -0,0 +1,131 @@
+package io.WizardsChessMaster.model.board;
+
+import io.WizardsChessMaster.model.BoardPosition;
+import io.WizardsChessMaster.model.Team;
+
+/**
+ * Dimensions of a board and the square numbering derived from them.
+ * Square index is y * width + x, so bit 0 of a SquareMask is (0,0) and the last bit is (width-1, height-1).
+ * Boards are 1 to MAX_SIZE squares along each side; one shared instance exists per size
+ * (see of), so geometries can be compared with == and used to index per-size tables.
+ *
+ * Decks are laid out on the eight home files in the middle of the board (getHomeFile), and the
+ * castling squares are defined relative to them, so on 8x8 every rule is the standard one.
+ */
+public final class BoardGeometry {
+
+    public static final int MAX_SIZE = 16;
+    /** Number of distinct geometries; ids run from 0 to COUNT - 1. */
+    public static final int COUNT = MAX_SIZE * MAX_SIZE;
+    /** Files a deck occupies: the back rank and the pawn rank, eight files wide. */
+    public static final int HOME_FILES = 8;
+
+    private static final BoardGeometry[] GEOMETRIES = new BoardGeometry[COUNT];
+
+    static {
+        for (int width = 1; width <= MAX_SIZE; width++) {
+            for (int height = 1; height <= MAX_SIZE; height++) {
+                GEOMETRIES[id(width, height)] = new BoardGeometry(width, height);
+            }
+        }
+    }
+
+    public static final BoardGeometry STANDARD = of(8, 8);
+
+    private final int width;
+    private final int height;
+    private final int squareCount;
+    private final int wordCount;
+    private final int id;
+    private final int homeFileOffset;
+    private final int[] files;
+    private final int[] ranks;
+    private final BoardPosition[] positions;
+
+    private BoardGeometry(int width, int height) {
+        this.width = width;
+        this.height = height;
+        this.squareCount = width * height;
+        this.wordCount = (squareCount + Long.SIZE - 1) / Long.SIZE;
+        this.id = id(width, height);
+        this.homeFileOffset = Math.max(0, (width - HOME_FILES) / 2);
+        this.files = new int[squareCount];
+        this.ranks = new int[squareCount];
+        this.positions = new BoardPosition[squareCount];
+        for (int square = 0; square < squareCount; square++) {
+            files[square] = square % width;
+            ranks[square] = square / width;
+            positions[square] = BoardPosition.of(files[square], ranks[square]);
+        }
+    }
+
+    private static int id(int width, int height) {
+        return (width - 1) * MAX_SIZE + (height - 1);
+    }
+
+    /**
+     * The shared geometry for a board size.
+     * @throws IllegalArgumentException if either side is outside 1..MAX_SIZE.
+     */
+    public static BoardGeometry of(int width, int height) {
+        if (width < 1 || width > MAX_SIZE || height < 1 || height > MAX_SIZE) {
+            throw new IllegalArgumentException("Board size " + width + "x" + height + " is outside 1x1.." + MAX_SIZE + "x" + MAX_SIZE + ".");
+        }
+        return GEOMETRIES[id(width, height)];
+    }
+
+    public int getWidth() { return width; }
+    public int getHeight() { return height; }
+    public int getSquareCount() { return squareCount; }
+    /** Number of 64-bit words in a SquareMask for this board. */
+    public int getWordCount() { return wordCount; }
+    /** Dense id in 0..COUNT-1, for per-geometry table caches. */
+    public int getId() { return id; }
+
+    // --- Squares ---
+
+    /** Returns the square index for (x, y), or -1 if the coordinates are off the board. */
+    public int index(int x, int y) {
+        if (x < 0 || x >= width || y < 0 || y >= height) return -1;
+        return y * width + x;
+    }
+
+    /** Square index of a position, or -1 if it is null or off the board. */
+    public int index(BoardPosition position) {
+        return position == null ? -1 : index(position.getX(), position.getY());
+    }
+
+    public boolean contains(BoardPosition position) { return index(position) >= 0; }
+    public int fileOf(int square) { return files[square]; }
+    public int rankOf(int square) { return ranks[square]; }
+
+    /** The cached position of a square index, or BoardPosition.OFF_BOARD if it is out of range. */
+    public BoardPosition position(int square) {
+        return (square >= 0 && square < squareCount) ? positions[square] : BoardPosition.OFF_BOARD;
+    }
+
+    // --- Home area ---
+
+    /** The rank a team's pieces start on: the first rank for white, the last for black. */
+    public int getBackRank(Team team) {
+        return team == Team.BLACK ? height - 1 : 0;
+    }
+
+    /** The rank a team's pawn row starts on, one in front of the back rank. */
+    public int getPawnRank(Team team) {
+        return team == Team.BLACK ? height - 2 : 1;
+    }
+
+    /**
+     * The board file of one of the eight home files (0 = the deck's a-file), centred on wider boards.
+     * @param homeFile 0..HOME_FILES-1.
+     */
+    public int getHomeFile(int homeFile) {
+        return homeFileOffset + homeFile;
+    }
+
+    @Override
+    public String toString() {
+        return width + "x" + height;
+    }
+}
@@ -0,0 +1,109 @@
+package io.WizardsChessMaster.model.board;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Precomputed per-square attack masks for a fixed set of (dx, dy) leaps, e.g. the knight's.
+ * Instances are shared by leap set (the order and duplicates of the offsets don't matter);
+ * each board size's table is built on first use.
+ */
+public final class LeaperAttacks {
+
+    private static final Map<String, LeaperAttacks> CACHE = new ConcurrentHashMap<>();
+
+    private final int[][] offsets;
+    /** Attack table per geometry id, built on first use; two threads may both build one, which is harmless. */
+    private final Table[] tables = new Table[BoardGeometry.COUNT];
+
+    /** Returns the shared instance for a set of (dx, dy) offsets. */
+    public static LeaperAttacks forOffsets(int[][] offsets) {
+        int[][] normalized = normalize(offsets);
+        return CACHE.computeIfAbsent(Arrays.deepToString(normalized), k -> new LeaperAttacks(normalized));
+    }
+
+    /** The leaps of every given instance, as one shared instance. */
+    public static LeaperAttacks union(List<LeaperAttacks> leapers) {
+        List<int[]> offsets = new ArrayList<>();
+        for (LeaperAttacks leaper : leapers) offsets.addAll(Arrays.asList(leaper.offsets));
+        return forOffsets(offsets.toArray(new int[0][]));
+    }
+
+    private LeaperAttacks(int[][] offsets) {
+        this.offsets = offsets;
+    }
+
+    /** Sorted, de-duplicated copy of the offsets, so equal leap sets share one instance. */
+    private static int[][] normalize(int[][] offsets) {
+        List<int[]> unique = new ArrayList<>();
+        for (int[] offset : offsets) {
+            if (offset.length != 2) throw new IllegalArgumentException("Leap offsets must be (dx, dy) pairs.");
+            boolean seen = false;
+            for (int[] existing : unique) seen |= existing[0] == offset[0] && existing[1] == offset[1];
+            if (!seen) unique.add(new int[]{offset[0], offset[1]});
+        }
+        unique.sort((a, b) -> a[0] != b[0] ? Integer.compare(a[0], b[0]) : Integer.compare(a[1], b[1]));
+        return unique.toArray(new int[0][]);
+    }
+
+    /** Squares reached from the given square. Shared; do not modify. */
+    public SquareMask attacks(BoardGeometry geometry, int square) {
+        return table(geometry).masks[square];
+    }
+
+    /** Adds the squares reached from the given square to result, a mask of the same board size. */
+    public void addAttacks(int square, SquareMask result) {
+        long[] words = table(result.getGeometry()).words;
+        if (result.words == null) {
+            result.bits |= words[square];
+            return;
+        }
+        long[] out = result.words;
+        int n = out.length;
+        int offset = square * n;
+        for (int i = 0; i < n; i++) out[i] |= words[offset + i];
+    }
+
+    private Table table(BoardGeometry geometry) {
+        Table table = tables[geometry.getId()];
+        if (table == null) {
+            table = new Table(buildTable(geometry));
+            tables[geometry.getId()] = table;
+        }
+        return table;
+    }
+
+    private SquareMask[] buildTable(BoardGeometry geometry) {
+        SquareMask[] table = new SquareMask[geometry.getSquareCount()];
+        for (int square = 0; square < table.length; square++) {
+            int x = geometry.fileOf(square);
+            int y = geometry.rankOf(square);
+            SquareMask mask = new SquareMask(geometry);
+            for (int[] offset : offsets) {
+                int target = geometry.index(x + offset[0], y + offset[1]);
+                if (target >= 0) mask.add(target);
+            }
+            table[square] = mask;
+        }
+        return table;
+    }
+
+    /** Holder whose final fields safely publish a built table through the plain (racy) cache array. */
+    private static final class Table {
+        final SquareMask[] masks;
+        /** The masks' words back to back: square s occupies words s * wordCount to s * wordCount + wordCount - 1. */
+        final long[] words;
+
+        Table(SquareMask[] masks) {
+            this.masks = masks;
+            int wordCount = masks.length > 0 ? masks[0].wordCount() : 0;
+            this.words = new long[masks.length * wordCount];
+            for (int square = 0; square < masks.length; square++) {
+                for (int w = 0; w < wordCount; w++) words[square * wordCount + w] = masks[square].word(w);
+            }
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package io.WizardsChessMaster.model.board;
+
+import io.WizardsChessMaster.model.pieces.MateAbility;
+import io.WizardsChessMaster.model.pieces.Piece;
+
+import java.util.Arrays;
+
+/**
+ * One team's material, kept up to date by BitBoard on every put and remove: the number of pieces
+ * per type id, the royal pieces, the pawn-like pieces, and the non-royal pieces that can never mate
+ * (MateAbility.NONE), with the colour-bound ones among those counted per square colour. Lets Position answer
+ * isInsufficientMaterial in constant time. Read-only to callers.
+ */
+public final class MaterialSignature {
+
+    private int[] typeCounts;
+    private int pieceCount;
+    private int royalCount;
+    private int pawnLikeCount;
+    private int matelessCount;
+    /** Colour-bound mateless pieces per square colour ((x + y) & 1). */
+    private final int[] colourBoundCounts = new int[2];
+
+    MaterialSignature(int typeCount) {
+        this.typeCounts = new int[Math.max(1, typeCount)];
+    }
+
+    /** Number of the team's pieces with the given type id. */
+    public int getCount(int typeId) { return typeId >= 0 && typeId < typeCounts.length ? typeCounts[typeId] : 0; }
+    public int getPieceCount() { return pieceCount; }
+    public int getRoyalCount() { return royalCount; }
+    public int getNonRoyalCount() { return pieceCount - royalCount; }
+    /**
+     * Forward-only pawn-like movers (see Piece.isPawnLike), whatever their own mate ability:
+     * MaterialAnalysis cannot classify them, so Position treats their presence as sufficient material.
+     */
+    public int getPawnLikeCount() { return pawnLikeCount; }
+    /** Non-royal pieces that cannot mate a lone king even with help (e.g. Knights and Bishops). */
+    public int getMatelessCount() { return matelessCount; }
+    /** Mateless colour-bound pieces (e.g. Bishops) standing on squares of the given colour ((x + y) & 1). */
+    public int getColourBoundCount(int colour) { return colourBoundCounts[colour]; }
+
+    void add(Piece piece, int typeId, int colour) {
+        update(piece, typeId, colour, 1);
+    }
+
+    void remove(Piece piece, int typeId, int colour) {
+        update(piece, typeId, colour, -1);
+    }
+
+    private void update(Piece piece, int typeId, int colour, int delta) {
+        if (typeId >= 0) {
+            if (typeId >= typeCounts.length) typeCounts = Arrays.copyOf(typeCounts, typeId + 1);
+            typeCounts[typeId] += delta;
+        }
+        pieceCount += delta;
+        if (piece.isPawnLike()) pawnLikeCount += delta;
+        if (piece.isRoyal()) {
+            royalCount += delta;
+        } else if (piece.getMateAbility() == MateAbility.NONE) {
+            matelessCount += delta;
+            if (piece.isColourBound()) colourBoundCounts[colour] += delta;
+        }
+    }
+
+    void clear() {
+        Arrays.fill(typeCounts, 0);
+        pieceCount = 0;
+        royalCount = 0;
+        pawnLikeCount = 0;
+        matelessCount = 0;
+        Arrays.fill(colourBoundCounts, 0);
+    }
+}
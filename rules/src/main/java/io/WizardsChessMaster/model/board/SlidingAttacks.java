@@ -0,0 +1,216 @@
+package io.WizardsChessMaster.model.board;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Attack lookup for a single sliding direction (dx, dy) on boards of any size.
+ * Works for any non-zero direction, including non-unit ones such as (2, 1), since only the stepped
+ * squares are on the ray. Instances are shared between all components; each board size's table is
+ * built on first use.
+ *
+ * Boards of up to 64 squares (one word per mask, e.g. 8x8) use magic lookup: for every square the
+ * squares the ray can be blocked on (all ray squares except the last) form the relevant mask, and
+ * (occupancy & mask) * magic >>> shift indexes a table holding the attacked squares up to and
+ * including the first blocker.
+ * Larger boards scan the ray instead: square indices grow monotonically along a ray, so the first
+ * blocker is the lowest (or highest) occupied ray square, and the attacks are the ray minus the same
+ * ray continued from that blocker.
+ */
+public final class SlidingAttacks {
+
+    private static final Map<Long, SlidingAttacks> CACHE = new ConcurrentHashMap<>();
+    private static final long MAGIC_SEED = 0x4B696E67734465L;
+
+    private final int dx;
+    private final int dy;
+    /** Whether square indices increase along the ray, so the nearest blocker is the lowest one. */
+    private final boolean ascending;
+    /** Table per geometry id, built on first use; two threads may both build one, which is harmless. */
+    private final Table[] tables = new Table[BoardGeometry.COUNT];
+
+    /** Returns the shared instance for the direction. */
+    public static SlidingAttacks forDirection(int dx, int dy) {
+        if (dx == 0 && dy == 0) {
+            throw new IllegalArgumentException("Sliding direction cannot be (0, 0).");
+        }
+        long key = ((long) dx << 32) | (dy & 0xFFFFFFFFL);
+        return CACHE.computeIfAbsent(key, k -> new SlidingAttacks(dx, dy));
+    }
+
+    private SlidingAttacks(int dx, int dy) {
+        this.dx = dx;
+        this.dy = dy;
+        this.ascending = dy > 0 || (dy == 0 && dx > 0);
+    }
+
+    public int getDx() { return dx; }
+    public int getDy() { return dy; }
+
+    /** Every square on the ray from the given square, ignoring blockers. Shared; do not modify. */
+    public SquareMask ray(BoardGeometry geometry, int square) {
+        return table(geometry).rays[square];
+    }
+
+    /**
+     * Adds the squares attacked from the given square along this direction, up to and including
+     * the first occupied one, to result (a mask of the same board size as occupancy).
+     */
+    public void addAttacks(int square, SquareMask occupancy, SquareMask result) {
+        Table table = table(occupancy.getGeometry());
+        if (table.magics != null) {
+            int index = (int) (((occupancy.bits & table.blockerMasks[square]) * table.magics[square]) >>> table.shifts[square]);
+            result.bits |= table.attacks[square][index];
+        } else {
+            addScannedAttacks(table.rayWords, square, occupancy.words, result.words);
+        }
+    }
+
+    /** Multi-word boards: attacks are the ray minus the ray continued from the nearest blocker. */
+    private void addScannedAttacks(long[] rayWords, int square, long[] occ, long[] out) {
+        int n = occ.length;
+        int ray = square * n;
+        int blocker = -1;
+        if (ascending) {
+            for (int i = 0; i < n; i++) {
+                long common = rayWords[ray + i] & occ[i];
+                if (common != 0) {
+                    blocker = (i << 6) + Long.numberOfTrailingZeros(common);
+                    break;
+                }
+            }
+        } else {
+            for (int i = n - 1; i >= 0; i--) {
+                long common = rayWords[ray + i] & occ[i];
+                if (common != 0) {
+                    blocker = (i << 6) + 63 - Long.numberOfLeadingZeros(common);
+                    break;
+                }
+            }
+        }
+        if (blocker < 0) {
+            for (int i = 0; i < n; i++) out[i] |= rayWords[ray + i];
+        } else {
+            int beyond = blocker * n;
+            for (int i = 0; i < n; i++) out[i] |= rayWords[ray + i] & ~rayWords[beyond + i];
+        }
+    }
+
+    private Table table(BoardGeometry geometry) {
+        Table table = tables[geometry.getId()];
+        if (table == null) {
+            table = new Table(geometry);
+            tables[geometry.getId()] = table;
+        }
+        return table;
+    }
+
+    /** One board size's tables. Its final fields safely publish it through the plain (racy) cache array. */
+    private final class Table {
+        final SquareMask[] rays;
+        /** The rays' words back to back: square s occupies words s * wordCount to s * wordCount + wordCount - 1. */
+        final long[] rayWords;
+        /** Magic lookup tables, or null for boards needing more than one word. */
+        final long[] blockerMasks;
+        final long[] magics;
+        final int[] shifts;
+        final long[][] attacks;
+
+        Table(BoardGeometry geometry) {
+            int squareCount = geometry.getSquareCount();
+            int wordCount = geometry.getWordCount();
+            rays = new SquareMask[squareCount];
+            rayWords = new long[squareCount * wordCount];
+            for (int square = 0; square < squareCount; square++) {
+                int x = geometry.fileOf(square);
+                int y = geometry.rankOf(square);
+                SquareMask ray = new SquareMask(geometry);
+                for (int i = 1; ; i++) {
+                    int target = geometry.index(x + dx * i, y + dy * i);
+                    if (target < 0) break;
+                    ray.add(target);
+                }
+                rays[square] = ray;
+                for (int w = 0; w < wordCount; w++) rayWords[square * wordCount + w] = ray.word(w);
+            }
+            if (wordCount != 1) {
+                blockerMasks = null;
+                magics = null;
+                shifts = null;
+                attacks = null;
+                return;
+            }
+            blockerMasks = new long[squareCount];
+            magics = new long[squareCount];
+            shifts = new int[squareCount];
+            attacks = new long[squareCount][];
+            Random random = new Random(MAGIC_SEED ^ (31L * dx + dy) ^ ((long) geometry.getId() << 40));
+            for (int square = 0; square < squareCount; square++) {
+                buildMagic(geometry, square, random);
+            }
+        }
+
+        private void buildMagic(BoardGeometry geometry, int square, Random random) {
+            long ray = rays[square].bits;
+            long lastSquare = ray == 0 ? 0L : (ascending ? Long.highestOneBit(ray) : Long.lowestOneBit(ray));
+            long mask = ray & ~lastSquare;
+            int bits = Long.bitCount(mask);
+            blockerMasks[square] = mask;
+            shifts[square] = 64 - bits;
+
+            // Enumerate every blocker subset of the mask (carry-rippler) with its attack set
+            int subsetCount = 1 << bits;
+            long[] occupancies = new long[subsetCount];
+            long[] reference = new long[subsetCount];
+            long subset = 0L;
+            for (int i = 0; i < subsetCount; i++) {
+                occupancies[i] = subset;
+                reference[i] = walk(geometry, square, subset);
+                subset = (subset - mask) & mask;
+            }
+
+            if (bits == 0) {
+                magics[square] = 0L;
+                attacks[square] = new long[]{reference[0]};
+                return;
+            }
+
+            long[] table = new long[subsetCount];
+            boolean[] used = new boolean[subsetCount];
+            while (true) {
+                long magic = random.nextLong() & random.nextLong() & random.nextLong();
+                Arrays.fill(used, false);
+                boolean ok = true;
+                for (int i = 0; i < subsetCount && ok; i++) {
+                    int index = (int) ((occupancies[i] * magic) >>> shifts[square]);
+                    if (!used[index]) {
+                        used[index] = true;
+                        table[index] = reference[i];
+                    } else if (table[index] != reference[i]) {
+                        ok = false;
+                    }
+                }
+                if (ok) {
+                    magics[square] = magic;
+                    attacks[square] = table;
+                    return;
+                }
+            }
+        }
+
+        private long walk(BoardGeometry geometry, int square, long occupancy) {
+            int x = geometry.fileOf(square);
+            int y = geometry.rankOf(square);
+            long result = 0L;
+            for (int i = 1; ; i++) {
+                int target = geometry.index(x + dx * i, y + dy * i);
+                if (target < 0) break;
+                result |= 1L << target;
+                if ((occupancy & (1L << target)) != 0) break;
+            }
+            return result;
+        }
+    }
+}
@@ -0,0 +1,277 @@
+package io.WizardsChessMaster.model.board;
+
+import io.WizardsChessMaster.model.BoardPosition;
+
+import java.util.Arrays;
+
+/**
+ * Mutable set of squares of one board geometry, stored as a multi-word bitboard
+ * (bit i of word i / 64 = square index i). An 8x8 board needs one word, 16x16 four.
+ * Boards of up to 64 squares keep their single word in a plain long field (words is null), so
+ * the common 8x8 case runs on registers; only larger boards take the word-array loops.
+ * Operations work in place and return this, so move generation can reuse a few scratch masks
+ * instead of allocating; masks handed out by the board and the attack tables are live or shared
+ * and must not be modified. Bits beyond the board's last square may be set by setAll and are
+ * harmless, since every mask produced from board data has them clear.
+ *
+ * Iterate with nextSquare: {@code for (int sq = mask.nextSquare(0); sq >= 0; sq = mask.nextSquare(sq + 1))}.
+ */
+public final class SquareMask {
+
+    private final BoardGeometry geometry;
+    /** The whole mask on boards of up to 64 squares; unused otherwise. */
+    long bits;
+    /** The mask's words on boards of more than 64 squares; null otherwise. */
+    final long[] words;
+
+    public SquareMask(BoardGeometry geometry) {
+        this.geometry = geometry;
+        int wordCount = geometry.getWordCount();
+        this.words = wordCount == 1 ? null : new long[wordCount];
+    }
+
+    public BoardGeometry getGeometry() { return geometry; }
+
+    /** Raw word i of the mask (squares 64 * i to 64 * i + 63). */
+    public long word(int i) {
+        if (words == null) {
+            if (i != 0) throw new ArrayIndexOutOfBoundsException(i);
+            return bits;
+        }
+        return words[i];
+    }
+
+    public int wordCount() { return words == null ? 1 : words.length; }
+
+    // --- Queries ---
+
+    public boolean isEmpty() {
+        if (words == null) return bits == 0;
+        for (long word : words) {
+            if (word != 0) return false;
+        }
+        return true;
+    }
+
+    public int count() {
+        if (words == null) return Long.bitCount(bits);
+        int count = 0;
+        for (long word : words) count += Long.bitCount(word);
+        return count;
+    }
+
+    /** Whether the square is in the set; false for negative or out-of-range squares. */
+    public boolean contains(int square) {
+        if (words == null) return square >= 0 && square < 64 && (bits & (1L << square)) != 0;
+        return square >= 0 && (square >>> 6) < words.length && (words[square >>> 6] & (1L << square)) != 0;
+    }
+
+    public boolean contains(BoardPosition position) {
+        return contains(geometry.index(position));
+    }
+
+    /** Number of squares in both masks. */
+    public int intersectionCount(SquareMask other) {
+        if (words == null) return Long.bitCount(bits & other.bits);
+        long[] o = other.words;
+        int count = 0;
+        for (int i = 0; i < words.length; i++) count += Long.bitCount(words[i] & o[i]);
+        return count;
+    }
+
+    /** Whether the two masks share a square. */
+    public boolean intersects(SquareMask other) {
+        if (words == null) return (bits & other.bits) != 0;
+        long[] o = other.words;
+        for (int i = 0; i < words.length; i++) {
+            if ((words[i] & o[i]) != 0) return true;
+        }
+        return false;
+    }
+
+    /** Lowest square index at or above from, or -1 if there is none. */
+    public int nextSquare(int from) {
+        if (from < 0) from = 0;
+        if (words == null) {
+            if (from > 63) return -1;
+            long word = bits & (-1L << from);
+            return word != 0 ? Long.numberOfTrailingZeros(word) : -1;
+        }
+        int i = from >>> 6;
+        if (i >= words.length) return -1;
+        long word = words[i] & (-1L << from);
+        while (true) {
+            if (word != 0) return (i << 6) + Long.numberOfTrailingZeros(word);
+            if (++i == words.length) return -1;
+            word = words[i];
+        }
+    }
+
+    /** Highest square index at or below from, or -1 if there is none. */
+    public int previousSquare(int from) {
+        if (from < 0) return -1;
+        if (words == null) {
+            long word = from > 63 ? bits : bits & (-1L >>> (63 - from));
+            return word != 0 ? 63 - Long.numberOfLeadingZeros(word) : -1;
+        }
+        int i = from >>> 6;
+        if (i >= words.length) {
+            i = words.length - 1;
+            from = (i << 6) + 63;
+        }
+        long word = words[i] & (-1L >>> (63 - (from & 63)));
+        while (true) {
+            if (word != 0) return (i << 6) + 63 - Long.numberOfLeadingZeros(word);
+            if (i-- == 0) return -1;
+            word = words[i];
+        }
+    }
+
+    /** Lowest square in both masks, or -1 if they don't intersect. */
+    public int firstCommonSquare(SquareMask other) {
+        if (words == null) {
+            long common = bits & other.bits;
+            return common != 0 ? Long.numberOfTrailingZeros(common) : -1;
+        }
+        long[] o = other.words;
+        for (int i = 0; i < words.length; i++) {
+            long common = words[i] & o[i];
+            if (common != 0) return (i << 6) + Long.numberOfTrailingZeros(common);
+        }
+        return -1;
+    }
+
+    /** Highest square in both masks, or -1 if they don't intersect. */
+    public int lastCommonSquare(SquareMask other) {
+        if (words == null) {
+            long common = bits & other.bits;
+            return common != 0 ? 63 - Long.numberOfLeadingZeros(common) : -1;
+        }
+        long[] o = other.words;
+        for (int i = words.length - 1; i >= 0; i--) {
+            long common = words[i] & o[i];
+            if (common != 0) return (i << 6) + 63 - Long.numberOfLeadingZeros(common);
+        }
+        return -1;
+    }
+
+    // --- In-place updates ---
+
+    public SquareMask add(int square) {
+        if (words == null) {
+            if (square >>> 6 != 0) throw new ArrayIndexOutOfBoundsException(square);
+            bits |= 1L << square;
+            return this;
+        }
+        words[square >>> 6] |= 1L << square;
+        return this;
+    }
+
+    public SquareMask remove(int square) {
+        if (words == null) {
+            if (square >>> 6 != 0) throw new ArrayIndexOutOfBoundsException(square);
+            bits &= ~(1L << square);
+            return this;
+        }
+        words[square >>> 6] &= ~(1L << square);
+        return this;
+    }
+
+    public SquareMask clear() {
+        if (words == null) {
+            bits = 0L;
+            return this;
+        }
+        for (int i = 0; i < words.length; i++) words[i] = 0L;
+        return this;
+    }
+
+    /** Sets every bit, including those past the last square (see the class comment). */
+    public SquareMask setAll() {
+        if (words == null) {
+            bits = -1L;
+            return this;
+        }
+        for (int i = 0; i < words.length; i++) words[i] = -1L;
+        return this;
+    }
+
+    /** Makes this mask a copy of other. */
+    public SquareMask set(SquareMask other) {
+        if (words == null) {
+            bits = other.bits;
+            return this;
+        }
+        System.arraycopy(other.words, 0, words, 0, words.length);
+        return this;
+    }
+
+    public SquareMask or(SquareMask other) {
+        if (words == null) {
+            bits |= other.bits;
+            return this;
+        }
+        long[] o = other.words;
+        for (int i = 0; i < words.length; i++) words[i] |= o[i];
+        return this;
+    }
+
+    public SquareMask and(SquareMask other) {
+        if (words == null) {
+            bits &= other.bits;
+            return this;
+        }
+        long[] o = other.words;
+        for (int i = 0; i < words.length; i++) words[i] &= o[i];
+        return this;
+    }
+
+    public SquareMask andNot(SquareMask other) {
+        if (words == null) {
+            bits &= ~other.bits;
+            return this;
+        }
+        long[] o = other.words;
+        for (int i = 0; i < words.length; i++) words[i] &= ~o[i];
+        return this;
+    }
+
+    /** this |= a & ~b. */
+    public SquareMask orAndNot(SquareMask a, SquareMask b) {
+        if (words == null) {
+            bits |= a.bits & ~b.bits;
+            return this;
+        }
+        long[] aw = a.words;
+        long[] bw = b.words;
+        for (int i = 0; i < words.length; i++) words[i] |= aw[i] & ~bw[i];
+        return this;
+    }
+
+    public SquareMask copy() {
+        return new SquareMask(geometry).set(this);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof SquareMask)) return false;
+        SquareMask that = (SquareMask) o;
+        return geometry == that.geometry && bits == that.bits && Arrays.equals(words, that.words);
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * geometry.getId() + (words == null ? Long.hashCode(bits) : Arrays.hashCode(words));
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder("SquareMask[");
+        for (int square = nextSquare(0); square >= 0; square = nextSquare(square + 1)) {
+            if (sb.charAt(sb.length() - 1) != '[') sb.append(", ");
+            sb.append(geometry.position(square).toAlgebraic());
+        }
+        return sb.append(']').toString();
+    }
+}
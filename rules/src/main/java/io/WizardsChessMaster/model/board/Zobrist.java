@@ -0,0 +1,61 @@
+package io.WizardsChessMaster.model.board;
+
+import io.WizardsChessMaster.model.Team;
+
+/**
+ * Zobrist keys for hashing positions: one pseudo-random 64-bit key per (piece type, team, square),
+ * plus keys for the side to move, the en passant file and each castling right. A position's key is
+ * the XOR of the keys of everything in it, so BitBoard keeps its part up to date with one XOR per
+ * put or remove.
+ *
+ * Keys are derived from a fixed seed with the SplitMix64 finalizer instead of being drawn from a
+ * table, so every client computes the same keys and stored keys stay comparable between devices,
+ * sessions and app versions. Piece types are keyed by a hash of their type name (typeKey), not by
+ * their dense type id, which shifts whenever a piece config is added, removed or renamed; a client
+ * with a different set of piece configs still derives the same key for the pieces both know.
+ * Squares are keyed by (x, y) rather than square index, so a square's keys don't depend on the
+ * board width.
+ */
+public final class Zobrist {
+
+    private static final long SEED = 0x5A6F627269737421L;
+
+    private static final long PIECE = 1L << 56;
+    private static final long PIECE_TYPE = 5L << 56;
+    private static final long SIDE = 2L << 56;
+    private static final long EN_PASSANT = 3L << 56;
+    private static final long CASTLING = 4L << 56;
+
+    /** XORed in when black is to move. */
+    public static final long BLACK_TO_MOVE = mix(SIDE);
+
+    private Zobrist() {}
+
+    /** Per-type part of the piece keys, from the type name's String hash; 0 for a null name. */
+    public static long typeKey(String typeName) {
+        return typeName != null ? mix(PIECE_TYPE | (typeName.hashCode() & 0xFFFFFFFFL)) : 0L;
+    }
+
+    /** Key of a piece of the type with the given typeKey and of the team on square (x, y). */
+    public static long piece(long typeKey, Team team, int x, int y) {
+        return mix(typeKey ^ (PIECE | ((long) team.ordinal() << 8) | (y << 4) | x));
+    }
+
+    /** Key of an en passant target square on the given file. */
+    public static long enPassant(int file) {
+        return mix(EN_PASSANT | file);
+    }
+
+    /** Key of one castling right: the team's castling piece with the rook on its low (false) or high (true) side. */
+    public static long castling(Team team, boolean highSide) {
+        return mix(CASTLING | ((long) team.ordinal() << 1) | (highSide ? 1 : 0));
+    }
+
+    /** SplitMix64 finalizer of the seeded input. */
+    private static long mix(long input) {
+        long z = SEED + input * 0x9E3779B97F4A7C15L;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
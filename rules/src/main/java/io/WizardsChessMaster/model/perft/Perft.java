@@ -0,0 +1,265 @@
+package io.WizardsChessMaster.model.perft;
+
+import io.WizardsChessMaster.model.BoardPosition;
+import io.WizardsChessMaster.model.MoveBuffer;
+import io.WizardsChessMaster.model.MoveType;
+import io.WizardsChessMaster.model.MoveUndo;
+import io.WizardsChessMaster.model.Position;
+import io.WizardsChessMaster.model.Team;
+import io.WizardsChessMaster.model.board.BoardGeometry;
+import io.WizardsChessMaster.model.pieces.Piece;
+import io.WizardsChessMaster.model.pieces.PieceFactory;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Perft (performance test): counts the leaf nodes of the legal move tree to a fixed depth.
+ * The counts are a correctness oracle for move generation (any change in them is a rules change)
+ * and the time taken is its throughput number.
+ *
+ * Moves are generated into one MoveBuffer per ply and played with Position.makeMove/unmakeMove.
+ * The move type comes from the component that produced the target (MoveComponent.getMoveType):
+ * RANGED components shoot, CASTLING and EN_PASSANT do their special moves, everything else is
+ * a normal move or capture. Turn effects are not cleared between plies.
+ *
+ * Reference counts at depth 3 / 4: standard 8902 / 197281, deck 11166 / 266821,
+ * tactics 145266 / 6267947, pins 2744 / 81407, large 15670 / 425605.
+ *
+ * Run from the assets directory (gradlew :rules:perft does this), e.g.
+ * <pre>Perft -depth 4 -threads 8 -position standard -divide</pre>
+ * A position is a preset name (see PRESETS) or a board list in GameModel's boardState encoding,
+ * followed by the side to move, optionally the en passant square and optionally the board size
+ * (8x8 if omitted):
+ * <pre>"e1=WHITE_KING,e8=BLACK_KING,d5=BLACK_PAWN_MOVED,e5=WHITE_PAWN w d6"</pre>
+ * <pre>"f1=WHITE_KING,f10=BLACK_KING,j2=WHITE_ROOK w - 10x10"</pre>
+ */
+public final class Perft {
+
+    private static final String MOVED_SUFFIX = "_MOVED";
+
+    /** Named test positions: the standard start, a deck-built start and two tactical middlegames. */
+    public static final Map<String, String> PRESETS = new LinkedHashMap<>();
+
+    static {
+        PRESETS.put("standard", "a1=WHITE_ROOK,b1=WHITE_KNIGHT,c1=WHITE_BISHOP,d1=WHITE_QUEEN,e1=WHITE_KING,f1=WHITE_BISHOP,g1=WHITE_KNIGHT,h1=WHITE_ROOK,"
+                + "a2=WHITE_PAWN,b2=WHITE_PAWN,c2=WHITE_PAWN,d2=WHITE_PAWN,e2=WHITE_PAWN,f2=WHITE_PAWN,g2=WHITE_PAWN,h2=WHITE_PAWN,"
+                + "a8=BLACK_ROOK,b8=BLACK_KNIGHT,c8=BLACK_BISHOP,d8=BLACK_QUEEN,e8=BLACK_KING,f8=BLACK_BISHOP,g8=BLACK_KNIGHT,h8=BLACK_ROOK,"
+                + "a7=BLACK_PAWN,b7=BLACK_PAWN,c7=BLACK_PAWN,d7=BLACK_PAWN,e7=BLACK_PAWN,f7=BLACK_PAWN,g7=BLACK_PAWN,h7=BLACK_PAWN w");
+        // Every custom piece on both sides, with castling still available
+        PRESETS.put("deck", "a1=WHITE_TURRET,b1=WHITE_ARCHER,c1=WHITE_WIZARD,d1=WHITE_DRAGON,e1=WHITE_KING,h1=WHITE_ROOK,"
+                + "a2=WHITE_PAWN,b2=WHITE_PAWN,c2=WHITE_PAWN,d2=WHITE_PAWN,e2=WHITE_PAWN,f2=WHITE_PAWN,g2=WHITE_PAWN,h2=WHITE_PAWN,"
+                + "a8=BLACK_ROOK,b8=BLACK_ARCHER,c8=BLACK_WIZARD,d8=BLACK_DRAGON,e8=BLACK_KING,f8=BLACK_TURRET,g8=BLACK_KNIGHT,"
+                + "a7=BLACK_PAWN,b7=BLACK_PAWN,c7=BLACK_PAWN,d7=BLACK_PAWN,e7=BLACK_PAWN,f7=BLACK_PAWN,g7=BLACK_PAWN,h7=BLACK_PAWN w");
+        // En passant available, castling on both wings, archer shots and dragon/turret lines
+        PRESETS.put("tactics", "e1=WHITE_KING,h1=WHITE_ROOK,a1=WHITE_ROOK,e5=WHITE_PAWN,c3=WHITE_ARCHER,f3=WHITE_DRAGON,b2=WHITE_WIZARD,"
+                + "e8=BLACK_KING,a8=BLACK_ROOK,h8=BLACK_ROOK,d5=BLACK_PAWN_MOVED,f5=BLACK_PAWN_MOVED,c6=BLACK_TURRET,e6=BLACK_ARCHER,g6=BLACK_KNIGHT w d6");
+        // Pins and checks around a pinned en passant pawn
+        PRESETS.put("pins", "e1=WHITE_KING,e4=WHITE_WIZARD,b4=WHITE_TURRET,c2=WHITE_PAWN,"
+                + "e8=BLACK_KING,e7=BLACK_ROOK,h4=BLACK_BISHOP,a4=BLACK_ROOK,d4=BLACK_PAWN_MOVED w -");
+        // The standard armies on the centre files of a 10x10 board, for multi-word bitboards
+        PRESETS.put("large", "b1=WHITE_ROOK,c1=WHITE_KNIGHT,d1=WHITE_BISHOP,e1=WHITE_QUEEN,f1=WHITE_KING,g1=WHITE_BISHOP,h1=WHITE_KNIGHT,i1=WHITE_ROOK,"
+                + "b2=WHITE_PAWN,c2=WHITE_PAWN,d2=WHITE_PAWN,e2=WHITE_PAWN,f2=WHITE_PAWN,g2=WHITE_PAWN,h2=WHITE_PAWN,i2=WHITE_PAWN,"
+                + "b10=BLACK_ROOK,c10=BLACK_KNIGHT,d10=BLACK_BISHOP,e10=BLACK_QUEEN,f10=BLACK_KING,g10=BLACK_BISHOP,h10=BLACK_KNIGHT,i10=BLACK_ROOK,"
+                + "b9=BLACK_PAWN,c9=BLACK_PAWN,d9=BLACK_PAWN,e9=BLACK_PAWN,f9=BLACK_PAWN,g9=BLACK_PAWN,h9=BLACK_PAWN,i9=BLACK_PAWN w - 10x10");
+    }
+
+    private Perft() {}
+
+    /**
+     * Builds a position from a preset name or a board list (see the class comment).
+     * @throws IllegalArgumentException if the description cannot be parsed.
+     */
+    public static Position parse(String description) {
+        if (description == null || description.trim().isEmpty()) {
+            throw new IllegalArgumentException("Position description cannot be empty.");
+        }
+        String spec = PRESETS.containsKey(description) ? PRESETS.get(description) : description;
+        String[] parts = spec.trim().split("\\s+");
+        BoardGeometry geometry = parts.length > 3 ? parseSize(parts[3]) : BoardGeometry.STANDARD;
+        Position position = new Position(geometry);
+        for (String entry : parts[0].split(",")) {
+            String[] squareAndPiece = entry.split("=", 2);
+            BoardPosition square = squareAndPiece.length == 2 ? BoardPosition.fromAlgebraic(squareAndPiece[0].trim()) : null;
+            if (square == null || !geometry.contains(square)) {
+                throw new IllegalArgumentException("Invalid board entry: '" + entry + "'");
+            }
+            String value = squareAndPiece[1].trim().toUpperCase();
+            boolean hasMoved = value.endsWith(MOVED_SUFFIX);
+            if (hasMoved) value = value.substring(0, value.length() - MOVED_SUFFIX.length());
+            String[] teamAndType = value.split("_", 2);
+            if (teamAndType.length != 2) {
+                throw new IllegalArgumentException("Invalid piece: '" + squareAndPiece[1] + "'");
+            }
+            Piece piece = PieceFactory.createPiece(teamAndType[1], Team.valueOf(teamAndType[0]), square, geometry);
+            if (hasMoved) piece.setStateVariable("hasMoved", true);
+            position.placePiece(piece);
+        }
+        position.setSideToMove(parts.length > 1 && parts[1].equalsIgnoreCase("b") ? Team.BLACK : Team.WHITE);
+        if (parts.length > 2 && !parts[2].equals("-")) {
+            BoardPosition enPassant = BoardPosition.fromAlgebraic(parts[2]);
+            if (enPassant == null || !geometry.contains(enPassant)) {
+                throw new IllegalArgumentException("Invalid en passant square: '" + parts[2] + "'");
+            }
+            position.setEnPassantTargetSquare(enPassant);
+        }
+        return position;
+    }
+
+    /** Parses a board size such as "10x10". */
+    private static BoardGeometry parseSize(String size) {
+        String[] widthAndHeight = size.toLowerCase().split("x", 2);
+        try {
+            return BoardGeometry.of(Integer.parseInt(widthAndHeight[0]), Integer.parseInt(widthAndHeight[1]));
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Invalid board size: '" + size + "'", e);
+        }
+    }
+
+    /** One legal move of the side to move, as makeMove takes it. */
+    public static final class Move {
+        public final BoardPosition from;
+        public final BoardPosition to;
+        public final MoveType type;
+
+        Move(BoardPosition from, BoardPosition to, MoveType type) {
+            this.from = from;
+            this.to = to;
+            this.type = type;
+        }
+
+        @Override
+        public String toString() {
+            return from.toAlgebraic() + (type == MoveType.RANGED ? "*" : "") + to.toAlgebraic();
+        }
+    }
+
+    /** Legal moves of the side to move. A target reached by several components is listed once. */
+    public static List<Move> legalMoves(Position position) {
+        MoveBuffer buffer = new MoveBuffer();
+        position.generateLegalMoves(position.getSideToMove(), buffer);
+        BoardGeometry geometry = position.getGeometry();
+        List<Move> moves = new ArrayList<>(buffer.size());
+        for (int i = 0; i < buffer.size(); i++) {
+            moves.add(new Move(geometry.position(buffer.from(i)), geometry.position(buffer.to(i)), buffer.type(i)));
+        }
+        return moves;
+    }
+
+    /** Number of leaf nodes depth plies below the position. The position is left unchanged. */
+    public static long perft(Position position, int depth) {
+        if (depth <= 0) return 1;
+        return perft(position, depth, newBuffers(depth));
+    }
+
+    /** buffers holds one MoveBuffer per remaining ply, so the search itself allocates only undo records. */
+    private static long perft(Position position, int depth, MoveBuffer[] buffers) {
+        MoveBuffer moves = buffers[depth - 1];
+        int count = position.generateLegalMoves(position.getSideToMove(), moves);
+        if (depth == 1) return count;
+        BoardGeometry geometry = position.getGeometry();
+        long nodes = 0;
+        for (int i = 0; i < count; i++) {
+            nodes += playAndCount(position, geometry.position(moves.from(i)), geometry.position(moves.to(i)), moves.type(i), depth - 1, buffers);
+        }
+        return nodes;
+    }
+
+    /**
+     * Perft split by root move. With more than one thread the root moves are counted in parallel,
+     * each on its own copy of the position.
+     * @return Leaf counts keyed by move (e.g. "e2e4", "b1*c3" for a ranged shot), in move name order.
+     */
+    public static Map<String, Long> divide(Position position, int depth, int threads) throws Exception {
+        List<Move> moves = legalMoves(position);
+        Map<String, Long> counts = new TreeMap<>();
+        if (depth <= 0) return counts;
+        if (threads <= 1) {
+            for (Move move : moves) {
+                counts.put(move.toString(), playAndCount(position, move.from, move.to, move.type, depth - 1, newBuffers(depth - 1)));
+            }
+            return counts;
+        }
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<Long>> results = new ArrayList<>();
+            for (Move move : moves) {
+                // Copies are made here, on the calling thread, so workers never read the shared position
+                Position copy = position.copy();
+                results.add(executor.submit(() -> playAndCount(copy, move.from, move.to, move.type, depth - 1, newBuffers(depth - 1))));
+            }
+            for (int i = 0; i < moves.size(); i++) {
+                counts.put(moves.get(i).toString(), results.get(i).get());
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        return counts;
+    }
+
+    private static MoveBuffer[] newBuffers(int depth) {
+        MoveBuffer[] buffers = new MoveBuffer[Math.max(0, depth)];
+        for (int i = 0; i < buffers.length; i++) buffers[i] = new MoveBuffer();
+        return buffers;
+    }
+
+    private static long playAndCount(Position position, BoardPosition from, BoardPosition to, MoveType type, int depth, MoveBuffer[] buffers) {
+        Team side = position.getSideToMove();
+        MoveUndo undo = position.makeMove(from, to, type);
+        if (undo == null) {
+            throw new IllegalStateException("Could not apply generated " + type + " move " + from + " -> " + to);
+        }
+        position.setSideToMove(side.opposite());
+        try {
+            return depth <= 0 ? 1 : perft(position, depth, buffers);
+        } finally {
+            position.unmakeMove(undo);
+            position.setSideToMove(side);
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        int depth = 4;
+        int threads = Runtime.getRuntime().availableProcessors();
+        boolean showDivide = false;
+        List<String> positions = new ArrayList<>();
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "-depth": depth = Integer.parseInt(args[++i]); break;
+                case "-threads": threads = Integer.parseInt(args[++i]); break;
+                case "-position": positions.add(args[++i]); break;
+                case "-divide": showDivide = true; break;
+                default:
+                    System.err.println("Unknown argument: " + args[i]);
+                    System.err.println("Usage: Perft [-depth N] [-threads N] [-divide] [-position <preset|board list> ...]");
+                    System.err.println("Presets: " + PRESETS.keySet());
+                    System.exit(2);
+            }
+        }
+        if (positions.isEmpty()) positions.addAll(PRESETS.keySet());
+
+        for (String description : positions) {
+            Position position = parse(description);
+            long start = System.nanoTime();
+            Map<String, Long> counts = divide(position, depth, threads);
+            long elapsed = System.nanoTime() - start;
+            long total = 0;
+            for (long count : counts.values()) total += count;
+
+            System.out.println("Position: " + (PRESETS.containsKey(description) ? description : "custom") + ", depth " + depth + ", " + threads + " thread(s)");
+            if (showDivide) {
+                for (Map.Entry<String, Long> entry : counts.entrySet()) {
+                    System.out.println("  " + entry.getKey() + ": " + entry.getValue());
+                }
+            }
+            long nodesPerSecond = elapsed > 0 ? (long) (total * 1e9 / elapsed) : 0;
+            System.out.println("  Moves: " + counts.size() + "  Nodes: " + total + "  Time: " + elapsed / 1000000 + " ms  NPS: " + nodesPerSecond);
+        }
+    }
+}
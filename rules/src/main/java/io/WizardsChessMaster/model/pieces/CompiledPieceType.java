@@ -0,0 +1,155 @@
+package io.WizardsChessMaster.model.pieces;
+
+import io.WizardsChessMaster.model.rules.RulesLog;
+import io.WizardsChessMaster.model.BoardPosition;
+import io.WizardsChessMaster.model.Team;
+import io.WizardsChessMaster.model.board.Zobrist;
+import io.WizardsChessMaster.model.pieces.move.MoveComponent;
+import io.WizardsChessMaster.model.pieces.move.MoveComponentFactory;
+import io.WizardsChessMaster.model.pieces.move.MoveComponentFusion;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A PieceConfig with its move components created, initialized and fused (see MoveComponentFusion),
+ * built once per type by PieceFactory.
+ * Components are stateless and shared by every piece of the type, so a ConfigurablePiece only
+ * carries its team, position, state variables and a reference to this object.
+ */
+public final class CompiledPieceType {
+
+    private static final String TAG = "CompiledPieceType";
+
+    public static final String HAS_MOVED = "hasMoved";
+    public static final String JUST_MOVED_TWO_SQUARES = "justMovedTwoSquares";
+    /** State bits shared by every type so engine code can test them without a lookup. */
+    public static final int HAS_MOVED_BIT = 1;
+    public static final int JUST_MOVED_TWO_SQUARES_BIT = 1 << 1;
+    /** State that only lasts one turn; cleared by Position.clearTemporaryPieceFlags. */
+    public static final int TEMPORARY_STATE_MASK = JUST_MOVED_TWO_SQUARES_BIT;
+    private static final int MAX_STATE_BITS = Integer.SIZE;
+
+    private final PieceConfig config;
+    private final int typeId;
+    private final long zobristTypeKey;
+    private final boolean royal;
+    private final boolean pawnLike;
+    private final boolean canCastle;
+    private final boolean castlingPartner;
+    /** State schema: each key's single-bit mask in ConfigurablePiece's packed state. */
+    private final Map<String, Integer> stateKeyBits = new HashMap<>();
+    private int initialStateBits;
+    private int initialStatePresent;
+    private final List<MoveComponent> moveComponents;
+
+    /**
+     * Creates the shared components for a configuration. Components that fail to
+     * initialize are logged and left out, as before.
+     */
+    CompiledPieceType(PieceConfig config, int typeId, MoveComponentFactory compFactory) {
+        if (config == null || compFactory == null) {
+            throw new IllegalArgumentException("Cannot compile piece type with null arguments.");
+        }
+        this.config = config;
+        this.typeId = typeId;
+        this.zobristTypeKey = Zobrist.typeKey(config.typeName);
+        this.royal = config.royal != null ? config.royal : PieceType.KING.name().equals(config.typeName);
+        this.castlingPartner = config.castlingPartner != null ? config.castlingPartner : PieceType.ROOK.name().equals(config.typeName);
+        this.pawnLike = hasComponent(config, "PAWN_FORWARD");
+        this.canCastle = hasComponent(config, "CASTLING");
+        compileStateSchema(config);
+        List<MoveComponent> components = new ArrayList<>();
+        // Components receive a piece of the type at initialization; they must not keep per-piece state
+        ConfigurablePiece owner = new ConfigurablePiece(this, Team.WHITE, BoardPosition.OFF_BOARD);
+        if (config.moveComponents != null) {
+            for (PieceConfig.MoveComponentConfig compConfig : config.moveComponents) {
+                try {
+                    components.add(compFactory.createComponent(compConfig.type, owner, compConfig.params));
+                } catch (Exception e) {
+                    RulesLog.error(TAG, "Failed to create or initialize component type '" + compConfig.type + "' for piece '" + config.typeName + "': " + e.getMessage());
+                }
+            }
+        }
+        List<MoveComponent> fused = MoveComponentFusion.fuse(components);
+        this.moveComponents = Collections.unmodifiableList(fused);
+        RulesLog.debug(TAG, "Compiled piece type: " + config.typeName + " with " + components.size() + " components (" + fused.size() + " after fusion).");
+    }
+
+    /**
+     * Assigns a bit to every state key: hasMoved and justMovedTwoSquares first (fixed bits),
+     * then the remaining initialState keys in name order. Keys beyond 32 are kept in a map by the piece.
+     */
+    private void compileStateSchema(PieceConfig config) {
+        stateKeyBits.put(HAS_MOVED, HAS_MOVED_BIT);
+        stateKeyBits.put(JUST_MOVED_TWO_SQUARES, JUST_MOVED_TWO_SQUARES_BIT);
+        if (config.initialState == null) return;
+        List<String> keys = new ArrayList<>(config.initialState.keySet());
+        Collections.sort(keys);
+        for (String key : keys) {
+            if (key == null) continue;
+            if (!stateKeyBits.containsKey(key)) {
+                if (stateKeyBits.size() >= MAX_STATE_BITS) {
+                    RulesLog.error(TAG, "Piece config '" + config.typeName + "' declares more than " + MAX_STATE_BITS + " state variables; '" + key + "' will not be packed.");
+                    continue;
+                }
+                stateKeyBits.put(key, 1 << stateKeyBits.size());
+            }
+            Boolean value = config.initialState.get(key);
+            if (value == null) {
+                RulesLog.error(TAG, "Invalid non-boolean value found in initialState for key '" + key + "' in config '" + config.typeName + "'. Ignoring.");
+                continue;
+            }
+            int bit = stateKeyBits.get(key);
+            initialStatePresent |= bit;
+            if (value) initialStateBits |= bit;
+        }
+    }
+
+    private static boolean hasComponent(PieceConfig config, String componentType) {
+        if (config.moveComponents == null) return false;
+        for (PieceConfig.MoveComponentConfig compConfig : config.moveComponents) {
+            if (compConfig != null && componentType.equalsIgnoreCase(compConfig.type)) return true;
+        }
+        return false;
+    }
+
+    public PieceConfig getConfig() { return config; }
+    public String getTypeName() { return config.typeName; }
+    /** Dense id assigned by PieceFactory (see PieceFactory.getTypeId). */
+    public int getTypeId() { return typeId; }
+    /** Zobrist.typeKey of the type name, computed once. */
+    public long getZobristTypeKey() { return zobristTypeKey; }
+    /** Losing this piece loses the game: config 'royal', defaulting to true for KING. */
+    public boolean isRoyal() { return royal; }
+    /** Moves like a pawn (has PAWN_FORWARD): double steps, en passant and the justMovedTwoSquares flag apply. */
+    public boolean isPawnLike() { return pawnLike; }
+    /** Has a CASTLING component. */
+    public boolean canCastle() { return canCastle; }
+    /** Can be castled with: config 'castlingPartner', defaulting to true for ROOK. */
+    public boolean isCastlingPartner() { return castlingPartner; }
+    /** See PieceConfig.mateAbility. */
+    public MateAbility getMateAbility() { return config.mateAbility; }
+    /** See PieceConfig.colourBound. */
+    public boolean isColourBound() { return config.colourBound; }
+
+    /**
+     * Single-bit mask of a state key in this type's packed state.
+     * @return The mask, or 0 if the key is not part of the schema.
+     */
+    public int getStateBit(String key) {
+        Integer bit = key != null ? stateKeyBits.get(key) : null;
+        return bit != null ? bit : 0;
+    }
+
+    /** Packed values of the configured initialState (see getStateBit). */
+    public int getInitialStateBits() { return initialStateBits; }
+    /** Keys present in the configured initialState, as a mask. */
+    public int getInitialStatePresent() { return initialStatePresent; }
+
+    /** The shared, initialized components (unmodifiable). */
+    public List<MoveComponent> getMoveComponents() { return moveComponents; }
+}
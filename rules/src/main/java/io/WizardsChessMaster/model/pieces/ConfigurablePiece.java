@@ -0,0 +1,323 @@
+package io.WizardsChessMaster.model.pieces;
+
+import io.WizardsChessMaster.model.rules.RulesLog;
+import io.WizardsChessMaster.model.BoardPosition;
+import io.WizardsChessMaster.model.Position;
+import io.WizardsChessMaster.model.SquareSet;
+import io.WizardsChessMaster.model.Team;
+import io.WizardsChessMaster.model.board.BoardGeometry;
+import io.WizardsChessMaster.model.board.SquareMask;
+import io.WizardsChessMaster.model.board.Zobrist;
+import io.WizardsChessMaster.model.pieces.move.MoveComponent;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+
+/**
+ * A generic Piece implementation driven by external configuration (PieceConfig).
+ * Holds state variables (Booleans) packed into an int according to its CompiledPieceType's
+ * schema, and delegates move logic to the type's MoveComponents, which are shared by all
+ * pieces of the same type.
+ */
+public class ConfigurablePiece implements Piece {
+
+    private static final String TAG = "ConfigurablePiece";
+
+    protected Team team;
+    protected BoardPosition position;
+    protected CompiledPieceType type;
+    protected PieceConfig config;
+    /** Packed state values, one bit per schema key (see CompiledPieceType.getStateBit). */
+    protected int stateBits;
+    /** Which schema keys are set; a key that is absent reads as null. */
+    protected int statePresent;
+    /** Keys outside the type's schema, created on first use (rare). */
+    protected Map<String, Boolean> extraState;
+
+    // --- Cached Move Sets ---
+    // Last results of getValidMoveSet/getAttackSet, valid while the position they were computed in
+    // has the same version (Position.getVersion) and this piece hasn't moved or changed state.
+    private Position movesPosition;
+    private long movesVersion;
+    private SquareSet cachedMoves;
+    private Position attacksPosition;
+    private long attacksVersion;
+    private SquareSet cachedAttacks;
+
+    public ConfigurablePiece() {
+    }
+
+    /** Creates an unconfigured piece of a type (no initial state applied), used for component initialization. */
+    ConfigurablePiece(CompiledPieceType type, Team team, BoardPosition position) {
+        this();
+        this.type = type;
+        this.config = type.getConfig();
+        this.team = team;
+        this.position = position;
+    }
+
+    /**
+     * Configures the piece based on its compiled type. Called by PieceFactory.
+     * @param geometry The board the piece is placed on, which decides the castling start squares.
+     */
+    public void configure(CompiledPieceType type, Team team, BoardPosition position, BoardGeometry geometry) {
+        if (type == null || team == null || position == null) {
+            throw new IllegalArgumentException("Cannot configure piece with null arguments.");
+        }
+        this.type = type;
+        this.config = type.getConfig();
+        this.team = team;
+        this.position = position;
+
+        this.stateBits = type.getInitialStateBits();
+        this.statePresent = type.getInitialStatePresent();
+        this.extraState = null;
+
+        adjustInitialStateBasedOnPosition(position, team, geometry != null ? geometry : BoardGeometry.STANDARD);
+    }
+
+    /** Adjusts the initial 'hasMoved' state based on standard chess starting positions (e1/a1/h1 on the home files). */
+    private void adjustInitialStateBasedOnPosition(BoardPosition startPos, Team startTeam, BoardGeometry geometry) {
+        if (hasState(CompiledPieceType.HAS_MOVED_BIT)) {
+            boolean standardStart = false;
+            int startRank = geometry.getBackRank(startTeam);
+
+            if (canCastle()) {
+                standardStart = (startPos.getY() == startRank && startPos.getX() == geometry.getHomeFile(4));
+            } else if (isCastlingPartner()) {
+                standardStart = (startPos.getY() == startRank && (startPos.getX() == geometry.getHomeFile(0) || startPos.getX() == geometry.getHomeFile(BoardGeometry.HOME_FILES - 1)));
+            } else {
+                standardStart = !isStateSet(CompiledPieceType.HAS_MOVED_BIT);
+            }
+            if (!standardStart || Boolean.TRUE.equals(config.initialState.get(CompiledPieceType.HAS_MOVED))) {
+                if (!isPawnLike()) {
+                    setState(CompiledPieceType.HAS_MOVED_BIT, true);
+                }
+            }
+        }
+
+        if (isPawnLike()) {
+            if (!hasState(CompiledPieceType.JUST_MOVED_TWO_SQUARES_BIT)) {
+                setState(CompiledPieceType.JUST_MOVED_TWO_SQUARES_BIT, false);
+            }
+        } else if (hasState(CompiledPieceType.JUST_MOVED_TWO_SQUARES_BIT)) {
+            setState(CompiledPieceType.JUST_MOVED_TWO_SQUARES_BIT, false);
+        }
+    }
+
+
+    // --- Piece Interface Implementation ---
+
+    @Override public String getTypeName() { return config != null ? config.typeName : "UNKNOWN"; }
+    @Override public int getTypeId() { return type != null ? type.getTypeId() : -1; }
+    @Override public long getZobristTypeKey() { return type != null ? type.getZobristTypeKey() : Zobrist.typeKey(getTypeName()); }
+    @Override public boolean isRoyal() { return type != null && type.isRoyal(); }
+    @Override public boolean isPawnLike() { return type != null && type.isPawnLike(); }
+    @Override public boolean canCastle() { return type != null && type.canCastle(); }
+    @Override public boolean isCastlingPartner() { return type != null && type.isCastlingPartner(); }
+    @Override public MateAbility getMateAbility() { return type != null ? type.getMateAbility() : MateAbility.FORCED; }
+    @Override public boolean isColourBound() { return type != null && type.isColourBound(); }
+    @Override public Team getTeam() { return team; }
+    @Override public BoardPosition getPosition() { return position; }
+    @Override public void setPosition(BoardPosition position) { this.position = position; clearCachedSets(); }
+
+    /** Legal targets of the piece, reused until the position's version or the piece itself changes. */
+    @Override
+    public SquareSet getValidMoveSet(Position game) {
+        if (game == null || team == null) return SquareSet.EMPTY;
+        long version = game.getVersion();
+        if (cachedMoves != null && movesPosition == game && movesVersion == version) return cachedMoves;
+        SquareMask moves = new SquareMask(game.getGeometry());
+        game.getLegalMoveGenerator(team).legalMoves(this, moves);
+        cachedMoves = SquareSet.of(moves);
+        movesPosition = game;
+        movesVersion = version;
+        return cachedMoves;
+    }
+
+    /** Attacked squares of the piece, reused like getValidMoveSet. */
+    @Override
+    public SquareSet getAttackSet(Position game) {
+        long version = game.getVersion();
+        if (cachedAttacks != null && attacksPosition == game && attacksVersion == version) return cachedAttacks;
+        SquareMask attacks = new SquareMask(game.getGeometry());
+        addAttacks(game, attacks);
+        cachedAttacks = SquareSet.of(attacks);
+        attacksPosition = game;
+        attacksVersion = version;
+        return cachedAttacks;
+    }
+
+    private void clearCachedSets() {
+        cachedMoves = null;
+        movesPosition = null;
+        cachedAttacks = null;
+        attacksPosition = null;
+    }
+
+    @Override
+    public List<MoveComponent> getMoveComponents() {
+        return type != null ? type.getMoveComponents() : Collections.emptyList();
+    }
+
+    @Override
+    public void addAttacks(Position game, SquareMask result) {
+        List<MoveComponent> components = getMoveComponents();
+        for (int i = 0, n = components.size(); i < n; i++) {
+            MoveComponent component = components.get(i);
+            try {
+                component.addAttacks(this, game, result);
+            } catch (Exception e) {
+                RulesLog.error(TAG, "Error getting attack mask from component " + component.getIdentifier() + " for piece " + getTypeName(), e);
+            }
+        }
+    }
+
+    @Override public String getAssetPath() {
+        if (config == null || config.assetBaseName == null) return "pieces/white_pawn.png";
+        String colorPrefix = (team == Team.BLACK) ? "black_" : "white_";
+        return "pieces/" + colorPrefix + config.assetBaseName + ".png";
+    }
+    @Override public int getPointValue() { return config != null ? config.pointCost : 0; }
+    @Override public String getDisplayName() { return config != null ? config.displayName : "Unknown"; }
+    @Override public String getDescription() { return config != null ? config.description : ""; }
+    @Override public void onCapture(Piece capturedPiece) {
+        RulesLog.debug(TAG, getTypeName() + " at " + getPosition() + " captured " + capturedPiece.getTypeName() + " at " + capturedPiece.getPosition());
+    }
+
+    /** Updates the piece's position and modifies relevant state variables (Booleans). */
+    @Override
+    public void onMove(BoardPosition newPosition) {
+        BoardPosition oldPosition = this.position;
+        setPosition(newPosition);
+
+        if (hasState(CompiledPieceType.HAS_MOVED_BIT)) {
+            setState(CompiledPieceType.HAS_MOVED_BIT, true);
+        }
+
+        if (isPawnLike() && hasState(CompiledPieceType.JUST_MOVED_TWO_SQUARES_BIT)) {
+            boolean wasFirstMove = oldPosition != null && Math.abs(newPosition.getY() - oldPosition.getY()) == 2;
+            setState(CompiledPieceType.JUST_MOVED_TWO_SQUARES_BIT, wasFirstMove);
+        } else if (hasState(CompiledPieceType.JUST_MOVED_TWO_SQUARES_BIT)) {
+            setState(CompiledPieceType.JUST_MOVED_TWO_SQUARES_BIT, false);
+        }
+    }
+
+    /** Creates a copy of this piece with its own state; the compiled type is shared. */
+    @Override
+    public Piece copy() {
+        if (this.type == null) {
+            RulesLog.error(TAG, "Cannot copy piece - configuration is null!");
+            return new ConfigurablePiece();
+        }
+        ConfigurablePiece newPiece = new ConfigurablePiece(this.type, this.team, this.position);
+        newPiece.stateBits = this.stateBits;
+        newPiece.statePresent = this.statePresent;
+        newPiece.extraState = this.extraState != null ? new HashMap<>(this.extraState) : null;
+        return newPiece;
+    }
+
+    @Override
+    public boolean clearTemporaryState() {
+        boolean changed = (stateBits & CompiledPieceType.TEMPORARY_STATE_MASK) != 0;
+        stateBits &= ~CompiledPieceType.TEMPORARY_STATE_MASK;
+        if (changed) clearCachedSets();
+        return changed;
+    }
+
+    // --- Packed State ---
+
+    private boolean hasState(int bit) { return (statePresent & bit) != 0; }
+    private boolean isStateSet(int bit) { return (stateBits & bit) != 0; }
+
+    private void setState(int bit, boolean value) {
+        statePresent |= bit;
+        stateBits = value ? (stateBits | bit) : (stateBits & ~bit);
+        clearCachedSets();
+    }
+
+    /** The packed state (which keys are set, then their values), plus the rare keys outside the schema. */
+    @Override
+    public long getStateKey() {
+        long key = ((long) statePresent << 32) | (stateBits & 0xFFFFFFFFL);
+        return extraState != null ? key ^ (long) extraState.hashCode() * 0x9E3779B97F4A7C15L : key;
+    }
+
+    private int stateBit(String key) {
+        return type != null ? type.getStateBit(key) : 0;
+    }
+
+    // --- State Variable Access (compatibility layer over the packed state) ---
+
+    @Override
+    public Object getStateVariable(String key) {
+        return getBooleanStateVariable(key);
+    }
+
+    /** Gets a state variable known to be a Boolean. */
+    public Boolean getBooleanStateVariable(String key) {
+        int bit = stateBit(key);
+        if (bit != 0) {
+            return hasState(bit) ? Boolean.valueOf(isStateSet(bit)) : null;
+        }
+        return extraState != null ? extraState.get(key) : null;
+    }
+
+
+    @Override
+    public void setStateVariable(String key, Object value) {
+        if (key != null) {
+            if (value instanceof Boolean || value == null) {
+                setBooleanStateVariable(key, (Boolean) value);
+            } else {
+                RulesLog.error(TAG,"Attempted to set non-Boolean state variable '" + key + "' with type " + value.getClass().getName() + ". Ignoring.");
+            }
+        }
+    }
+
+    /** Sets a Boolean state variable; null removes it. */
+    public void setBooleanStateVariable(String key, Boolean value) {
+        if (key == null) return;
+        clearCachedSets();
+        int bit = stateBit(key);
+        if (bit != 0) {
+            if (value == null) {
+                statePresent &= ~bit;
+                stateBits &= ~bit;
+            } else {
+                setState(bit, value);
+            }
+        } else if (value == null) {
+            if (extraState != null) extraState.remove(key);
+        } else {
+            if (extraState == null) extraState = new HashMap<>();
+            extraState.put(key, value);
+        }
+    }
+
+
+    @Override
+    public String toString() {
+        return (team != null ? team.name() : "NO_TEAM") + "_" + getTypeName() + " at " + position;
+    }
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        ConfigurablePiece that = (ConfigurablePiece) o;
+        return team == that.team &&
+                Objects.equals(position, that.position) &&
+                Objects.equals(config, that.config) &&
+                stateBits == that.stateBits &&
+                statePresent == that.statePresent &&
+                Objects.equals(extraState, that.extraState);
+    }
+    @Override
+    public int hashCode() {
+        return Objects.hash(team, position, config, stateBits, statePresent, extraState);
+    }
+}
\ No newline at end of file
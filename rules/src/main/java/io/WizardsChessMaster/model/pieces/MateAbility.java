@@ -0,0 +1,14 @@
+package io.WizardsChessMaster.model.pieces;
+
+/**
+ * What a single piece of a type can do against a lone king with only its own king to help,
+ * as found by MaterialAnalysis when the type is loaded.
+ */
+public enum MateAbility {
+    /** No checkmate exists at all (e.g. a Knight or Bishop), so the material alone is a dead draw. */
+    NONE,
+    /** Checkmates exist, but the defender can avoid them from most positions. */
+    HELPMATE_ONLY,
+    /** Mates by force from most positions (e.g. a Rook or Queen). */
+    FORCED
+}
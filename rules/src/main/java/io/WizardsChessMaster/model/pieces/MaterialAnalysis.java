@@ -0,0 +1,166 @@
+package io.WizardsChessMaster.model.pieces;
+
+import io.WizardsChessMaster.model.Position;
+import io.WizardsChessMaster.model.Team;
+import io.WizardsChessMaster.model.board.BitBoard;
+import io.WizardsChessMaster.model.board.BoardGeometry;
+import io.WizardsChessMaster.model.board.SquareMask;
+
+/**
+ * Retrograde analysis of king + one piece against a lone king on a small (6x6) board, run once per
+ * piece type by PieceFactory to classify its MateAbility and whether it is colour-bound.
+ *
+ * The piece's attacks and moves are taken from its real components for every placement of the
+ * piece and the white king (1260 placements; the black king only matters as a blocker, see below).
+ * The 46656 (piece, white king, black king) states are then solved backwards from the mates:
+ * a white-to-move state is won if some move reaches a lost black-to-move state, and a black state
+ * is lost once every king move leads to a won white state. Capturing the piece draws.
+ *
+ * The black king is left out of the tables: it never blocks an attack on the square it moves to
+ * (it has left its own square), and a slide "through" it can only start from a state where it is
+ * already in check with white to move, which is illegal and never considered.
+ */
+final class MaterialAnalysis {
+
+    /** Board side: big enough for every mating pattern of a single piece, small enough to solve in milliseconds. */
+    private static final int SIZE = 6;
+    private static final int SQUARES = SIZE * SIZE;
+    /** State index: piece square << 12 | white king << 6 | black king (six bits each). */
+    private static final int STATES = 1 << 18;
+
+    final MateAbility mateAbility;
+    /** Whether every move and attack keeps to the square colour the piece stands on (like a Bishop). */
+    final boolean colourBound;
+
+    private MaterialAnalysis(MateAbility mateAbility, boolean colourBound) {
+        this.mateAbility = mateAbility;
+        this.colourBound = colourBound;
+    }
+
+    /** Analyses a white piece of the given type, supported by a white piece of the king type. */
+    static MaterialAnalysis analyze(String typeName, String kingTypeName) {
+        return new Solver(typeName, kingTypeName).solve();
+    }
+
+    private static final class Solver {
+        private final BoardGeometry geometry = BoardGeometry.of(SIZE, SIZE);
+        /** attacks[x * SQUARES + wk] and moves[...]: the piece on x with the white king on wk. */
+        private final long[] attacks = new long[SQUARES * SQUARES];
+        private final long[] moves = new long[SQUARES * SQUARES];
+        /** reverse[to * SQUARES + wk]: the squares the piece can move to `to` from. */
+        private final long[] reverse = new long[SQUARES * SQUARES];
+        private final long[] kingSteps = new long[SQUARES];
+        /** Per black-to-move state: king moves not yet known to lose, or -1 if it can't lose (illegal, or the piece can be taken). */
+        private final byte[] degree = new byte[STATES];
+        private final boolean[] won = new boolean[STATES];
+        /** Lost black-to-move states, in the order found. */
+        private final int[] queue = new int[SQUARES * SQUARES * SQUARES];
+        private int tail;
+        private boolean colourBound = true;
+
+        Solver(String typeName, String kingTypeName) {
+            Position position = new Position(geometry);
+            BitBoard board = position.getBoard();
+            Piece piece = PieceFactory.createPiece(typeName, Team.WHITE, geometry.position(0), geometry);
+            Piece king = PieceFactory.createPiece(kingTypeName, Team.WHITE, geometry.position(0), geometry);
+            SquareMask mask = new SquareMask(geometry);
+            long[] colours = new long[2];
+            for (int square = 0; square < SQUARES; square++) {
+                colours[colour(square)] |= 1L << square;
+                for (int dx = -1; dx <= 1; dx++) {
+                    for (int dy = -1; dy <= 1; dy++) {
+                        int target = geometry.index(geometry.fileOf(square) + dx, geometry.rankOf(square) + dy);
+                        if (target >= 0 && target != square) kingSteps[square] |= 1L << target;
+                    }
+                }
+            }
+            for (int x = 0; x < SQUARES; x++) {
+                piece.setPosition(geometry.position(x));
+                board.put(x, piece);
+                for (int wk = 0; wk < SQUARES; wk++) {
+                    if (wk == x) continue;
+                    int index = x * SQUARES + wk;
+                    king.setPosition(geometry.position(wk));
+                    board.put(wk, king);
+                    piece.addAttacks(position, mask.clear());
+                    attacks[index] = mask.word(0);
+                    position.getLegalMoveGenerator(Team.WHITE).legalMoves(piece, mask.clear());
+                    moves[index] = mask.word(0);
+                    board.remove(wk);
+                    colourBound &= ((attacks[index] | moves[index]) & colours[1 - colour(x)]) == 0;
+                    for (long targets = moves[index]; targets != 0; targets &= targets - 1) {
+                        reverse[Long.numberOfTrailingZeros(targets) * SQUARES + wk] |= 1L << x;
+                    }
+                }
+                board.remove(x);
+            }
+        }
+
+        MaterialAnalysis solve() {
+            int mates = 0;
+            int whiteStates = 0;
+            for (int x = 0; x < SQUARES; x++) {
+                for (int wk = 0; wk < SQUARES; wk++) {
+                    long attacked = attacks[x * SQUARES + wk];
+                    for (int bk = 0; bk < SQUARES; bk++) {
+                        int state = state(x, wk, bk);
+                        if (!isLegal(x, wk, bk)) { degree[state] = -1; continue; }
+                        boolean check = (attacked & (1L << bk)) != 0;
+                        if (!check) whiteStates++;
+                        long escapes = kingSteps[bk] & ~kingSteps[wk] & ~attacked & ~(1L << wk);
+                        if ((escapes & (1L << x)) != 0) { degree[state] = -1; continue; }
+                        degree[state] = (byte) Long.bitCount(escapes);
+                        if (degree[state] == 0 && check) {
+                            queue[tail++] = state;
+                            mates++;
+                        }
+                    }
+                }
+            }
+            // Won from more than half of the positions: stop there, the rest can't change the class
+            int wins = 0;
+            for (int head = 0; head < tail && wins * 2L <= whiteStates; head++) {
+                int lost = queue[head];
+                int x = lost >>> 12, wk = (lost >>> 6) & 63, bk = lost & 63;
+                long occupied = (1L << x) | (1L << wk) | (1L << bk);
+                // White's last move was the piece to x or the king to wk
+                for (long from = reverse[x * SQUARES + wk] & ~occupied; from != 0; from &= from - 1) {
+                    if (markWon(Long.numberOfTrailingZeros(from), wk, bk)) wins++;
+                }
+                for (long from = kingSteps[wk] & ~occupied & ~kingSteps[bk]; from != 0; from &= from - 1) {
+                    if (markWon(x, Long.numberOfTrailingZeros(from), bk)) wins++;
+                }
+            }
+            MateAbility ability = mates == 0 ? MateAbility.NONE : (wins * 2L > whiteStates ? MateAbility.FORCED : MateAbility.HELPMATE_ONLY);
+            return new MaterialAnalysis(ability, colourBound);
+        }
+
+        /**
+         * Marks a white-to-move state as won and counts it against every black state whose king move
+         * leads to it, queueing those left without a safe move. False if it is illegal or already won.
+         */
+        private boolean markWon(int x, int wk, int bk) {
+            int state = state(x, wk, bk);
+            if (won[state] || !isLegal(x, wk, bk) || (attacks[x * SQUARES + wk] & (1L << bk)) != 0) return false;
+            won[state] = true;
+            for (long from = kingSteps[bk] & ~kingSteps[wk] & ~(1L << x) & ~(1L << wk); from != 0; from &= from - 1) {
+                int previous = state(x, wk, Long.numberOfTrailingZeros(from));
+                if (degree[previous] > 0 && --degree[previous] == 0) queue[tail++] = previous;
+            }
+            return true;
+        }
+
+        private static int state(int x, int wk, int bk) {
+            return (x << 12) | (wk << 6) | bk;
+        }
+
+        /** Three distinct squares with the kings not touching. */
+        private boolean isLegal(int x, int wk, int bk) {
+            return x != wk && x != bk && wk != bk && (kingSteps[wk] & (1L << bk)) == 0;
+        }
+
+        private int colour(int square) {
+            return (geometry.fileOf(square) + geometry.rankOf(square)) & 1;
+        }
+    }
+}
@@ -1,9 +1,15 @@
 package io.WizardsChessMaster.model.pieces;
 
 import io.WizardsChessMaster.model.BoardPosition;
-import io.WizardsChessMaster.model.GameModel;
+import io.WizardsChessMaster.model.Position;
+import io.WizardsChessMaster.model.SquareSet;
 import io.WizardsChessMaster.model.Team;
+import io.WizardsChessMaster.model.board.SquareMask;
+import io.WizardsChessMaster.model.board.Zobrist;
+import io.WizardsChessMaster.model.pieces.move.MoveComponent;
 
+import java.util.List;
+import java.util.Objects;
 import java.util.Set;
 
 /**
@@ -36,7 +42,7 @@ public interface Piece {
     /**
      * Sets the position of the piece. Implementations should handle
      * internal state changes related to movement (e.g., 'hasMoved' for Pawn/King/Rook).
-     * This is primarily called by the GameModel during move execution or setup.
+     * This is primarily called by the Position during move execution or setup.
      * Use onMove for game-triggered moves.
      * @param position The new BoardPosition.
      */
@@ -44,27 +50,136 @@ public interface Piece {
 
     /**
      * Calculates all valid moves for this piece from its current position,
-     * considering the board state provided by the GameModel.
+     * considering the board state provided by the Position.
      * This includes standard moves and captures. Special moves like castling
      * or en passant should be handled within the specific piece implementation
      * (likely via configured MoveComponents).
      * Crucially, this method *must not* return moves that leave the piece's own King in check.
      *
-     * @param gameModel The current state of the game, used to check board bounds,
+     * @param game The current state of the game, used to check board bounds,
      * occupied squares, and king safety.
+     * @return A SquareSet of valid target squares.
+     */
+    SquareSet getValidMoveSet(Position game);
+
+    /**
+     * Same squares as getValidMoveSet, as a mutable Set.
+     *
+     * @param game The current state of the game.
      * @return A Set of valid target BoardPositions.
      */
-    Set<BoardPosition> getValidMoves(GameModel gameModel);
+    default Set<BoardPosition> getValidMoves(Position game) {
+        return getValidMoveSet(game).toSet();
+    }
 
     /**
      * Calculates all squares this piece attacks, irrespective of whether moving there
      * would put its own king in check. Used for check detection against the opponent.
      * Pawns attack differently than they move. Relies on MoveComponents.
      *
-     * @param gameModel The current state of the game.
+     * @param game The current state of the game.
      * @return A set of attacked BoardPositions.
      */
-    Set<BoardPosition> getAttackedSquares(GameModel gameModel);
+    default Set<BoardPosition> getAttackedSquares(Position game) {
+        return getAttackSet(game).toSet();
+    }
+
+    /**
+     * Same squares as getAttackedSquares, as an immutable SquareSet.
+     *
+     * @param game The current state of the game.
+     * @return A SquareSet of attacked squares.
+     */
+    default SquareSet getAttackSet(Position game) {
+        SquareMask attacks = new SquareMask(game.getGeometry());
+        addAttacks(game, attacks);
+        return SquareSet.of(attacks);
+    }
+
+    /**
+     * Adds the same squares as getAttackedSquares to a bitboard (bit = Position.squareIndex).
+     * Used by check detection, which only needs to test membership.
+     *
+     * @param game The current state of the game.
+     * @param result Mask of the position's board size to add to; existing squares are kept.
+     */
+    void addAttacks(Position game, SquareMask result);
+
+    /**
+     * Dense integer id of this piece's type, for array indexing and cheap comparisons.
+     * @return The id assigned by PieceFactory, or -1 for unknown types.
+     */
+    default int getTypeId() {
+        return PieceFactory.getTypeId(getTypeName());
+    }
+
+    /** Per-type part of this piece's Zobrist keys (see Zobrist.typeKey), stable across app versions. */
+    default long getZobristTypeKey() {
+        return Zobrist.typeKey(getTypeName());
+    }
+
+    /** Whether this piece is a king for check and checkmate purposes. */
+    default boolean isRoyal() {
+        return PieceType.KING.name().equals(getTypeName());
+    }
+
+    /** Whether this piece moves like a pawn (double step, en passant, justMovedTwoSquares). */
+    default boolean isPawnLike() {
+        return PieceType.PAWN.name().equals(getTypeName());
+    }
+
+    /** Whether this piece can castle. */
+    default boolean canCastle() {
+        return PieceType.KING.name().equals(getTypeName());
+    }
+
+    /** Whether a castling piece may castle with this one. */
+    default boolean isCastlingPartner() {
+        return PieceType.ROOK.name().equals(getTypeName());
+    }
+
+    /** What this piece and its king can do against a lone king (see MaterialAnalysis). */
+    default MateAbility getMateAbility() {
+        PieceConfig config = PieceFactory.getConfig(getTypeName());
+        return config != null ? config.mateAbility : MateAbility.FORCED;
+    }
+
+    /**
+     * Summary of this piece's state variables for cache keys (see PositionAnalysis.keyOf): equal
+     * state gives equal values, and a change to a variable the moves depend on changes the value.
+     * The default covers the standard variables; pieces with more state should override it.
+     */
+    default long getStateKey() {
+        return 31L * Objects.hashCode(getStateVariable("hasMoved")) + Objects.hashCode(getStateVariable("justMovedTwoSquares"));
+    }
+
+    /** Whether this piece only ever moves to and attacks squares of the colour it stands on. */
+    default boolean isColourBound() {
+        PieceConfig config = PieceFactory.getConfig(getTypeName());
+        return config != null && config.colourBound;
+    }
+
+    /**
+     * Clears state that only lasts one turn (justMovedTwoSquares), called for every piece
+     * by Position.clearTemporaryPieceFlags.
+     * @return true if any state was actually cleared.
+     */
+    default boolean clearTemporaryState() {
+        if (!isPawnLike() || !Boolean.TRUE.equals(getStateVariable("justMovedTwoSquares"))) return false;
+        setStateVariable("justMovedTwoSquares", false);
+        return true;
+    }
+
+    /**
+     * The move components this piece's moves and attacks are built from, used by
+     * LegalMoveGenerator to analyse pins and checks.
+     *
+     * @return The components, or null if the piece is not component-based
+     * (its moves are then taken from getValidMoveSet as they are).
+     */
+    default List<MoveComponent> getMoveComponents() {
+        return null;
+    }
 
     /**
      * Gets the path to the asset (texture/image) used to render this specific piece
@@ -0,0 +1,159 @@
+package io.WizardsChessMaster.model.pieces;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+import io.WizardsChessMaster.model.rules.ConfigJson;
+
+/**
+ * Represents the configuration data for a piece type, loaded from an external source (e.g., JSON).
+ * Uses specific HashMap types (String, Boolean/Integer) for fields to aid deserialization.
+ * Bound from parsed JSON by fromJson.
+ */
+public class PieceConfig {
+
+    public static class MoveComponentConfig {
+        public String type;
+        public HashMap<String, Integer> params;
+
+        public MoveComponentConfig() {
+            this.params = new HashMap<>();
+        }
+
+        // Constructor updated
+        public MoveComponentConfig(String type, Map<String, Integer> params) {
+            this.type = type;
+            this.params = (params != null) ? new HashMap<>(params) : new HashMap<>();
+        }
+
+        /** Binds one entry of the "moveComponents" array. Params must be numbers. */
+        static MoveComponentConfig fromJson(Map<String, Object> json) {
+            MoveComponentConfig config = new MoveComponentConfig();
+            config.type = ConfigJson.getString(json, "type");
+            Map<String, Object> params = ConfigJson.getObject(json, "params");
+            if (params != null) {
+                for (String key : params.keySet()) {
+                    config.params.put(key, ConfigJson.getInt(params, key, 0));
+                }
+            }
+            return config;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+            MoveComponentConfig that = (MoveComponentConfig) o;
+            return Objects.equals(type, that.type) && Objects.equals(params, that.params);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(type, params);
+        }
+
+        @Override
+        public String toString() {
+            return "MoveComponentConfig{" +
+                    "type='" + type + '\'' +
+                    ", params=" + params +
+                    '}';
+        }
+    }
+
+    public String typeName;
+    public int pointCost;
+    public String displayName;
+    public String description;
+    public String assetBaseName;
+    /** Optional: whether losing this piece loses the game (defaults to true for KING). */
+    public Boolean royal;
+    /** Optional: whether a castling piece may castle with this one (defaults to true for ROOK). */
+    public Boolean castlingPartner;
+    public HashMap<String, Boolean> initialState;
+    public List<MoveComponentConfig> moveComponents;
+    /**
+     * Derived at load, not read from JSON (see MaterialAnalysis): whether king and this piece can
+     * mate a lone king, and whether its moves and attacks keep to one square colour. The defaults
+     * (FORCED, not colour-bound) never declare a draw for a type that wasn't analysed.
+     */
+    public MateAbility mateAbility = MateAbility.FORCED;
+    public boolean colourBound;
+
+    public PieceConfig() {
+        this.initialState = new HashMap<>();
+        this.moveComponents = new ArrayList<>();
+    }
+
+    /**
+     * Binds a parsed piece configuration file (see ConfigJson).
+     * @throws IllegalArgumentException if a field has the wrong JSON type.
+     */
+    @SuppressWarnings("unchecked")
+    public static PieceConfig fromJson(Map<String, Object> json) {
+        PieceConfig config = new PieceConfig();
+        config.typeName = ConfigJson.getString(json, "typeName");
+        config.pointCost = ConfigJson.getInt(json, "pointCost", 0);
+        config.displayName = ConfigJson.getString(json, "displayName");
+        config.description = ConfigJson.getString(json, "description");
+        config.assetBaseName = ConfigJson.getString(json, "assetBaseName");
+        config.royal = ConfigJson.getBoolean(json, "royal");
+        config.castlingPartner = ConfigJson.getBoolean(json, "castlingPartner");
+
+        Map<String, Object> state = ConfigJson.getObject(json, "initialState");
+        if (state != null) {
+            for (String key : state.keySet()) {
+                config.initialState.put(key, ConfigJson.getBoolean(state, key));
+            }
+        }
+        List<Object> components = ConfigJson.getArray(json, "moveComponents");
+        if (components != null) {
+            for (Object component : components) {
+                if (!(component instanceof Map)) {
+                    throw new IllegalArgumentException("Entries of 'moveComponents' must be objects.");
+                }
+                config.moveComponents.add(MoveComponentConfig.fromJson((Map<String, Object>) component));
+            }
+        }
+        return config;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        PieceConfig that = (PieceConfig) o;
+        return pointCost == that.pointCost &&
+                Objects.equals(typeName, that.typeName) &&
+                Objects.equals(displayName, that.displayName) &&
+                Objects.equals(description, that.description) &&
+                Objects.equals(assetBaseName, that.assetBaseName) &&
+                Objects.equals(royal, that.royal) &&
+                Objects.equals(castlingPartner, that.castlingPartner) &&
+                Objects.equals(initialState, that.initialState) &&
+                Objects.equals(moveComponents, that.moveComponents);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(typeName, pointCost, displayName, description, assetBaseName, royal, castlingPartner, initialState, moveComponents);
+    }
+
+    @Override
+    public String toString() {
+        return "PieceConfig{" +
+                "typeName='" + typeName + '\'' +
+                ", pointCost=" + pointCost +
+                ", displayName='" + displayName + '\'' +
+                ", description='" + description + '\'' +
+                ", assetBaseName='" + assetBaseName + '\'' +
+                ", royal=" + royal +
+                ", castlingPartner=" + castlingPartner +
+                ", initialState=" + initialState +
+                ", moveComponents=" + moveComponents +
+                '}';
+    }
+}
@@ -0,0 +1,251 @@
+package io.WizardsChessMaster.model.pieces;
+
+import java.util.ArrayList;
+
+import io.WizardsChessMaster.model.BoardPosition;
+import io.WizardsChessMaster.model.Team;
+import io.WizardsChessMaster.model.board.BoardGeometry;
+import io.WizardsChessMaster.model.pieces.move.MoveComponentFactory;
+import io.WizardsChessMaster.model.rules.ConfigJson;
+import io.WizardsChessMaster.model.rules.FileConfigSource;
+import io.WizardsChessMaster.model.rules.RulesLog;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Factory for creating Piece instances based on external JSON configurations.
+ * Loads configurations from the 'pieces/' directory of the installed ConfigSource at startup.
+ * The registries are built once in the static initializer and never modified afterwards,
+ * so every lookup here is safe from any thread without locking.
+ */
+public class PieceFactory {
+
+    private static final String TAG = "PieceFactory";
+    private static final String CONFIG_DIR = "pieces/";
+
+    private static final MoveComponentFactory moveComponentFactory = new MoveComponentFactory();
+    private static final Map<String, PieceConfig> pieceConfigs;
+    private static final Map<String, Integer> pieceTypeIds;
+    private static final Map<String, CompiledPieceType> compiledTypes;
+    private static final Map<String, Piece> piecePrototypes;
+
+    static {
+        RulesLog.log(TAG, "Initializing PieceFactory by loading configurations...");
+        pieceConfigs = Collections.unmodifiableMap(loadPieceConfigurations());
+        pieceTypeIds = Collections.unmodifiableMap(assignPieceTypeIds());
+        compiledTypes = Collections.unmodifiableMap(compilePieceTypes());
+        piecePrototypes = Collections.unmodifiableMap(createPrototypes());
+        classifyMaterial();
+        RulesLog.log(TAG, "PieceFactory initialized. Loaded " + pieceConfigs.size() + " piece configurations.");
+    }
+
+    /**
+     * Loads all .json files from the pieces directory and parses them into PieceConfig objects.
+     */
+    private static Map<String, PieceConfig> loadPieceConfigurations() {
+        Map<String, PieceConfig> configs = new HashMap<>();
+        try {
+            Map<String, String> files = FileConfigSource.getDefault().readAll(CONFIG_DIR, ".json");
+            RulesLog.log(TAG, "Found " + files.size() + " potential JSON config files in " + CONFIG_DIR);
+
+            for (Map.Entry<String, String> file : files.entrySet()) {
+                try {
+                    RulesLog.debug(TAG, "Attempting to load config: " + file.getKey());
+                    PieceConfig config = PieceConfig.fromJson(ConfigJson.parseObject(file.getValue()));
+
+                    if (config.typeName == null || config.typeName.trim().isEmpty()) {
+                        RulesLog.error(TAG, "Skipping config file " + file.getKey() + ": Missing or empty typeName.");
+                        continue;
+                    }
+
+                    String typeNameUpper = config.typeName.toUpperCase();
+                    if (configs.containsKey(typeNameUpper)) {
+                        RulesLog.error(TAG, "Warning: Duplicate piece typeName '" + typeNameUpper + "' found in " + file.getKey() + ". Skipping this file.");
+                    } else {
+                        // Basic validation
+                        if (config.assetBaseName == null || config.assetBaseName.trim().isEmpty()) {
+                            RulesLog.error(TAG, "Warning: Piece config '" + typeNameUpper + "' is missing 'assetBaseName'.");
+                        }
+                        configs.put(typeNameUpper, config);
+                        RulesLog.log(TAG, "Loaded piece configuration: '" + typeNameUpper + "' from " + file.getKey());
+                    }
+                } catch (IllegalArgumentException e) {
+                    RulesLog.error(TAG, "Error parsing piece config file: " + file.getKey(), e);
+                    // Log details that might help debug JSON structure vs PieceConfig class
+                    RulesLog.error(TAG, "Check JSON structure matches PieceConfig.java, including value types for 'initialState' (Boolean values) and 'params' (Integer values).");
+                } catch (Exception e) {
+                    RulesLog.error(TAG, "Unexpected error loading piece config file: " + file.getKey(), e);
+                }
+            }
+        } catch (Exception e) {
+            RulesLog.error(TAG, "Error accessing piece configuration directory: " + CONFIG_DIR, e);
+        }
+        if (configs.isEmpty()) {
+            RulesLog.error(TAG, "No piece configurations were successfully loaded! Check JSON files and directory.");
+        }
+        return configs;
+    }
+
+    /**
+     * Assigns dense integer ids (0..n-1) to the loaded piece types, in type name order so that
+     * every client derives the same ids from the same set of configurations. Ids shift when a config
+     * is added, removed or renamed, so nothing persisted may depend on them (Zobrist keys use the
+     * type name, see Zobrist.typeKey).
+     */
+    private static Map<String, Integer> assignPieceTypeIds() {
+        Map<String, Integer> ids = new HashMap<>();
+        List<String> typeNames = new ArrayList<>(pieceConfigs.keySet());
+        Collections.sort(typeNames);
+        for (String typeName : typeNames) {
+            ids.put(typeName, ids.size());
+        }
+        return ids;
+    }
+
+    /** Builds the shared components of every loaded type once, so pieces never create their own. */
+    private static Map<String, CompiledPieceType> compilePieceTypes() {
+        Map<String, CompiledPieceType> types = new HashMap<>();
+        for (Map.Entry<String, PieceConfig> entry : pieceConfigs.entrySet()) {
+            types.put(entry.getKey(), new CompiledPieceType(entry.getValue(), pieceTypeIds.get(entry.getKey()), moveComponentFactory));
+        }
+        return types;
+    }
+
+    /**
+     * Runs MaterialAnalysis for every non-royal type, against the KING type, and stores the result in
+     * its config. Types keep the FORCED default if there is no KING type or the analysis fails.
+     */
+    private static void classifyMaterial() {
+        CompiledPieceType king = compiledTypes.get(PieceType.KING.name());
+        if (king == null || !king.isRoyal()) {
+            RulesLog.error(TAG, "No royal KING type loaded; skipping material classification.");
+            return;
+        }
+        long start = System.nanoTime();
+        for (CompiledPieceType type : compiledTypes.values()) {
+            PieceConfig config = type.getConfig();
+            if (type.isRoyal()) {
+                config.mateAbility = MateAbility.NONE;
+                continue;
+            }
+            try {
+                MaterialAnalysis analysis = MaterialAnalysis.analyze(type.getTypeName(), king.getTypeName());
+                config.mateAbility = analysis.mateAbility;
+                config.colourBound = analysis.colourBound;
+                RulesLog.debug(TAG, "Material class of " + type.getTypeName() + ": " + analysis.mateAbility + (analysis.colourBound ? ", colour-bound" : ""));
+            } catch (Exception e) {
+                RulesLog.error(TAG, "Material analysis failed for " + type.getTypeName() + "; treating it as able to mate.", e);
+            }
+        }
+        RulesLog.log(TAG, "Classified piece material in " + (System.nanoTime() - start) / 1_000_000 + " ms.");
+    }
+
+    /** Creates one white, off-board prototype per type, in type name order. */
+    private static Map<String, Piece> createPrototypes() {
+        Map<String, Piece> prototypes = new LinkedHashMap<>();
+        List<String> typeNames = new ArrayList<>(compiledTypes.keySet());
+        Collections.sort(typeNames);
+        for (String typeName : typeNames) {
+            try {
+                prototypes.put(typeName, createPiece(typeName, Team.WHITE, BoardPosition.OFF_BOARD));
+            } catch (Exception e) {
+                RulesLog.error(TAG, "Failed to create prototype for piece type: " + typeName, e);
+            }
+        }
+        return prototypes;
+    }
+
+    /** Creates a new, configured Piece instance based on the loaded configurations, for an 8x8 board. */
+    public static Piece createPiece(String typeName, Team team, BoardPosition position) {
+        return createPiece(typeName, team, position, BoardGeometry.STANDARD);
+    }
+
+    /**
+     * Creates a new, configured Piece instance for a board of the given size.
+     * The size decides whether the position is a castling piece's starting square.
+     */
+    public static Piece createPiece(String typeName, Team team, BoardPosition position, BoardGeometry geometry) {
+        if (typeName == null) {
+            throw new IllegalArgumentException("Piece type name cannot be null.");
+        }
+        String upperTypeName = typeName.toUpperCase();
+        CompiledPieceType type = compiledTypes.get(upperTypeName);
+
+        if (type == null) {
+            RulesLog.error(TAG, "Unknown piece type requested: '" + typeName + "'. Available types: " + getAvailablePieceTypes());
+            throw new IllegalArgumentException("Unknown piece type requested: '" + typeName + "'");
+        }
+
+        try {
+            ConfigurablePiece newPiece = new ConfigurablePiece();
+            newPiece.configure(type, team, position, geometry);
+
+            if (!upperTypeName.equals(newPiece.getTypeName())) {
+                RulesLog.error(TAG, "Warning - Mismatch between requested typeName '" + upperTypeName + "' and configured piece.getTypeName() '" + newPiece.getTypeName() + "'. Check config file.");
+            }
+            if (newPiece.getTeam() != team || !Objects.equals(newPiece.getPosition(), position)) {
+                RulesLog.error(TAG, "Warning - Mismatch in team/position after configuration for type '" + upperTypeName + "'.");
+            }
+
+            return newPiece;
+        } catch (Exception e) {
+            RulesLog.error(TAG, "Error creating or configuring piece of type '" + upperTypeName + "'. Check configuration and components.", e);
+            throw new RuntimeException("Failed to create piece of type '" + upperTypeName + "'. Cause: " + e.getMessage(), e);
+        }
+    }
+
+    /** Gets the set of available piece type names (uppercase) loaded from configurations. (Unchanged) */
+    public static Set<String> getAvailablePieceTypes() {
+        return pieceConfigs.keySet();
+    }
+
+    /** Gets a collection of prototype instances for all available piece types. */
+    public static Collection<Piece> getPiecePrototypes() {
+        return piecePrototypes.values();
+    }
+
+    /** Gets a specific piece prototype instance by type name (case-insensitive). */
+    public static Piece getPrototype(String typeName) {
+        if (typeName == null) return null;
+        Piece prototype = piecePrototypes.get(typeName.toUpperCase());
+        if (prototype == null) {
+            RulesLog.error(TAG,"No configuration found for prototype request: " + typeName);
+        }
+        return prototype;
+    }
+
+    /**
+     * Gets the dense integer id assigned to a piece type at load time.
+     * @param typeName The uppercase piece type name (as returned by Piece.getTypeName()).
+     * @return The id, or -1 if the type is unknown.
+     */
+    public static int getTypeId(String typeName) {
+        if (typeName == null) return -1;
+        Integer id = pieceTypeIds.get(typeName);
+        return id != null ? id : -1;
+    }
+
+    /** Gets the number of piece type ids assigned (ids range from 0 to count - 1). */
+    public static int getTypeCount() {
+        return pieceTypeIds.size();
+    }
+
+    /** Gets the compiled (shared-component) form of a piece type, or null if it is unknown. */
+    public static CompiledPieceType getCompiledType(String typeName) {
+        if (typeName == null) return null;
+        return compiledTypes.get(typeName.toUpperCase());
+    }
+
+    /** Gets the loaded configuration data for a specific piece type. (Unchanged) */
+    public static PieceConfig getConfig(String typeName) {
+        if (typeName == null) return null;
+        return pieceConfigs.get(typeName.toUpperCase());
+    }
+}
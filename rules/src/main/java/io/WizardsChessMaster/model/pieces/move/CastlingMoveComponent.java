@@ -0,0 +1,141 @@
+package io.WizardsChessMaster.model.pieces.move;
+
+import io.WizardsChessMaster.model.rules.RulesLog;
+import io.WizardsChessMaster.model.BoardPosition;
+import io.WizardsChessMaster.model.MoveType;
+import io.WizardsChessMaster.model.Position;
+import io.WizardsChessMaster.model.SquareSet;
+import io.WizardsChessMaster.model.Team;
+import io.WizardsChessMaster.model.board.BoardGeometry;
+import io.WizardsChessMaster.model.board.SquareMask;
+import io.WizardsChessMaster.model.pieces.Piece;
+
+import java.util.Map;
+
+/**
+ * Component to generate valid Castling moves for a piece (intended for King).
+ * Relies on the piece having an "hasMoved" boolean state variable.
+ * Checks board state for the involved partner piece (a type flagged castlingPartner in its config,
+ * see Piece.isCastlingPartner, with "hasMoved" == false).
+ * The king and rooks start on the back rank's home files (see BoardGeometry.getHomeFile),
+ * so on wider boards castling happens inside the centred eight files.
+ */
+public class CastlingMoveComponent implements MoveComponent {
+
+    /**
+     * Public no-argument constructor required for ServiceLoader/Factory instantiation.
+     */
+    public CastlingMoveComponent() {}
+
+    /**
+     * Initializes the component. This component does not require parameters.
+     *
+     * @param piece The piece instance this component belongs to.
+     * @param params A map of parameters (ignored by this component).
+     */
+    @Override
+    public void initialize(Piece piece, Map<String, Integer> params) {
+        if (!piece.isRoyal()) {
+            RulesLog.error("CastlingMoveComponent", "Warning: CastlingMoveComponent initialized for non-royal piece type: " + piece.getTypeName());
+        }
+    }
+
+    @Override
+    public SquareSet getValidMoveSet(Piece piece, Position game) {
+        if (game == null) return SquareSet.EMPTY;
+        SquareMask moves = new SquareMask(game.getGeometry());
+        getLegalMask(piece, game, moves);
+        return SquareSet.of(moves);
+    }
+
+    @Override
+    public void getLegalMask(Piece piece, Position game, SquareMask result) {
+        result.clear();
+        if (!piece.canCastle() || piece.getPosition() == null || piece.getTeam() == null || game == null) {
+            return;
+        }
+
+        Team team = piece.getTeam();
+        BoardPosition kingPos = piece.getPosition();
+
+        Object kingHasMovedObj = piece.getStateVariable("hasMoved");
+        boolean kingHasMoved = true;
+        if (kingHasMovedObj instanceof Boolean) {
+            kingHasMoved = (Boolean) kingHasMovedObj;
+        }
+
+        if (kingHasMoved || game.isKingInCheck(team)) {
+            return;
+        }
+
+        BoardGeometry geometry = game.getGeometry();
+        int kingRank = geometry.getBackRank(team);
+        if (kingPos.getY() != kingRank || kingPos.getX() != geometry.getHomeFile(4)) {
+            return;
+        }
+
+        // Check Kingside Castling (O-O)
+        addCastlingTarget(piece, game, kingRank, geometry.getHomeFile(7), geometry.getHomeFile(6), result);
+
+        // Check Queenside Castling (O-O-O)
+        addCastlingTarget(piece, game, kingRank, geometry.getHomeFile(0), geometry.getHomeFile(2), result);
+    }
+
+    /** Adds the king's target square to result if castling towards rookFile is allowed. */
+    private void addCastlingTarget(Piece king, Position game, int rank, int rookFile, int kingTargetFile, SquareMask result) {
+        Team team = king.getTeam();
+        Team opponentTeam = team.opposite();
+        BoardPosition rookPos = BoardPosition.of(rookFile, rank);
+        Piece potentialRook = game.getPieceAt(rookPos);
+
+        if (potentialRook == null || !potentialRook.isCastlingPartner()) {
+            return;
+        }
+        Object rookHasMovedObj = potentialRook.getStateVariable("hasMoved");
+        boolean rookHasMoved = true;
+        if (rookHasMovedObj instanceof Boolean) {
+            rookHasMoved = (Boolean) rookHasMovedObj;
+        }
+        if (rookHasMoved) {
+            return;
+        }
+
+        BoardPosition kingTargetPos = BoardPosition.of(kingTargetFile, rank);
+        int startFile = Math.min(king.getPosition().getX(), rookFile) + 1;
+        int endFile = Math.max(king.getPosition().getX(), rookFile);
+        for (int file = startFile; file < endFile; file++) {
+            if (game.getPieceAt(BoardPosition.of(file, rank)) != null) {
+                return;
+            }
+        }
+
+        BoardPosition kingPassThruPos = BoardPosition.of((king.getPosition().getX() + kingTargetFile) / 2, rank);
+
+        if (game.isSquareAttacked(king.getPosition(), opponentTeam) ||
+                game.isSquareAttacked(kingPassThruPos, opponentTeam) ||
+                game.isSquareAttacked(kingTargetPos, opponentTeam)) {
+            return;
+        }
+        result.add(game.squareIndex(kingTargetPos));
+    }
+
+
+    @Override
+    public void addAttacks(Piece piece, Position game, SquareMask result) {
+    }
+
+    @Override
+    public boolean hasStaticAttacks() {
+        return true;
+    }
+
+    @Override
+    public MoveType getMoveType() {
+        return MoveType.CASTLING;
+    }
+
+    @Override
+    public String getIdentifier() {
+        return "CASTLING";
+    }
+}
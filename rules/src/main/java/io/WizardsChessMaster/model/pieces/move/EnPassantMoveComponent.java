@@ -1,19 +1,18 @@
 package io.WizardsChessMaster.model.pieces.move;
 
-import com.badlogic.gdx.Gdx; // For logging
 import io.WizardsChessMaster.model.BoardPosition;
-import io.WizardsChessMaster.model.GameModel;
+import io.WizardsChessMaster.model.MoveType;
+import io.WizardsChessMaster.model.Position;
+import io.WizardsChessMaster.model.SquareSet;
 import io.WizardsChessMaster.model.Team;
+import io.WizardsChessMaster.model.board.SquareMask;
 import io.WizardsChessMaster.model.pieces.Piece;
 
-import java.util.Collections;
-import java.util.HashSet;
 import java.util.Map;
-import java.util.Set;
 
 /**
  * Component for Pawn's En Passant capture move.
- * Relies on the GameModel providing the en passant target square.
+ * Relies on the Position providing the en passant target square.
  */
 public class EnPassantMoveComponent implements MoveComponent {
 
@@ -29,45 +28,59 @@ public class EnPassantMoveComponent implements MoveComponent {
 
 
     @Override
-    public Set<BoardPosition> getValidMoves(Piece piece, GameModel gameModel) {
-        Set<BoardPosition> moves = new HashSet<>();
-        if (piece.getPosition() == null || piece.getTeam() == null || gameModel == null) {
-            return moves;
+    public SquareSet getValidMoveSet(Piece piece, Position game) {
+        if (game == null) return SquareSet.EMPTY;
+        SquareMask moves = new SquareMask(game.getGeometry());
+        getLegalMask(piece, game, moves);
+        return SquareSet.of(moves);
+    }
+
+    @Override
+    public void getLegalMask(Piece piece, Position game, SquareMask result) {
+        result.clear();
+        if (piece.getPosition() == null || piece.getTeam() == null || game == null) {
+            return;
         }
 
         BoardPosition position = piece.getPosition();
         Team team = piece.getTeam();
-        BoardPosition enPassantTarget = gameModel.getEnPassantTargetSquareObject();
+        BoardPosition enPassantTarget = game.getEnPassantTargetSquare();
 
         if (enPassantTarget == null) {
-            return moves;
+            return;
         }
 
-        int enPassantRank = (team == Team.WHITE) ? 4 : 3;
+        // The rank an opposing pawn reaches with its double step from its starting rank
+        int direction = (team == Team.WHITE) ? 1 : -1;
+        int enPassantRank = game.getGeometry().getPawnRank(team.opposite()) - 2 * direction;
         if (position.getY() != enPassantRank) {
-            return moves;
+            return;
         }
 
-        int direction = (team == Team.WHITE) ? 1 : -1;
-        int[] captureDx = {-1, 1};
-
-        for (int dx : captureDx) {
+        for (int dx = -1; dx <= 1; dx += 2) {
             BoardPosition potentialTarget = position.add(dx, direction);
             // Use .equals() for BoardPosition comparison
             if (enPassantTarget.equals(potentialTarget)) {
                 BoardPosition victimPos = position.add(dx, 0);
-                if (!moveLeavesKingInCheckWithVictim(piece, gameModel, potentialTarget, victimPos)) {
-                    moves.add(potentialTarget);
-                    Gdx.app.debug("EnPassantMoveComponent", "Valid EP move found for " + piece.getTypeName() + " at " + position + " to " + potentialTarget);
+                if (!moveLeavesKingInCheckWithVictim(piece, game, potentialTarget, victimPos)) {
+                    result.add(game.squareIndex(potentialTarget));
                 }
             }
         }
-        return moves;
     }
 
     @Override
-    public Set<BoardPosition> getAttackedSquares(Piece piece, GameModel gameModel) {
-        return Collections.emptySet();
+    public void addAttacks(Piece piece, Position game, SquareMask result) {
+    }
+
+    @Override
+    public boolean hasStaticAttacks() {
+        return true;
+    }
+
+    @Override
+    public MoveType getMoveType() {
+        return MoveType.EN_PASSANT;
     }
 
     @Override
@@ -0,0 +1,75 @@
+package io.WizardsChessMaster.model.pieces.move;
+
+import io.WizardsChessMaster.model.Position;
+import io.WizardsChessMaster.model.SquareSet;
+import io.WizardsChessMaster.model.board.AttackTables;
+import io.WizardsChessMaster.model.board.LeaperAttacks;
+import io.WizardsChessMaster.model.board.SquareMask;
+import io.WizardsChessMaster.model.pieces.Piece;
+
+import java.util.Map;
+
+/**
+ * Component for Knight's L-shaped movement. Does not require parameters.
+ * Targets come from the shared knight leap table, looked up when the component is initialized.
+ */
+public class LShapeMoveComponent implements MoveComponent {
+
+    private LeaperAttacks leaps;
+
+    public LShapeMoveComponent() {}
+
+    /**
+     * Initializes the component. This component does not require parameters.
+     */
+    @Override
+    public void initialize(Piece piece, Map<String, Integer> params) {
+        this.leaps = AttackTables.KNIGHT;
+    }
+
+    @Override
+    public SquareSet getValidMoveSet(Piece piece, Position game) {
+        return LegalMoveGenerator.legalMoveSet(piece, this, game);
+    }
+
+    @Override
+    public MoveKind getMoveKind() {
+        return MoveKind.STANDARD;
+    }
+
+    @Override
+    public void getPseudoLegalMask(Piece piece, Position game, SquareMask result) {
+        result.clear();
+        if (piece.getTeam() == null) {
+            return;
+        }
+        addAttacks(piece, game, result);
+        result.andNot(game.getTeamOccupancy(piece.getTeam()));
+    }
+
+    @Override
+    public void addAttacks(Piece piece, Position game, SquareMask result) {
+        if (game == null) {
+            return;
+        }
+        int square = game.squareIndex(piece.getPosition());
+        if (square >= 0) {
+            leaps.addAttacks(square, result);
+        }
+    }
+
+    /** Leap table, used when fusing leaper components. */
+    LeaperAttacks getLeaps() {
+        return leaps;
+    }
+
+    @Override
+    public boolean hasStaticAttacks() {
+        return true;
+    }
+
+    @Override
+    public String getIdentifier() {
+        return "L_SHAPE";
+    }
+}
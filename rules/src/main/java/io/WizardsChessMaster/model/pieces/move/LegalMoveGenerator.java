@@ -0,0 +1,366 @@
+package io.WizardsChessMaster.model.pieces.move;
+
+import io.WizardsChessMaster.model.rules.RulesLog;
+import io.WizardsChessMaster.model.Position;
+import io.WizardsChessMaster.model.MoveBuffer;
+import io.WizardsChessMaster.model.MoveType;
+import io.WizardsChessMaster.model.SquareSet;
+import io.WizardsChessMaster.model.Team;
+import io.WizardsChessMaster.model.board.BitBoard;
+import io.WizardsChessMaster.model.board.BoardGeometry;
+import io.WizardsChessMaster.model.board.SlidingAttacks;
+import io.WizardsChessMaster.model.board.SquareMask;
+import io.WizardsChessMaster.model.pieces.Piece;
+
+import java.util.List;
+
+/**
+ * King-safety analysis of one team in one position, used to turn pseudo-legal targets into legal ones
+ * with a few mask operations instead of playing each move out.
+ * Computed once per position (Position caches it by board version and re-analyses the same
+ * instance in place when the board changes) and holds:
+ * the enemy pieces giving check, the squares that resolve a single check, the line each pinned
+ * piece may stay on, and the enemy pieces whose removal would uncover a check (relevant for
+ * RANGED captures, where the attacker stays put and only the target disappears).
+ * Components of kind SIMULATE validate their own moves. If an enemy piece has a component whose
+ * attacks are neither static nor sliding, every move is simulated instead.
+ * All masks are allocated once for the position's board size and reused.
+ */
+public final class LegalMoveGenerator {
+
+    private static final String TAG = "LegalMoveGenerator";
+
+    private final Position game;
+    private final Team team;
+    private final BoardGeometry geometry;
+    private long boardVersion;
+    /** Square of the team's king, or -1 if it has none (then every pseudo-legal move is legal). */
+    private int kingSquare = -1;
+    private final SquareMask checkers;
+    private int checkerCount;
+    /** Targets that resolve check for pieces other than the king: all squares, checker + blocking squares, or none. */
+    private final SquareMask evasionMask;
+    /** Own pieces that are the only blocker between an enemy slider and the king. */
+    private final SquareMask pinned;
+    /** Per pinned square: the squares the piece there may move to without exposing the king. Stale for other squares. */
+    private final SquareMask[] pinMasks;
+    /** Enemy pieces that are the only blocker between an enemy slider and the king. */
+    private final SquareMask discoveryBlockers;
+    /** Copied, since simulating moves recomputes the board's live attack masks. */
+    private final SquareMask enemyAttacks;
+    private boolean simulateAll;
+
+    // Scratch masks
+    private final SquareMask between;
+    private final SquareMask checkLine;
+    private final SquareMask pieceAttacks;
+    private final SquareMask targets;
+    private final SquareMask normalTargets;
+    private final SquareMask specialTargets;
+    private final SquareMask pieces;
+    private final SquareMask candidates;
+
+    private LegalMoveGenerator(Position game, Team team) {
+        this.game = game;
+        this.team = team;
+        this.geometry = game.getGeometry();
+        this.checkers = new SquareMask(geometry);
+        this.evasionMask = new SquareMask(geometry);
+        this.pinned = new SquareMask(geometry);
+        this.pinMasks = new SquareMask[geometry.getSquareCount()];
+        for (int square = 0; square < pinMasks.length; square++) pinMasks[square] = new SquareMask(geometry);
+        this.discoveryBlockers = new SquareMask(geometry);
+        this.enemyAttacks = new SquareMask(geometry);
+        this.between = new SquareMask(geometry);
+        this.checkLine = new SquareMask(geometry);
+        this.pieceAttacks = new SquareMask(geometry);
+        this.targets = new SquareMask(geometry);
+        this.normalTargets = new SquareMask(geometry);
+        this.specialTargets = new SquareMask(geometry);
+        this.pieces = new SquareMask(geometry);
+        this.candidates = new SquareMask(geometry);
+    }
+
+    /**
+     * Analyses the position for the given team.
+     * @param game The position; must not change while the result is in use.
+     * @param team The team whose moves will be filtered.
+     * @param boardVersion Version of the board the analysis belongs to, returned by getBoardVersion.
+     */
+    public static LegalMoveGenerator analyze(Position game, Team team, long boardVersion) {
+        LegalMoveGenerator generator = new LegalMoveGenerator(game, team);
+        generator.update(boardVersion);
+        return generator;
+    }
+
+    /**
+     * Re-analyses the position in place, for a board that changed since the last analysis.
+     * @param boardVersion Version of the board the new analysis belongs to.
+     */
+    public void update(long boardVersion) {
+        this.boardVersion = boardVersion;
+        kingSquare = -1;
+        checkers.clear();
+        checkerCount = 0;
+        evasionMask.setAll();
+        pinned.clear();
+        discoveryBlockers.clear();
+        enemyAttacks.clear();
+        simulateAll = false;
+
+        int king = game.squareIndex(game.findKingPosition(team));
+        if (king < 0) return;
+        kingSquare = king;
+
+        Team enemy = team.opposite();
+        BitBoard board = game.getBoard();
+        SquareMask occupancy = game.getOccupancy();
+        SquareMask own = game.getTeamOccupancy(team);
+        SquareMask enemies = game.getTeamOccupancy(enemy);
+        enemyAttacks.set(game.getTeamAttacks(enemy));
+        checkers.set(game.getAttackers(king)).and(enemies);
+        checkerCount = checkers.count();
+        if (checkerCount == 1) {
+            evasionMask.set(checkers);
+        } else if (checkerCount > 1) {
+            evasionMask.clear();
+        }
+
+        for (int square = enemies.nextSquare(0); square >= 0; square = enemies.nextSquare(square + 1)) {
+            Piece enemyPiece = board.get(square);
+            List<MoveComponent> components = enemyPiece != null ? enemyPiece.getMoveComponents() : null;
+            if (components == null) {
+                simulateAll = true;
+                continue;
+            }
+            boolean isChecker = checkers.contains(square);
+            boolean leaperCheck = false;
+            checkLine.clear();
+            for (int i = 0, n = components.size(); i < n; i++) {
+                MoveComponent component = components.get(i);
+                SlidingAttacks[] sliders = component.getSlidingAttacks();
+                if (sliders == null) {
+                    if (!component.hasStaticAttacks()) {
+                        simulateAll = true;
+                    } else if (isChecker) {
+                        component.addAttacks(enemyPiece, game, pieceAttacks.clear());
+                        leaperCheck |= pieceAttacks.contains(king);
+                    }
+                    continue;
+                }
+                for (SlidingAttacks slider : sliders) {
+                    SquareMask ray = slider.ray(geometry, square);
+                    if (!ray.contains(king)) continue;
+                    between.set(ray).andNot(slider.ray(geometry, king)).remove(king);
+                    int blocker = between.firstCommonSquare(occupancy);
+                    if (blocker < 0) {
+                        checkLine.or(between);
+                    } else if (between.intersectionCount(occupancy) == 1) {
+                        if (own.contains(blocker)) {
+                            between.add(square);
+                            if (pinned.contains(blocker)) {
+                                pinMasks[blocker].and(between);
+                            } else {
+                                pinMasks[blocker].set(between);
+                                pinned.add(blocker);
+                            }
+                        } else {
+                            discoveryBlockers.add(blocker);
+                        }
+                    }
+                }
+            }
+            // A leaper's check can only be answered by capturing it, a slider's also by blocking
+            if (isChecker && checkerCount == 1 && !leaperCheck) {
+                evasionMask.or(checkLine);
+            }
+        }
+    }
+
+    /**
+     * Legal targets of one component, for components whose kind is STANDARD or RANGED.
+     * Convenience entry point for their getValidMoveSet.
+     */
+    public static SquareSet legalMoveSet(Piece piece, MoveComponent component, Position game) {
+        if (piece == null || piece.getTeam() == null || game == null) return SquareSet.EMPTY;
+        SquareMask moves = new SquareMask(game.getGeometry());
+        game.getLegalMoveGenerator(piece.getTeam()).legalTargets(piece, component, moves);
+        return SquareSet.of(moves);
+    }
+
+    public long getBoardVersion() { return boardVersion; }
+    /** Enemy pieces giving check. Reused by the next analysis; do not modify. */
+    public SquareMask getCheckers() { return checkers; }
+    public boolean isInCheck() { return checkerCount != 0; }
+
+    /** Writes the union of the legal targets of every component of the piece into result, replacing its contents. */
+    public void legalMoves(Piece piece, SquareMask result) {
+        result.clear();
+        List<MoveComponent> components = piece.getMoveComponents();
+        if (components == null) {
+            piece.getValidMoveSet(game).addTo(result);
+            return;
+        }
+        for (int i = 0, n = components.size(); i < n; i++) {
+            MoveComponent component = components.get(i);
+            try {
+                legalTargets(piece, component, targets);
+                result.or(targets);
+            } catch (Exception e) {
+                RulesLog.error(TAG, "Error getting moves from component " + component.getIdentifier() + " for piece " + piece.getTypeName(), e);
+            }
+        }
+    }
+
+    /**
+     * Whether the analysed team has any legal move. Stops at the first one found, trying the likely
+     * ones first: king moves, then pieces that can capture a single checker, then everything else.
+     * Nothing is allocated and no move list is built; simulated targets are tried one at a time.
+     */
+    public boolean anyLegalMove() {
+        BitBoard board = game.getBoard();
+        // Copied, since simulated moves change the board's live occupancy while we iterate
+        pieces.set(game.getTeamOccupancy(team));
+        if (kingSquare >= 0 && pieces.contains(kingSquare)) {
+            if (hasLegalMoves(board.get(kingSquare))) return true;
+            pieces.remove(kingSquare);
+        }
+        if (checkerCount == 1) {
+            candidates.set(game.getAttackers(checkers.nextSquare(0))).and(pieces);
+            for (int square = candidates.nextSquare(0); square >= 0; square = candidates.nextSquare(square + 1)) {
+                if (hasLegalMoves(board.get(square))) return true;
+                pieces.remove(square);
+            }
+        }
+        for (int square = pieces.nextSquare(0); square >= 0; square = pieces.nextSquare(square + 1)) {
+            if (hasLegalMoves(board.get(square))) return true;
+        }
+        return false;
+    }
+
+    /** Whether the piece has any legal move, stopping at the first component (and simulated target) that has one. */
+    public boolean hasLegalMoves(Piece piece) {
+        List<MoveComponent> components = piece.getMoveComponents();
+        if (components == null) return !piece.getValidMoveSet(game).isEmpty();
+        for (int i = 0, n = components.size(); i < n; i++) {
+            MoveComponent component = components.get(i);
+            try {
+                legalTargets(piece, component, targets, true);
+                if (!targets.isEmpty()) return true;
+            } catch (Exception e) {
+                RulesLog.error(TAG, "Error getting moves from component " + component.getIdentifier() + " for piece " + piece.getTypeName(), e);
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Writes every legal move of the analysed team into the buffer, which is cleared first.
+     * Allocates nothing once the buffer has grown to fit. A square reached both by a special move
+     * (castling, en passant, ranged) and a normal one is written once, as the special move.
+     * @return The number of moves written.
+     */
+    public int generateMoves(MoveBuffer buffer) {
+        buffer.clear();
+        // Copied, since simulated moves change the board's live occupancy while we iterate
+        pieces.set(game.getTeamOccupancy(team));
+        BitBoard board = game.getBoard();
+        for (int from = pieces.nextSquare(0); from >= 0; from = pieces.nextSquare(from + 1)) {
+            Piece piece = board.get(from);
+            List<MoveComponent> components = piece.getMoveComponents();
+            if (components == null) {
+                piece.getValidMoveSet(game).addTo(targets.clear());
+                buffer.addAll(from, targets, MoveType.NORMAL);
+                continue;
+            }
+            normalTargets.clear();
+            specialTargets.clear();
+            for (int i = 0, n = components.size(); i < n; i++) {
+                MoveComponent component = components.get(i);
+                try {
+                    legalTargets(piece, component, targets);
+                    MoveType type = component.getMoveType();
+                    if (type == MoveType.NORMAL) {
+                        normalTargets.or(targets);
+                    } else {
+                        targets.andNot(specialTargets);
+                        buffer.addAll(from, targets, type);
+                        specialTargets.or(targets);
+                    }
+                } catch (Exception e) {
+                    RulesLog.error(TAG, "Error getting moves from component " + component.getIdentifier() + " for piece " + piece.getTypeName(), e);
+                }
+            }
+            buffer.addAll(from, normalTargets.andNot(specialTargets), MoveType.NORMAL);
+        }
+        return buffer.size();
+    }
+
+    /** Writes the legal targets of a single component of the piece into result, replacing its contents. */
+    public void legalTargets(Piece piece, MoveComponent component, SquareMask result) {
+        legalTargets(piece, component, result, false);
+    }
+
+    /**
+     * As legalTargets; with firstOnly, targets that need simulating are tried one at a time and
+     * result is left with just the first legal one, for callers that only ask whether there is one.
+     */
+    private void legalTargets(Piece piece, MoveComponent component, SquareMask result, boolean firstOnly) {
+        MoveKind kind = component.getMoveKind();
+        if (kind == MoveKind.SIMULATE) {
+            component.getLegalMask(piece, game, result);
+            return;
+        }
+        component.getPseudoLegalMask(piece, game, result);
+        if (kingSquare < 0 || result.isEmpty()) return;
+        int from = game.squareIndex(piece.getPosition());
+
+        if (kind == MoveKind.RANGED) {
+            if (simulateAll) {
+                simulate(piece, result, MoveType.RANGED, firstOnly);
+                return;
+            }
+            // The shooter stays put, so its own pin is irrelevant; the removed piece must be the
+            // only checker (if any) and must not be shielding the king from another enemy piece.
+            if (checkerCount > 1) {
+                result.clear();
+                return;
+            }
+            if (checkerCount == 1) result.and(checkers);
+            result.andNot(discoveryBlockers);
+            return;
+        }
+
+        if (simulateAll) {
+            simulate(piece, result, MoveType.NORMAL, firstOnly);
+            return;
+        }
+        if (from == kingSquare) {
+            result.andNot(enemyAttacks);
+            // In check the king could step back along the checking line, which the attack map doesn't see
+            if (checkerCount != 0) simulate(piece, result, MoveType.NORMAL, firstOnly);
+            return;
+        }
+        if (from < 0) {
+            result.clear();
+            return;
+        }
+        result.and(evasionMask);
+        if (pinned.contains(from)) result.and(pinMasks[from]);
+    }
+
+    /**
+     * Removes the targets whose move would leave the king in check.
+     * With firstOnly, stops at the first legal target and leaves only that one.
+     */
+    private void simulate(Piece piece, SquareMask targets, MoveType type, boolean firstOnly) {
+        for (int target = targets.nextSquare(0); target >= 0; target = targets.nextSquare(target + 1)) {
+            if (MoveComponent.simulatedMoveLeavesKingInCheck(piece, game, geometry.position(target), type)) {
+                targets.remove(target);
+            } else if (firstOnly) {
+                targets.clear().add(target);
+                return;
+            }
+        }
+    }
+}
@@ -0,0 +1,144 @@
+package io.WizardsChessMaster.model.pieces.move;
+
+import io.WizardsChessMaster.model.BoardPosition;
+import io.WizardsChessMaster.model.Position;
+import io.WizardsChessMaster.model.MoveType;
+import io.WizardsChessMaster.model.SquareSet;
+import io.WizardsChessMaster.model.board.SlidingAttacks;
+import io.WizardsChessMaster.model.board.SquareMask;
+import io.WizardsChessMaster.model.pieces.Piece;
+import io.WizardsChessMaster.model.rules.RulesLog;
+
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Interface for a component that calculates a specific type of move
+ * or generates potential target squares for a piece.
+ */
+public interface MoveComponent {
+
+    /**
+     * Initializes the component with parameters from the configuration.
+     * This is called once per piece type by the factory after the component is instantiated;
+     * the instance is then shared by every piece of that type, so it must not keep per-piece state.
+     *
+     * @param piece A piece of the type this component belongs to (for type checks only).
+     * @param params A map of INTEGER parameters defined in the piece configuration's
+     * component entry (e.g., {"dx": 1, "dy": 0}). Can be null or empty.
+     * @throws IllegalArgumentException if required parameters are missing or invalid.
+     */
+    void initialize(Piece piece, Map<String, Integer> params);
+
+    /**
+     * Calculates valid moves based on this component's logic for the given piece.
+     * This is the primary method components implement; the result is allocation-light
+     * and suitable for hot paths such as move generation and search.
+     * @param piece The piece whose moves are being calculated.
+     * @param game The current state of the game.
+     * @return A SquareSet of valid target squares according to this component's rules.
+     */
+    SquareSet getValidMoveSet(Piece piece, Position game);
+
+    /**
+     * Adds the squares attacked by the piece to a bitboard (bit = Position.squareIndex).
+     * Existing squares in result are kept, so a piece can collect all its components' attacks in one mask.
+     * @param piece The piece whose attacked squares are being calculated.
+     * @param game The current state of the game.
+     * @param result Mask of the position's board size to add to.
+     */
+    void addAttacks(Piece piece, Position game, SquareMask result);
+
+    /**
+     * Writes the target squares before king safety is considered into result, replacing its contents.
+     * Components whose kind is STANDARD or RANGED must override this; their getValidMoveSet
+     * then filters it with LegalMoveGenerator.
+     */
+    default void getPseudoLegalMask(Piece piece, Position game, SquareMask result) {
+        getValidMoveSet(piece, game).addTo(result.clear());
+    }
+
+    /**
+     * How moves from this component change the board. Defaults to SIMULATE, meaning
+     * getValidMoveSet already excludes moves that leave the king in check.
+     */
+    default MoveKind getMoveKind() {
+        return MoveKind.SIMULATE;
+    }
+
+    /**
+     * Writes the legal targets of a SIMULATE component into result, replacing its contents.
+     * Components on the allocation-free generation path override this and build getValidMoveSet from it.
+     */
+    default void getLegalMask(Piece piece, Position game, SquareMask result) {
+        getValidMoveSet(piece, game).addTo(result.clear());
+    }
+
+    /** The MoveType that Position.makeMove needs to play a move produced by this component. */
+    default MoveType getMoveType() {
+        return getMoveKind() == MoveKind.RANGED ? MoveType.RANGED : MoveType.NORMAL;
+    }
+
+    /**
+     * The sliding tables this component attacks along (one per direction), or null if it is not a slider.
+     * Used to find pins and blocking squares.
+     */
+    default SlidingAttacks[] getSlidingAttacks() {
+        return null;
+    }
+
+    /**
+     * Whether addAttacks depends only on the piece's square and team (leapers, or no attacks at all).
+     * Enemy pieces with components that are neither static nor sliding make LegalMoveGenerator
+     * fall back to simulating every move.
+     */
+    default boolean hasStaticAttacks() {
+        return false;
+    }
+
+    /**
+     * Set-based view of getValidMoveSet, kept for callers that need a mutable collection.
+     */
+    default Set<BoardPosition> getValidMoves(Piece piece, Position game) {
+        return getValidMoveSet(piece, game).toSet();
+    }
+
+    /**
+     * Set-based view of addAttacks, kept for callers that need a mutable collection.
+     */
+    default Set<BoardPosition> getAttackedSquares(Piece piece, Position game) {
+        SquareMask attacks = new SquareMask(game.getGeometry());
+        addAttacks(piece, game, attacks);
+        return SquareSet.of(attacks).toSet();
+    }
+
+    default boolean moveLeavesKingInCheck(Piece piece, Position game, BoardPosition target) {
+        return simulatedMoveLeavesKingInCheck(piece, game, target, getMoveType());
+    }
+
+    default boolean moveLeavesKingInCheckWithVictim(Piece piece, Position game, BoardPosition target, BoardPosition victimPos) {
+        if (game != null && game.getPieceAt(victimPos) == null) {
+            RulesLog.error("MoveComponent", "EP Check Error: Cannot find victim piece at " + victimPos);
+        }
+        return simulatedMoveLeavesKingInCheck(piece, game, target, MoveType.EN_PASSANT);
+    }
+
+    /**
+     * Plays the move on the position, tests the mover's king and takes the move back
+     * (see Position.moveLeavesKingInCheck). A move that cannot be applied is treated as leaving the king in check.
+     */
+    static boolean simulatedMoveLeavesKingInCheck(Piece piece, Position game, BoardPosition target, MoveType type) {
+        if (piece == null || game == null || target == null) return true;
+        return game.moveLeavesKingInCheck(piece.getPosition(), target, type);
+    }
+
+    /**
+     * Gets a unique string identifier for this component type (e.g., "SLIDING", "PAWN_FORWARD").
+     * (Description unchanged)
+     * @return The component type identifier.
+     */
+    default String getIdentifier() {
+        return this.getClass().getSimpleName().replace("MoveComponent", "").toUpperCase();
+    }
+
+}
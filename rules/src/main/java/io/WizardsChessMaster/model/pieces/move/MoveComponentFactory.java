@@ -1,6 +1,6 @@
 package io.WizardsChessMaster.model.pieces.move;
 
-import com.badlogic.gdx.Gdx;
+import io.WizardsChessMaster.model.rules.RulesLog;
 import io.WizardsChessMaster.model.pieces.Piece;
 
 import java.util.HashMap;
@@ -19,9 +19,9 @@ public class MoveComponentFactory {
 
     // Static initializer to load component implementations using ServiceLoader
     static {
-        Gdx.app.log(TAG, "Initializing MoveComponentFactory using ServiceLoader...");
+        RulesLog.log(TAG, "Initializing MoveComponentFactory using ServiceLoader...");
         loadComponents();
-        Gdx.app.log(TAG, "MoveComponentFactory initialized. Found " + componentRegistry.size() + " component types.");
+        RulesLog.log(TAG, "MoveComponentFactory initialized. Found " + componentRegistry.size() + " component types.");
     }
 
     private static void loadComponents() {
@@ -30,28 +30,28 @@ public class MoveComponentFactory {
 
         for (MoveComponent component : loader) {
             if (component == null) {
-                Gdx.app.error(TAG, "ServiceLoader found a null MoveComponent implementation.");
+                RulesLog.error(TAG, "ServiceLoader found a null MoveComponent implementation.");
                 continue;
             }
             String identifier = component.getIdentifier();
             if (identifier == null || identifier.trim().isEmpty()) {
-                Gdx.app.error(TAG, "Found MoveComponent implementation " + component.getClass().getName() + " with null or empty identifier. Skipping.");
+                RulesLog.error(TAG, "Found MoveComponent implementation " + component.getClass().getName() + " with null or empty identifier. Skipping.");
                 continue;
             }
             identifier = identifier.toUpperCase();
 
             if (componentRegistry.containsKey(identifier)) {
-                Gdx.app.error(TAG, "Warning - Duplicate MoveComponent identifier '" + identifier + "' found. Implementation " + component.getClass().getName() + " will be ignored. Existing: " + componentRegistry.get(identifier).getName());
+                RulesLog.error(TAG, "Warning - Duplicate MoveComponent identifier '" + identifier + "' found. Implementation " + component.getClass().getName() + " will be ignored. Existing: " + componentRegistry.get(identifier).getName());
             } else {
                 componentRegistry.put(identifier, component.getClass());
-                Gdx.app.log(TAG, "Registered MoveComponent type '" + identifier + "' -> " + component.getClass().getName());
+                RulesLog.log(TAG, "Registered MoveComponent type '" + identifier + "' -> " + component.getClass().getName());
             }
         }
         // Log registered components for debugging
         if (componentRegistry.isEmpty()) {
-            Gdx.app.error(TAG, "No MoveComponent implementations found via ServiceLoader! Check META-INF/services configuration.");
+            RulesLog.error(TAG, "No MoveComponent implementations found via ServiceLoader! Check META-INF/services configuration.");
         } else {
-            Gdx.app.log(TAG, "Registered Component Identifiers: " + componentRegistry.keySet());
+            RulesLog.log(TAG, "Registered Component Identifiers: " + componentRegistry.keySet());
         }
     }
 
@@ -72,7 +72,7 @@ public class MoveComponentFactory {
         Class<? extends MoveComponent> componentClass = componentRegistry.get(upperTypeIdentifier);
 
         if (componentClass == null) {
-            Gdx.app.error(TAG, "Unknown MoveComponent type requested: '" + typeIdentifier + "'. Available: " + componentRegistry.keySet());
+            RulesLog.error(TAG, "Unknown MoveComponent type requested: '" + typeIdentifier + "'. Available: " + componentRegistry.keySet());
             throw new IllegalArgumentException("Unknown MoveComponent type: '" + typeIdentifier + "'");
         }
 
@@ -84,13 +84,13 @@ public class MoveComponentFactory {
             Map<String, Integer> effectiveParams = (params != null) ? params : new HashMap<>();
             newComponent.initialize(piece, effectiveParams);
 
-            Gdx.app.debug(TAG, "Created and initialized component: " + upperTypeIdentifier);
+            RulesLog.debug(TAG, "Created and initialized component: " + upperTypeIdentifier);
             return newComponent;
         } catch (NoSuchMethodException nsme) {
-            Gdx.app.error(TAG, "Error creating component '" + upperTypeIdentifier + "'. Implementation " + componentClass.getName() + " is missing a public no-argument constructor.", nsme);
+            RulesLog.error(TAG, "Error creating component '" + upperTypeIdentifier + "'. Implementation " + componentClass.getName() + " is missing a public no-argument constructor.", nsme);
             throw new IllegalArgumentException("Failed to create component: No-arg constructor missing for " + componentClass.getName(), nsme);
         } catch (Exception e) {
-            Gdx.app.error(TAG, "Error creating or initializing component of type '" + upperTypeIdentifier + "'.", e);
+            RulesLog.error(TAG, "Error creating or initializing component of type '" + upperTypeIdentifier + "'.", e);
             // Catch initialization errors as IllegalArgumentException
             if (e instanceof IllegalArgumentException) {
                 throw (IllegalArgumentException) e;
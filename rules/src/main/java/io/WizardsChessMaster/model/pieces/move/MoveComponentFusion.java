@@ -0,0 +1,73 @@
+package io.WizardsChessMaster.model.pieces.move;
+
+import io.WizardsChessMaster.model.board.LeaperAttacks;
+import io.WizardsChessMaster.model.board.SlidingAttacks;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Load-time optimizer for a piece type's component list.
+ * Every SLIDING direction is merged into one MultiSlidingMoveComponent and every
+ * L_SHAPE / SINGLE_STEP into one LeaperMoveComponent with a combined leap table,
+ * so adding directions or leaps in JSON doesn't add per-move component calls.
+ * Fused components sit where the first component they replace was; others are kept as they are.
+ * Only the exact built-in classes are fused, so subclasses keep their own behavior.
+ */
+public final class MoveComponentFusion {
+
+    private MoveComponentFusion() {}
+
+    /**
+     * Returns an equivalent component list with compatible components fused.
+     * @param components The initialized components of one piece type.
+     * @return A new list; the input is returned unchanged (copied) if nothing can be fused.
+     */
+    public static List<MoveComponent> fuse(List<MoveComponent> components) {
+        Set<SlidingAttacks> slidingDirections = new LinkedHashSet<>();
+        List<LeaperAttacks> leaperTables = new ArrayList<>();
+        int slidingCount = 0;
+        int leaperCount = 0;
+        for (MoveComponent component : components) {
+            if (component.getClass() == SlidingMoveComponent.class) {
+                SlidingAttacks[] directions = component.getSlidingAttacks();
+                if (directions != null) {
+                    for (SlidingAttacks direction : directions) slidingDirections.add(direction);
+                    slidingCount++;
+                }
+            } else if (component.getClass() == LShapeMoveComponent.class) {
+                leaperTables.add(((LShapeMoveComponent) component).getLeaps());
+                leaperCount++;
+            } else if (component.getClass() == SingleStepMoveComponent.class) {
+                leaperTables.add(((SingleStepMoveComponent) component).getLeaps());
+                leaperCount++;
+            }
+        }
+        if (slidingCount < 2 && leaperCount < 2) {
+            return new ArrayList<>(components);
+        }
+
+        List<MoveComponent> fused = new ArrayList<>();
+        boolean slidingAdded = false;
+        boolean leaperAdded = false;
+        for (MoveComponent component : components) {
+            Class<?> type = component.getClass();
+            if (slidingCount >= 2 && type == SlidingMoveComponent.class && component.getSlidingAttacks() != null) {
+                if (!slidingAdded) {
+                    fused.add(new MultiSlidingMoveComponent(slidingDirections.toArray(new SlidingAttacks[0])));
+                    slidingAdded = true;
+                }
+            } else if (leaperCount >= 2 && (type == LShapeMoveComponent.class || type == SingleStepMoveComponent.class)) {
+                if (!leaperAdded) {
+                    fused.add(new LeaperMoveComponent(LeaperAttacks.union(leaperTables)));
+                    leaperAdded = true;
+                }
+            } else {
+                fused.add(component);
+            }
+        }
+        return fused;
+    }
+}
@@ -0,0 +1,14 @@
+package io.WizardsChessMaster.model.pieces.move;
+
+/**
+ * How a MoveComponent's moves affect the board, which tells LegalMoveGenerator
+ * how to check them for king safety without playing them out.
+ */
+public enum MoveKind {
+    /** The piece moves to the target square, capturing whatever stands there. */
+    STANDARD,
+    /** The piece stays where it is and the target piece is removed (e.g. an Archer's shot). */
+    RANGED,
+    /** Moves with other side effects; the component checks king safety itself (usually via simulation). */
+    SIMULATE
+}
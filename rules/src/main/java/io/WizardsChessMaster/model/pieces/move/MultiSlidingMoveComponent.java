@@ -0,0 +1,75 @@
+package io.WizardsChessMaster.model.pieces.move;
+
+import io.WizardsChessMaster.model.Position;
+import io.WizardsChessMaster.model.SquareSet;
+import io.WizardsChessMaster.model.board.SlidingAttacks;
+import io.WizardsChessMaster.model.board.SquareMask;
+import io.WizardsChessMaster.model.pieces.Piece;
+
+import java.util.Map;
+
+/**
+ * Several SLIDING directions fused into one component by MoveComponentFusion,
+ * so a Queen or Dragon generates its rays in one call instead of eight.
+ * Produces exactly the union of the SlidingMoveComponents it replaces.
+ */
+public class MultiSlidingMoveComponent implements MoveComponent {
+
+    private final SlidingAttacks[] directions;
+
+    MultiSlidingMoveComponent(SlidingAttacks[] directions) {
+        this.directions = directions;
+    }
+
+    /**
+     * Created already initialized by MoveComponentFusion; nothing to do.
+     */
+    @Override
+    public void initialize(Piece piece, Map<String, Integer> params) {
+    }
+
+    @Override
+    public SquareSet getValidMoveSet(Piece piece, Position game) {
+        return LegalMoveGenerator.legalMoveSet(piece, this, game);
+    }
+
+    @Override
+    public MoveKind getMoveKind() {
+        return MoveKind.STANDARD;
+    }
+
+    @Override
+    public void getPseudoLegalMask(Piece piece, Position game, SquareMask result) {
+        result.clear();
+        if (piece.getTeam() == null) {
+            return;
+        }
+        addAttacks(piece, game, result);
+        result.andNot(game.getTeamOccupancy(piece.getTeam()));
+    }
+
+    @Override
+    public void addAttacks(Piece piece, Position game, SquareMask result) {
+        if (game == null) {
+            return;
+        }
+        int square = game.squareIndex(piece.getPosition());
+        if (square < 0) {
+            return;
+        }
+        SquareMask occupancy = game.getOccupancy();
+        for (SlidingAttacks direction : directions) {
+            direction.addAttacks(square, occupancy, result);
+        }
+    }
+
+    @Override
+    public SlidingAttacks[] getSlidingAttacks() {
+        return directions;
+    }
+
+    @Override
+    public String getIdentifier() {
+        return "SLIDING";
+    }
+}
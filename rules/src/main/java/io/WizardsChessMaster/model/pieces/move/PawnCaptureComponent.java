@@ -0,0 +1,70 @@
+package io.WizardsChessMaster.model.pieces.move;
+
+import io.WizardsChessMaster.model.Position;
+import io.WizardsChessMaster.model.SquareSet;
+import io.WizardsChessMaster.model.board.AttackTables;
+import io.WizardsChessMaster.model.board.LeaperAttacks;
+import io.WizardsChessMaster.model.board.SquareMask;
+import io.WizardsChessMaster.model.pieces.Piece;
+
+import java.util.Map;
+
+/**
+ * Component for Pawn's diagonal capture move. Does not require parameters.
+ * Capture squares come from per-team leap tables.
+ */
+public class PawnCaptureComponent implements MoveComponent {
+
+    private LeaperAttacks[] captureLeaps;
+
+    public PawnCaptureComponent() {}
+
+    /**
+     * Initializes the component. This component does not require parameters.
+     */
+    @Override
+    public void initialize(Piece piece, Map<String, Integer> params) {
+        this.captureLeaps = AttackTables.PAWN_CAPTURES;
+    }
+
+    @Override
+    public SquareSet getValidMoveSet(Piece piece, Position game) {
+        return LegalMoveGenerator.legalMoveSet(piece, this, game);
+    }
+
+    @Override
+    public MoveKind getMoveKind() {
+        return MoveKind.STANDARD;
+    }
+
+    @Override
+    public void getPseudoLegalMask(Piece piece, Position game, SquareMask result) {
+        result.clear();
+        if (piece.getTeam() == null) {
+            return;
+        }
+        addAttacks(piece, game, result);
+        result.and(game.getTeamOccupancy(piece.getTeam().opposite()));
+    }
+
+    @Override
+    public void addAttacks(Piece piece, Position game, SquareMask result) {
+        if (game == null || piece.getTeam() == null) {
+            return;
+        }
+        int square = game.squareIndex(piece.getPosition());
+        if (square >= 0) {
+            captureLeaps[piece.getTeam().ordinal()].addAttacks(square, result);
+        }
+    }
+
+    @Override
+    public boolean hasStaticAttacks() {
+        return true;
+    }
+
+    @Override
+    public String getIdentifier() {
+        return "PAWN_CAPTURE";
+    }
+}
@@ -0,0 +1,96 @@
+package io.WizardsChessMaster.model.pieces.move;
+
+import io.WizardsChessMaster.model.BoardPosition;
+import io.WizardsChessMaster.model.Position;
+import io.WizardsChessMaster.model.SquareSet;
+import io.WizardsChessMaster.model.Team;
+import io.WizardsChessMaster.model.board.SquareMask;
+import io.WizardsChessMaster.model.pieces.Piece;
+
+import java.util.Map;
+
+/**
+ * Component for Pawn's forward movement (1 or 2 steps).
+ * Relies on the owning Piece having an "hasMoved" boolean state variable.
+ * Checks the Position's turn effects for temporary effects like "pawn_storm_active".
+ * The initial two-step move is allowed from any square if hasMoved is false.
+ */
+public class PawnForwardMoveComponent implements MoveComponent {
+
+    // Effect names
+    private static final String PAWN_STORM_EFFECT_NAME = "pawn_storm_active";
+
+    public PawnForwardMoveComponent() {}
+
+    /**
+     * Initializes the component. This component does not require parameters.
+     */
+    @Override
+    public void initialize(Piece piece, Map<String, Integer> params) {
+    }
+
+    @Override
+    public SquareSet getValidMoveSet(Piece piece, Position game) {
+        return LegalMoveGenerator.legalMoveSet(piece, this, game);
+    }
+
+    @Override
+    public MoveKind getMoveKind() {
+        return MoveKind.STANDARD;
+    }
+
+    @Override
+    public void getPseudoLegalMask(Piece piece, Position game, SquareMask result) {
+        result.clear();
+        if (piece.getPosition() == null || piece.getTeam() == null || game == null) {
+            return;
+        }
+
+        BoardPosition position = piece.getPosition();
+        Team team = piece.getTeam();
+
+        int direction = (team == Team.WHITE) ? 1 : -1;
+
+        boolean hasMoved = false;
+        Object hasMovedObj = piece.getStateVariable("hasMoved");
+        if (hasMovedObj instanceof Boolean) {
+            hasMoved = (Boolean) hasMovedObj;
+        } else if (hasMovedObj != null) {
+        }
+
+        // Check for active effects
+        boolean pawnStormActive = game.hasTurnEffect(team, PAWN_STORM_EFFECT_NAME);
+
+        // Check one step forward
+        BoardPosition oneStep = position.add(0, direction);
+        if (game.isWithinBounds(oneStep) && game.getPieceAt(oneStep) == null) {
+            result.add(game.squareIndex(oneStep));
+
+            // Check two steps forward
+            boolean allowTwoSteps = pawnStormActive || !hasMoved;
+
+            if (allowTwoSteps) {
+                BoardPosition twoStep = position.add(0, 2 * direction);
+                // Path must be clear for two steps
+                if (game.isWithinBounds(twoStep) && game.getPieceAt(twoStep) == null) {
+                    result.add(game.squareIndex(twoStep));
+                }
+            }
+        }
+    }
+
+    @Override
+    public void addAttacks(Piece piece, Position game, SquareMask result) {
+        // Pawn forward move doesn't attack squares
+    }
+
+    @Override
+    public boolean hasStaticAttacks() {
+        return true;
+    }
+
+    @Override
+    public String getIdentifier() {
+        return "PAWN_FORWARD";
+    }
+}
\ No newline at end of file
@@ -0,0 +1,68 @@
+package io.WizardsChessMaster.model.pieces.move;
+
+import io.WizardsChessMaster.model.Position;
+import io.WizardsChessMaster.model.SquareSet;
+import io.WizardsChessMaster.model.board.AttackTables;
+import io.WizardsChessMaster.model.board.LeaperAttacks;
+import io.WizardsChessMaster.model.board.SquareMask;
+import io.WizardsChessMaster.model.pieces.Piece;
+
+import java.util.Map;
+
+/**
+ * Component for an L-shaped attack where the attacking piece does not move.
+ * E.g., An Archer shooting in an L-shape.
+ */
+public class RangedLAttackMoveComponent implements MoveComponent {
+
+    private LeaperAttacks leaps;
+
+    public RangedLAttackMoveComponent() {}
+
+    @Override
+    public void initialize(Piece piece, Map<String, Integer> params) {
+        this.leaps = AttackTables.KNIGHT;
+    }
+
+    @Override
+    public SquareSet getValidMoveSet(Piece piece, Position game) {
+        return LegalMoveGenerator.legalMoveSet(piece, this, game);
+    }
+
+    @Override
+    public MoveKind getMoveKind() {
+        return MoveKind.RANGED;
+    }
+
+    @Override
+    public void getPseudoLegalMask(Piece piece, Position game, SquareMask result) {
+        result.clear();
+        if (piece.getTeam() == null) {
+            return;
+        }
+        // Target square must contain an opponent's piece
+        addAttacks(piece, game, result);
+        result.and(game.getTeamOccupancy(piece.getTeam().opposite()));
+    }
+
+    @Override
+    public void addAttacks(Piece piece, Position game, SquareMask result) {
+        if (game == null) {
+            return;
+        }
+        int square = game.squareIndex(piece.getPosition());
+        if (square >= 0) {
+            leaps.addAttacks(square, result);
+        }
+    }
+
+    @Override
+    public boolean hasStaticAttacks() {
+        return true;
+    }
+
+    @Override
+    public String getIdentifier() {
+        return "RANGED_L_ATTACK";
+    }
+}
\ No newline at end of file
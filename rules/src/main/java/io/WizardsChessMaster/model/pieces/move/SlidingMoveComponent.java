@@ -0,0 +1,99 @@
+package io.WizardsChessMaster.model.pieces.move;
+
+import io.WizardsChessMaster.model.Position;
+import io.WizardsChessMaster.model.SquareSet;
+import io.WizardsChessMaster.model.board.SlidingAttacks;
+import io.WizardsChessMaster.model.board.SquareMask;
+import io.WizardsChessMaster.model.pieces.Piece;
+
+import java.util.Map;
+
+/**
+ * Component for pieces that slide along lines (horizontal, vertical, diagonal)
+ * until blocked or off-board. E.g., Rooks, Bishops, Queens.
+ * Reads 'dx' and 'dy' parameters during initialization and looks up the shared
+ * ray table for that direction.
+ */
+public class SlidingMoveComponent implements MoveComponent {
+
+    private int dx = 0;
+    private int dy = 0;
+    private boolean initialized = false;
+    private SlidingAttacks attackTable;
+    private SlidingAttacks[] directions;
+
+    public SlidingMoveComponent() {}
+
+    /**
+     * Initializes the component with direction parameters from the configuration.
+     * Expects 'dx' and 'dy' integer parameters in the params map.
+     *
+     * @param piece The piece instance this component belongs to (unused).
+     * @param params A map containing 'dx' and 'dy' integer parameters.
+     * @throws IllegalArgumentException if 'dx' or 'dy' parameters are missing, not integers, or both are zero.
+     */
+    @Override
+    public void initialize(Piece piece, Map<String, Integer> params) {
+        if (params == null || !params.containsKey("dx") || !params.containsKey("dy")) {
+            throw new IllegalArgumentException("SlidingMoveComponent requires 'dx' and 'dy' integer parameters in configuration.");
+        }
+        Integer dxInt = params.get("dx");
+        Integer dyInt = params.get("dy");
+
+        if (dxInt == null || dyInt == null) {
+            throw new IllegalArgumentException("SlidingMoveComponent 'dx' and 'dy' parameters cannot be null.");
+        }
+
+        this.dx = dxInt;
+        this.dy = dyInt;
+
+        if (this.dx == 0 && this.dy == 0) {
+            throw new IllegalArgumentException("SlidingMoveComponent cannot have dx and dy both zero.");
+        }
+        this.attackTable = SlidingAttacks.forDirection(this.dx, this.dy);
+        this.directions = new SlidingAttacks[]{attackTable};
+        this.initialized = true;
+    }
+
+    @Override
+    public SquareSet getValidMoveSet(Piece piece, Position game) {
+        return LegalMoveGenerator.legalMoveSet(piece, this, game);
+    }
+
+    @Override
+    public MoveKind getMoveKind() {
+        return MoveKind.STANDARD;
+    }
+
+    @Override
+    public void getPseudoLegalMask(Piece piece, Position game, SquareMask result) {
+        result.clear();
+        if (piece.getTeam() == null) {
+            return;
+        }
+        addAttacks(piece, game, result);
+        result.andNot(game.getTeamOccupancy(piece.getTeam()));
+    }
+
+    @Override
+    public void addAttacks(Piece piece, Position game, SquareMask result) {
+        if (!initialized) throw new IllegalStateException("SlidingMoveComponent not initialized.");
+        if (game == null) {
+            return;
+        }
+        int square = game.squareIndex(piece.getPosition());
+        if (square >= 0) {
+            attackTable.addAttacks(square, game.getOccupancy(), result);
+        }
+    }
+
+    @Override
+    public SlidingAttacks[] getSlidingAttacks() {
+        return directions;
+    }
+
+    @Override
+    public String getIdentifier() {
+        return "SLIDING";
+    }
+}
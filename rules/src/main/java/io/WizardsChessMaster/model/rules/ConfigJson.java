@@ -0,0 +1,242 @@
+package io.WizardsChessMaster.model.rules;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Minimal JSON reader for the piece and spell configurations, so the rules module does not
+ * need libGDX's Json. Objects become LinkedHashMaps, arrays ArrayLists, numbers Longs or Doubles.
+ * Also accepts // and /* comments, which libGDX's reader tolerated in config files.
+ */
+public final class ConfigJson {
+
+    private final String text;
+    private int index;
+
+    private ConfigJson(String text) {
+        this.text = text;
+    }
+
+    /**
+     * Parses a JSON document.
+     * @throws IllegalArgumentException if the text is not valid JSON.
+     */
+    public static Object parse(String text) {
+        if (text == null) {
+            throw new IllegalArgumentException("JSON text cannot be null.");
+        }
+        ConfigJson reader = new ConfigJson(text);
+        Object value = reader.readValue();
+        reader.skipWhitespace();
+        if (reader.index < text.length()) {
+            throw reader.error("Unexpected trailing content");
+        }
+        return value;
+    }
+
+    /** Parses a JSON document whose root must be an object. */
+    @SuppressWarnings("unchecked")
+    public static Map<String, Object> parseObject(String text) {
+        Object value = parse(text);
+        if (!(value instanceof Map)) {
+            throw new IllegalArgumentException("Expected a JSON object at the root.");
+        }
+        return (Map<String, Object>) value;
+    }
+
+    // --- Typed field access for config binding; a present field of the wrong type is an error ---
+
+    public static String getString(Map<String, Object> object, String key) {
+        Object value = object.get(key);
+        if (value == null || value instanceof String) return (String) value;
+        if (value instanceof Number || value instanceof Boolean) return value.toString();
+        throw new IllegalArgumentException("Field '" + key + "' must be a string.");
+    }
+
+    public static int getInt(Map<String, Object> object, String key, int defaultValue) {
+        Object value = object.get(key);
+        if (value == null) return defaultValue;
+        if (value instanceof Number) return ((Number) value).intValue();
+        throw new IllegalArgumentException("Field '" + key + "' must be a number.");
+    }
+
+    public static Boolean getBoolean(Map<String, Object> object, String key) {
+        Object value = object.get(key);
+        if (value == null || value instanceof Boolean) return (Boolean) value;
+        throw new IllegalArgumentException("Field '" + key + "' must be true or false.");
+    }
+
+    @SuppressWarnings("unchecked")
+    public static Map<String, Object> getObject(Map<String, Object> object, String key) {
+        Object value = object.get(key);
+        if (value == null || value instanceof Map) return (Map<String, Object>) value;
+        throw new IllegalArgumentException("Field '" + key + "' must be an object.");
+    }
+
+    @SuppressWarnings("unchecked")
+    public static List<Object> getArray(Map<String, Object> object, String key) {
+        Object value = object.get(key);
+        if (value == null || value instanceof List) return (List<Object>) value;
+        throw new IllegalArgumentException("Field '" + key + "' must be an array.");
+    }
+
+    private Object readValue() {
+        skipWhitespace();
+        if (index >= text.length()) {
+            throw error("Unexpected end of input");
+        }
+        char c = text.charAt(index);
+        switch (c) {
+            case '{': return readObject();
+            case '[': return readArray();
+            case '"': return readString();
+            case 't': expectWord("true"); return Boolean.TRUE;
+            case 'f': expectWord("false"); return Boolean.FALSE;
+            case 'n': expectWord("null"); return null;
+            default:
+                if (c == '-' || (c >= '0' && c <= '9')) return readNumber();
+                throw error("Unexpected character '" + c + "'");
+        }
+    }
+
+    private Map<String, Object> readObject() {
+        Map<String, Object> result = new LinkedHashMap<>();
+        index++;
+        skipWhitespace();
+        if (peek() == '}') {
+            index++;
+            return result;
+        }
+        while (true) {
+            skipWhitespace();
+            if (peek() != '"') {
+                throw error("Expected a quoted key");
+            }
+            String key = readString();
+            skipWhitespace();
+            expect(':');
+            result.put(key, readValue());
+            skipWhitespace();
+            char c = next();
+            if (c == '}') return result;
+            if (c != ',') throw error("Expected ',' or '}'");
+        }
+    }
+
+    private List<Object> readArray() {
+        List<Object> result = new ArrayList<>();
+        index++;
+        skipWhitespace();
+        if (peek() == ']') {
+            index++;
+            return result;
+        }
+        while (true) {
+            result.add(readValue());
+            skipWhitespace();
+            char c = next();
+            if (c == ']') return result;
+            if (c != ',') throw error("Expected ',' or ']'");
+        }
+    }
+
+    private String readString() {
+        index++;
+        StringBuilder sb = new StringBuilder();
+        while (true) {
+            char c = next();
+            if (c == '"') return sb.toString();
+            if (c != '\\') {
+                sb.append(c);
+                continue;
+            }
+            char escaped = next();
+            switch (escaped) {
+                case '"': case '\\': case '/': sb.append(escaped); break;
+                case 'b': sb.append('\b'); break;
+                case 'f': sb.append('\f'); break;
+                case 'n': sb.append('\n'); break;
+                case 'r': sb.append('\r'); break;
+                case 't': sb.append('\t'); break;
+                case 'u':
+                    if (index + 4 > text.length()) throw error("Truncated unicode escape");
+                    try {
+                        sb.append((char) Integer.parseInt(text.substring(index, index + 4), 16));
+                    } catch (NumberFormatException e) {
+                        throw error("Invalid unicode escape");
+                    }
+                    index += 4;
+                    break;
+                default: throw error("Invalid escape '\\" + escaped + "'");
+            }
+        }
+    }
+
+    private Number readNumber() {
+        int start = index;
+        boolean decimal = false;
+        while (index < text.length()) {
+            char c = text.charAt(index);
+            if (c == '.' || c == 'e' || c == 'E') {
+                decimal = true;
+            } else if (!(c == '-' || c == '+' || (c >= '0' && c <= '9'))) {
+                break;
+            }
+            index++;
+        }
+        String literal = text.substring(start, index);
+        try {
+            return decimal ? (Number) Double.parseDouble(literal) : (Number) Long.parseLong(literal);
+        } catch (NumberFormatException e) {
+            throw error("Invalid number '" + literal + "'");
+        }
+    }
+
+    private void expectWord(String word) {
+        if (!text.startsWith(word, index)) {
+            throw error("Expected '" + word + "'");
+        }
+        index += word.length();
+    }
+
+    private void expect(char expected) {
+        if (next() != expected) {
+            throw error("Expected '" + expected + "'");
+        }
+    }
+
+    private char peek() {
+        if (index >= text.length()) throw error("Unexpected end of input");
+        return text.charAt(index);
+    }
+
+    private char next() {
+        char c = peek();
+        index++;
+        return c;
+    }
+
+    private void skipWhitespace() {
+        while (index < text.length()) {
+            char c = text.charAt(index);
+            if (Character.isWhitespace(c)) {
+                index++;
+            } else if (c == '/' && text.startsWith("//", index)) {
+                int end = text.indexOf('\n', index);
+                index = end < 0 ? text.length() : end + 1;
+            } else if (c == '/' && text.startsWith("/*", index)) {
+                int end = text.indexOf("*/", index + 2);
+                if (end < 0) throw error("Unterminated comment");
+                index = end + 2;
+            } else {
+                return;
+            }
+        }
+    }
+
+    private IllegalArgumentException error(String message) {
+        return new IllegalArgumentException(message + " at offset " + index + ".");
+    }
+}
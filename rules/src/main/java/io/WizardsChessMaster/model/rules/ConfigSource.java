@@ -0,0 +1,19 @@
+package io.WizardsChessMaster.model.rules;
+
+import java.io.IOException;
+import java.util.Map;
+
+/**
+ * Where PieceFactory and SpellFactory read their JSON configurations from.
+ * The game installs one backed by Gdx.files; plain JVM tools can use FileConfigSource.
+ */
+public interface ConfigSource {
+
+    /**
+     * Reads every file in a directory with the given extension.
+     * @param directory Directory relative to the source root, e.g. "pieces/".
+     * @param extension File name suffix, e.g. ".json".
+     * @return File name to UTF-8 contents, in file name order. Empty if the directory does not exist.
+     */
+    Map<String, String> readAll(String directory, String extension) throws IOException;
+}
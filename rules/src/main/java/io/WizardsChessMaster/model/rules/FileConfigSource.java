@@ -0,0 +1,56 @@
+package io.WizardsChessMaster.model.rules;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * ConfigSource reading from a directory on disk (by default the working directory,
+ * which is where the desktop backends resolve internal files too).
+ */
+public class FileConfigSource implements ConfigSource {
+
+    private static volatile ConfigSource defaultSource = new FileConfigSource(new File("."));
+
+    private final File root;
+
+    public FileConfigSource(File root) {
+        if (root == null) {
+            throw new IllegalArgumentException("Config root cannot be null.");
+        }
+        this.root = root;
+    }
+
+    /** The source the factories load from when they are first used. */
+    public static ConfigSource getDefault() {
+        return defaultSource;
+    }
+
+    /** Sets the source used by the factories; must be called before PieceFactory or SpellFactory is first used. */
+    public static void setDefault(ConfigSource source) {
+        if (source == null) {
+            throw new IllegalArgumentException("Config source cannot be null.");
+        }
+        defaultSource = source;
+    }
+
+    @Override
+    public Map<String, String> readAll(String directory, String extension) throws IOException {
+        Map<String, String> contents = new LinkedHashMap<>();
+        File[] files = new File(root, directory).listFiles((dir, name) -> name.endsWith(extension));
+        if (files == null) {
+            return contents;
+        }
+        Arrays.sort(files);
+        for (File file : files) {
+            if (file.isFile()) {
+                contents.put(file.getName(), new String(Files.readAllBytes(file.toPath()), StandardCharsets.UTF_8));
+            }
+        }
+        return contents;
+    }
+}
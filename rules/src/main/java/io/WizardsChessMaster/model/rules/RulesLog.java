@@ -0,0 +1,35 @@
+package io.WizardsChessMaster.model.rules;
+
+/**
+ * Static logging entry point for the rules module, mirroring Gdx.app's log/debug/error.
+ * Until a logger is installed, errors go to System.err and everything else is dropped.
+ */
+public final class RulesLog {
+
+    private static volatile RulesLogger logger = new StandardErrorLogger();
+
+    private RulesLog() {}
+
+    /** Installs the logging backend; null restores the default. */
+    public static void setLogger(RulesLogger newLogger) {
+        logger = newLogger != null ? newLogger : new StandardErrorLogger();
+    }
+
+    public static void log(String tag, String message) { logger.log(tag, message, null); }
+    public static void log(String tag, String message, Throwable exception) { logger.log(tag, message, exception); }
+    public static void debug(String tag, String message) { logger.debug(tag, message, null); }
+    public static void debug(String tag, String message, Throwable exception) { logger.debug(tag, message, exception); }
+    public static void error(String tag, String message) { logger.error(tag, message, null); }
+    public static void error(String tag, String message, Throwable exception) { logger.error(tag, message, exception); }
+
+    private static final class StandardErrorLogger implements RulesLogger {
+        @Override public void log(String tag, String message, Throwable exception) {}
+        @Override public void debug(String tag, String message, Throwable exception) {}
+
+        @Override
+        public void error(String tag, String message, Throwable exception) {
+            System.err.println("[" + tag + "] " + message);
+            if (exception != null) exception.printStackTrace();
+        }
+    }
+}
@@ -0,0 +1,15 @@
+package io.WizardsChessMaster.model.rules;
+
+/**
+ * Logging backend for the rules module, which cannot use Gdx.app.
+ * The game installs one that forwards to Gdx.app (see RulesLog.setLogger);
+ * implementations must be safe to call from any thread.
+ */
+public interface RulesLogger {
+
+    void log(String tag, String message, Throwable exception);
+
+    void debug(String tag, String message, Throwable exception);
+
+    void error(String tag, String message, Throwable exception);
+}
@@ -1,8 +1,11 @@
 package io.WizardsChessMaster.model.spells;
 
-import com.badlogic.gdx.Gdx;
+import io.WizardsChessMaster.model.rules.RulesLog;
 import io.WizardsChessMaster.model.BoardPosition;
-import io.WizardsChessMaster.model.GameModel;
+import io.WizardsChessMaster.model.Position;
+import io.WizardsChessMaster.model.SquareSet;
+import io.WizardsChessMaster.model.Team;
+import io.WizardsChessMaster.model.board.SquareMask;
 
 import java.util.*;
 import java.util.stream.Collectors;
@@ -44,7 +47,7 @@ public class ConfigurableSpell implements Spell {
         if (config.effectComponents != null) {
             for (SpellConfig.SpellEffectComponentConfig compConfig : config.effectComponents) {
                 if (compConfig == null || compConfig.type == null || compConfig.type.trim().isEmpty()) {
-                    Gdx.app.error(TAG, "Skipping invalid effect component config (null or missing type) for spell " + config.typeName);
+                    RulesLog.error(TAG, "Skipping invalid effect component config (null or missing type) for spell " + config.typeName);
                     continue;
                 }
                 try {
@@ -52,11 +55,11 @@ public class ConfigurableSpell implements Spell {
                     SpellEffectComponent component = factoryToUse.createComponent(compConfig.type, this, compConfig.params);
                     this.effectComponents.add(component);
                 } catch (Exception e) {
-                    Gdx.app.error(TAG, "Failed to create or initialize effect component type '" + compConfig.type + "' for spell '" + config.typeName + "': " + e.getMessage(), e);
+                    RulesLog.error(TAG, "Failed to create or initialize effect component type '" + compConfig.type + "' for spell '" + config.typeName + "': " + e.getMessage(), e);
                 }
             }
         }
-        Gdx.app.debug(TAG, "Configured spell: " + getTypeName() + " with components: " + effectComponents.stream().map(SpellEffectComponent::getIdentifier).collect(Collectors.toList()));
+        RulesLog.debug(TAG, "Configured spell: " + getTypeName() + " with components: " + effectComponents.stream().map(SpellEffectComponent::getIdentifier).collect(Collectors.toList()));
     }
 
 
@@ -71,61 +74,61 @@ public class ConfigurableSpell implements Spell {
     @Override public boolean endsTurn() { return config != null && config.endsTurn; }
 
     @Override
-    public Set<BoardPosition> getValidTargets(String casterPlayerId, GameModel gameModel) {
+    public SquareSet getValidTargetSet(Team casterTeam, Position game) {
         if (!requiresTarget() || effectComponents == null || effectComponents.isEmpty()) {
             // If spell requires target but has no components defining targets
             if (requiresTarget()) {
-                Gdx.app.error(TAG, "Spell " + getTypeName() + " requires target but has no effect components to determine valid targets.");
+                RulesLog.error(TAG, "Spell " + getTypeName() + " requires target but has no effect components to determine valid targets.");
             }
-            return Collections.emptySet();
+            return SquareSet.EMPTY;
         }
 
         // Union of all targets from all components.
-        Set<BoardPosition> allValidTargets = new HashSet<>();
+        SquareMask allValidTargets = new SquareMask(game.getGeometry());
         for (SpellEffectComponent component : effectComponents) {
             try {
-                allValidTargets.addAll(component.getValidTargetsForEffect(casterPlayerId, gameModel));
+                component.getValidTargetSetForEffect(casterTeam, game).addTo(allValidTargets);
             } catch (Exception e) {
-                Gdx.app.error(TAG, "Error getting targets from component " + component.getIdentifier() + " for spell " + getTypeName(), e);
+                RulesLog.error(TAG, "Error getting targets from component " + component.getIdentifier() + " for spell " + getTypeName(), e);
             }
         }
-        return allValidTargets;
+        return SquareSet.of(allValidTargets);
     }
 
     @Override
-    public boolean applyEffect(String casterPlayerId, BoardPosition target, GameModel gameModel) {
-        if (casterPlayerId == null || gameModel == null || config == null) {
-            Gdx.app.error(TAG, getTypeName() + " applyEffect failed: Null casterId, gameModel, or config.");
+    public boolean applyEffect(Team casterTeam, BoardPosition target, Position game) {
+        if (casterTeam == null || game == null || config == null) {
+            RulesLog.error(TAG, getTypeName() + " applyEffect failed: Null caster team, position, or config.");
             return false;
         }
         if (requiresTarget() && target == null) {
-            Gdx.app.error(TAG, getTypeName() + " applyEffect failed: Requires target, but target is null.");
+            RulesLog.error(TAG, getTypeName() + " applyEffect failed: Requires target, but target is null.");
             return false;
         }
 
         // Apply Effects from Components
-        Gdx.app.log(TAG, "Applying effects for " + getDisplayName() + (target != null ? " on " + target : "") + " by " + casterPlayerId);
+        RulesLog.log(TAG, "Applying effects for " + getDisplayName() + (target != null ? " on " + target : "") + " by " + casterTeam);
         boolean oneEffectSucceeded = false;
         boolean allEffectsSucceeded = true;
 
         if (effectComponents != null && !effectComponents.isEmpty()) {
             for (SpellEffectComponent component : effectComponents) {
                 try {
-                    if (component.applyEffect(casterPlayerId, target, gameModel)) {
+                    if (component.applyEffect(casterTeam, target, game)) {
                         oneEffectSucceeded = true;
                     } else {
-                        Gdx.app.error(TAG, "Effect component " + component.getIdentifier() + " failed to apply for spell " + getTypeName());
+                        RulesLog.error(TAG, "Effect component " + component.getIdentifier() + " failed to apply for spell " + getTypeName());
                         allEffectsSucceeded = false;
                     }
                 } catch (Exception e) {
-                    Gdx.app.error(TAG, "Exception applying effect component " + component.getIdentifier() + " for spell " + getTypeName(), e);
+                    RulesLog.error(TAG, "Exception applying effect component " + component.getIdentifier() + " for spell " + getTypeName(), e);
                     allEffectsSucceeded = false;
                 }
             }
             return allEffectsSucceeded;
 
         } else {
-            Gdx.app.log(TAG, "Spell " + getTypeName() + " has no effect components defined. Applying effect considered successful.");
+            RulesLog.log(TAG, "Spell " + getTypeName() + " has no effect components defined. Applying effect considered successful.");
             return true;
         }
     }
@@ -133,7 +136,7 @@ public class ConfigurableSpell implements Spell {
     @Override
     public Spell copy() {
         if (this.config == null) {
-            Gdx.app.error(TAG, "Cannot copy spell - configuration is null!");
+            RulesLog.error(TAG, "Cannot copy spell - configuration is null!");
             return new ConfigurableSpell();
         }
         ConfigurableSpell newSpell = new ConfigurableSpell();
@@ -1,7 +1,9 @@
 package io.WizardsChessMaster.model.spells;
 
 import io.WizardsChessMaster.model.BoardPosition;
-import io.WizardsChessMaster.model.GameModel;
+import io.WizardsChessMaster.model.Position;
+import io.WizardsChessMaster.model.SquareSet;
+import io.WizardsChessMaster.model.Team;
 
 import java.util.Set;
 
@@ -59,29 +61,36 @@ public interface Spell {
      * an empty set.
      * Implementations should consider game rules (e.g., cannot target own King).
      *
-     * @param casterPlayerId The ID of the player attempting to cast the spell.
-     * @param gameModel The current state of the game.
-     * @return A Set of valid target BoardPositions. Returns an empty set if no targets are valid or required.
+     * @param casterTeam The team of the player attempting to cast the spell.
+     * @param game The current state of the game.
+     * @return A SquareSet of valid target squares. Returns an empty set if no targets are valid or required.
      */
-    Set<BoardPosition> getValidTargets(String casterPlayerId, GameModel gameModel);
+    SquareSet getValidTargetSet(Team casterTeam, Position game);
+
+    /**
+     * Same squares as getValidTargetSet, as a mutable Set.
+     */
+    default Set<BoardPosition> getValidTargets(Team casterTeam, Position game) {
+        return getValidTargetSet(casterTeam, game).toSet();
+    }
 
     /**
      * Executes the spell's effect. This method should:
      * 1. Verify if the caster can legally cast (e.g., not in check). (This check is often done *before* calling cast).
      * 2. Check if the target (if required) is valid according to getValidTargets.
-     * 3. Apply the spell's effect to the GameModel (e.g., remove piece, modify state). This logic might be delegated to effect components.
+     * 3. Apply the spell's effect to the Position (e.g., remove piece, modify state). This logic might be delegated to effect components.
      * 4. Return true if the spell was successfully cast and effects applied, false otherwise
      * (e.g., invalid target, casting condition not met).
      *
      * Note: Consuming the spell from the player's available spells and ending the turn
      * are typically handled by the GameplayPresenter after this method returns true.
      *
-     * @param casterPlayerId The ID of the player casting the spell.
+     * @param casterTeam The team of the player casting the spell.
      * @param target The selected target position (can be null if requiresTarget() is false).
-     * @param gameModel The current state of the game, which will be modified by the spell.
+     * @param game The position, which will be modified by the spell.
      * @return true if the spell was successfully cast, false otherwise.
      */
-    boolean applyEffect(String casterPlayerId, BoardPosition target, GameModel gameModel);
+    boolean applyEffect(Team casterTeam, BoardPosition target, Position game);
 
     /**
      * Gets the path to the asset (icon) used to represent this spell in the UI.
@@ -6,6 +6,8 @@ import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 
+import io.WizardsChessMaster.model.rules.ConfigJson;
+
 /**
  * Represents the configuration data for a spell type, loaded from an external source (e.g., JSON).
  * This defines the properties and potentially the effects of a spell.
@@ -26,6 +28,19 @@ public class SpellConfig {
             this.params = (params != null) ? new HashMap<>(params) : new HashMap<>();
         }
 
+        /** Binds one entry of the "effectComponents" array. Params are kept as strings. */
+        static SpellEffectComponentConfig fromJson(Map<String, Object> json) {
+            SpellEffectComponentConfig config = new SpellEffectComponentConfig();
+            config.type = ConfigJson.getString(json, "type");
+            Map<String, Object> params = ConfigJson.getObject(json, "params");
+            if (params != null) {
+                for (String key : params.keySet()) {
+                    config.params.put(key, ConfigJson.getString(params, key));
+                }
+            }
+            return config;
+        }
+
         @Override
         public boolean equals(Object o) {
             if (this == o) return true;
@@ -63,6 +78,33 @@ public class SpellConfig {
         this.effectComponents = new ArrayList<>();
     }
 
+    /**
+     * Binds a parsed spell configuration file (see ConfigJson).
+     * @throws IllegalArgumentException if a field has the wrong JSON type.
+     */
+    @SuppressWarnings("unchecked")
+    public static SpellConfig fromJson(Map<String, Object> json) {
+        SpellConfig config = new SpellConfig();
+        config.typeName = ConfigJson.getString(json, "typeName");
+        config.pointCost = ConfigJson.getInt(json, "pointCost", 0);
+        config.displayName = ConfigJson.getString(json, "displayName");
+        config.description = ConfigJson.getString(json, "description");
+        config.iconBaseName = ConfigJson.getString(json, "iconBaseName");
+        config.requiresTarget = Boolean.TRUE.equals(ConfigJson.getBoolean(json, "requiresTarget"));
+        config.endsTurn = Boolean.TRUE.equals(ConfigJson.getBoolean(json, "endsTurn"));
+
+        List<Object> components = ConfigJson.getArray(json, "effectComponents");
+        if (components != null) {
+            for (Object component : components) {
+                if (!(component instanceof Map)) {
+                    throw new IllegalArgumentException("Entries of 'effectComponents' must be objects.");
+                }
+                config.effectComponents.add(SpellEffectComponentConfig.fromJson((Map<String, Object>) component));
+            }
+        }
+        return config;
+    }
+
     public String getIconPath() {
         if (iconBaseName == null || iconBaseName.trim().isEmpty()) {
             return "spells/default_spell_icon.png";
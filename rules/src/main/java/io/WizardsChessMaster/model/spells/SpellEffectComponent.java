@@ -1,7 +1,9 @@
 package io.WizardsChessMaster.model.spells;
 
 import io.WizardsChessMaster.model.BoardPosition;
-import io.WizardsChessMaster.model.GameModel;
+import io.WizardsChessMaster.model.Position;
+import io.WizardsChessMaster.model.SquareSet;
+import io.WizardsChessMaster.model.Team;
 
 import java.util.Map;
 import java.util.Set;
@@ -24,22 +26,29 @@ public interface SpellEffectComponent {
     /**
      * Applies this component's specific effect to the game state.
      * This is called by the Spell's cast method.
-     * @param casterPlayerId The ID of the player casting the spell.
+     * @param casterTeam The team of the player casting the spell.
      * @param target The selected target position (can be null if the component or spell doesn't require one).
-     * @param gameModel The current state of the game, which will be modified.
+     * @param game The position, which will be modified.
      * @return true if the effect was successfully applied, false otherwise.
      */
-    boolean applyEffect(String casterPlayerId, BoardPosition target, GameModel gameModel);
+    boolean applyEffect(Team casterTeam, BoardPosition target, Position game);
 
     /**
      * Calculates valid target squares *specifically for this effect component*.
      * This can differ from the overall spell's valid targets if the spell has multiple effects
      * targeting different things.
-     * @param casterPlayerId The ID of the player casting the spell.
-     * @param gameModel The current game state.
-     * @return A Set of valid BoardPositions for this component's effect. Empty if no target is needed or valid.
+     * @param casterTeam The team of the player casting the spell.
+     * @param game The current game state.
+     * @return A SquareSet of valid squares for this component's effect. Empty if no target is needed or valid.
      */
-    Set<BoardPosition> getValidTargetsForEffect(String casterPlayerId, GameModel gameModel);
+    SquareSet getValidTargetSetForEffect(Team casterTeam, Position game);
+
+    /**
+     * Same squares as getValidTargetSetForEffect, as a mutable Set.
+     */
+    default Set<BoardPosition> getValidTargetsForEffect(Team casterTeam, Position game) {
+        return getValidTargetSetForEffect(casterTeam, game).toSet();
+    }
 
     /**
      * Gets a unique string identifier for this component type (e.g., "DAMAGE", "TELEPORT").
@@ -1,6 +1,6 @@
 package io.WizardsChessMaster.model.spells;
 
-import com.badlogic.gdx.Gdx;
+import io.WizardsChessMaster.model.rules.RulesLog;
 
 import java.util.HashMap;
 import java.util.Map;
@@ -17,9 +17,9 @@ public class SpellEffectComponentFactory {
     private static final Map<String, Class<? extends SpellEffectComponent>> componentRegistry = new HashMap<>();
 
     static {
-        Gdx.app.log(TAG, "Initializing SpellEffectComponentFactory using ServiceLoader...");
+        RulesLog.log(TAG, "Initializing SpellEffectComponentFactory using ServiceLoader...");
         loadComponents();
-        Gdx.app.log(TAG, "SpellEffectComponentFactory initialized. Found " + componentRegistry.size() + " component types.");
+        RulesLog.log(TAG, "SpellEffectComponentFactory initialized. Found " + componentRegistry.size() + " component types.");
     }
 
     private static void loadComponents() {
@@ -28,27 +28,27 @@ public class SpellEffectComponentFactory {
 
         for (SpellEffectComponent component : loader) {
             if (component == null) {
-                Gdx.app.error(TAG, "ServiceLoader found a null SpellEffectComponent implementation.");
+                RulesLog.error(TAG, "ServiceLoader found a null SpellEffectComponent implementation.");
                 continue;
             }
             String identifier = component.getIdentifier();
             if (identifier == null || identifier.trim().isEmpty()) {
-                Gdx.app.error(TAG, "Found SpellEffectComponent implementation " + component.getClass().getName() + " with null or empty identifier. Skipping.");
+                RulesLog.error(TAG, "Found SpellEffectComponent implementation " + component.getClass().getName() + " with null or empty identifier. Skipping.");
                 continue;
             }
             identifier = identifier.toUpperCase();
 
             if (componentRegistry.containsKey(identifier)) {
-                Gdx.app.error(TAG, "Warning - Duplicate SpellEffectComponent identifier '" + identifier + "' found. Implementation " + component.getClass().getName() + " will be ignored. Existing: " + componentRegistry.get(identifier).getName());
+                RulesLog.error(TAG, "Warning - Duplicate SpellEffectComponent identifier '" + identifier + "' found. Implementation " + component.getClass().getName() + " will be ignored. Existing: " + componentRegistry.get(identifier).getName());
             } else {
                 componentRegistry.put(identifier, component.getClass());
-                Gdx.app.log(TAG, "Registered SpellEffectComponent type '" + identifier + "' -> " + component.getClass().getName());
+                RulesLog.log(TAG, "Registered SpellEffectComponent type '" + identifier + "' -> " + component.getClass().getName());
             }
         }
         if (componentRegistry.isEmpty()) {
-            Gdx.app.log(TAG, "No SpellEffectComponent implementations found via ServiceLoader. Check META-INF/services configuration if components exist.");
+            RulesLog.log(TAG, "No SpellEffectComponent implementations found via ServiceLoader. Check META-INF/services configuration if components exist.");
         } else {
-            Gdx.app.log(TAG, "Registered SpellEffectComponent Identifiers: " + componentRegistry.keySet());
+            RulesLog.log(TAG, "Registered SpellEffectComponent Identifiers: " + componentRegistry.keySet());
         }
     }
 
@@ -68,7 +68,7 @@ public class SpellEffectComponentFactory {
         Class<? extends SpellEffectComponent> componentClass = componentRegistry.get(upperTypeIdentifier);
 
         if (componentClass == null) {
-            Gdx.app.error(TAG, "Unknown SpellEffectComponent type requested: '" + typeIdentifier + "'. Available: " + componentRegistry.keySet());
+            RulesLog.error(TAG, "Unknown SpellEffectComponent type requested: '" + typeIdentifier + "'. Available: " + componentRegistry.keySet());
             throw new IllegalArgumentException("Unknown SpellEffectComponent type: '" + typeIdentifier + "'");
         }
 
@@ -76,13 +76,13 @@ public class SpellEffectComponentFactory {
             SpellEffectComponent newComponent = componentClass.getDeclaredConstructor().newInstance();
             Map<String, String> effectiveParams = (params != null) ? params : new HashMap<>();
             newComponent.initialize(spell, effectiveParams);
-            Gdx.app.debug(TAG, "Created and initialized component: " + upperTypeIdentifier);
+            RulesLog.debug(TAG, "Created and initialized component: " + upperTypeIdentifier);
             return newComponent;
         } catch (NoSuchMethodException nsme) {
-            Gdx.app.error(TAG, "Error creating component '" + upperTypeIdentifier + "'. Implementation " + componentClass.getName() + " is missing a public no-argument constructor.", nsme);
+            RulesLog.error(TAG, "Error creating component '" + upperTypeIdentifier + "'. Implementation " + componentClass.getName() + " is missing a public no-argument constructor.", nsme);
             throw new IllegalArgumentException("Failed to create component: No-arg constructor missing for " + componentClass.getName(), nsme);
         } catch (Exception e) {
-            Gdx.app.error(TAG, "Error creating or initializing component of type '" + upperTypeIdentifier + "'.", e);
+            RulesLog.error(TAG, "Error creating or initializing component of type '" + upperTypeIdentifier + "'.", e);
             if (e instanceof IllegalArgumentException) { throw (IllegalArgumentException) e; }
             throw new RuntimeException("Failed to create or initialize component of type '" + upperTypeIdentifier + "'. Cause: " + e.getMessage(), e);
         }
@@ -0,0 +1,182 @@
+package io.WizardsChessMaster.model.spells;
+
+import io.WizardsChessMaster.model.rules.ConfigJson;
+import io.WizardsChessMaster.model.rules.FileConfigSource;
+import io.WizardsChessMaster.model.rules.RulesLog;
+
+import java.util.*;
+
+/**
+ * Factory for creating Spell instances based on external JSON configurations.
+ * Loads configurations from the 'spells/' directory of the installed ConfigSource at startup.
+ * Loaded configurations and prototypes form an immutable registry that reloadConfigurations
+ * replaces as a whole, so lookups are safe from any thread without locking.
+ */
+public class SpellFactory {
+
+    private static final String TAG = "SpellFactory";
+    private static final String CONFIG_DIR = "spells/";
+
+    private static final SpellEffectComponentFactory effectComponentFactory = new SpellEffectComponentFactory();
+
+    /** Loaded configurations and their prototypes; never modified after construction. */
+    private static final class Registry {
+        final Map<String, SpellConfig> configs;
+        final Map<String, Spell> prototypes;
+
+        Registry(Map<String, SpellConfig> configs, Map<String, Spell> prototypes) {
+            this.configs = Collections.unmodifiableMap(configs);
+            this.prototypes = Collections.unmodifiableMap(prototypes);
+        }
+    }
+
+    private static volatile Registry registry;
+
+    static {
+        RulesLog.log(TAG, "Initializing SpellFactory by loading configurations...");
+        registry = loadSpellConfigurations();
+        RulesLog.log(TAG, "SpellFactory initialized. Loaded " + registry.configs.size() + " spell configurations.");
+    }
+
+    /**
+     * Loads all .json files from the spells directory and parses them into SpellConfig objects.
+     */
+    private static Registry loadSpellConfigurations() {
+        Map<String, SpellConfig> configs = new HashMap<>();
+        Map<String, Spell> prototypes = new HashMap<>();
+
+        try {
+            Map<String, String> files = FileConfigSource.getDefault().readAll(CONFIG_DIR, ".json");
+            RulesLog.log(TAG, "Found " + files.size() + " potential spell JSON config files in " + CONFIG_DIR);
+
+            for (Map.Entry<String, String> file : files.entrySet()) {
+                try {
+                    RulesLog.debug(TAG, "Attempting to load spell config: " + file.getKey());
+                    SpellConfig config = SpellConfig.fromJson(ConfigJson.parseObject(file.getValue()));
+
+                    if (config.typeName == null || config.typeName.trim().isEmpty()) {
+                        RulesLog.error(TAG, "Skipping spell config file " + file.getKey() + ": Missing or empty typeName.");
+                        continue;
+                    }
+
+                    String typeNameUpper = config.typeName.toUpperCase();
+                    if (configs.containsKey(typeNameUpper)) {
+                        RulesLog.error(TAG, "Warning: Duplicate spell typeName '" + typeNameUpper + "' found in " + file.getKey() + ". Skipping this file.");
+                    } else {
+                        if (config.iconBaseName == null || config.iconBaseName.trim().isEmpty()) {
+                            RulesLog.error(TAG, "Warning: Spell config '" + typeNameUpper + "' is missing 'iconBaseName'.");
+                        }
+
+                        configs.put(typeNameUpper, config);
+                        RulesLog.log(TAG, "Loaded spell configuration: '" + typeNameUpper + "' from " + file.getKey());
+
+                        try {
+                            Spell proto = createSpellInternal(config);
+                            prototypes.put(typeNameUpper, proto);
+                        } catch (Exception e) {
+                            RulesLog.error(TAG, "Failed to create prototype for spell: " + typeNameUpper, e);
+                        }
+                    }
+                } catch (IllegalArgumentException e) {
+                    RulesLog.error(TAG, "Error parsing spell config file: " + file.getKey(), e);
+                    RulesLog.error(TAG, "Check JSON structure matches SpellConfig.java.");
+                } catch (Exception e) {
+                    RulesLog.error(TAG, "Unexpected error loading spell config file: " + file.getKey(), e);
+                }
+            }
+        } catch (Exception e) {
+            RulesLog.error(TAG, "Error accessing spell configuration directory: " + CONFIG_DIR, e);
+        }
+        if (configs.isEmpty()) {
+            RulesLog.log(TAG, "Warning: No spell configurations were successfully loaded!");
+        }
+        return new Registry(configs, prototypes);
+    }
+
+    /**
+     * Internal helper to create and configure a spell from its config.
+     */
+    private static Spell createSpellInternal(SpellConfig config) {
+        if (config == null) {
+            throw new IllegalArgumentException("SpellConfig cannot be null.");
+        }
+        try {
+            ConfigurableSpell newSpell = new ConfigurableSpell();
+            newSpell.configure(config, effectComponentFactory);
+
+            if (!config.typeName.equalsIgnoreCase(newSpell.getTypeName())) {
+                RulesLog.error(TAG, "Warning - Mismatch between config typeName '" + config.typeName + "' and created spell.getTypeName() '" + newSpell.getTypeName() + "'.");
+            }
+            return newSpell;
+        } catch (Exception e) {
+            RulesLog.error(TAG, "Error creating or configuring spell from config '" + config.typeName + "'.", e);
+            throw new RuntimeException("Failed to create spell from config '" + config.typeName + "'. Cause: " + e.getMessage(), e);
+        }
+    }
+
+
+    /**
+     * Creates a new Spell instance based on its type name using loaded configurations.
+     */
+    public static Spell createSpell(String typeName) {
+        if (typeName == null) {
+            throw new IllegalArgumentException("Spell type name cannot be null.");
+        }
+        String upperTypeName = typeName.toUpperCase();
+        SpellConfig config = registry.configs.get(upperTypeName);
+
+        if (config == null) {
+            RulesLog.error(TAG, "Unknown spell type requested: '" + typeName + "'. Available types: " + getAvailableSpellTypes());
+            throw new IllegalArgumentException("Unknown spell type requested: '" + typeName + "'");
+        }
+        return createSpellInternal(config);
+    }
+
+    /**
+     * Gets the set of available spell type names (uppercase) loaded from configurations.
+     */
+    public static Set<String> getAvailableSpellTypes() {
+        return registry.configs.keySet();
+    }
+
+    /**
+     * Gets a collection of prototype instances for all available spell types.
+     */
+    public static Collection<Spell> getSpellPrototypes() {
+        Registry current = registry;
+        if (current.prototypes.size() != current.configs.size()) {
+            RulesLog.error(TAG, "Prototype count mismatch! Expected " + current.configs.size() + ", found " + current.prototypes.size());
+        }
+        return current.prototypes.values();
+    }
+
+    /**
+     * Gets a specific spell prototype instance by type name (case-insensitive).
+     */
+    public static Spell getPrototype(String typeName) {
+        if (typeName == null) return null;
+        Spell proto = registry.prototypes.get(typeName.toUpperCase());
+        if (proto == null) {
+            RulesLog.error(TAG,"Prototype not found for spell type: " + typeName);
+        }
+        return proto;
+    }
+
+    /**
+     * Gets the loaded configuration data for a specific spell type.
+     */
+    public static SpellConfig getConfig(String typeName) {
+        if (typeName == null) return null;
+        return registry.configs.get(typeName.toUpperCase());
+    }
+
+    /**
+     * Reloads spell configurations. Readers keep seeing the previous registry until the new one is complete.
+     */
+    public static void reloadConfigurations() {
+        RulesLog.log(TAG, "Reloading spell configurations...");
+        Registry reloaded = loadSpellConfigurations();
+        registry = reloaded;
+        RulesLog.log(TAG, "Spell configurations reloaded. Found " + reloaded.configs.size() + " types.");
+    }
+}
\ No newline at end of file
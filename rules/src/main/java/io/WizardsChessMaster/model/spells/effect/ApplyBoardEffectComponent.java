@@ -1,14 +1,14 @@
 package io.WizardsChessMaster.model.spells.effect;
 
-import com.badlogic.gdx.Gdx;
+import io.WizardsChessMaster.model.rules.RulesLog;
 import io.WizardsChessMaster.model.BoardPosition;
-import io.WizardsChessMaster.model.GameModel;
+import io.WizardsChessMaster.model.Position;
+import io.WizardsChessMaster.model.SquareSet;
+import io.WizardsChessMaster.model.Team;
 import io.WizardsChessMaster.model.spells.Spell;
 import io.WizardsChessMaster.model.spells.SpellEffectComponent;
 
-import java.util.Collections;
 import java.util.Map;
-import java.util.Set;
 
 public class ApplyBoardEffectComponent implements SpellEffectComponent {
 
@@ -29,37 +29,37 @@ public class ApplyBoardEffectComponent implements SpellEffectComponent {
             this.duration = params.getOrDefault("duration", "permanent").toLowerCase();
         }
         if (this.effectName == null || this.effectName.trim().isEmpty()) {
-            Gdx.app.error(TAG, "Initialization failed for spell " + spell.getTypeName() + ": Missing required 'effect_name' parameter.");
+            RulesLog.error(TAG, "Initialization failed for spell " + spell.getTypeName() + ": Missing required 'effect_name' parameter.");
             throw new IllegalArgumentException("ApplyBoardEffectComponent requires 'effect_name' parameter.");
         }
-        Gdx.app.debug(TAG, "Initialized for spell " + spell.getTypeName() + " with effectName=" + effectName + ", duration=" + duration);
+        RulesLog.debug(TAG, "Initialized for spell " + spell.getTypeName() + " with effectName=" + effectName + ", duration=" + duration);
     }
 
     @Override
-    public boolean applyEffect(String casterPlayerId, BoardPosition target, GameModel gameModel) {
-        Gdx.app.log(TAG, "Applying board effect '" + effectName + "' for spell " + spell.getTypeName() + " (Caster: " + casterPlayerId + ", Duration: " + duration + ")");
+    public boolean applyEffect(Team casterTeam, BoardPosition target, Position game) {
+        RulesLog.log(TAG, "Applying board effect '" + effectName + "' for spell " + spell.getTypeName() + " (Caster: " + casterTeam + ", Duration: " + duration + ")");
 
         if ("current_turn".equals(duration)) {
             if (PAWN_STORM_EFFECT_NAME.equalsIgnoreCase(effectName)) {
-                gameModel.addTurnEffect(casterPlayerId, PAWN_STORM_EFFECT_NAME);
+                game.addTurnEffect(casterTeam, PAWN_STORM_EFFECT_NAME);
                 return true;
             } else {
-                Gdx.app.error(TAG, "Unhandled current_turn effect name: " + effectName);
+                RulesLog.error(TAG, "Unhandled current_turn effect name: " + effectName);
                 return false;
             }
         } else if ("permanent".equals(duration)) {
             // TODO: Implement logic for permanent effects
-            Gdx.app.error(TAG, "Permanent effects not yet implemented for: " + effectName);
+            RulesLog.error(TAG, "Permanent effects not yet implemented for: " + effectName);
             return false;
         } else {
-            Gdx.app.error(TAG, "Unknown effect duration: " + duration + " for effect: " + effectName);
+            RulesLog.error(TAG, "Unknown effect duration: " + duration + " for effect: " + effectName);
             return false;
         }
     }
 
     @Override
-    public Set<BoardPosition> getValidTargetsForEffect(String casterPlayerId, GameModel gameModel) {
-        return Collections.emptySet();
+    public SquareSet getValidTargetSetForEffect(Team casterTeam, Position game) {
+        return SquareSet.EMPTY;
     }
 
     @Override
@@ -0,0 +1,109 @@
+package io.WizardsChessMaster.model.spells.effect;
+
+import io.WizardsChessMaster.model.rules.RulesLog;
+import io.WizardsChessMaster.model.BoardPosition;
+import io.WizardsChessMaster.model.Position;
+import io.WizardsChessMaster.model.SquareSet;
+import io.WizardsChessMaster.model.Team;
+import io.WizardsChessMaster.model.board.SquareMask;
+import io.WizardsChessMaster.model.pieces.Piece;
+import io.WizardsChessMaster.model.spells.Spell;
+import io.WizardsChessMaster.model.spells.SpellEffectComponent;
+
+import java.util.*;
+
+public class DestroyTargetComponent implements SpellEffectComponent {
+
+    private static final String TAG = "DestroyTargetComponent";
+
+    private Spell spell;
+    private String targetType = "enemy";
+    private boolean allowEmpty = false;
+
+    public DestroyTargetComponent() { }
+
+    @Override
+    public void initialize(Spell spell, Map<String, String> params) {
+        this.spell = spell;
+        if (params != null) {
+            this.targetType = params.getOrDefault("target_type", "enemy").toLowerCase();
+            this.allowEmpty = Boolean.parseBoolean(params.getOrDefault("allow_empty", "false"));
+        }
+        RulesLog.debug(TAG, "Initialized for spell " + spell.getTypeName() + " with targetType=" + targetType + ", allowEmpty=" + allowEmpty);
+    }
+
+    @Override
+    public boolean applyEffect(Team casterTeam, BoardPosition target, Position game) {
+        if (target == null) {
+            RulesLog.error(TAG, spell.getTypeName() + " failed: Target is required for DestroyTargetComponent.");
+            return false;
+        }
+        if (!game.isWithinBounds(target)) {
+            RulesLog.error(TAG, spell.getTypeName() + " failed: Target " + target + " is out of bounds.");
+            return false;
+        }
+        Piece targetPiece = game.getPieceAt(target);
+        if (targetPiece == null) {
+            if (!allowEmpty) {
+                RulesLog.error(TAG, spell.getTypeName() + " failed: Target square " + target + " is empty, and allow_empty is false.");
+                return false;
+            } else {
+                RulesLog.log(TAG, spell.getTypeName() + " targeted empty square " + target + " (allowed). No piece destroyed.");
+                return true;
+            }
+        }
+        if (casterTeam == null) {
+            RulesLog.error(TAG, spell.getTypeName() + " failed: Caster team is null.");
+            return false;
+        }
+        boolean isValidTarget = false;
+        switch (targetType) {
+            case "enemy": isValidTarget = targetPiece.getTeam() != casterTeam; break;
+            case "friendly": isValidTarget = targetPiece.getTeam() == casterTeam; break;
+            case "any": isValidTarget = true; break;
+            case "non-king": isValidTarget = targetPiece.getTeam() != casterTeam && !targetPiece.isRoyal(); break;
+            default: RulesLog.error(TAG, "Unknown target_type parameter: " + targetType); return false;
+        }
+        if ("non-king".equals(targetType) && targetPiece.isRoyal()) { isValidTarget = false; }
+        if (!isValidTarget) {
+            RulesLog.log(TAG, spell.getTypeName() + " failed: Target " + targetPiece + " at " + target + " does not match required target type '" + targetType + "' for caster " + casterTeam);
+            return false;
+        }
+        RulesLog.log(TAG, "Applying " + spell.getTypeName() + ": Destroying " + targetPiece + " at " + target);
+        game.removePieceAt(target);
+        return true;
+    }
+
+    @Override
+    public SquareSet getValidTargetSetForEffect(Team casterTeam, Position game) {
+        if (casterTeam == null) {
+            RulesLog.error(TAG, "Cannot get targets: Caster team is null.");
+            return SquareSet.EMPTY;
+        }
+        Team opponentTeam = casterTeam.opposite();
+        SquareMask targets = new SquareMask(game.getGeometry());
+        for (int y = 0; y < game.getBoardHeight(); y++) {
+            for (int x = 0; x < game.getBoardWidth(); x++) {
+                BoardPosition pos = BoardPosition.of(x, y);
+                Piece piece = game.getPieceAt(pos);
+                if (piece == null) { if (allowEmpty) { targets.add(game.squareIndex(pos)); } continue; }
+                boolean isValidTarget = false;
+                switch (targetType) {
+                    case "enemy": isValidTarget = piece.getTeam() == opponentTeam; break;
+                    case "friendly": isValidTarget = piece.getTeam() == casterTeam; break;
+                    case "any": isValidTarget = true; break;
+                    case "non-king": isValidTarget = piece.getTeam() == opponentTeam && !piece.isRoyal(); break;
+                    default: break;
+                }
+                if ("non-king".equals(targetType) && piece.isRoyal()) { isValidTarget = false; }
+                if (isValidTarget) { targets.add(game.squareIndex(pos)); }
+            }
+        }
+        return SquareSet.of(targets);
+    }
+
+    @Override
+    public String getIdentifier() {
+        return "DESTROY_TARGET";
+    }
+}
\ No newline at end of file
@@ -0,0 +1,52 @@
+package io.WizardsChessMaster.model;
+
+import io.WizardsChessMaster.model.perft.Perft;
+import io.WizardsChessMaster.model.pieces.Piece;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+
+/** PositionAnalysis.keyOf must tell apart positions whose legal moves differ. */
+public class PositionAnalysisKeyTest {
+
+    @Test
+    public void pawnMovedFlagChangesKey() {
+        Position position = Perft.parse("standard");
+        long before = PositionAnalysis.keyOf(position, Team.WHITE);
+        Piece pawn = position.getPieceAt(BoardPosition.fromAlgebraic("e2"));
+        pawn.setStateVariable("hasMoved", true);
+        assertNotEquals(before, PositionAnalysis.keyOf(position, Team.WHITE));
+        pawn.setStateVariable("hasMoved", false);
+        assertEquals(before, PositionAnalysis.keyOf(position, Team.WHITE));
+    }
+
+    @Test
+    public void turnEffectOrderDoesNotChangeKey() {
+        Position first = Perft.parse("standard");
+        first.addTurnEffect(Team.WHITE, "FREEZE");
+        first.addTurnEffect(Team.WHITE, "HASTE");
+        Position second = Perft.parse("standard");
+        second.addTurnEffect(Team.WHITE, "HASTE");
+        second.addTurnEffect(Team.WHITE, "FREEZE");
+        assertEquals(PositionAnalysis.keyOf(first, Team.WHITE), PositionAnalysis.keyOf(second, Team.WHITE));
+    }
+
+    @Test
+    public void turnEffectOwnerChangesKey() {
+        Position white = Perft.parse("standard");
+        white.addTurnEffect(Team.WHITE, "FREEZE");
+        Position black = Perft.parse("standard");
+        black.addTurnEffect(Team.BLACK, "FREEZE");
+        assertNotEquals(PositionAnalysis.keyOf(white, Team.WHITE), PositionAnalysis.keyOf(black, Team.WHITE));
+    }
+
+    @Test
+    public void emptyEffectListMatchesNoEffects() {
+        Position cleared = Perft.parse("standard");
+        cleared.addTurnEffect(Team.BLACK, "FREEZE");
+        cleared.clearTurnEffects(Team.BLACK);
+        assertEquals(PositionAnalysis.keyOf(Perft.parse("standard"), Team.WHITE), PositionAnalysis.keyOf(cleared, Team.WHITE));
+    }
+}
@@ -0,0 +1,42 @@
+package io.WizardsChessMaster.model;
+
+import io.WizardsChessMaster.model.perft.Perft;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/** Position.isInsufficientMaterial on small endgames. */
+public class PositionInsufficientMaterialTest {
+
+    @Test
+    public void bareKingsAreADraw() {
+        assertTrue(Perft.parse("e1=WHITE_KING,e8=BLACK_KING w").isInsufficientMaterial());
+    }
+
+    @Test
+    public void kingAndBishopAgainstKingIsADraw() {
+        assertTrue(Perft.parse("e1=WHITE_KING,c1=WHITE_BISHOP,e8=BLACK_KING w").isInsufficientMaterial());
+    }
+
+    @Test
+    public void kingAndPawnAgainstKingIsNotADraw() {
+        assertFalse(Perft.parse("e1=WHITE_KING,e2=WHITE_PAWN,e8=BLACK_KING w").isInsufficientMaterial());
+    }
+
+    @Test
+    public void pawnAlongsideBishopsOnOneColourIsNotADraw() {
+        assertFalse(Perft.parse("e1=WHITE_KING,c1=WHITE_BISHOP,a7=BLACK_PAWN,e8=BLACK_KING w").isInsufficientMaterial());
+    }
+
+    @Test
+    public void pawnGoneAfterCaptureIsADrawAgain() {
+        Position position = Perft.parse("e1=WHITE_KING,c1=WHITE_BISHOP,d2=BLACK_PAWN,e8=BLACK_KING w");
+        assertFalse(position.isInsufficientMaterial());
+        MoveUndo undo = position.makeMove(BoardPosition.fromAlgebraic("c1"), BoardPosition.fromAlgebraic("d2"), MoveType.NORMAL);
+        assertTrue(position.isInsufficientMaterial());
+        position.unmakeMove(undo);
+        assertFalse(position.isInsufficientMaterial());
+    }
+}
@@ -0,0 +1,31 @@
+package io.WizardsChessMaster.model.board;
+
+import io.WizardsChessMaster.model.Position;
+import io.WizardsChessMaster.model.perft.Perft;
+import io.WizardsChessMaster.model.pieces.Piece;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Zobrist keys are persisted in game documents (positionKeys), so they must not change between app
+ * versions or with the set of piece configs a client has.
+ */
+public class ZobristTest {
+
+    @Test
+    public void keysArePinned() {
+        // Changing these values makes every stored repetition history unreadable
+        assertEquals(0xd7079d6191de4598L, Zobrist.typeKey("KNIGHT"));
+        assertEquals(0x16cc8889fc5ee2c2L, Perft.parse("standard").getZobristKey());
+    }
+
+    @Test
+    public void pieceKeysComeFromTypeNamesNotTypeIds() {
+        Position position = Perft.parse("standard");
+        for (Piece piece : position.getAllPieces()) {
+            assertEquals(piece.getTypeName(), Zobrist.typeKey(piece.getTypeName()), piece.getZobristTypeKey());
+        }
+    }
+}
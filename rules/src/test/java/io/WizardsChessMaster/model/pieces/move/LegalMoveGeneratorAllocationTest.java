@@ -0,0 +1,89 @@
+package io.WizardsChessMaster.model.pieces.move;
+
+import io.WizardsChessMaster.model.MoveBuffer;
+import io.WizardsChessMaster.model.Position;
+import io.WizardsChessMaster.model.Team;
+import io.WizardsChessMaster.model.perft.Perft;
+
+import org.junit.Test;
+
+import java.lang.management.ManagementFactory;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assume.assumeTrue;
+
+/**
+ * Guards the allocation-free contract of LegalMoveGenerator.generateMoves: once the MoveBuffer has
+ * grown to fit, generating the moves of a position (including re-analysing it after the board
+ * changed) must not allocate. Measured with the JVM's per-thread allocation counter.
+ */
+public class LegalMoveGeneratorAllocationTest {
+
+    private static final int WARMUP_CALLS = 20_000;
+    private static final int MEASURED_CALLS = 1_000;
+
+    /** The standard armies spread over a 16x16 board, with sliders on open lines. */
+    private static final String LARGEST_BOARD = "a1=WHITE_ROOK,c1=WHITE_KNIGHT,e1=WHITE_BISHOP,g1=WHITE_QUEEN,h1=WHITE_KING,j1=WHITE_BISHOP,l1=WHITE_KNIGHT,p1=WHITE_ROOK,"
+            + "a2=WHITE_PAWN,c2=WHITE_PAWN,e2=WHITE_PAWN,g2=WHITE_PAWN,h2=WHITE_PAWN,j2=WHITE_PAWN,l2=WHITE_PAWN,p2=WHITE_PAWN,"
+            + "a16=BLACK_ROOK,c16=BLACK_KNIGHT,e16=BLACK_BISHOP,g16=BLACK_QUEEN,h16=BLACK_KING,j16=BLACK_BISHOP,l16=BLACK_KNIGHT,p16=BLACK_ROOK,"
+            + "a15=BLACK_PAWN,c15=BLACK_PAWN,e15=BLACK_PAWN,g15=BLACK_PAWN,h15=BLACK_PAWN,j15=BLACK_PAWN,l15=BLACK_PAWN,p15=BLACK_PAWN w - 16x16";
+
+    @Test
+    public void generateMovesAllocatesNothingOnStandardBoard() {
+        assertNoAllocation(Perft.parse("standard"), false);
+    }
+
+    @Test
+    public void generateMovesAllocatesNothingOnLargestBoard() {
+        assertNoAllocation(Perft.parse(LARGEST_BOARD), false);
+    }
+
+    @Test
+    public void reanalysisAllocatesNothingOnStandardBoard() {
+        assertNoAllocation(Perft.parse("standard"), true);
+    }
+
+    @Test
+    public void reanalysisAllocatesNothingOnLargestBoard() {
+        assertNoAllocation(Perft.parse(LARGEST_BOARD), true);
+    }
+
+    /**
+     * Generates White's moves WARMUP_CALLS times, then checks that MEASURED_CALLS more allocate
+     * nothing. With touchBoard, a piece is lifted and put back first, so every call re-analyses.
+     */
+    private static void assertNoAllocation(Position position, boolean touchBoard) {
+        com.sun.management.ThreadMXBean threads = threadBean();
+        long thread = Thread.currentThread().getId();
+        MoveBuffer buffer = new MoveBuffer();
+        int square = position.getTeamOccupancy(Team.BLACK).nextSquare(0);
+
+        int expected = 0;
+        for (int i = 0; i < WARMUP_CALLS; i++) {
+            expected = generate(position, buffer, square, touchBoard);
+        }
+        long before = threads.getThreadAllocatedBytes(thread);
+        int moves = 0;
+        for (int i = 0; i < MEASURED_CALLS; i++) {
+            moves += generate(position, buffer, square, touchBoard);
+        }
+        long allocated = threads.getThreadAllocatedBytes(thread) - before;
+
+        assertEquals("moves per call", expected * MEASURED_CALLS, moves);
+        assertEquals("bytes allocated by " + MEASURED_CALLS + " calls", 0L, allocated);
+    }
+
+    private static int generate(Position position, MoveBuffer buffer, int square, boolean touchBoard) {
+        if (touchBoard) position.getBoard().put(square, position.getBoard().remove(square));
+        return position.getLegalMoveGenerator(Team.WHITE).generateMoves(buffer);
+    }
+
+    private static com.sun.management.ThreadMXBean threadBean() {
+        java.lang.management.ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+        assumeTrue("per-thread allocation counting is not available", bean instanceof com.sun.management.ThreadMXBean);
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) bean;
+        assumeTrue("per-thread allocation counting is not available", threads.isThreadAllocatedMemorySupported());
+        threads.setThreadAllocatedMemoryEnabled(true);
+        return threads;
+    }
+}